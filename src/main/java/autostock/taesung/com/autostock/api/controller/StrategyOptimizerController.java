@@ -4,13 +4,18 @@ import autostock.taesung.com.autostock.entity.SimulationTask;
 import autostock.taesung.com.autostock.service.AsyncSimulationService;
 import autostock.taesung.com.autostock.service.StrategyOptimizerService;
 import autostock.taesung.com.autostock.service.StrategyParameterService;
+import autostock.taesung.com.autostock.service.optimizer.SearchEngineType;
 import autostock.taesung.com.autostock.strategy.TradingStrategy;
 import autostock.taesung.com.autostock.strategy.impl.DataDrivenStrategy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.beans.PropertyEditorSupport;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,14 +36,40 @@ public class StrategyOptimizerController {
     private final StrategyParameterService strategyParameterService;
     private final List<TradingStrategy> allStrategies;  // 모든 전략 주입
 
+    /**
+     * engine 파라미터 → SearchEngineType (대소문자/하이픈 무시, 비어 있으면 기본 엔진)
+     */
+    @InitBinder
+    public void initBinder(WebDataBinder binder) {
+        binder.registerCustomEditor(SearchEngineType.class, new PropertyEditorSupport() {
+            @Override
+            public void setAsText(String text) {
+                setValue(SearchEngineType.from(text));
+            }
+        });
+    }
+
+    /**
+     * 지원하지 않는 탐색 엔진 등 파라미터 변환 실패 → 400
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<?> handleTypeMismatch(MethodArgumentTypeMismatchException e) {
+        Throwable cause = e.getMostSpecificCause();
+        return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", cause.getMessage() != null ? cause.getMessage() : e.getMessage()
+        ));
+    }
+
     /**
      * 전체 데이터 기반 최적 파라미터 도출 및 모든 지원 전략에 저장
+     * @param engine 탐색 엔진 (GRID, SUCCESSIVE_HALVING, COORDINATE_DESCENT / 생략 시 기본 엔진)
      */
     @PostMapping("/optimize")
-    public ResponseEntity<?> optimizeStrategy() {
-        log.info("전략 최적화 요청");
+    public ResponseEntity<?> optimizeStrategy(@RequestParam(required = false) SearchEngineType engine) {
+        log.info("전략 최적화 요청 (엔진: {})", engine != null ? engine : "기본");
         try {
-            StrategyOptimizerService.OptimizedParams params = optimizerService.optimizeStrategy();
+            StrategyOptimizerService.OptimizedParams params = optimizerService.optimizeStrategy(engine);
             
             // 모든 전략에 대해 최적화된 파라미터 저장 (글로벌)
             for (TradingStrategy strategy : allStrategies) {
@@ -63,10 +94,11 @@ public class StrategyOptimizerController {
      * 특정 마켓에 대한 최적 파라미터 도출 및 저장
      */
     @PostMapping("/optimize/{market}")
-    public ResponseEntity<?> optimizeForMarket(@PathVariable String market) {
-        log.info("마켓별 최적화 요청: {}", market);
+    public ResponseEntity<?> optimizeForMarket(@PathVariable String market,
+                                               @RequestParam(required = false) SearchEngineType engine) {
+        log.info("마켓별 최적화 요청: {} (엔진: {})", market, engine != null ? engine : "패턴 분석");
         try {
-            StrategyOptimizerService.OptimizedParams params = optimizerService.optimizeForMarket(market);
+            StrategyOptimizerService.OptimizedParams params = optimizerService.optimizeForMarket(market, engine);
 
             // 모든 전략에 대해 최적화된 파라미터 저장 (마켓별 - 현재는 글로벌 파라미터 저장 로직과 동일하지만 확장을 위해 분리)
             for (TradingStrategy strategy : allStrategies) {
@@ -87,6 +119,17 @@ public class StrategyOptimizerController {
         }
     }
 
+    /**
+     * 사용 가능한 탐색 엔진 목록
+     */
+    @GetMapping("/engines")
+    public ResponseEntity<?> getSearchEngines() {
+        return ResponseEntity.ok(Map.of(
+                "success", true,
+                "engines", Arrays.stream(SearchEngineType.values()).map(Enum::name).toList()
+        ));
+    }
+
     /**
      * 데이터 통계 조회
      */
@@ -361,13 +404,14 @@ public class StrategyOptimizerController {
      * [비동기] 전역 최적화 작업 시작
      */
     @PostMapping("/async/optimize")
-    public ResponseEntity<?> asyncOptimize() {
-        log.info("[ASYNC] 전역 최적화 요청");
+    public ResponseEntity<?> asyncOptimize(@RequestParam(required = false) SearchEngineType engine) {
+        log.info("[ASYNC] 전역 최적화 요청 (엔진: {})", engine != null ? engine : "기본");
 
         AsyncSimulationService.TaskResponse response = asyncSimulationService.createAndStartTask(
                 SimulationTask.TYPE_GLOBAL_OPTIMIZE,
                 null,
-                null
+                null,
+                engine
         );
 
         Map<String, Object> body = new HashMap<>();
@@ -384,13 +428,15 @@ public class StrategyOptimizerController {
      * [비동기] 마켓별 최적화 작업 시작
      */
     @PostMapping("/async/optimize/{market}")
-    public ResponseEntity<?> asyncOptimizeForMarket(@PathVariable String market) {
-        log.info("[ASYNC] 마켓별 최적화 요청: {}", market);
+    public ResponseEntity<?> asyncOptimizeForMarket(@PathVariable String market,
+                                                    @RequestParam(required = false) SearchEngineType engine) {
+        log.info("[ASYNC] 마켓별 최적화 요청: {} (엔진: {})", market, engine != null ? engine : "패턴 분석");
 
         AsyncSimulationService.TaskResponse response = asyncSimulationService.createAndStartTask(
                 SimulationTask.TYPE_MARKET_OPTIMIZE,
                 market.toUpperCase(),
-                null
+                null,
+                engine
         );
 
         Map<String, Object> body = new HashMap<>();
@@ -404,6 +450,32 @@ public class StrategyOptimizerController {
         return ResponseEntity.accepted().body(body);
     }
 
+    /**
+     * [비동기] 전체 마켓 개별 최적화 작업 시작
+     * - 마켓별 하위 작업으로 분할되어 여러 서버가 나눠 실행, 결과는 { markets: { 마켓: 파라미터 } }로 병합
+     */
+    @PostMapping("/async/optimize-markets")
+    public ResponseEntity<?> asyncOptimizeAllMarkets(@RequestParam(required = false) SearchEngineType engine) {
+        log.info("[ASYNC] 전체 마켓 개별 최적화 요청 (엔진: {})", engine != null ? engine : "패턴 분석");
+
+        AsyncSimulationService.TaskResponse response = asyncSimulationService.createAndStartTask(
+                SimulationTask.TYPE_ALL_MARKETS_OPTIMIZE,
+                null,
+                null,
+                engine
+        );
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("success", true);
+        body.put("taskId", response.getTaskId());
+        body.put("status", response.getStatus() != null ? response.getStatus().name() : "UNKNOWN");
+        body.put("message", response.getMessage() != null ? response.getMessage() : "");
+        body.put("estimatedSeconds", response.getEstimatedSeconds() != null ? response.getEstimatedSeconds() : 0);
+        body.put("checkStatusUrl", "/api/strategy-optimizer/tasks/" + response.getTaskId());
+        body.put("getResultUrl", "/api/strategy-optimizer/result/" + response.getTaskId());
+        return ResponseEntity.accepted().body(body);
+    }
+
     /**
      * 작업 상태 조회
      */
@@ -428,6 +500,14 @@ public class StrategyOptimizerController {
         body.put("estimatedSeconds", response.getEstimatedSeconds() != null ? response.getEstimatedSeconds() : 0);
         body.put("elapsedSeconds", response.getElapsedSeconds() != null ? response.getElapsedSeconds() : 0);
         body.put("errorMessage", response.getErrorMessage() != null ? response.getErrorMessage() : "");
+        if (response.getTestedCombinations() != null) {
+            int tested = response.getTestedCombinations();
+            int pruned = response.getPrunedCombinations() != null ? response.getPrunedCombinations() : 0;
+            body.put("testedCombinations", tested);
+            body.put("totalCombinations", response.getTotalCombinations());
+            body.put("prunedCombinations", pruned);
+            body.put("prunedRate", tested > 0 ? pruned * 100.0 / tested : 0);
+        }
 
         return ResponseEntity.ok(body);
     }
@@ -491,4 +571,4 @@ public class StrategyOptimizerController {
                 "tasks", tasks
         ));
     }
-}
\ No newline at end of file
+}
@@ -186,4 +186,22 @@ public class TradeHistoryController {
         }
         return ResponseEntity.ok(dailyProfits);
     }
+
+    /**
+     * 전략별 손익 요약
+     * - 매수 전략 기준으로 매칭 손익 집계
+     * - from/to 파라미터로 기간 필터 가능
+     */
+    @GetMapping("/profit/strategy")
+    public ResponseEntity<List<Map<String, Object>>> getStrategyProfitSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<Map<String, Object>> strategyProfits;
+        if (from != null && to != null) {
+            strategyProfits = tradeProfitService.getStrategyProfitSummary(from, to);
+        } else {
+            strategyProfits = tradeProfitService.getStrategyProfitSummary();
+        }
+        return ResponseEntity.ok(strategyProfits);
+    }
 }
\ No newline at end of file
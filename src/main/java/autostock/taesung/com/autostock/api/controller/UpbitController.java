@@ -6,6 +6,9 @@ import autostock.taesung.com.autostock.entity.User;
 import autostock.taesung.com.autostock.exchange.upbit.UpbitApiService;
 import autostock.taesung.com.autostock.exchange.upbit.dto.*;
 import autostock.taesung.com.autostock.repository.TradeHistoryRepository;
+import autostock.taesung.com.autostock.scheduler.TradingCycleStats;
+import autostock.taesung.com.autostock.scheduler.UpbitTradingScheduler;
+import autostock.taesung.com.autostock.strategy.session.LivePositionStateStore;
 import autostock.taesung.com.autostock.trading.AutoTradingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +34,8 @@ public class UpbitController {
     private final UpbitApiService upbitApiService;
     private final AutoTradingService autoTradingService;
     private final TradeHistoryRepository tradeHistoryRepository;
+    private final LivePositionStateStore positionStateStore;
+    private final UpbitTradingScheduler tradingScheduler;
 
     private static final double UPBIT_FEE_RATE = 0.0005;
 
@@ -204,6 +209,15 @@ public class UpbitController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 마지막 자동매매 주기 통계 (주기 시간, 사용자별 지연)
+     */
+    @GetMapping("/trading/cycle")
+    public ResponseEntity<TradingCycleStats> getLastTradingCycle() {
+        TradingCycleStats stats = tradingScheduler.getLastCycleStats();
+        return stats != null ? ResponseEntity.ok(stats) : ResponseEntity.noContent().build();
+    }
+
     /**
      * 거래 내역 저장 (수동 주문)
      */
@@ -227,7 +241,7 @@ public class UpbitController {
                     .strategyName(strategyName)
                     .build();
 
-            tradeHistoryRepository.save(history);
+            positionStateStore.record(tradeHistoryRepository.save(history));
             log.info("[{}] 수동 주문 거래 내역 저장 - {}, 금액: {}, 가격: {}",
                     market, tradeType, String.format("%.0f", amount), String.format("%.0f", price));
 
@@ -2,12 +2,19 @@ package autostock.taesung.com.autostock.backtest;
 
 import autostock.taesung.com.autostock.backtest.context.BacktestContext;
 import autostock.taesung.com.autostock.backtest.dto.*;
+import autostock.taesung.com.autostock.backtest.engine.ParallelMarketRunner;
 import autostock.taesung.com.autostock.exchange.upbit.UpbitApiService;
 import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
 import autostock.taesung.com.autostock.exchange.upbit.dto.Market;
 import autostock.taesung.com.autostock.repository.CandleDataRepository;
 import autostock.taesung.com.autostock.entity.CandleData;
+import autostock.taesung.com.autostock.entity.TradeHistory;
 import autostock.taesung.com.autostock.strategy.TradingStrategy;
+import autostock.taesung.com.autostock.strategy.series.CandleSeries;
+import autostock.taesung.com.autostock.strategy.session.PositionState;
+import autostock.taesung.com.autostock.strategy.session.PositionStateStore;
+import autostock.taesung.com.autostock.strategy.session.StrategySession;
+import autostock.taesung.com.autostock.strategy.session.StrategySessionFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,6 +31,9 @@ public class BacktestService {
     private final UpbitApiService upbitApiService;
     private final CandleDataRepository candleDataRepository;
     private final List<TradingStrategy> strategies;
+    private final ParallelMarketRunner parallelMarketRunner;
+    private final StrategySessionFactory strategySessionFactory;
+    private final PositionStateStore positionStateStore;
 
     private static final double TRADING_FEE = 0.0005;  // 업비트 수수료 0.05%
     private static final double STOP_LOSS_RATE = -0.03;  // 손절선 -3%
@@ -102,10 +112,6 @@ public class BacktestService {
         log.info("========== 멀티 코인 백테스팅 시작 ==========");
         log.info("마켓 수: {}, 전략: {}, 마켓당 자본: {}", markets.size(), strategyName, initialBalancePerMarket);
 
-        List<BacktestResult> marketResults = new ArrayList<>();
-        Map<String, Double> profitRateByMarket = new LinkedHashMap<>();
-        Map<ExitReason, Integer> totalExitReasonStats = new EnumMap<>(ExitReason.class);
-
         TradingStrategy selectedStrategy = null;
         if (strategyName != null && !strategyName.isEmpty()) {
             selectedStrategy = strategies.stream()
@@ -113,40 +119,28 @@ public class BacktestService {
                     .findFirst()
                     .orElse(null);
         }
+        final TradingStrategy finalSelectedStrategy = selectedStrategy;
 
-        for (String market : markets) {
-            try {
-                log.info("백테스팅 진행 중: {}", market);
-
-                List<Candle> candles = upbitApiService.getMinuteCandles(market, candleUnit, candleCount);
-                if (candles == null || candles.size() < 50) {
-                    log.warn("{} 캔들 데이터 부족, 스킵", market);
-                    continue;
-                }
-
-                Collections.reverse(candles);
-
-                BacktestResult result;
-                if (selectedStrategy != null) {
-                    result = executeBacktestSingleStrategy(market, selectedStrategy, candles, initialBalancePerMarket);
-                } else {
-                    result = executeBacktest(market, "BollingerBandStrategy", candles, initialBalancePerMarket);
-                }
-
-                marketResults.add(result);
-                profitRateByMarket.put(market, result.getTotalProfitRate());
-
-                // 종료 사유 통계 합산
-                if (result.getExitReasonStats() != null) {
-                    result.getExitReasonStats().forEach((reason, count) ->
-                            totalExitReasonStats.put(reason, totalExitReasonStats.getOrDefault(reason, 0) + count));
-                }
+        // 마켓별 [캔들 조회 → 백테스트] 병렬 실행 (결과는 입력 마켓 순서)
+        List<BacktestResult> marketResults = parallelMarketRunner.run(markets,
+                market -> loadCandlesChronological(market, candleUnit, candleCount),
+                (market, candles) -> {
+                    log.info("백테스팅 진행 중: {}", market);
+                    if (finalSelectedStrategy != null) {
+                        return executeBacktestSingleStrategy(market, finalSelectedStrategy, candles, initialBalancePerMarket);
+                    }
+                    return executeBacktest(market, "BollingerBandStrategy", candles, initialBalancePerMarket);
+                });
 
-                // API 속도 제한 방지
-                Thread.sleep(300);
+        Map<String, Double> profitRateByMarket = new LinkedHashMap<>();
+        Map<ExitReason, Integer> totalExitReasonStats = new EnumMap<>(ExitReason.class);
+        for (BacktestResult result : marketResults) {
+            profitRateByMarket.put(result.getMarket(), result.getTotalProfitRate());
 
-            } catch (Exception e) {
-                log.error("{} 백테스팅 실패: {}", market, e.getMessage());
+            // 종료 사유 통계 합산
+            if (result.getExitReasonStats() != null) {
+                result.getExitReasonStats().forEach((reason, count) ->
+                        totalExitReasonStats.put(reason, totalExitReasonStats.getOrDefault(reason, 0) + count));
             }
         }
 
@@ -228,6 +222,17 @@ public class BacktestService {
         }
     }
 
+    /**
+     * API 캔들 조회 후 시간순(오래된 것부터) 정렬
+     */
+    private List<Candle> loadCandlesChronological(String market, int candleUnit, int candleCount) {
+        List<Candle> candles = upbitApiService.getMinuteCandles(market, candleUnit, candleCount);
+        if (candles != null) {
+            Collections.reverse(candles);
+        }
+        return candles;
+    }
+
     /**
      * 실제 자동매매 로직과 동일한 시뮬레이션 (과반수 전략 동의 시 매매)
      * - 모든 전략을 분석하여 과반수 이상 동일 신호 시에만 매매
@@ -256,33 +261,22 @@ public class BacktestService {
         log.info("마켓 수: {}, 전략 수: {}, 과반수: {}개",
                 markets.size(), strategies.size(), (strategies.size() / 2) + 1);
 
-        List<BacktestResult> marketResults = new ArrayList<>();
-        Map<String, Double> profitRateByMarket = new LinkedHashMap<>();
+        TradingStrategy selectedStrategy = strategies.stream()
+                .filter(s -> s.getStrategyName().equalsIgnoreCase(strategyName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("전략을 찾을 수 없습니다: " + strategyName));
 
-        for (String market : markets) {
-            try {
-                log.info("시뮬레이션 진행 중: {}", market);
+        // 마켓별 [캔들 조회 → 시뮬레이션] 병렬 실행 (결과는 입력 마켓 순서)
+        List<BacktestResult> marketResults = parallelMarketRunner.run(markets,
+                market -> loadCandlesChronological(market, candleUnit, candleCount),
+                (market, candles) -> {
+                    log.info("시뮬레이션 진행 중: {}", market);
+                    return executeBacktestSingleStrategy(market, selectedStrategy, candles, initialBalancePerMarket);
+                });
 
-                List<Candle> candles = upbitApiService.getMinuteCandles(market, candleUnit, candleCount);
-                if (candles == null || candles.size() < 50) {
-                    log.warn("{} 캔들 데이터 부족, 스킵", market);
-                    continue;
-                }
-
-                Collections.reverse(candles);
-                //BacktestResult result = executeBacktest(market, strategyName, candles, initialBalancePerMarket);
-                //BacktestResult result = executeRealTradingSimulation(market, candles, initialBalancePerMarket);
-
-                TradingStrategy selectedStrategy = strategies.stream()
-                        .filter(s -> s.getStrategyName().equalsIgnoreCase(strategyName))
-                        .findFirst()
-                        .orElseThrow(() -> new IllegalArgumentException("전략을 찾을 수 없습니다: " + strategyName));
-                BacktestResult result = executeBacktestSingleStrategy(market, selectedStrategy, candles, initialBalancePerMarket);
-                marketResults.add(result);
-                profitRateByMarket.put(market, result.getTotalProfitRate());
-            } catch (Exception e) {
-                log.error("{} 시뮬레이션 실패: {}", market, e.getMessage());
-            }
+        Map<String, Double> profitRateByMarket = new LinkedHashMap<>();
+        for (BacktestResult result : marketResults) {
+            profitRateByMarket.put(result.getMarket(), result.getTotalProfitRate());
         }
 
         if (marketResults.isEmpty()) {
@@ -327,8 +321,15 @@ public class BacktestService {
 
     /**
      * 실제 매매 로직 시뮬레이션 (과반수 전략 동의 + 손절/익절)
+     * - 실행마다 격리된 전략 세션에서 수행 (실매매/동시 실행 백테스트와 전략 상태 공유 없음)
      */
     private BacktestResult executeRealTradingSimulation(String market, List<Candle> candles, double initialBalance) {
+        try (StrategySession.Scope ignored = strategySessionFactory.openSimulation(market).bind()) {
+            return simulateRealTrading(market, candles, initialBalance);
+        }
+    }
+
+    private BacktestResult simulateRealTrading(String market, List<Candle> candles, double initialBalance) {
         double krwBalance = initialBalance;
         double coinBalance = 0;
         double lastBuyPrice = 0;
@@ -343,12 +344,15 @@ public class BacktestService {
         int minRequiredCandles = 100;  // 충분한 데이터 확보
         int threshold = (strategies.size() / 2) + 1;  // 과반수 기준
 
-        for (int i = minRequiredCandles; i < candles.size(); i++) {
-            List<Candle> currentCandles = new ArrayList<>(candles.subList(0, i + 1));
-            Collections.reverse(currentCandles);
+        // 시간순 시리즈를 한 번만 만들고, 매 시점마다 최신순 윈도우(복사 없음)로 전달
+        CandleSeries series = CandleSeries.fromCandles(candles);
+
+        for (int i = minRequiredCandles; i < series.size(); i++) {
+            ParallelMarketRunner.checkCancelled();
+            List<Candle> currentCandles = series.window(i);
 
-            Candle currentCandle = candles.get(i);
-            double currentPrice = currentCandle.getTradePrice().doubleValue();
+            Candle currentCandle = series.candle(i);
+            double currentPrice = series.close(i);
 
             // 포지션 보유 중일 때 손절/익절 체크
             if (coinBalance > 0 && lastBuyPrice > 0) {
@@ -371,6 +375,7 @@ public class BacktestService {
                     krwBalance += actualAmount;
                     double prevCoinBalance = coinBalance;
                     coinBalance = 0;
+                    recordSimulatedFill(market, TradeHistory.TradeType.SELL, currentPrice, currentCandle);
                     maxPriceAfterBuy = 0;
 
                     String reason = stopLoss ? "STOP_LOSS" : takeProfit ? "TAKE_PROFIT" : "TRAILING_STOP";
@@ -421,6 +426,7 @@ public class BacktestService {
                 coinBalance = volume;
                 krwBalance -= buyAmount;
                 lastBuyPrice = currentPrice;
+                recordSimulatedFill(market, TradeHistory.TradeType.BUY, currentPrice, currentCandle);
                 maxPriceAfterBuy = currentPrice;
 
                 double totalAsset = krwBalance + (coinBalance * currentPrice);
@@ -453,6 +459,7 @@ public class BacktestService {
                 krwBalance += actualAmount;
                 double prevCoinBalance = coinBalance;
                 coinBalance = 0;
+                recordSimulatedFill(market, TradeHistory.TradeType.SELL, currentPrice, currentCandle);
                 maxPriceAfterBuy = 0;
 
                 String strategyInfo = sellSignals + "/" + strategies.size() + " 동의: " + String.join(", ", sellStrategies);
@@ -528,11 +535,32 @@ public class BacktestService {
                 .build();
     }
 
+    /**
+     * 모의 체결을 시뮬레이션 세션의 포지션 상태에 반영 (전략 analyze가 실매매 DB 대신 참조)
+     */
+    private void recordSimulatedFill(String market, TradeHistory.TradeType type, double price, Candle candle) {
+        positionStateStore.record(PositionState.builder()
+                .market(market)
+                .tradeType(type)
+                .price(price)
+                .highestPrice(type == TradeHistory.TradeType.BUY ? price : null)
+                .tradedAt(LocalDateTime.parse(candle.getCandleDateTimeKst()))
+                .build());
+    }
+
     /**
      * 백테스팅 실행 (전략 조합 - 다수결)
+     * - 실행마다 격리된 전략 세션에서 수행
      */
     private BacktestResult executeBacktest(String market, String strategyName,
                                            List<Candle> candles, double initialBalance) {
+        try (StrategySession.Scope ignored = strategySessionFactory.openSimulation(market).bind()) {
+            return simulateCombined(market, strategyName, candles, initialBalance);
+        }
+    }
+
+    private BacktestResult simulateCombined(String market, String strategyName,
+                                            List<Candle> candles, double initialBalance) {
         double krwBalance = initialBalance;
         double coinBalance = 0;
         double lastBuyPrice = 0;
@@ -546,13 +574,16 @@ public class BacktestService {
         // 분석에 필요한 최소 캔들 수
         int minRequiredCandles = 30;
 
-        for (int i = minRequiredCandles; i < candles.size(); i++) {
-            // 현재 시점까지의 캔들 데이터 (최신순으로 다시 정렬)
-            List<Candle> currentCandles = new ArrayList<>(candles.subList(0, i + 1));
-            Collections.reverse(currentCandles);
+        // 시간순 시리즈를 한 번만 만들고, 매 시점마다 최신순 윈도우(복사 없음)로 전달
+        CandleSeries series = CandleSeries.fromCandles(candles);
 
-            Candle currentCandle = candles.get(i);
-            double currentPrice = currentCandle.getTradePrice().doubleValue();
+        for (int i = minRequiredCandles; i < series.size(); i++) {
+            ParallelMarketRunner.checkCancelled();
+            // 현재 시점까지의 캔들 데이터 (최신순 뷰)
+            List<Candle> currentCandles = series.window(i);
+
+            Candle currentCandle = series.candle(i);
+            double currentPrice = series.close(i);
 
             // 전략 분석 (다수결)
             int buySignals = 0;
@@ -586,6 +617,7 @@ public class BacktestService {
                 coinBalance += volume;
                 krwBalance -= buyAmount;
                 lastBuyPrice = currentPrice;
+                recordSimulatedFill(market, TradeHistory.TradeType.BUY, currentPrice, currentCandle);
 
                 double totalAsset = krwBalance + (coinBalance * currentPrice);
 
@@ -620,6 +652,7 @@ public class BacktestService {
 
                 krwBalance += actualAmount;
                 coinBalance = 0;
+                recordSimulatedFill(market, TradeHistory.TradeType.SELL, currentPrice, currentCandle);
 
                 double totalAsset = krwBalance;
 
@@ -698,10 +731,18 @@ public class BacktestService {
     /**
      * 단일 전략 백테스팅 (실제 전략 로직 사용)
      * - analyzeForBacktest를 호출하여 실제 매매와 동일한 로직으로 시뮬레이션
-     * - 성능 최적화: 미리 역순 리스트를 생성하여 O(n²) -> O(n)으로 개선
+     * - 성능 최적화: 컬럼형 시리즈(CandleSeries) + 최신순 윈도우 뷰로 O(n²) -> O(n)으로 개선
+     * - 실행마다 격리된 전략 세션에서 수행 (병렬 멀티 마켓 실행 시에도 안전)
      */
     private BacktestResult executeBacktestSingleStrategy(String market, TradingStrategy strategy,
                                                          List<Candle> candles, double initialBalance) {
+        try (StrategySession.Scope ignored = strategySessionFactory.openSimulation(market).bind()) {
+            return simulateSingleStrategy(market, strategy, candles, initialBalance);
+        }
+    }
+
+    private BacktestResult simulateSingleStrategy(String market, TradingStrategy strategy,
+                                                  List<Candle> candles, double initialBalance) {
         double krwBalance = initialBalance;
         double coinBalance = 0;
         double lastBuyPrice = 0;
@@ -722,22 +763,16 @@ public class BacktestService {
         // 백테스트용 포지션 객체 (전략에 전달)
         BacktestPosition position = BacktestPosition.empty();
 
-        // 성능 최적화: 미리 역순 리스트 생성 (O(n) 한 번만)
+        // 성능 최적화: 컬럼형 시리즈를 한 번만 만들고 시점(index)만 전달
         // 기존: 매 반복마다 복사 + 역순 = O(n²)
-        // 개선: 미리 역순 생성 + subList 뷰 사용 = O(n)
-        List<Candle> reversedCandles = new ArrayList<>(candles);
-        Collections.reverse(reversedCandles);
-        int totalSize = candles.size();
+        // 개선: 공유 시리즈 + 최신순 윈도우 뷰 (O(1) 생성) = O(n)
+        CandleSeries series = CandleSeries.fromCandles(candles);
+        int totalSize = series.size();
 
         for (int i = minRequiredCandles; i < totalSize; i++) {
-            // reversedCandles에서 뒤쪽 (i+1)개가 candles[0..i]의 역순
-            // 예: candles = [A,B,C,D,E], reversedCandles = [E,D,C,B,A]
-            // i=2 -> candles[0..2] = [A,B,C] 역순 = [C,B,A] = reversedCandles[2..5]
-            int fromIndex = totalSize - (i + 1);
-            List<Candle> currentCandles = reversedCandles.subList(fromIndex, totalSize);
-
-            Candle currentCandle = candles.get(i);
-            double currentPrice = currentCandle.getTradePrice().doubleValue();
+            ParallelMarketRunner.checkCancelled();
+            Candle currentCandle = series.candle(i);
+            double currentPrice = series.close(i);
 
             // 포지션 정보 업데이트 (최고가 갱신)
             if (coinBalance > 0) {
@@ -749,7 +784,8 @@ public class BacktestService {
             int signal;
             BacktestContext.clear(); // 호출 전 클리어
             try {
-                signal = strategy.analyzeForBacktest(market, currentCandles, position);
+                // candles[0..i]의 최신순 뷰 기준 분석 (예: [A,B,C,D,E], i=2 -> [C,B,A])
+                signal = strategy.analyzeForBacktest(market, series, i, position);
             } catch (Exception e) {
                 continue;
             }
@@ -1033,10 +1069,6 @@ public class BacktestService {
         log.info("원본 날짜 - startDate: {}, endDate: {}", startDate, endDate);
         log.info("변환된 날짜 - startDate: {}, endDate: {}, endDateNext: {}", formattedStartDate, formattedEndDate, endDateNext);
 
-        // 스레드 안전한 컬렉션 사용
-        List<BacktestResult> marketResults = Collections.synchronizedList(new ArrayList<>());
-        Map<String, Double> profitRateByMarket = new java.util.concurrent.ConcurrentHashMap<>();
-
         TradingStrategy selectedStrategy = null;
         if (strategyName != null && !strategyName.isEmpty()) {
             selectedStrategy = strategies.stream()
@@ -1049,59 +1081,45 @@ public class BacktestService {
         final String finalStartDate = formattedStartDate;
         final String finalEndDateNext = endDateNext;
 
-        // 병렬 처리를 위한 CompletableFuture 리스트
-        List<java.util.concurrent.CompletableFuture<Void>> futures = markets.stream()
-                .map(market -> java.util.concurrent.CompletableFuture.runAsync(() -> {
-                    try {
-                        log.info("DB 백테스팅 진행 중: {}", market);
-
-                        List<CandleData> candleDataList;
-                        // 날짜 필터가 있는 경우에만 날짜 조건 적용
-                        if (finalStartDate != null && finalEndDateNext != null
-                                && !finalStartDate.isEmpty() && !finalEndDateNext.isEmpty()) {
-                            log.info("날짜 필터 적용: {} ~ {}", finalStartDate, finalEndDateNext);
-                            if (unit != null) {
-                                candleDataList = candleDataRepository.findByMarketAndUnitAndDateRange(market, unit, finalStartDate, finalEndDateNext);
-                            } else {
-                                candleDataList = candleDataRepository.findByMarketAndDateRange(market, finalStartDate, finalEndDateNext);
-                            }
+        // 마켓별 [DB 조회 → 백테스트] 병렬 실행 (전용 풀, 결과는 입력 마켓 순서)
+        List<BacktestResult> marketResults = parallelMarketRunner.run(markets,
+                market -> {
+                    log.info("DB 백테스팅 진행 중: {}", market);
+
+                    List<CandleData> candleDataList;
+                    // 날짜 필터가 있는 경우에만 날짜 조건 적용
+                    if (finalStartDate != null && finalEndDateNext != null
+                            && !finalStartDate.isEmpty() && !finalEndDateNext.isEmpty()) {
+                        log.info("날짜 필터 적용: {} ~ {}", finalStartDate, finalEndDateNext);
+                        if (unit != null) {
+                            candleDataList = candleDataRepository.findByMarketAndUnitAndDateRange(market, unit, finalStartDate, finalEndDateNext);
                         } else {
-                            // 날짜 필터 없이 전체 조회
-                            log.info("날짜 필터 없음 - 전체 조회");
-                            if (unit != null) {
-                                candleDataList = candleDataRepository.findByMarketAndUnitOrderByCandleDateTimeKstAsc(market, unit);
-                            } else {
-                                candleDataList = candleDataRepository.findByMarketOrderByCandleDateTimeKstAsc(market);
-                            }
-                        }
-
-                        log.info("{} 조회 결과: {}개", market, candleDataList.size());
-
-                        if (candleDataList.isEmpty() || candleDataList.size() < 50) {
-                            log.warn("{} DB 캔들 데이터 부족 ({}개), 스킵", market, candleDataList.size());
-                            return;
+                            candleDataList = candleDataRepository.findByMarketAndDateRange(market, finalStartDate, finalEndDateNext);
                         }
-
-                        List<Candle> candles = convertToCandles(candleDataList);
-
-                        BacktestResult result;
-                        if (finalSelectedStrategy != null) {
-                            result = executeBacktestSingleStrategy(market, finalSelectedStrategy, candles, initialBalancePerMarket);
+                    } else {
+                        // 날짜 필터 없이 전체 조회
+                        log.info("날짜 필터 없음 - 전체 조회");
+                        if (unit != null) {
+                            candleDataList = candleDataRepository.findByMarketAndUnitOrderByCandleDateTimeKstAsc(market, unit);
                         } else {
-                            result = executeBacktest(market, "Combined", candles, initialBalancePerMarket);
+                            candleDataList = candleDataRepository.findByMarketOrderByCandleDateTimeKstAsc(market);
                         }
+                    }
 
-                        marketResults.add(result);
-                        profitRateByMarket.put(market, result.getTotalProfitRate());
-
-                    } catch (Exception e) {
-                        log.error("{} DB 백테스팅 실패: {}", market, e.getMessage());
+                    log.info("{} 조회 결과: {}개", market, candleDataList.size());
+                    return convertToCandles(candleDataList);
+                },
+                (market, candles) -> {
+                    if (finalSelectedStrategy != null) {
+                        return executeBacktestSingleStrategy(market, finalSelectedStrategy, candles, initialBalancePerMarket);
                     }
-                }))
-                .collect(Collectors.toList());
+                    return executeBacktest(market, "Combined", candles, initialBalancePerMarket);
+                });
 
-        // 모든 작업 완료 대기
-        java.util.concurrent.CompletableFuture.allOf(futures.toArray(new java.util.concurrent.CompletableFuture[0])).join();
+        Map<String, Double> profitRateByMarket = new LinkedHashMap<>();
+        for (BacktestResult result : marketResults) {
+            profitRateByMarket.put(result.getMarket(), result.getTotalProfitRate());
+        }
 
         if (marketResults.isEmpty()) {
             throw new RuntimeException("DB 백테스팅 결과가 없습니다.");
@@ -0,0 +1,72 @@
+package autostock.taesung.com.autostock.backtest.engine;
+
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 백테스트용 캔들 윈도우 (읽기 전용, 최신순 뷰)
+ * - 시간순(오래된 것부터) 배열 하나를 공유하고, 특정 시점까지의 캔들을 최신순으로 보여줌
+ * - 매 캔들마다 리스트를 복사/역순 정렬하지 않으므로 전체 백테스트가 O(n)
+ * - 전략에는 기존과 동일한 List&lt;Candle&gt; (index 0 = 최신) 계약으로 전달됨
+ *
+ * 예: candles = [A,B,C,D,E] (시간순), at(2) -> [C,B,A]
+ */
+public final class CandleWindow extends AbstractList<Candle> implements RandomAccess {
+
+    private final Candle[] candles;  // 시간순 (공유, 수정 금지)
+    private final int newestIndex;   // 윈도우의 최신 캔들 위치
+    private final int size;
+
+    private CandleWindow(Candle[] candles, int newestIndex, int size) {
+        this.candles = candles;
+        this.newestIndex = newestIndex;
+        this.size = size;
+    }
+
+    /**
+     * 시간순 캔들 리스트를 공유 배열로 변환 (백테스트 시작 시 1회)
+     */
+    public static Candle[] toArray(List<Candle> chronologicalCandles) {
+        return chronologicalCandles.toArray(new Candle[0]);
+    }
+
+    /**
+     * candles[0..index] 구간을 최신순으로 보여주는 윈도우 생성 (O(1), 복사 없음)
+     * @param chronologicalCandles 시간순 캔들 배열 (toArray로 생성)
+     * @param index 현재 시점 인덱스
+     */
+    public static CandleWindow at(Candle[] chronologicalCandles, int index) {
+        if (index < 0 || index >= chronologicalCandles.length) {
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + chronologicalCandles.length);
+        }
+        return new CandleWindow(chronologicalCandles, index, index + 1);
+    }
+
+    @Override
+    public Candle get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        return candles[newestIndex - index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 부분 윈도우도 복사 없이 같은 배열을 공유
+     * - subList(1, n) 처럼 "이전 캔들" 기준 분석에 자주 사용됨
+     */
+    @Override
+    public List<Candle> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", size: " + size);
+        }
+        return new CandleWindow(candles, newestIndex - fromIndex, toIndex - fromIndex);
+    }
+}
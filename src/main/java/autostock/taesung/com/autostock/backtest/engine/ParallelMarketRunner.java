@@ -0,0 +1,194 @@
+package autostock.taesung.com.autostock.backtest.engine;
+
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+import autostock.taesung.com.autostock.exchange.upbit.ratelimit.UpbitRequestPriority;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 멀티 마켓 백테스트 병렬 실행기
+ * - 마켓별로 [캔들 로딩 → 시뮬레이션] 파이프라인을 구성
+ *   로딩은 backtestLoadExecutor(I/O), 시뮬레이션은 backtestExecutor(CPU)에서 실행되어 서로 겹쳐 진행
+ * - 캔들 로딩은 ANALYTICS 우선순위로 실행 (API 요청 제한은 UpbitRateLimiter가 조절, 자동매매 요청이 먼저 처리됨)
+ * - 마켓별 타임아웃 초과/실패/데이터 부족 마켓은 결과에서 제외 (로그만 남김)
+ * - 타임아웃은 각 단계가 실제로 실행된 시간의 합으로 계산 (스레드 풀 큐 대기 제외)
+ *   초과 시 실행 중인 단계를 인터럽트로 취소 (시뮬레이션 루프는 checkCancelled()로 중단)
+ * - 결과는 입력 마켓 순서 그대로 반환 (완료 순서와 무관)
+ *
+ * 전체 소요 시간은 대략 (마켓 수 / 시세 API 초당 허용량)과 가장 느린 마켓 중 큰 값
+ */
+@Slf4j
+@Component
+public class ParallelMarketRunner {
+
+    private static final int MIN_CANDLES = 50;
+
+    private final ThreadPoolTaskExecutor simulationExecutor;
+    private final ThreadPoolTaskExecutor loadExecutor;
+    private final long marketTimeoutSeconds;
+    private final ScheduledExecutorService watchdog;
+
+    public ParallelMarketRunner(@Qualifier("backtestExecutor") ThreadPoolTaskExecutor simulationExecutor,
+                                @Qualifier("backtestLoadExecutor") ThreadPoolTaskExecutor loadExecutor,
+                                @Value("${backtest.parallel.market-timeout-seconds:120}") long marketTimeoutSeconds) {
+        this.simulationExecutor = simulationExecutor;
+        this.loadExecutor = loadExecutor;
+        this.marketTimeoutSeconds = marketTimeoutSeconds;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "backtest-market-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 타임아웃으로 취소된 작업인지 확인 (시뮬레이션 루프에서 캔들마다 호출)
+     * @throws CancellationException 현재 스레드가 인터럽트된 경우
+     */
+    public static void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("백테스트 작업이 취소되었습니다.");
+        }
+    }
+
+    /**
+     * 마켓별 백테스트 병렬 실행
+     * @param markets 대상 마켓 (결과 순서 기준)
+     * @param loader 마켓 → 시간순 캔들 (null/50개 미만이면 스킵)
+     * @param simulator (마켓, 캔들) → 결과 (null이면 스킵)
+     * @return 성공한 마켓의 결과 (입력 순서)
+     */
+    public <T> List<T> run(List<String> markets,
+                           Function<String, List<Candle>> loader,
+                           BiFunction<String, List<Candle>, T> simulator) {
+        long startTime = System.currentTimeMillis();
+
+        List<MarketTask<T>> tasks = new ArrayList<>(markets.size());
+        for (String market : markets) {
+            MarketTask<T> task = new MarketTask<>();
+            task.submit(loadExecutor, () -> {
+                List<Candle> candles = task.timed(() -> UpbitRequestPriority.ANALYTICS.call(() -> loader.apply(market)));
+                if (candles == null || candles.size() < MIN_CANDLES) {
+                    log.warn("{} 캔들 데이터 부족 ({}개), 스킵", market, candles == null ? 0 : candles.size());
+                    task.result.complete(null);
+                    return;
+                }
+                task.submit(simulationExecutor, () -> task.result.complete(task.timed(() -> simulator.apply(market, candles))));
+            });
+            tasks.add(task);
+        }
+
+        // 입력 순서대로 수집 (결정적 순서)
+        List<T> results = new ArrayList<>(markets.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            String market = markets.get(i);
+            T result = tasks.get(i).result.handle((value, e) -> {
+                if (e == null) {
+                    return value;
+                }
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof TimeoutException) {
+                    log.error("{} 백테스팅 타임아웃 ({}초 초과, 작업 취소), 스킵", market, marketTimeoutSeconds);
+                } else {
+                    log.error("{} 백테스팅 실패: {}", market, cause.getMessage());
+                }
+                return null;
+            }).join();
+            if (result != null) {
+                results.add(result);
+            }
+        }
+
+        log.info("멀티 마켓 병렬 실행 완료: {}/{} 마켓 ({}ms)",
+                results.size(), markets.size(), System.currentTimeMillis() - startTime);
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+    }
+
+    /**
+     * 마켓 1개의 [로딩 → 시뮬레이션] 작업
+     * - 남은 시간 예산은 단계 실행 중에만 줄어듦
+     * - 타임아웃 시 결과를 TimeoutException으로 완료하고 실행 중인 단계를 인터럽트
+     */
+    private final class MarketTask<T> {
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private volatile long remainingNanos = TimeUnit.SECONDS.toNanos(marketTimeoutSeconds);
+        private volatile Future<?> running;
+
+        /**
+         * 단계 제출 (이미 완료/타임아웃된 작업이면 무시)
+         */
+        void submit(ThreadPoolTaskExecutor executor, Runnable stage) {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                running = executor.submit(() -> {
+                    if (result.isDone()) {
+                        return;
+                    }
+                    try {
+                        stage.run();
+                    } catch (Throwable e) {
+                        result.completeExceptionally(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            // 제출 직후 타임아웃된 경우
+            if (result.isDone()) {
+                running.cancel(true);
+            }
+        }
+
+        /**
+         * 남은 예산 안에서 실행 (실행 시작 시점부터 타이머 가동)
+         */
+        <R> R timed(Supplier<R> work) {
+            long startedAt = System.nanoTime();
+            ScheduledFuture<?> timer = watchdog.schedule(this::expire, remainingNanos, TimeUnit.NANOSECONDS);
+            try {
+                return work.get();
+            } finally {
+                timer.cancel(false);
+                remainingNanos -= System.nanoTime() - startedAt;
+            }
+        }
+
+        private void expire() {
+            if (result.completeExceptionally(new TimeoutException())) {
+                Future<?> current = running;
+                if (current != null) {
+                    current.cancel(true);
+                }
+            }
+        }
+    }
+}
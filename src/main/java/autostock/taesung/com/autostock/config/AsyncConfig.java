@@ -2,6 +2,7 @@ package autostock.taesung.com.autostock.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
@@ -61,6 +62,83 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * 멀티 마켓 백테스트 시뮬레이션 스레드 풀 (CPU 작업)
+     * - backtest.parallel.workers (0이면 CPU 코어 수)
+     */
+    @Bean(name = "backtestExecutor")
+    public ThreadPoolTaskExecutor backtestExecutor(@Value("${backtest.parallel.workers:0}") int workers) {
+        int size = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setThreadNamePrefix("backtest-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+
+        log.info("백테스트 스레드 풀 초기화: workers={}", size);
+        return executor;
+    }
+
+    /**
+     * 멀티 마켓 백테스트 캔들 로딩 스레드 풀 (API/DB I/O)
+     * - 시뮬레이션과 분리해 로딩과 계산이 겹쳐서 진행되도록 함
+     * - backtest.parallel.load-concurrency 로 동시 요청 수 제한 (Upbit 요청 제한 고려)
+     */
+    @Bean(name = "backtestLoadExecutor")
+    public ThreadPoolTaskExecutor backtestLoadExecutor(@Value("${backtest.parallel.load-concurrency:4}") int concurrency) {
+        int size = Math.max(1, concurrency);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setThreadNamePrefix("backtest-load-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+
+        log.info("백테스트 캔들 로딩 스레드 풀 초기화: concurrency={}", size);
+        return executor;
+    }
+
+    /**
+     * 스케줄러 사용자별 자동매매 스레드 풀 (API I/O 위주)
+     * - trading.parallel.user-concurrency 만큼 사용자를 동시에 실행
+     * - Upbit 요청 제한은 UpbitRateLimiter가 API 키별로 적용하므로 여기서는 동시 실행 수만 제한
+     * - 작업이 대부분 I/O 대기라 가상 스레드(Java 21+) 실행기로 교체해도 동작은 동일
+     */
+    @Bean(name = "tradingExecutor")
+    public ThreadPoolTaskExecutor tradingExecutor(@Value("${trading.parallel.user-concurrency:8}") int concurrency) {
+        int size = Math.max(1, concurrency);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setThreadNamePrefix("trading-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+
+        log.info("자동매매 사용자 스레드 풀 초기화: concurrency={}", size);
+        return executor;
+    }
+
+    /**
+     * 대시보드 스냅샷 백그라운드 갱신 스레드 풀 (계좌/시세 조회)
+     * - 큐가 가득 차면 거부 → 호출 측은 이전 스냅샷을 그대로 반환
+     */
+    @Bean(name = "dashboardExecutor")
+    public ThreadPoolTaskExecutor dashboardExecutor(@Value("${dashboard.cache.refresh-concurrency:2}") int concurrency) {
+        int size = Math.max(1, concurrency);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+
+        log.info("대시보드 갱신 스레드 풀 초기화: concurrency={}", size);
+        return executor;
+    }
+
     /**
      * 기본 비동기 Executor
      */
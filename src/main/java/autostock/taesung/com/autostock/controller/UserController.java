@@ -52,19 +52,22 @@ public class UserController {
             return ResponseEntity.badRequest().body(Map.of("message", "enabled 값이 필요합니다."));
         }
 
+        User freshUser = reload(user);
+
         // Upbit API 키가 없으면 자동매매 활성화 불가
-        if (enabled && (user.getUpbitAccessKey() == null || user.getUpbitSecretKey() == null)) {
+        if (enabled && (freshUser.getUpbitAccessKey() == null || freshUser.getUpbitSecretKey() == null)) {
             return ResponseEntity.badRequest()
                     .body(Map.of("message", "Upbit API 키를 먼저 등록해주세요."));
         }
 
-        user.setAutoTradingEnabled(enabled);
-        userRepository.save(user);
+        freshUser.setAutoTradingEnabled(enabled);
+        userRepository.save(freshUser);
+        apiKeyService.evictCachedCredentials(freshUser);
 
-        log.info("사용자 {} 자동매매 상태 변경: {}", user.getUsername(), enabled);
+        log.info("사용자 {} 자동매매 상태 변경: {}", freshUser.getUsername(), enabled);
 
         Map<String, Object> response = new HashMap<>();
-        response.put("autoTradingEnabled", user.getAutoTradingEnabled());
+        response.put("autoTradingEnabled", freshUser.getAutoTradingEnabled());
         response.put("message", enabled ? "자동매매가 활성화되었습니다." : "자동매매가 비활성화되었습니다.");
         return ResponseEntity.ok(response);
     }
@@ -86,7 +89,6 @@ public class UserController {
                     .body(Map.of("message", "accessKey와 secretKey가 필요합니다."));
         }
         apiKeyService.saveUpbitApiKeys(user.getId(), accessKey, secretKey);
-        userRepository.save(user);
 
         log.info("사용자 {} Upbit API 키 업데이트", user.getUsername());
 
@@ -102,10 +104,12 @@ public class UserController {
      */
     @DeleteMapping("/upbit-keys")
     public ResponseEntity<Map<String, Object>> deleteUpbitKeys(@AuthenticationPrincipal User user) {
-        user.setUpbitAccessKey(null);
-        user.setUpbitSecretKey(null);
-        user.setAutoTradingEnabled(false);  // API 키 삭제 시 자동매매도 비활성화
-        userRepository.save(user);
+        User freshUser = reload(user);
+        freshUser.setUpbitAccessKey(null);
+        freshUser.setUpbitSecretKey(null);
+        freshUser.setAutoTradingEnabled(false);  // API 키 삭제 시 자동매매도 비활성화
+        userRepository.save(freshUser);
+        apiKeyService.evictCachedCredentials(freshUser);
 
         log.info("사용자 {} Upbit API 키 삭제", user.getUsername());
 
@@ -133,17 +137,63 @@ public class UserController {
                     .body(Map.of("message", "현재 비밀번호와 새 비밀번호가 필요합니다."));
         }
 
+        User freshUser = reload(user);
+
         // 현재 비밀번호 확인
-        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+        if (!passwordEncoder.matches(currentPassword, freshUser.getPassword())) {
             return ResponseEntity.badRequest()
                     .body(Map.of("message", "현재 비밀번호가 일치하지 않습니다."));
         }
 
-        user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        freshUser.setPassword(passwordEncoder.encode(newPassword));
+        userRepository.save(freshUser);
+        apiKeyService.evictCachedCredentials(freshUser);
 
         log.info("사용자 {} 비밀번호 변경", user.getUsername());
 
         return ResponseEntity.ok(Map.of("message", "비밀번호가 변경되었습니다."));
     }
+
+    /**
+     * 사용자 활성화/비활성화 (관리자용)
+     * PUT /api/user/{userId}/enabled
+     */
+    @PutMapping("/{userId}/enabled")
+    public ResponseEntity<Map<String, Object>> setUserEnabled(
+            @AuthenticationPrincipal User user,
+            @PathVariable Long userId,
+            @RequestBody Map<String, Boolean> request) {
+
+        // 관리자 권한 체크
+        if (user.getRole() != User.Role.ADMIN) {
+            return ResponseEntity.status(403).body(Map.of("message", "관리자 권한이 필요합니다."));
+        }
+
+        Boolean enabled = request.get("enabled");
+        if (enabled == null) {
+            return ResponseEntity.badRequest().body(Map.of("message", "enabled 값이 필요합니다."));
+        }
+
+        User target = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + userId));
+        target.setEnabled(enabled);
+        userRepository.save(target);
+        // 캐시된 인증 주체 제거 → 비활성화 즉시 다음 요청부터 인증 거부
+        apiKeyService.evictCachedCredentials(target);
+
+        log.info("사용자 {} 활성화 상태 변경: {} (by {})", target.getUsername(), enabled, user.getUsername());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("userId", userId);
+        response.put("enabled", enabled);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 인증 주체는 요청 간 공유되는 캐시 인스턴스이므로 변경 전 DB에서 다시 조회
+     */
+    private User reload(User principal) {
+        return userRepository.findById(principal.getId())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + principal.getId()));
+    }
 }
\ No newline at end of file
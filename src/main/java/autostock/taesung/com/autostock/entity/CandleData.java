@@ -9,6 +9,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "candle_data", indexes = {
     @Index(name = "idx_candle_market_time", columnList = "market, candle_date_time_kst")
+}, uniqueConstraints = {
+    // 캔들 upsert 기준 키 (CandleIngestionService)
+    @UniqueConstraint(name = "uk_candle_market_unit_time", columnNames = {"market", "unit", "candle_date_time_kst"})
 })
 @Getter
 @Setter
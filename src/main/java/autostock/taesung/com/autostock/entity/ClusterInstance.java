@@ -0,0 +1,39 @@
+package autostock.taesung.com.autostock.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 클러스터 인스턴스 (분산 서버 등록/하트비트)
+ * - 각 서버가 주기적으로 lastHeartbeat를 갱신
+ * - 하트비트가 끊긴 인스턴스는 죽은 것으로 보고 마켓 샤드 분배에서 제외
+ *
+ * 테이블 구조만 JPA로 관리하고 갱신은 ClusterShardService가 JDBC로 처리 (DB 시간 기준)
+ */
+@Entity
+@Table(name = "cluster_instance", indexes = {
+        @Index(name = "idx_cluster_instance_heartbeat", columnList = "lastHeartbeat")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClusterInstance {
+
+    /**
+     * 인스턴스 식별자 (hostname:port, 재시작해도 동일)
+     */
+    @Id
+    @Column(length = 100)
+    private String instanceId;
+
+    @Column(length = 100)
+    private String host;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime lastHeartbeat;
+}
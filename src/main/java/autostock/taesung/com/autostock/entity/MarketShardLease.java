@@ -0,0 +1,39 @@
+package autostock.taesung.com.autostock.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 마켓 샤드 임대 (분산 서버 마켓 분배)
+ * - 마켓은 이름 해시로 고정 개수의 샤드에 배정되고, 샤드 하나를 한 인스턴스가 임대
+ * - 소유 인스턴스가 하트비트마다 leaseUntil을 연장, 연장이 끊기면 다른 인스턴스가 가져감
+ *
+ * 테이블 구조만 JPA로 관리하고 임대/반납은 ClusterShardService가 조건부 UPDATE로 처리
+ */
+@Entity
+@Table(name = "market_shard_lease", indexes = {
+        @Index(name = "idx_shard_lease_owner", columnList = "ownerInstance")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MarketShardLease {
+
+    @Id
+    private Integer shardNo;
+
+    /**
+     * 소유 인스턴스 (null이면 미배정)
+     */
+    @Column(length = 100)
+    private String ownerInstance;
+
+    /**
+     * 임대 만료 시각 (지나면 다른 인스턴스가 가져갈 수 있음)
+     */
+    private LocalDateTime leaseUntil;
+}
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 @Table(name = "simulation_task", indexes = {
     @Index(name = "idx_task_status", columnList = "status"),
     @Index(name = "idx_task_created", columnList = "createdAt"),
-    @Index(name = "idx_task_param_hash", columnList = "paramHash")
+    @Index(name = "idx_task_param_hash", columnList = "paramHash"),
+    @Index(name = "idx_task_parent", columnList = "parentTaskId")
 })
 @Getter
 @Setter
@@ -53,6 +54,12 @@ public class SimulationTask {
     @Column(length = 20)
     private String targetMarket;
 
+    /**
+     * 최적화 탐색 엔진 (GRID, SUCCESSIVE_HALVING 등, null이면 기본 엔진)
+     */
+    @Column(length = 30)
+    private String searchEngine;
+
     /**
      * 요청 파라미터 해시 (중복 실행 방지용)
      */
@@ -95,6 +102,12 @@ public class SimulationTask {
     @Column
     private Integer totalCombinations;
 
+    /**
+     * 가지치기(조기 중단)된 파라미터 조합 수
+     */
+    @Column
+    private Integer prunedCombinations;
+
     /**
      * 결과 데이터 (JSON)
      */
@@ -102,6 +115,14 @@ public class SimulationTask {
     @Column(columnDefinition = "LONGTEXT")
     private String resultJson;
 
+    /**
+     * 최적화 체크포인트 (JSON, 완료된 청크 커서 + 상위 K개 조합)
+     * - 재시작/다른 인스턴스가 이어받으면 마지막 완료 청크 다음부터 탐색
+     */
+    @Lob
+    @Column(columnDefinition = "LONGTEXT")
+    private String checkpointJson;
+
     /**
      * 에러 메시지
      */
@@ -146,11 +167,30 @@ public class SimulationTask {
     private Long userId;
 
     /**
-     * 서버 인스턴스 ID (멀티 서버 환경용)
+     * 서버 인스턴스 ID (멀티 서버 환경용, 작업을 가져간 인스턴스)
      */
-    @Column(length = 50)
+    @Column(length = 100)
     private String serverInstance;
 
+    /**
+     * 실행 인스턴스 하트비트 (끊기면 다른 인스턴스가 다시 가져감)
+     */
+    @Column
+    private LocalDateTime heartbeatAt;
+
+    /**
+     * 실행 시도 횟수 (하트비트 만료로 재대기된 횟수 포함)
+     */
+    @Column
+    @Builder.Default
+    private Integer attemptCount = 0;
+
+    /**
+     * 상위 작업 ID (분할된 하위 작업인 경우, 결과는 상위 작업이 병합)
+     */
+    @Column(length = 36)
+    private String parentTaskId;
+
     /**
      * 취소 요청 여부
      */
@@ -183,6 +223,7 @@ public class SimulationTask {
     public static final String TYPE_GLOBAL_OPTIMIZE = "GLOBAL_OPTIMIZE";
     public static final String TYPE_MARKET_OPTIMIZE = "MARKET_OPTIMIZE";
     public static final String TYPE_OPTIMIZE_AND_APPLY = "OPTIMIZE_AND_APPLY";
+    public static final String TYPE_ALL_MARKETS_OPTIMIZE = "ALL_MARKETS_OPTIMIZE";  // 마켓별 하위 작업으로 분할
 
     /**
      * 진행 상태 업데이트 헬퍼
@@ -215,6 +256,21 @@ public class SimulationTask {
         }
     }
 
+    /**
+     * 최적화 평가 진행 상태 업데이트 (10~95% 구간, 가지치기 비율 포함)
+     */
+    public void updateOptimizationProgress(long tested, long total, long pruned) {
+        this.testedCombinations = (int) Math.min(Integer.MAX_VALUE, tested);
+        this.totalCombinations = (int) Math.min(Integer.MAX_VALUE, total);
+        this.prunedCombinations = (int) Math.min(Integer.MAX_VALUE, pruned);
+        if (total > 0) {
+            this.progress = 10 + (int) Math.min(85, tested * 85 / total);
+        }
+        long prunedRate = tested > 0 ? pruned * 100 / tested : 0;
+        this.currentStep = "조합 평가 중 (" + tested + "/" + total + ", 가지치기 " + prunedRate + "%)";
+        this.updatedAt = LocalDateTime.now();
+    }
+
     /**
      * 작업 시작 처리
      */
@@ -0,0 +1,25 @@
+package autostock.taesung.com.autostock.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 손익 원장 반영 위치 (단일 행)
+ * - lastTradeId 이하의 trade_history는 원장에 반영 완료
+ * - 반영 트랜잭션이 이 행을 FOR UPDATE로 잠가 인스턴스가 여러 개여도 체결당 한 번만 매칭
+ */
+@Entity
+@Table(name = "trade_ledger_cursor")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TradeLedgerCursor {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long lastTradeId;
+}
@@ -0,0 +1,65 @@
+package autostock.taesung.com.autostock.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 실현 손익 일별 집계 (매도일 × 마켓 × 매수 전략)
+ * - 일별/마켓별/전략별 요약은 이 테이블의 GROUP BY로 조회
+ *
+ * 테이블 구조만 JPA로 관리하고 누적은 TradeProfitLedgerService가 upsert로 처리
+ */
+@Entity
+@Table(name = "trade_profit_daily", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_profit_daily", columnNames = {"trade_date", "market", "strategy_name"})
+}, indexes = {
+        @Index(name = "idx_profit_daily_market", columnList = "market, trade_date"),
+        @Index(name = "idx_profit_daily_strategy", columnList = "strategy_name, trade_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TradeProfitDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "trade_date", nullable = false)
+    private LocalDate tradeDate;
+
+    @Column(name = "market", nullable = false, length = 20)
+    private String market;
+
+    /**
+     * 매수 전략 (없으면 빈 문자열)
+     */
+    @Column(name = "strategy_name", nullable = false, length = 100)
+    private String strategyName;
+
+    @Column(nullable = false)
+    private Integer tradeCount;
+
+    @Column(nullable = false)
+    private Integer winCount;
+
+    @Column(nullable = false)
+    private Integer loseCount;
+
+    @Column(nullable = false, precision = 24, scale = 8)
+    private BigDecimal buyAmount;
+
+    @Column(nullable = false, precision = 24, scale = 8)
+    private BigDecimal grossProfit;
+
+    @Column(nullable = false, precision = 24, scale = 8)
+    private BigDecimal fee;
+
+    @Column(nullable = false, precision = 24, scale = 8)
+    private BigDecimal netProfit;
+}
@@ -0,0 +1,90 @@
+package autostock.taesung.com.autostock.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 실현 손익 원장 (매수 1건 = 1행)
+ * - 매수 체결 시 HOLDING으로 생성, 매도 체결 시 가장 오래된 HOLDING 매수와 FIFO 매칭되어 MATCHED로 확정
+ * - 손익 계산은 체결 시점에 한 번만 수행, 조회는 인덱스 범위 조회
+ *
+ * 생성/갱신은 TradeProfitLedgerService가 trade_history id 순서로만 수행
+ */
+@Entity
+@Table(name = "trade_profit_ledger", indexes = {
+        @Index(name = "idx_profit_ledger_open", columnList = "status, market, userId"),
+        @Index(name = "idx_profit_ledger_sell_date", columnList = "sellDate"),
+        @Index(name = "idx_profit_ledger_market", columnList = "market, sellDate")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_profit_ledger_buy", columnNames = "buy_trade_id"),
+        @UniqueConstraint(name = "uk_profit_ledger_sell", columnNames = "sell_trade_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TradeProfitLedger {
+
+    public static final String HOLDING = "HOLDING";
+    public static final String MATCHED = "MATCHED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long userId;
+
+    @Column(nullable = false, length = 20)
+    private String market;
+
+    /**
+     * 매수 전략 (전략별 집계 기준)
+     */
+    @Column(length = 100)
+    private String strategyName;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "buy_trade_id", nullable = false)
+    private TradeHistory buyTrade;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sell_trade_id")
+    private TradeHistory sellTrade;
+
+    @Column(nullable = false)
+    private LocalDate buyDate;
+
+    private LocalDate sellDate;
+
+    @Column(nullable = false, precision = 20, scale = 8)
+    private BigDecimal buyAmount;
+
+    /**
+     * 수수료 합계 (보유 중에는 매수 수수료만)
+     */
+    @Column(nullable = false, precision = 20, scale = 8)
+    private BigDecimal totalFee;
+
+    @Column(precision = 20, scale = 8)
+    private BigDecimal grossProfit;
+
+    @Column(precision = 20, scale = 8)
+    private BigDecimal netProfit;
+
+    @Column(precision = 12, scale = 4)
+    private BigDecimal profitRate;
+
+    /**
+     * HOLDING / MATCHED
+     */
+    @Column(nullable = false, length = 10)
+    private String status;
+
+    public boolean isMatched() {
+        return MATCHED.equals(status);
+    }
+}
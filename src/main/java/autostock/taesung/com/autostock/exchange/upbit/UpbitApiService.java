@@ -2,15 +2,13 @@ package autostock.taesung.com.autostock.exchange.upbit;
 
 import autostock.taesung.com.autostock.entity.User;
 import autostock.taesung.com.autostock.exchange.upbit.dto.*;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import autostock.taesung.com.autostock.exchange.upbit.http.UpbitHttpClients;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
-import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -31,18 +29,9 @@ public class UpbitApiService {
 
     private final RestTemplate restTemplate;
 
-    public UpbitApiService() {
-        // Upbit API는 snake_case로 응답하므로 변환 설정
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
-        objectMapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
-        MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
-        converter.setObjectMapper(objectMapper);
-
-        this.restTemplate = new RestTemplate();
-        this.restTemplate.getMessageConverters().removeIf(c -> c instanceof MappingJackson2HttpMessageConverter);
-        this.restTemplate.getMessageConverters().add(converter);
+    public UpbitApiService(UpbitHttpClients httpClients) {
+        // 공유 커넥션 풀 + snake_case 변환 + 요청 제한
+        this.restTemplate = httpClients.restTemplate();
     }
 
     /**
@@ -145,6 +134,13 @@ public class UpbitApiService {
         return response.getBody();
     }
 
+    /**
+     * 현재가 일괄 조회 (마켓 목록을 콤마로 묶어 1회 호출)
+     */
+    public List<Ticker> getTickers(Collection<String> markets) {
+        return getTicker(String.join(",", markets));
+    }
+
     /**
      * 계좌 조회
      */
@@ -371,15 +367,22 @@ public class UpbitApiService {
      * @return 호가창 정보
      */
     public Orderbook getOrderbook(String market) {
-        String url = API_URL + "/orderbook?markets=" + market;
+        List<Orderbook> orderbooks = getOrderbooks(List.of(market));
+        return (orderbooks != null && !orderbooks.isEmpty()) ? orderbooks.get(0) : null;
+    }
+
+    /**
+     * 호가창 일괄 조회 (Public API - 인증 불필요, 마켓 목록을 콤마로 묶어 1회 호출)
+     */
+    public List<Orderbook> getOrderbooks(Collection<String> markets) {
+        String url = API_URL + "/orderbook?markets=" + String.join(",", markets);
         ResponseEntity<List<Orderbook>> response = restTemplate.exchange(
                 url,
                 HttpMethod.GET,
                 null,
                 new ParameterizedTypeReference<List<Orderbook>>() {}
         );
-        List<Orderbook> orderbooks = response.getBody();
-        return (orderbooks != null && !orderbooks.isEmpty()) ? orderbooks.get(0) : null;
+        return response.getBody();
     }
 
     /**
@@ -1,45 +1,53 @@
 package autostock.taesung.com.autostock.exchange.upbit;
 
+import autostock.taesung.com.autostock.exchange.upbit.quotation.UpbitQuotationService;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import java.time.Duration;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
- * Upbit 호가창 조회 서비스 (GCP 저사양용, 캐싱 없음)
+ * Upbit 호가창 조회 서비스 (GCP 저사양용)
+ * - 조회는 UpbitQuotationService에 위임 (일괄 조회 + 짧은 TTL 캐시)
+ *   getSpread/getImbalance를 연달아 호출해도 호가창 HTTP 요청은 1회
  */
 @Service
 @Slf4j
 public class UpbitOrderbookService {
 
-    private static final String API_URL = "https://api.upbit.com/v1/orderbook?markets=";
-    private final RestTemplate restTemplate;
+    private final UpbitQuotationService quotationService;
 
-    public UpbitOrderbookService(RestTemplateBuilder builder) {
-        this.restTemplate = builder
-                .connectTimeout(Duration.ofSeconds(3))
-                .readTimeout(Duration.ofSeconds(3))
-                .build();
+    public UpbitOrderbookService(UpbitQuotationService quotationService) {
+        this.quotationService = quotationService;
     }
 
     public Orderbook getOrderbook(String market) {
-        try {
-            Orderbook[] result = restTemplate.getForObject(API_URL + market, Orderbook[].class);
-            if (result == null || result.length == 0) {
-                log.warn("[{}] 호가창 데이터 없음", market);
-                return null;
-            }
-            return result[0];
-        } catch (Exception e) {
-            log.error("[{}] 호가창 조회 실패: {}", market, e.getMessage());
+        autostock.taesung.com.autostock.exchange.upbit.dto.Orderbook orderbook = quotationService.getOrderbook(market);
+        if (orderbook == null) {
+            log.warn("[{}] 호가창 데이터 없음", market);
             return null;
         }
+        return toOrderbook(orderbook);
+    }
+
+    /**
+     * 호가창 일괄 조회
+     * @return 마켓 → 호가창 (조회 실패 마켓 제외)
+     */
+    public Map<String, Orderbook> getOrderbooks(Collection<String> markets) {
+        Map<String, Orderbook> result = new LinkedHashMap<>();
+        quotationService.getOrderbooks(markets)
+                .forEach((market, orderbook) -> result.put(market, toOrderbook(orderbook)));
+        return result;
     }
 
     public double getSpread(String market) {
@@ -56,6 +64,22 @@ public class UpbitOrderbookService {
         return total > 0 ? ob.totalBidSize / total : 0.5;
     }
 
+    private static Orderbook toOrderbook(autostock.taesung.com.autostock.exchange.upbit.dto.Orderbook source) {
+        List<OrderbookUnit> units = new ArrayList<>();
+        if (source.getOrderbookUnits() != null) {
+            for (autostock.taesung.com.autostock.exchange.upbit.dto.Orderbook.OrderbookUnit unit : source.getOrderbookUnits()) {
+                units.add(new OrderbookUnit(toDouble(unit.getAskPrice()), toDouble(unit.getBidPrice()),
+                        toDouble(unit.getAskSize()), toDouble(unit.getBidSize())));
+            }
+        }
+        return new Orderbook(source.getMarket(), toDouble(source.getTotalAskSize()),
+                toDouble(source.getTotalBidSize()), units);
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : 0;
+    }
+
     @Data @NoArgsConstructor @AllArgsConstructor
     public static class Orderbook {
         private String market;
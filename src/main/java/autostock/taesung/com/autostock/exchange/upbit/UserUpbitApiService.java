@@ -2,23 +2,21 @@ package autostock.taesung.com.autostock.exchange.upbit;
 
 import autostock.taesung.com.autostock.entity.User;
 import autostock.taesung.com.autostock.exchange.upbit.dto.*;
+import autostock.taesung.com.autostock.exchange.upbit.http.UpbitHttpClients;
+import autostock.taesung.com.autostock.exchange.upbit.order.UpbitOrderTracker;
 import autostock.taesung.com.autostock.service.ApiKeyService;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
-import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
-import javax.crypto.SecretKey;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 사용자별 Upbit API 서비스
@@ -30,72 +28,68 @@ import java.util.*;
 public class UserUpbitApiService {
 
     private static final String API_URL = "https://api.upbit.com/v1";
-    private static final int ORDER_CHECK_MAX_RETRY = 10;  // 체결 확인 최대 재시도
-    private static final long ORDER_CHECK_INTERVAL_MS = 500;  // 체결 확인 간격 (ms)
+    private static final long ORDER_CONFIRM_TIMEOUT_MS = 5_000;  // 시장가 체결 확인 최대 대기 (ms)
 
     private final RestTemplate restTemplate;
     private final ApiKeyService apiKeyService;
+    private final UpbitOrderTracker orderTracker;
 
-    public UserUpbitApiService(ApiKeyService apiKeyService) {
+    public UserUpbitApiService(ApiKeyService apiKeyService, UpbitHttpClients httpClients,
+                               UpbitOrderTracker orderTracker) {
         this.apiKeyService = apiKeyService;
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
-        objectMapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
-        MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
-        converter.setObjectMapper(objectMapper);
-
-        this.restTemplate = new RestTemplate();
-        this.restTemplate.getMessageConverters().removeIf(c -> c instanceof MappingJackson2HttpMessageConverter);
-        this.restTemplate.getMessageConverters().add(converter);
+        this.restTemplate = httpClients.restTemplate();
+        this.orderTracker = orderTracker;
     }
 
     /**
-     * 복호화된 API 키 조회
+     * 복호화된 API 키 + 서명 키 조회 (사용자별 캐시)
      */
-    private String getAccessKey(User user) {
-        return apiKeyService.getDecryptedAccessKey(user);
-    }
-
-    private String getSecretKey(User user) {
-        return apiKeyService.getDecryptedSecretKey(user);
+    private ApiKeyService.UpbitCredentials getCredentials(User user) {
+        ApiKeyService.UpbitCredentials credentials = apiKeyService.getCredentials(user);
+        if (credentials == null) {
+            throw new IllegalStateException("Upbit API 키가 등록되지 않았습니다: " + user.getUsername());
+        }
+        return credentials;
     }
 
     /**
      * JWT 토큰 생성 (파라미터 없음)
      */
-    private String generateToken(String accessKey, String secretKeyStr) {
-        SecretKey key = Keys.hmacShaKeyFor(secretKeyStr.getBytes(StandardCharsets.UTF_8));
+    private String generateToken(ApiKeyService.UpbitCredentials credentials) {
         return Jwts.builder()
-                .claim("access_key", accessKey)
+                .claim("access_key", credentials.accessKey())
                 .claim("nonce", UUID.randomUUID().toString())
-                .signWith(key)
+                .signWith(credentials.signingKey())
                 .compact();
     }
 
     /**
      * JWT 토큰 생성 (파라미터 있음)
      */
-    private String generateToken(String accessKey, String secretKeyStr, Map<String, String> params) {
-        try {
-            StringBuilder queryString = new StringBuilder();
-            for (Map.Entry<String, String> entry : params.entrySet()) {
-                if (queryString.length() > 0) queryString.append("&");
-                queryString.append(entry.getKey()).append("=").append(entry.getValue());
-            }
+    private String generateToken(ApiKeyService.UpbitCredentials credentials, Map<String, String> params) {
+        StringBuilder queryString = new StringBuilder();
+        for (Map.Entry<String, String> entry : params.entrySet()) {
+            if (queryString.length() > 0) queryString.append("&");
+            queryString.append(entry.getKey()).append("=").append(entry.getValue());
+        }
+        return generateToken(credentials, queryString.toString());
+    }
 
+    /**
+     * JWT 토큰 생성 (쿼리 문자열 - 배열 파라미터 등 Map으로 표현할 수 없는 경우)
+     */
+    private String generateToken(ApiKeyService.UpbitCredentials credentials, String queryString) {
+        try {
             MessageDigest md = MessageDigest.getInstance("SHA-512");
-            md.update(queryString.toString().getBytes(StandardCharsets.UTF_8));
+            md.update(queryString.getBytes(StandardCharsets.UTF_8));
             String queryHash = String.format("%0128x", new BigInteger(1, md.digest()));
 
-            SecretKey key = Keys.hmacShaKeyFor(secretKeyStr.getBytes(StandardCharsets.UTF_8));
             return Jwts.builder()
-                    .claim("access_key", accessKey)
+                    .claim("access_key", credentials.accessKey())
                     .claim("nonce", UUID.randomUUID().toString())
                     .claim("query_hash", queryHash)
                     .claim("query_hash_alg", "SHA512")
-                    .signWith(key)
+                    .signWith(credentials.signingKey())
                     .compact();
         } catch (Exception e) {
             throw new RuntimeException("토큰 생성 실패", e);
@@ -107,14 +101,21 @@ public class UserUpbitApiService {
      */
     private HttpHeaders createAuthHeaders(User user) {
         HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + generateToken(getAccessKey(user), getSecretKey(user)));
+        headers.set("Authorization", "Bearer " + generateToken(getCredentials(user)));
         headers.setContentType(MediaType.APPLICATION_JSON);
         return headers;
     }
 
     private HttpHeaders createAuthHeaders(User user, Map<String, String> params) {
         HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + generateToken(getAccessKey(user), getSecretKey(user), params));
+        headers.set("Authorization", "Bearer " + generateToken(getCredentials(user), params));
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+
+    private HttpHeaders createAuthHeaders(User user, String queryString) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + generateToken(getCredentials(user), queryString));
         headers.setContentType(MediaType.APPLICATION_JSON);
         return headers;
     }
@@ -326,27 +327,14 @@ public class UserUpbitApiService {
             return order;
         }
 
-        long startTime = System.currentTimeMillis();
-        OrderResponse lastOrder = null;
-
-        while (System.currentTimeMillis() - startTime < timeoutMs) {
-            try {
-                Thread.sleep(ORDER_CHECK_INTERVAL_MS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
-
-            lastOrder = getOrder(user, order.getUuid());
-            if (lastOrder == null) continue;
-
-            if ("done".equals(lastOrder.getState())) {
-                log.info("[지정가 매수 체결완료] UUID: {}, 체결량: {}", order.getUuid(), lastOrder.getExecutedVolume());
-                return lastOrder;
-            } else if ("cancel".equals(lastOrder.getState())) {
-                log.warn("[지정가 매수 취소됨] UUID: {}", order.getUuid());
-                return lastOrder;
-            }
+        // 체결 추적기가 일괄 조회로 상태 확인 (완료/취소 또는 타임아웃 시 반환)
+        OrderResponse lastOrder = orderTracker.await(user, order.getUuid(), timeoutMs);
+        if (lastOrder != null && lastOrder.isDone()) {
+            log.info("[지정가 매수 체결완료] UUID: {}, 체결량: {}", order.getUuid(), lastOrder.getExecutedVolume());
+            return lastOrder;
+        } else if (lastOrder != null && lastOrder.isCancelled()) {
+            log.warn("[지정가 매수 취소됨] UUID: {}", order.getUuid());
+            return lastOrder;
         }
 
         // 타임아웃 - 미체결 처리
@@ -381,27 +369,13 @@ public class UserUpbitApiService {
             return order;
         }
 
-        long startTime = System.currentTimeMillis();
-        OrderResponse lastOrder = null;
-
-        while (System.currentTimeMillis() - startTime < timeoutMs) {
-            try {
-                Thread.sleep(ORDER_CHECK_INTERVAL_MS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
-
-            lastOrder = getOrder(user, order.getUuid());
-            if (lastOrder == null) continue;
-
-            if ("done".equals(lastOrder.getState())) {
-                log.info("[지정가 매도 체결완료] UUID: {}, 체결량: {}", order.getUuid(), lastOrder.getExecutedVolume());
-                return lastOrder;
-            } else if ("cancel".equals(lastOrder.getState())) {
-                log.warn("[지정가 매도 취소됨] UUID: {}", order.getUuid());
-                return lastOrder;
-            }
+        OrderResponse lastOrder = orderTracker.await(user, order.getUuid(), timeoutMs);
+        if (lastOrder != null && lastOrder.isDone()) {
+            log.info("[지정가 매도 체결완료] UUID: {}, 체결량: {}", order.getUuid(), lastOrder.getExecutedVolume());
+            return lastOrder;
+        } else if (lastOrder != null && lastOrder.isCancelled()) {
+            log.warn("[지정가 매도 취소됨] UUID: {}", order.getUuid());
+            return lastOrder;
         }
 
         // 타임아웃 - 미체결 처리
@@ -490,6 +464,29 @@ public class UserUpbitApiService {
         }
     }
 
+    /**
+     * 주문 일괄 조회 (UUID 최대 100개)
+     * @return 조회된 주문 목록 (실패 시 예외)
+     */
+    public List<OrderResponse> getOrdersByUuids(User user, Collection<String> uuids) {
+        StringBuilder queryString = new StringBuilder();
+        for (String uuid : uuids) {
+            if (queryString.length() > 0) queryString.append("&");
+            queryString.append("uuids[]=").append(uuid);
+        }
+
+        String url = API_URL + "/orders/uuids?" + queryString;
+        HttpEntity<String> entity = new HttpEntity<>(createAuthHeaders(user, queryString.toString()));
+
+        ResponseEntity<List<OrderResponse>> response = restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                entity,
+                new ParameterizedTypeReference<List<OrderResponse>>() {}
+        );
+        return response.getBody() != null ? response.getBody() : new ArrayList<>();
+    }
+
     /**
      * 주문 체결 여부 확인
      * @return true: 전량 체결, false: 미체결/부분체결
@@ -505,42 +502,21 @@ public class UserUpbitApiService {
 
     /**
      * 주문 체결 대기 (동기 방식)
-     * 최대 ORDER_CHECK_MAX_RETRY번 체결 확인 후 결과 반환
+     * 체결 추적기가 완료/취소를 알려줄 때까지 최대 ORDER_CONFIRM_TIMEOUT_MS 대기
      *
      * @param uuid 주문 UUID
      * @return 체결 완료된 주문 정보 (미체결 시 마지막 상태 반환)
      */
     public OrderResponse waitForOrderComplete(User user, String uuid) {
-        OrderResponse lastOrder = null;
-
-        for (int i = 0; i < ORDER_CHECK_MAX_RETRY; i++) {
-            try {
-                Thread.sleep(ORDER_CHECK_INTERVAL_MS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
-
-            lastOrder = getOrder(user, uuid);
-            if (lastOrder == null) {
-                continue;
-            }
-
-            String state = lastOrder.getState();
-            log.debug("[체결확인 {}/{}] UUID: {}, 상태: {}", i + 1, ORDER_CHECK_MAX_RETRY, uuid, state);
-
-            if ("done".equals(state)) {
-                log.info("[체결완료] UUID: {}, 체결량: {}, 체결금액: {}",
-                        uuid, lastOrder.getExecutedVolume(), lastOrder.getExecutedFunds());
-                return lastOrder;
-            } else if ("cancel".equals(state)) {
-                log.warn("[주문취소됨] UUID: {}", uuid);
-                return lastOrder;
-            }
-        }
-
-        // 최대 재시도 후에도 미체결
-        if (lastOrder != null) {
+        OrderResponse lastOrder = orderTracker.await(user, uuid, ORDER_CONFIRM_TIMEOUT_MS);
+
+        if (lastOrder != null && lastOrder.isDone()) {
+            log.info("[체결완료] UUID: {}, 체결량: {}, 체결금액: {}",
+                    uuid, lastOrder.getExecutedVolume(), lastOrder.getExecutedFunds());
+        } else if (lastOrder != null && lastOrder.isCancelled()) {
+            log.warn("[주문취소됨] UUID: {}", uuid);
+        } else if (lastOrder != null) {
+            // 대기 시간 내 미체결
             log.warn("[미체결] UUID: {}, 상태: {}, 체결량: {}/{}",
                     uuid, lastOrder.getState(),
                     lastOrder.getExecutedVolume(), lastOrder.getVolume());
@@ -548,6 +524,14 @@ public class UserUpbitApiService {
         return lastOrder;
     }
 
+    /**
+     * 주문 체결 추적 (비동기)
+     * @return 완료/취소된 주문, 시간 초과 시 마지막 조회 상태 (조회된 적 없으면 null)
+     */
+    public CompletableFuture<OrderResponse> trackOrder(User user, String uuid, long timeoutMs) {
+        return orderTracker.track(user, uuid, timeoutMs);
+    }
+
     /**
      * 시장가 매수 + 체결 확인
      */
@@ -641,13 +625,6 @@ public class UserUpbitApiService {
             if (cancelled != null) {
                 cancelCount++;
             }
-            // API 속도 제한 방지
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
         }
 
         log.info("[미체결 주문 취소] 마켓: {}, 취소 건수: {}", market, cancelCount);
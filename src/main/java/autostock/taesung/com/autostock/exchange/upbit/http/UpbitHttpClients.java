@@ -0,0 +1,172 @@
+package autostock.taesung.com.autostock.exchange.upbit.http;
+
+import autostock.taesung.com.autostock.exchange.upbit.ratelimit.UpbitRateLimitInterceptor;
+import autostock.taesung.com.autostock.exchange.upbit.ratelimit.UpbitRateLimiter;
+import autostock.taesung.com.autostock.exchange.upbit.ratelimit.UpbitRequestGroup;
+import autostock.taesung.com.autostock.exchange.upbit.ratelimit.UpbitRequestPriority;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 업비트 HTTP 클라이언트 공용 구성
+ *
+ * [기존 문제]
+ * - 서비스마다 new RestTemplate() (SimpleClientHttpRequestFactory): 커넥션 풀 없음, 호출마다 TCP+TLS 연결
+ * - UserUpbitApiService는 타임아웃 없음, ObjectMapper도 서비스마다 생성
+ *
+ * [개선]
+ * - 하나의 Reactor Netty 커넥션 풀(keep-alive, gzip)을 RestTemplate과 WebClient가 공유
+ * - 요청 그룹별 응답 타임아웃: 시세 / 계좌·주문 조회 / 주문 생성·취소
+ * - 공유 snake_case ObjectMapper, UpbitRateLimiter 요청 제한 적용
+ *
+ * restTemplate(): 기존 동기 호출부용, webClient(): 논블로킹 호출용 (같은 풀/타임아웃/요청 제한)
+ */
+@Slf4j
+@Component
+public class UpbitHttpClients {
+
+    private final ConnectionProvider connectionProvider;
+    private final Map<UpbitRequestGroup, HttpClient> groupClients = new EnumMap<>(UpbitRequestGroup.class);
+    private final Map<UpbitRequestGroup, ClientHttpRequestFactory> groupFactories = new EnumMap<>(UpbitRequestGroup.class);
+    private final UpbitRateLimitInterceptor rateLimitInterceptor;
+    private final UpbitRateLimiter rateLimiter;
+    private final WebClient webClient;
+
+    public UpbitHttpClients(UpbitRateLimitInterceptor rateLimitInterceptor,
+                            UpbitRateLimiter rateLimiter,
+                            @Value("${upbit.http.max-connections:50}") int maxConnections,
+                            @Value("${upbit.http.max-idle-seconds:20}") long maxIdleSeconds,
+                            @Value("${upbit.http.max-life-seconds:300}") long maxLifeSeconds,
+                            @Value("${upbit.http.pending-acquire-timeout-ms:3000}") long pendingAcquireTimeoutMillis,
+                            @Value("${upbit.http.connect-timeout-ms:2000}") int connectTimeoutMillis,
+                            @Value("${upbit.http.quotation-timeout-ms:3000}") long quotationTimeoutMillis,
+                            @Value("${upbit.http.exchange-timeout-ms:5000}") long exchangeTimeoutMillis,
+                            @Value("${upbit.http.order-timeout-ms:10000}") long orderTimeoutMillis) {
+        this.rateLimitInterceptor = rateLimitInterceptor;
+        this.rateLimiter = rateLimiter;
+
+        this.connectionProvider = ConnectionProvider.builder("upbit")
+                .maxConnections(maxConnections)
+                .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))
+                .maxLifeTime(Duration.ofSeconds(maxLifeSeconds))
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+                .evictInBackground(Duration.ofSeconds(30))
+                .build();
+
+        HttpClient baseClient = HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .compress(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis);
+
+        Map<UpbitRequestGroup, Long> timeouts = Map.of(
+                UpbitRequestGroup.QUOTATION, quotationTimeoutMillis,
+                UpbitRequestGroup.EXCHANGE, exchangeTimeoutMillis,
+                UpbitRequestGroup.ORDER, orderTimeoutMillis);
+        for (UpbitRequestGroup group : UpbitRequestGroup.values()) {
+            Duration timeout = Duration.ofMillis(timeouts.get(group));
+            HttpClient client = baseClient.responseTimeout(timeout);
+            ReactorClientHttpRequestFactory factory = new ReactorClientHttpRequestFactory(client);
+            factory.setReadTimeout(timeout);
+            groupClients.put(group, client);
+            groupFactories.put(group, factory);
+        }
+
+        this.webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(groupClients.get(UpbitRequestGroup.ORDER)))
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(UpbitObjectMapper.shared()));
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(UpbitObjectMapper.shared()));
+                })
+                .filter(rateLimitFilter())
+                .build();
+
+        log.info("업비트 HTTP 커넥션 풀 구성: 최대 {}개, 타임아웃(ms) 시세 {} / 조회 {} / 주문 {}",
+                maxConnections, quotationTimeoutMillis, exchangeTimeoutMillis, orderTimeoutMillis);
+    }
+
+    /**
+     * 공유 커넥션 풀을 사용하는 RestTemplate (요청 그룹별 타임아웃 + 요청 제한)
+     */
+    public RestTemplate restTemplate() {
+        MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
+        converter.setObjectMapper(UpbitObjectMapper.shared());
+
+        RestTemplate restTemplate = new RestTemplate(new GroupRoutingRequestFactory());
+        restTemplate.getMessageConverters().removeIf(c -> c instanceof MappingJackson2HttpMessageConverter);
+        restTemplate.getMessageConverters().add(converter);
+        restTemplate.getInterceptors().add(rateLimitInterceptor);
+        return restTemplate;
+    }
+
+    /**
+     * 공유 커넥션 풀을 사용하는 논블로킹 WebClient
+     * - 응답 타임아웃은 주문 기준 (개별 요청은 Mono.timeout으로 더 짧게 지정 가능)
+     * - 요청 제한 대기는 boundedElastic 스케줄러에서 수행 (이벤트 루프를 막지 않음)
+     */
+    public WebClient webClient() {
+        return webClient;
+    }
+
+    /**
+     * WebClient용 요청 제한 필터 (UpbitRateLimitInterceptor와 동일한 규칙)
+     */
+    private ExchangeFilterFunction rateLimitFilter() {
+        return (request, next) -> {
+            UpbitRequestGroup group = UpbitRequestGroup.of(request.method(), request.url().getPath());
+            String accessKey = group == UpbitRequestGroup.QUOTATION
+                    ? null
+                    : UpbitRateLimitInterceptor.accessKeyOf(request.headers().getFirst(HttpHeaders.AUTHORIZATION));
+            UpbitRequestPriority priority = group == UpbitRequestGroup.ORDER
+                    ? UpbitRequestPriority.ORDER
+                    : UpbitRequestPriority.current();
+            return Mono.fromRunnable(() -> rateLimiter.acquire(group, accessKey, priority))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .then(Mono.defer(() -> next.exchange(request)))
+                    .doOnNext(response -> rateLimiter.onResponse(group, accessKey,
+                            response.headers().asHttpHeaders().getFirst(UpbitRateLimitInterceptor.REMAINING_REQ),
+                            response.statusCode().value()));
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionProvider.disposeLater().block(Duration.ofSeconds(5));
+    }
+
+    /**
+     * 요청 그룹에 맞는 타임아웃의 팩토리로 위임 (커넥션 풀은 모두 공유)
+     */
+    private class GroupRoutingRequestFactory implements ClientHttpRequestFactory {
+
+        @Override
+        public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+            UpbitRequestGroup group = UpbitRequestGroup.of(httpMethod, uri.getPath());
+            return groupFactories.get(group).createRequest(uri, httpMethod);
+        }
+    }
+}
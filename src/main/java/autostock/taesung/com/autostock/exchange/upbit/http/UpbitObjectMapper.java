@@ -0,0 +1,24 @@
+package autostock.taesung.com.autostock.exchange.upbit.http;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+
+/**
+ * 업비트 응답용 공유 ObjectMapper (snake_case, 모르는 필드 무시)
+ * - 서비스마다 매퍼를 새로 만들지 않고 하나를 공유 (설정 완료 후에는 thread-safe)
+ * - 공유 인스턴스이므로 설정을 변경하지 말 것
+ */
+public final class UpbitObjectMapper {
+
+    private static final ObjectMapper SHARED = new ObjectMapper()
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private UpbitObjectMapper() {
+    }
+
+    public static ObjectMapper shared() {
+        return SHARED;
+    }
+}
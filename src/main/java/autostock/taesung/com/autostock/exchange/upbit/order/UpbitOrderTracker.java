@@ -0,0 +1,200 @@
+package autostock.taesung.com.autostock.exchange.upbit.order;
+
+import autostock.taesung.com.autostock.entity.User;
+import autostock.taesung.com.autostock.exchange.upbit.UserUpbitApiService;
+import autostock.taesung.com.autostock.exchange.upbit.dto.OrderResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 주문 체결 추적기
+ *
+ * [기존 문제]
+ * - 주문마다 호출 스레드가 sleep(500~2000ms) + getOrder 반복 (주문 수만큼 스레드 점유, 요청 수 증가)
+ *
+ * [개선]
+ * - 추적 중인 모든 주문을 백그라운드 스레드 1개가 주기적으로 사용자별 일괄 조회 (/orders/uuids)
+ * - 체결 완료(done)/취소(cancel) 시 해당 주문의 CompletableFuture 완료
+ * - 대기 시간 초과 시 마지막으로 조회된 상태(없으면 null)로 완료 → 호출부가 취소/시장가 전환 판단
+ *
+ * 호출부는 await()로 제한 시간 내 동기 대기하거나 track()의 future를 thenAccept(비동기)로 후처리
+ * 한 사용자의 조회 실패(API 키 삭제 등)는 그 사용자 주문만 건너뛰고, 대기 시간 초과 처리는 항상 실행
+ */
+@Slf4j
+@Component
+public class UpbitOrderTracker {
+
+    private static final int MAX_UUIDS_PER_REQUEST = 100;
+
+    /** await 여유 시간 (폴링 주기/조회 지연 감안, 초과 시 호출 스레드가 직접 만료 처리) */
+    private static final long AWAIT_GRACE_MS = 5000;
+
+    private final UserUpbitApiService upbitApiService;
+    private final ScheduledExecutorService poller;
+
+    private final Map<String, TrackedOrder> trackedOrders = new ConcurrentHashMap<>();
+
+    public UpbitOrderTracker(@Lazy UserUpbitApiService upbitApiService,
+                             @Value("${upbit.order-tracker.poll-interval-ms:500}") long pollIntervalMillis) {
+        this.upbitApiService = upbitApiService;
+        this.poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "upbit-order-tracker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.poller.scheduleWithFixedDelay(this::pollSafely, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 주문 추적 시작
+     * @param timeoutMs 최대 대기 시간
+     * @return 체결 완료/취소된 주문, 시간 초과 시 마지막 조회 상태 (조회된 적 없으면 null)
+     */
+    public CompletableFuture<OrderResponse> track(User user, String uuid, long timeoutMs) {
+        TrackedOrder order = new TrackedOrder(user, uuid, System.currentTimeMillis() + timeoutMs);
+        TrackedOrder existing = trackedOrders.putIfAbsent(uuid, order);
+        return existing != null ? existing.future : order.future;
+    }
+
+    /**
+     * 주문 추적 후 결과 대기 (동기)
+     * - 추적기가 만료 처리를 못 하더라도 timeoutMs + 여유 시간 후에는 마지막 조회 상태로 반환
+     * @return 체결 완료/취소된 주문, 시간 초과 시 마지막 조회 상태 (조회된 적 없으면 null)
+     */
+    public OrderResponse await(User user, String uuid, long timeoutMs) {
+        CompletableFuture<OrderResponse> future = track(user, uuid, timeoutMs);
+        try {
+            return future.get(timeoutMs + AWAIT_GRACE_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException | ExecutionException e) {
+            log.warn("주문 체결 대기 초과: {}", uuid);
+        }
+        TrackedOrder order = trackedOrders.remove(uuid);
+        if (order != null) {
+            order.future.complete(order.latest);
+        }
+        return future.getNow(null);
+    }
+
+    /**
+     * 추적 중인 주문 수
+     */
+    public int getTrackedCount() {
+        return trackedOrders.size();
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.error("주문 체결 추적 오류: {}", e.getMessage());
+        }
+    }
+
+    void poll() {
+        if (trackedOrders.isEmpty()) {
+            return;
+        }
+
+        // 사용자(API 키)별로 묶어 일괄 조회
+        Map<Long, List<TrackedOrder>> byUser = new LinkedHashMap<>();
+        for (TrackedOrder order : trackedOrders.values()) {
+            byUser.computeIfAbsent(order.user.getId(), id -> new ArrayList<>()).add(order);
+        }
+        try {
+            for (List<TrackedOrder> orders : byUser.values()) {
+                try {
+                    for (int from = 0; from < orders.size(); from += MAX_UUIDS_PER_REQUEST) {
+                        refresh(orders.subList(from, Math.min(orders.size(), from + MAX_UUIDS_PER_REQUEST)));
+                    }
+                } catch (Exception e) {
+                    // 사용자 단위 격리 (API 키 삭제 등) → 해당 주문은 마감 시각에 마지막 상태로 완료
+                    log.warn("[{}] 주문 체결 조회 실패: {}", orders.get(0).user.getUsername(), e.getMessage());
+                }
+            }
+        } finally {
+            expireOverdue();
+        }
+    }
+
+    /**
+     * 대기 시간 초과 주문은 마지막 상태로 완료
+     */
+    private void expireOverdue() {
+        long now = System.currentTimeMillis();
+        for (TrackedOrder order : trackedOrders.values()) {
+            if (now >= order.deadline && trackedOrders.remove(order.uuid, order)) {
+                order.future.complete(order.latest);
+            }
+        }
+    }
+
+    private void refresh(List<TrackedOrder> orders) {
+        User user = orders.get(0).user;
+        List<String> uuids = orders.stream().map(order -> order.uuid).toList();
+
+        List<OrderResponse> responses;
+        try {
+            responses = upbitApiService.getOrdersByUuids(user, uuids);
+        } catch (Exception e) {
+            // 일괄 조회 실패 시 주문별 조회
+            log.warn("[{}] 주문 일괄 조회 실패, 주문별 조회: {}", user.getUsername(), e.getMessage());
+            responses = new ArrayList<>();
+            for (String uuid : uuids) {
+                OrderResponse response = upbitApiService.getOrder(user, uuid);
+                if (response != null) {
+                    responses.add(response);
+                }
+            }
+        }
+
+        for (OrderResponse response : responses) {
+            TrackedOrder order = trackedOrders.get(response.getUuid());
+            if (order == null) {
+                continue;
+            }
+            order.latest = response;
+            if ((response.isDone() || response.isCancelled())
+                    && trackedOrders.remove(order.uuid, order)) {
+                order.future.complete(response);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+        trackedOrders.values().forEach(order -> order.future.complete(order.latest));
+        trackedOrders.clear();
+    }
+
+    private static final class TrackedOrder {
+        private final User user;
+        private final String uuid;
+        private final long deadline;
+        private final CompletableFuture<OrderResponse> future = new CompletableFuture<>();
+        private volatile OrderResponse latest;
+
+        private TrackedOrder(User user, String uuid, long deadline) {
+            this.user = user;
+            this.uuid = uuid;
+            this.deadline = deadline;
+        }
+    }
+}
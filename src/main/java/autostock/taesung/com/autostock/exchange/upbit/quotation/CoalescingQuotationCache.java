@@ -0,0 +1,121 @@
+package autostock.taesung.com.autostock.exchange.upbit.quotation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 마켓별 시세 단기 캐시 + 동시 요청 병합
+ * - TTL 이내 값은 재사용
+ * - 없는 마켓만 모아 batchLoader 1회 호출 (업비트 시세 API는 여러 마켓을 콤마로 한 번에 조회 가능)
+ * - 같은 마켓을 다른 스레드가 이미 조회 중이면 새로 요청하지 않고 그 결과를 기다림
+ *
+ * 조회 실패/응답에 없는 마켓은 결과에서 빠짐 (예외를 던지지 않음)
+ */
+final class CoalescingQuotationCache<V> {
+
+    private record Entry<V>(V value, long fetchedAt) {
+    }
+
+    private final long ttlMillis;
+    private final long waitTimeoutMillis;
+    private final Function<List<String>, Map<String, V>> batchLoader;
+
+    private final Map<String, Entry<V>> values = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    CoalescingQuotationCache(long ttlMillis, long waitTimeoutMillis,
+                             Function<List<String>, Map<String, V>> batchLoader) {
+        this.ttlMillis = ttlMillis;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.batchLoader = batchLoader;
+    }
+
+    /**
+     * 마켓별 값 조회 (요청 순서 유지)
+     */
+    Map<String, V> getAll(Collection<String> markets) {
+        Map<String, V> found = new ConcurrentHashMap<>();
+        Map<String, CompletableFuture<V>> owned = new LinkedHashMap<>();
+        Map<String, CompletableFuture<V>> waiting = new LinkedHashMap<>();
+        LinkedHashSet<String> requested = new LinkedHashSet<>(markets);
+
+        long now = System.currentTimeMillis();
+        for (String market : requested) {
+            Entry<V> entry = values.get(market);
+            if (entry != null && now - entry.fetchedAt() < ttlMillis) {
+                found.put(market, entry.value());
+                continue;
+            }
+            CompletableFuture<V> mine = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(market, mine);
+            if (existing != null) {
+                waiting.put(market, existing);
+            } else {
+                owned.put(market, mine);
+            }
+        }
+
+        if (!owned.isEmpty()) {
+            load(owned, found);
+        }
+
+        for (Map.Entry<String, CompletableFuture<V>> entry : waiting.entrySet()) {
+            try {
+                V value = entry.getValue().get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+                if (value != null) {
+                    found.put(entry.getKey(), value);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                // 다른 스레드의 조회 실패/지연 → 결과에서 제외
+            }
+        }
+
+        Map<String, V> result = new LinkedHashMap<>();
+        for (String market : requested) {
+            V value = found.get(market);
+            if (value != null) {
+                result.put(market, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 캐시 값 제거 (다음 조회 시 새로 요청)
+     */
+    void invalidate(String market) {
+        values.remove(market);
+    }
+
+    private void load(Map<String, CompletableFuture<V>> owned, Map<String, V> found) {
+        Map<String, V> loaded = Map.of();
+        try {
+            loaded = batchLoader.apply(new ArrayList<>(owned.keySet()));
+            long fetchedAt = System.currentTimeMillis();
+            for (Map.Entry<String, V> entry : loaded.entrySet()) {
+                if (owned.containsKey(entry.getKey()) && entry.getValue() != null) {
+                    values.put(entry.getKey(), new Entry<>(entry.getValue(), fetchedAt));
+                    found.put(entry.getKey(), entry.getValue());
+                }
+            }
+        } catch (RuntimeException e) {
+            // 실패 로그는 batchLoader에서 남김, 이번 요청 마켓은 결과에서 제외
+        } finally {
+            for (Map.Entry<String, CompletableFuture<V>> entry : owned.entrySet()) {
+                inFlight.remove(entry.getKey(), entry.getValue());
+                entry.getValue().complete(loaded.get(entry.getKey()));
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package autostock.taesung.com.autostock.exchange.upbit.quotation;
+
+import autostock.taesung.com.autostock.exchange.upbit.UpbitApiService;
+import autostock.taesung.com.autostock.exchange.upbit.dto.Orderbook;
+import autostock.taesung.com.autostock.exchange.upbit.dto.Ticker;
+import autostock.taesung.com.autostock.exchange.upbit.stream.UpbitMarketDataStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 다중 마켓 시세 일괄 조회 서비스 (현재가/호가)
+ *
+ * [기존 문제]
+ * - 보유 코인마다 현재가 1회씩 조회, 스프레드/잔량 비율 계산마다 호가창 재조회
+ * - 같은 순간 여러 사용자/전략이 같은 마켓을 각각 조회
+ *
+ * [개선]
+ * - getTickers/getOrderbooks: 마켓 목록을 콤마로 묶어 1회 호출 (최대 batch-size개씩)
+ * - 짧은 TTL 캐시 + 동시 요청 병합: 같은 마켓 동시 조회는 HTTP 1회로 처리
+ * - 실시간 스트림(UpbitMarketDataStream)이 최신 값을 갖고 있으면 REST 호출 생략
+ * - 일괄 조회가 실패하면(상장폐지 마켓 포함 등) 마켓별로 다시 조회
+ */
+@Slf4j
+@Service
+public class UpbitQuotationService {
+
+    private final UpbitApiService upbitApiService;
+    private final UpbitMarketDataStream marketDataStream;
+    private final int batchSize;
+
+    private final CoalescingQuotationCache<Ticker> tickerCache;
+    private final CoalescingQuotationCache<Orderbook> orderbookCache;
+
+    public UpbitQuotationService(UpbitApiService upbitApiService,
+                                 UpbitMarketDataStream marketDataStream,
+                                 @Value("${upbit.quotation.ticker-ttl-ms:1000}") long tickerTtlMillis,
+                                 @Value("${upbit.quotation.orderbook-ttl-ms:500}") long orderbookTtlMillis,
+                                 @Value("${upbit.quotation.batch-size:100}") int batchSize,
+                                 @Value("${upbit.quotation.wait-timeout-ms:5000}") long waitTimeoutMillis) {
+        this.upbitApiService = upbitApiService;
+        this.marketDataStream = marketDataStream;
+        this.batchSize = Math.max(1, batchSize);
+        this.tickerCache = new CoalescingQuotationCache<>(tickerTtlMillis, waitTimeoutMillis,
+                markets -> load("현재가", markets, upbitApiService::getTickers, Ticker::getMarket));
+        this.orderbookCache = new CoalescingQuotationCache<>(orderbookTtlMillis, waitTimeoutMillis,
+                markets -> load("호가창", markets, upbitApiService::getOrderbooks, Orderbook::getMarket));
+    }
+
+    /**
+     * 현재가 일괄 조회
+     * @return 마켓 → 현재가 (요청 순서, 조회 실패 마켓 제외)
+     */
+    public Map<String, Ticker> getTickers(Collection<String> markets) {
+        Map<String, Ticker> result = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String market : markets) {
+            Ticker streamed = marketDataStream.getTicker(market);
+            if (streamed != null) {
+                result.put(market, streamed);
+            } else {
+                missing.add(market);
+            }
+        }
+        if (!missing.isEmpty()) {
+            result.putAll(tickerCache.getAll(missing));
+        }
+        return result;
+    }
+
+    /**
+     * 현재가 조회 (단일 마켓)
+     */
+    public Ticker getTicker(String market) {
+        return getTickers(List.of(market)).get(market);
+    }
+
+    /**
+     * 호가창 일괄 조회
+     * @return 마켓 → 호가창 (요청 순서, 조회 실패 마켓 제외)
+     */
+    public Map<String, Orderbook> getOrderbooks(Collection<String> markets) {
+        Map<String, Orderbook> result = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String market : markets) {
+            Orderbook streamed = marketDataStream.getOrderbook(market);
+            if (streamed != null) {
+                result.put(market, streamed);
+            } else {
+                missing.add(market);
+            }
+        }
+        if (!missing.isEmpty()) {
+            result.putAll(orderbookCache.getAll(missing));
+        }
+        return result;
+    }
+
+    /**
+     * 호가창 조회 (단일 마켓)
+     */
+    public Orderbook getOrderbook(String market) {
+        return getOrderbooks(List.of(market)).get(market);
+    }
+
+    /**
+     * batch-size개씩 나누어 일괄 조회, 실패한 묶음은 마켓별 재조회
+     */
+    private <V> Map<String, V> load(String name, List<String> markets,
+                                    Function<List<String>, List<V>> fetcher,
+                                    Function<V, String> marketOf) {
+        Map<String, V> result = new LinkedHashMap<>();
+        for (int from = 0; from < markets.size(); from += batchSize) {
+            List<String> chunk = markets.subList(from, Math.min(markets.size(), from + batchSize));
+            try {
+                collect(fetcher.apply(chunk), marketOf, result);
+            } catch (Exception e) {
+                if (chunk.size() == 1) {
+                    log.debug("[{}] {} 조회 실패: {}", chunk.get(0), name, e.getMessage());
+                    continue;
+                }
+                // 일괄 조회는 마켓 하나만 잘못돼도 전체 실패하므로 마켓별로 재시도
+                log.warn("{} 일괄 조회 실패 ({}개), 마켓별 재조회: {}", name, chunk.size(), e.getMessage());
+                for (String market : chunk) {
+                    try {
+                        collect(fetcher.apply(List.of(market)), marketOf, result);
+                    } catch (Exception ex) {
+                        log.debug("[{}] {} 조회 실패: {}", market, name, ex.getMessage());
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static <V> void collect(List<V> values, Function<V, String> marketOf, Map<String, V> result) {
+        if (values == null) {
+            return;
+        }
+        for (V value : values) {
+            result.put(marketOf.apply(value), value);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package autostock.taesung.com.autostock.exchange.upbit.ratelimit;
+
+/**
+ * 우선순위 토큰 버킷
+ * - 초당 ratePerSecond개 충전, 최대 capacity개 보관
+ * - 높은 우선순위 대기자가 있으면 낮은 우선순위는 토큰이 있어도 양보
+ * - 서버 응답(Remaining-Req, 429)으로 남은 토큰을 낮출 수 있음
+ */
+final class TokenBucket {
+
+    private final double ratePerSecond;
+    private final double capacity;
+    private final int[] waiting = new int[UpbitRequestPriority.values().length];
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(double ratePerSecond, double capacity) {
+        this.ratePerSecond = ratePerSecond;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * 토큰 1개 획득 (없으면 충전될 때까지 대기)
+     */
+    synchronized void acquire(UpbitRequestPriority priority) throws InterruptedException {
+        waiting[priority.ordinal()]++;
+        try {
+            while (true) {
+                refill();
+                if (tokens >= 1 && !higherPriorityWaiting(priority)) {
+                    tokens -= 1;
+                    notifyAll();
+                    return;
+                }
+                long waitMillis = tokens >= 1
+                        ? 1
+                        : Math.max(1, (long) Math.ceil((1 - tokens) * 1000 / ratePerSecond));
+                wait(waitMillis);
+            }
+        } finally {
+            waiting[priority.ordinal()]--;
+        }
+    }
+
+    /**
+     * 서버가 알려준 이번 초 남은 요청 수로 보정
+     */
+    synchronized void limitTo(int remaining) {
+        refill();
+        if (remaining < tokens) {
+            tokens = remaining;
+        }
+    }
+
+    /**
+     * 429 응답 시 1초간 요청 중단
+     */
+    synchronized void penalize() {
+        refill();
+        tokens = Math.min(tokens, 0) - ratePerSecond;
+    }
+
+    synchronized double available() {
+        refill();
+        return tokens;
+    }
+
+    private boolean higherPriorityWaiting(UpbitRequestPriority priority) {
+        for (int i = 0; i < priority.ordinal(); i++) {
+            if (waiting[i] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+        lastRefillNanos = now;
+        tokens = Math.min(capacity, tokens + elapsedSeconds * ratePerSecond);
+    }
+}
@@ -0,0 +1,71 @@
+package autostock.taesung.com.autostock.exchange.upbit.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 업비트 RestTemplate 요청 제한 인터셉터
+ * - 요청 경로로 그룹, Authorization JWT의 access_key로 API 키 버킷을 결정
+ * - 주문 그룹은 항상 ORDER 우선순위, 그 외는 호출 스레드 우선순위 사용
+ */
+@Component
+public class UpbitRateLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    public static final String REMAINING_REQ = "Remaining-Req";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final UpbitRateLimiter rateLimiter;
+
+    public UpbitRateLimitInterceptor(UpbitRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        UpbitRequestGroup group = UpbitRequestGroup.of(request.getMethod(), request.getURI().getPath());
+        String accessKey = group == UpbitRequestGroup.QUOTATION
+                ? null
+                : accessKeyOf(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        UpbitRequestPriority priority = group == UpbitRequestGroup.ORDER
+                ? UpbitRequestPriority.ORDER
+                : UpbitRequestPriority.current();
+
+        rateLimiter.acquire(group, accessKey, priority);
+        ClientHttpResponse response = execution.execute(request, body);
+        rateLimiter.onResponse(group, accessKey, response.getHeaders().getFirst(REMAINING_REQ),
+                response.getStatusCode().value());
+        return response;
+    }
+
+    /**
+     * Bearer JWT payload의 access_key (서명 검증 없이 버킷 구분용으로만 사용)
+     */
+    public static String accessKeyOf(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return null;
+        }
+        String[] parts = authorization.substring(7).split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+            JsonNode node = OBJECT_MAPPER.readTree(new String(payload, StandardCharsets.UTF_8));
+            return node.path("access_key").asText(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package autostock.taesung.com.autostock.exchange.upbit.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 업비트 REST 요청 제한 스케줄러
+ * - 그룹별 토큰 버킷: 시세(IP 공용 1개), 거래/주문(API 키별)
+ * - 응답 Remaining-Req 헤더(sec=남은 요청 수)로 버킷 보정, 429 응답 시 1초 중단
+ * - 같은 버킷 안에서는 ORDER > TRADING > ANALYTICS 순으로 토큰 배정
+ *
+ * 호출부는 sleep 없이 UpbitRateLimitInterceptor를 통해 허용량만큼 바로 실행됨
+ */
+@Slf4j
+@Component
+public class UpbitRateLimiter {
+
+    private static final String NO_KEY = "";
+
+    private final boolean enabled;
+    private final double quotationPerSecond;
+    private final double exchangePerSecond;
+    private final double orderPerSecond;
+
+    private final TokenBucket quotationBucket;
+    private final Map<String, TokenBucket> exchangeBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> orderBuckets = new ConcurrentHashMap<>();
+
+    public UpbitRateLimiter(@Value("${upbit.rate-limit.enabled:true}") boolean enabled,
+                            @Value("${upbit.rate-limit.quotation-per-second:10}") double quotationPerSecond,
+                            @Value("${upbit.rate-limit.exchange-per-second:30}") double exchangePerSecond,
+                            @Value("${upbit.rate-limit.order-per-second:8}") double orderPerSecond) {
+        this.enabled = enabled;
+        this.quotationPerSecond = quotationPerSecond;
+        this.exchangePerSecond = exchangePerSecond;
+        this.orderPerSecond = orderPerSecond;
+        this.quotationBucket = new TokenBucket(quotationPerSecond, quotationPerSecond);
+    }
+
+    /**
+     * 요청 허가 대기
+     * @param accessKey 인증 요청의 API access key (시세 요청은 null)
+     */
+    public void acquire(UpbitRequestGroup group, String accessKey, UpbitRequestPriority priority) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            bucket(group, accessKey).acquire(priority);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("업비트 요청 대기 중 인터럽트", e);
+        }
+    }
+
+    /**
+     * 응답 반영
+     * @param remainingReq Remaining-Req 헤더 (예: "group=default; min=1800; sec=29")
+     * @param status HTTP 상태 코드
+     */
+    public void onResponse(UpbitRequestGroup group, String accessKey, String remainingReq, int status) {
+        if (!enabled) {
+            return;
+        }
+        TokenBucket bucket = bucket(group, accessKey);
+        if (status == 429) {
+            log.warn("업비트 요청 제한 초과 (429): group={}, 1초 중단", group);
+            bucket.penalize();
+            return;
+        }
+        Integer remaining = parseRemainingPerSecond(remainingReq);
+        if (remaining != null) {
+            bucket.limitTo(remaining);
+        }
+    }
+
+    private TokenBucket bucket(UpbitRequestGroup group, String accessKey) {
+        String key = accessKey != null ? accessKey : NO_KEY;
+        return switch (group) {
+            case QUOTATION -> quotationBucket;
+            case EXCHANGE -> exchangeBuckets.computeIfAbsent(key, k -> new TokenBucket(exchangePerSecond, exchangePerSecond));
+            case ORDER -> orderBuckets.computeIfAbsent(key, k -> new TokenBucket(orderPerSecond, orderPerSecond));
+        };
+    }
+
+    /**
+     * Remaining-Req 헤더의 sec 값
+     */
+    static Integer parseRemainingPerSecond(String header) {
+        if (header == null) {
+            return null;
+        }
+        for (String part : header.split(";")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length == 2 && "sec".equals(pair[0].trim())) {
+                try {
+                    return Integer.parseInt(pair[1].trim());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,35 @@
+package autostock.taesung.com.autostock.exchange.upbit.ratelimit;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * 업비트 요청 제한 그룹
+ * - QUOTATION: 시세 조회 (마켓/캔들/현재가/호가/체결), IP 단위 제한
+ * - EXCHANGE: 계좌/주문 조회 등 인증 API, API 키 단위 제한
+ * - ORDER: 주문 생성/취소, API 키 단위 별도 제한
+ */
+public enum UpbitRequestGroup {
+    QUOTATION,
+    EXCHANGE,
+    ORDER;
+
+    /**
+     * 요청 경로로 그룹 판별
+     */
+    public static UpbitRequestGroup of(HttpMethod method, String path) {
+        if (path == null) {
+            return QUOTATION;
+        }
+        if (path.endsWith("/orders") || path.endsWith("/order")) {
+            if (HttpMethod.POST.equals(method) || HttpMethod.DELETE.equals(method)) {
+                return ORDER;
+            }
+            return EXCHANGE;
+        }
+        if (path.contains("/accounts") || path.contains("/orders") || path.contains("/withdraws")
+                || path.contains("/deposits") || path.contains("/api_keys")) {
+            return EXCHANGE;
+        }
+        return QUOTATION;
+    }
+}
@@ -0,0 +1,44 @@
+package autostock.taesung.com.autostock.exchange.upbit.ratelimit;
+
+import java.util.function.Supplier;
+
+/**
+ * 요청 우선순위 (같은 버킷 안에서 높은 우선순위 요청이 먼저 토큰을 받음)
+ * - ORDER: 주문/취소/체결 확인
+ * - TRADING: 자동매매 분석용 시세 (기본값)
+ * - ANALYTICS: 백테스트/대시보드/통계
+ *
+ * 호출 스레드 단위로 지정: UpbitRequestPriority.ANALYTICS.call(() -> api.getMinuteCandles(...))
+ */
+public enum UpbitRequestPriority {
+    ORDER,
+    TRADING,
+    ANALYTICS;
+
+    private static final ThreadLocal<UpbitRequestPriority> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 현재 스레드의 우선순위 (지정 없으면 TRADING)
+     */
+    public static UpbitRequestPriority current() {
+        UpbitRequestPriority priority = CURRENT.get();
+        return priority != null ? priority : TRADING;
+    }
+
+    /**
+     * 이 우선순위로 작업 실행 (종료 후 이전 우선순위 복원)
+     */
+    public <T> T call(Supplier<T> task) {
+        UpbitRequestPriority previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package autostock.taesung.com.autostock.exchange.upbit.stream;
+
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 체결 스트림 → 분봉 캔들 메모리 집계
+ * - 마켓/단위(1분, N분)별로 진행 중 캔들 1개 + 완료 캔들 이력(historySize개)을 유지
+ * - 버킷은 UTC epoch 기준 unit 분 단위 정렬 (업비트 분봉 경계와 동일)
+ * - 반환 캔들은 REST 분봉 API와 같은 형식 (최신순, 0번은 진행 중 캔들)
+ *
+ * 체결이 없는 분은 REST API와 마찬가지로 캔들을 만들지 않음
+ * 마켓 단위로 동기화 (서로 다른 마켓은 동시에 처리 가능)
+ */
+public class CandleAggregator {
+
+    private static final DateTimeFormatter CANDLE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final int[] units;
+    private final int historySize;
+
+    /** 마켓 → 단위 → 시리즈 */
+    private final Map<String, Map<Integer, Series>> seriesByMarket = new ConcurrentHashMap<>();
+
+    private static final class Series {
+        final Deque<Candle> closed = new ArrayDeque<>();  // 최신순
+        Candle forming;
+        long formingStart;
+        long lastClosedStart = Long.MIN_VALUE;  // 마지막으로 마감된 구간 시작 (이후 늦은 체결 차단)
+    }
+
+    /**
+     * @param units 집계할 분봉 단위 (예: 1, 5)
+     * @param historySize 단위별 보관할 완료 캔들 수
+     */
+    public CandleAggregator(int[] units, int historySize) {
+        this.units = units.clone();
+        this.historySize = historySize;
+    }
+
+    /**
+     * 체결 반영
+     * @return 이 체결로 마감된 캔들 (없으면 빈 리스트)
+     */
+    public List<Candle> onTrade(String market, long tradeTimestamp, BigDecimal price, BigDecimal volume) {
+        Map<Integer, Series> marketSeries = seriesFor(market);
+        List<Candle> closed = new ArrayList<>();
+        synchronized (marketSeries) {
+            for (int unit : units) {
+                Series series = marketSeries.get(unit);
+                long bucketStart = bucketStart(tradeTimestamp, unit);
+
+                if (bucketStart <= series.lastClosedStart
+                        || (series.forming != null && bucketStart < series.formingStart)) {
+                    // 이미 마감된 구간의 늦은 체결은 무시 (지연/재연결 재전송 프레임이 과거 캔들을 다시 열지 않도록)
+                    continue;
+                }
+                if (series.forming != null && bucketStart > series.formingStart) {
+                    closed.add(close(series));
+                }
+                if (series.forming == null) {
+                    series.forming = newCandle(market, unit, bucketStart, price);
+                    series.formingStart = bucketStart;
+                }
+
+                Candle candle = series.forming;
+                if (price.compareTo(candle.getHighPrice()) > 0) {
+                    candle.setHighPrice(price);
+                }
+                if (price.compareTo(candle.getLowPrice()) < 0) {
+                    candle.setLowPrice(price);
+                }
+                candle.setTradePrice(price);
+                candle.setTimestamp(tradeTimestamp);
+                candle.setCandleAccTradeVolume(candle.getCandleAccTradeVolume().add(volume));
+                candle.setCandleAccTradePrice(candle.getCandleAccTradePrice().add(price.multiply(volume)));
+            }
+        }
+        return closed;
+    }
+
+    /**
+     * 시간이 지난 진행 중 캔들 마감 (체결이 끊긴 마켓용)
+     * @param nowMillis 기준 시각
+     * @return 마감된 캔들
+     */
+    public List<Candle> closeElapsed(long nowMillis) {
+        List<Candle> closed = new ArrayList<>();
+        for (Map<Integer, Series> marketSeries : seriesByMarket.values()) {
+            synchronized (marketSeries) {
+                for (Map.Entry<Integer, Series> entry : marketSeries.entrySet()) {
+                    Series series = entry.getValue();
+                    if (series.forming != null && series.formingStart + entry.getKey() * 60_000L <= nowMillis) {
+                        closed.add(close(series));
+                    }
+                }
+            }
+        }
+        return closed;
+    }
+
+    /**
+     * REST 캔들로 이력 보충 (재연결/시작 시 누락 구간 채움)
+     * - 진행 중 캔들 이전 구간만 반영 (스트림으로 만든 진행 중 캔들은 유지)
+     * @param restCandles REST 분봉 (최신순)
+     */
+    public void seed(String market, int unit, List<Candle> restCandles) {
+        if (restCandles == null || restCandles.isEmpty()) {
+            return;
+        }
+        Map<Integer, Series> marketSeries = seriesFor(market);
+        synchronized (marketSeries) {
+            Series series = marketSeries.get(unit);
+            if (series == null) {
+                return;
+            }
+            long limit = series.forming != null
+                    ? series.formingStart
+                    : bucketStart(System.currentTimeMillis(), unit);
+
+            NavigableMap<Long, Candle> merged = new TreeMap<>();
+            for (Candle candle : series.closed) {
+                merged.put(startOf(candle), candle);
+            }
+            for (Candle candle : restCandles) {
+                long start = startOf(candle);
+                if (start < limit) {
+                    merged.put(start, candle);
+                }
+            }
+
+            if (!merged.isEmpty()) {
+                series.lastClosedStart = Math.max(series.lastClosedStart, merged.lastKey());
+            }
+            series.closed.clear();
+            for (Candle candle : merged.descendingMap().values()) {
+                if (series.closed.size() >= historySize) {
+                    break;
+                }
+                series.closed.addLast(candle);
+            }
+        }
+    }
+
+    /**
+     * 캔들 조회 (최신순, 0번은 진행 중 캔들)
+     */
+    public List<Candle> getCandles(String market, int unit, int count) {
+        Map<Integer, Series> marketSeries = seriesByMarket.get(market);
+        if (marketSeries == null) {
+            return Collections.emptyList();
+        }
+        synchronized (marketSeries) {
+            Series series = marketSeries.get(unit);
+            if (series == null) {
+                return Collections.emptyList();
+            }
+            List<Candle> result = new ArrayList<>(Math.min(count, series.closed.size() + 1));
+            if (series.forming != null) {
+                result.add(copy(series.forming));
+            }
+            for (Candle candle : series.closed) {
+                if (result.size() >= count) {
+                    break;
+                }
+                result.add(candle);
+            }
+            return result;
+        }
+    }
+
+    public int[] getUnits() {
+        return units.clone();
+    }
+
+    private Map<Integer, Series> seriesFor(String market) {
+        return seriesByMarket.computeIfAbsent(market, k -> {
+            Map<Integer, Series> map = new LinkedHashMap<>();
+            for (int unit : units) {
+                map.put(unit, new Series());
+            }
+            return map;
+        });
+    }
+
+    private Candle close(Series series) {
+        Candle candle = series.forming;
+        series.lastClosedStart = series.formingStart;
+        series.closed.addFirst(candle);
+        while (series.closed.size() > historySize) {
+            series.closed.removeLast();
+        }
+        series.forming = null;
+        return candle;
+    }
+
+    private static long bucketStart(long timestamp, int unit) {
+        long size = unit * 60_000L;
+        return timestamp - Math.floorMod(timestamp, size);
+    }
+
+    private static long startOf(Candle candle) {
+        return LocalDateTime.parse(candle.getCandleDateTimeUtc()).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static Candle newCandle(String market, int unit, long bucketStart, BigDecimal price) {
+        Instant start = Instant.ofEpochMilli(bucketStart);
+        return Candle.builder()
+                .market(market)
+                .candleDateTimeUtc(CANDLE_TIME_FORMAT.format(start.atZone(ZoneOffset.UTC)))
+                .candleDateTimeKst(CANDLE_TIME_FORMAT.format(start.atZone(KST)))
+                .openingPrice(price)
+                .highPrice(price)
+                .lowPrice(price)
+                .tradePrice(price)
+                .candleAccTradePrice(BigDecimal.ZERO)
+                .candleAccTradeVolume(BigDecimal.ZERO)
+                .unit(unit)
+                .build();
+    }
+
+    private static Candle copy(Candle candle) {
+        return Candle.builder()
+                .market(candle.getMarket())
+                .candleDateTimeUtc(candle.getCandleDateTimeUtc())
+                .candleDateTimeKst(candle.getCandleDateTimeKst())
+                .openingPrice(candle.getOpeningPrice())
+                .highPrice(candle.getHighPrice())
+                .lowPrice(candle.getLowPrice())
+                .tradePrice(candle.getTradePrice())
+                .timestamp(candle.getTimestamp())
+                .candleAccTradePrice(candle.getCandleAccTradePrice())
+                .candleAccTradeVolume(candle.getCandleAccTradeVolume())
+                .unit(candle.getUnit())
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package autostock.taesung.com.autostock.exchange.upbit.stream;
+
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+import autostock.taesung.com.autostock.exchange.upbit.dto.Orderbook;
+import autostock.taesung.com.autostock.exchange.upbit.dto.Ticker;
+
+/**
+ * 실시간 시세 수신 리스너
+ * - 웹소켓 수신 스레드에서 호출되므로 오래 걸리는 작업(DB 저장 등)은 버퍼링/비동기로 처리해야 함
+ */
+public interface MarketDataListener {
+
+    /**
+     * 분봉 캔들 마감
+     */
+    void onCandleClosed(Candle candle);
+
+    default void onTicker(Ticker ticker) {
+    }
+
+    default void onOrderbook(Orderbook orderbook) {
+    }
+}
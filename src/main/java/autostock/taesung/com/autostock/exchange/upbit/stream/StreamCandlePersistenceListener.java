@@ -0,0 +1,23 @@
+package autostock.taesung.com.autostock.exchange.upbit.stream;
+
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+import autostock.taesung.com.autostock.service.CandleIngestionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 스트림으로 마감된 캔들 DB 적재 (CandleIngestionService 버퍼에 넣고 일괄 upsert)
+ */
+@Component
+@RequiredArgsConstructor
+public class StreamCandlePersistenceListener implements MarketDataListener {
+
+    private final CandleIngestionService candleIngestionService;
+
+    @Override
+    public void onCandleClosed(Candle candle) {
+        candleIngestionService.ingest(List.of(candle));
+    }
+}
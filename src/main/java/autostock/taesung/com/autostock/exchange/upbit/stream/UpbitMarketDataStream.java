@@ -0,0 +1,326 @@
+package autostock.taesung.com.autostock.exchange.upbit.stream;
+
+import autostock.taesung.com.autostock.exchange.upbit.UpbitApiService;
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+import autostock.taesung.com.autostock.exchange.upbit.dto.Market;
+import autostock.taesung.com.autostock.exchange.upbit.dto.Orderbook;
+import autostock.taesung.com.autostock.exchange.upbit.dto.Ticker;
+import autostock.taesung.com.autostock.exchange.upbit.http.UpbitObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import org.springframework.web.reactive.socket.client.WebSocketClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 업비트 웹소켓 실시간 시세 수신
+ *
+ * [구성]
+ * - trade/ticker/orderbook 스트림 구독 (WebFlux ReactorNettyWebSocketClient)
+ * - trade → CandleAggregator로 1분/N분봉 메모리 집계, 마감 캔들은 MarketDataListener로 전달 (DB 적재 등)
+ * - ticker/orderbook은 마켓별 최신값만 보관
+ * - 연결 끊김 시 reconnect-delay-ms 후 재연결, 연결될 때마다 REST 분봉으로 누락 구간 보충 (gap-fill)
+ *
+ * [사용]
+ * - MarketSnapshotService가 getCandles/getTicker로 먼저 조회하고, 신선하지 않은 마켓만 REST로 조회
+ * - market-data.stream.enabled=false(기본)이면 연결하지 않으며 모든 조회가 null (기존 REST 경로 유지)
+ */
+@Slf4j
+@Component
+public class UpbitMarketDataStream {
+
+    private final UpbitApiService upbitApiService;
+    private final List<MarketDataListener> listeners;
+    private final WebSocketClient client = new ReactorNettyWebSocketClient();
+    private final ObjectMapper objectMapper;
+    private final CandleAggregator aggregator;
+
+    private final boolean enabled;
+    private final URI uri;
+    private final String configuredMarkets;
+    private final int maxMarkets;
+    private final int historySize;
+    private final long reconnectDelayMillis;
+    private final long staleMillis;
+
+    private final AtomicBoolean connected = new AtomicBoolean(false);
+    private final Map<String, Long> lastTradeAt = new ConcurrentHashMap<>();
+    private final Map<String, Ticker> tickers = new ConcurrentHashMap<>();
+    private final Map<String, Orderbook> orderbooks = new ConcurrentHashMap<>();
+
+    private volatile List<String> markets = List.of();
+    private Disposable connection;
+    private Disposable closeTimer;
+
+    public UpbitMarketDataStream(UpbitApiService upbitApiService,
+                                 List<MarketDataListener> listeners,
+                                 @Value("${market-data.stream.enabled:false}") boolean enabled,
+                                 @Value("${market-data.stream.url:wss://api.upbit.com/websocket/v1}") String url,
+                                 @Value("${market-data.stream.markets:}") String configuredMarkets,
+                                 @Value("${market-data.stream.max-markets:30}") int maxMarkets,
+                                 @Value("${market-data.stream.units:1,5}") String units,
+                                 @Value("${market-data.stream.history-size:200}") int historySize,
+                                 @Value("${market-data.stream.reconnect-delay-ms:3000}") long reconnectDelayMillis,
+                                 @Value("${market-data.stream.stale-seconds:90}") long staleSeconds) {
+        this.upbitApiService = upbitApiService;
+        this.listeners = listeners;
+        this.enabled = enabled;
+        this.uri = URI.create(url);
+        this.configuredMarkets = configuredMarkets;
+        this.maxMarkets = maxMarkets;
+        this.historySize = historySize;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+        this.staleMillis = staleSeconds * 1000;
+        this.aggregator = new CandleAggregator(parseUnits(units), historySize);
+
+        this.objectMapper = UpbitObjectMapper.shared();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.debug("실시간 시세 스트림 비활성화 (market-data.stream.enabled=false)");
+            return;
+        }
+        start(resolveMarkets());
+    }
+
+    /**
+     * 스트림 연결 시작 (이미 연결 중이면 재구독)
+     */
+    public synchronized void start(List<String> targetMarkets) {
+        stop();
+        if (targetMarkets.isEmpty()) {
+            log.warn("실시간 시세 구독 대상 마켓이 없습니다.");
+            return;
+        }
+        this.markets = List.copyOf(targetMarkets);
+        String subscribeMessage = buildSubscribeMessage(markets);
+
+        log.info("실시간 시세 스트림 시작: {} ({}개 마켓, 단위 {}분)",
+                uri, markets.size(), Arrays.toString(aggregator.getUnits()));
+
+        // 세션 종료/오류 시 지연 후 재연결 반복
+        connection = Mono.defer(() -> client.execute(uri, session -> handleSession(session, subscribeMessage)))
+                .doOnError(e -> log.warn("실시간 시세 연결 오류: {}", e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .then(Mono.delay(Duration.ofMillis(reconnectDelayMillis)))
+                .repeat()
+                .subscribe();
+
+        // 체결이 끊긴 마켓의 진행 중 캔들 마감 (분 경계 + 2초 여유)
+        closeTimer = Flux.interval(Duration.ofSeconds(1))
+                .subscribe(tick -> publishClosed(aggregator.closeElapsed(System.currentTimeMillis() - 2_000)));
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (connection != null) {
+            connection.dispose();
+            connection = null;
+        }
+        if (closeTimer != null) {
+            closeTimer.dispose();
+            closeTimer = null;
+        }
+        connected.set(false);
+    }
+
+    public boolean isConnected() {
+        return connected.get();
+    }
+
+    public List<String> getMarkets() {
+        return markets;
+    }
+
+    /**
+     * 스트림 캔들 (최신순, 0번은 진행 중 캔들)
+     * @return 연결이 신선하지 않거나 캔들이 count개 미만이면 null (REST 사용)
+     */
+    public List<Candle> getCandles(String market, int unit, int count) {
+        if (!isFresh(market)) {
+            return null;
+        }
+        List<Candle> candles = aggregator.getCandles(market, unit, count);
+        return candles.size() >= count ? candles : null;
+    }
+
+    /**
+     * 스트림 현재가 (신선하지 않으면 null)
+     */
+    public Ticker getTicker(String market) {
+        return isFresh(market) ? tickers.get(market) : null;
+    }
+
+    /**
+     * 스트림 호가 (신선하지 않으면 null)
+     */
+    public Orderbook getOrderbook(String market) {
+        return isFresh(market) ? orderbooks.get(market) : null;
+    }
+
+    /**
+     * 연결 중이고 staleSeconds 이내에 체결을 받은 마켓인지
+     */
+    public boolean isFresh(String market) {
+        if (!connected.get()) {
+            return false;
+        }
+        Long last = lastTradeAt.get(market);
+        return last != null && System.currentTimeMillis() - last <= staleMillis;
+    }
+
+    private Mono<Void> handleSession(WebSocketSession session, String subscribeMessage) {
+        return session.send(Mono.just(session.textMessage(subscribeMessage)))
+                .doOnSuccess(v -> {
+                    connected.set(true);
+                    log.info("실시간 시세 구독 완료: {}개 마켓", markets.size());
+                    // 누락 구간 보충은 수신 스레드를 막지 않도록 별도 스레드에서
+                    Mono.fromRunnable(this::gapFill).subscribeOn(Schedulers.boundedElastic()).subscribe();
+                })
+                .thenMany(session.receive().doOnNext(message -> handleMessage(message.getPayloadAsText())))
+                .then()
+                .doFinally(signal -> {
+                    connected.set(false);
+                    log.warn("실시간 시세 연결 종료 ({}), 재연결 대기", signal);
+                });
+    }
+
+    /**
+     * 수신 메시지 처리 (업비트는 바이너리 프레임으로 JSON 전송)
+     */
+    void handleMessage(String payload) {
+        try {
+            JsonNode node = objectMapper.readTree(payload);
+            String type = node.path("type").asText();
+            String market = node.path("code").asText();
+            if (market.isEmpty()) {
+                return;
+            }
+
+            switch (type) {
+                case "trade" -> {
+                    long timestamp = node.path("trade_timestamp").asLong(node.path("timestamp").asLong());
+                    BigDecimal price = node.path("trade_price").decimalValue();
+                    BigDecimal volume = node.path("trade_volume").decimalValue();
+                    lastTradeAt.put(market, System.currentTimeMillis());
+                    publishClosed(aggregator.onTrade(market, timestamp, price, volume));
+                }
+                case "ticker" -> {
+                    Ticker ticker = objectMapper.treeToValue(node, Ticker.class);
+                    ticker.setMarket(market);
+                    tickers.put(market, ticker);
+                    for (MarketDataListener listener : listeners) {
+                        listener.onTicker(ticker);
+                    }
+                }
+                case "orderbook" -> {
+                    Orderbook orderbook = objectMapper.treeToValue(node, Orderbook.class);
+                    orderbook.setMarket(market);
+                    orderbooks.put(market, orderbook);
+                    for (MarketDataListener listener : listeners) {
+                        listener.onOrderbook(orderbook);
+                    }
+                }
+                default -> {
+                    // 상태 메시지 등 무시
+                }
+            }
+        } catch (Exception e) {
+            log.warn("실시간 시세 메시지 처리 실패: {}", e.getMessage());
+        }
+    }
+
+    private void publishClosed(List<Candle> closed) {
+        for (Candle candle : closed) {
+            for (MarketDataListener listener : listeners) {
+                try {
+                    listener.onCandleClosed(candle);
+                } catch (Exception e) {
+                    log.warn("[{}] 캔들 리스너 처리 실패: {}", candle.getMarket(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * REST 분봉으로 이력 보충 (연결될 때마다 실행)
+     */
+    private void gapFill() {
+        long startTime = System.currentTimeMillis();
+        for (String market : markets) {
+            for (int unit : aggregator.getUnits()) {
+                try {
+                    aggregator.seed(market, unit, upbitApiService.getMinuteCandles(market, unit, historySize));
+                } catch (Exception e) {
+                    log.warn("[{}] {}분봉 누락 구간 보충 실패: {}", market, unit, e.getMessage());
+                }
+            }
+        }
+        log.info("실시간 시세 누락 구간 보충 완료: {}개 마켓 ({}ms)", markets.size(), System.currentTimeMillis() - startTime);
+    }
+
+    private List<String> resolveMarkets() {
+        if (configuredMarkets != null && !configuredMarkets.isBlank()) {
+            return Arrays.stream(configuredMarkets.split(","))
+                    .map(String::trim)
+                    .map(String::toUpperCase)
+                    .filter(m -> !m.isEmpty())
+                    .collect(Collectors.toList());
+        }
+        try {
+            return upbitApiService.getMarkets().stream()
+                    .filter(m -> m.getMarket().startsWith("KRW-"))
+                    .filter(m -> !"CAUTION".equals(m.getMarketWarning()))
+                    .map(Market::getMarket)
+                    .limit(maxMarkets)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            log.error("실시간 시세 구독 마켓 조회 실패: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private String buildSubscribeMessage(List<String> codes) {
+        ArrayNode request = objectMapper.createArrayNode();
+        request.addObject().put("ticket", "autostock-" + UUID.randomUUID());
+        for (String type : List.of("trade", "ticker", "orderbook")) {
+            ArrayNode codeArray = request.addObject().put("type", type).putArray("codes");
+            codes.forEach(codeArray::add);
+        }
+        request.addObject().put("format", "DEFAULT");
+        return request.toString();
+    }
+
+    private static int[] parseUnits(String units) {
+        return Arrays.stream(units.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .mapToInt(Integer::parseInt)
+                .distinct()
+                .toArray();
+    }
+}
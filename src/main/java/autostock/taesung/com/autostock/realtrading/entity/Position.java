@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 @Table(name = "real_position", indexes = {
     @Index(name = "idx_position_market", columnList = "market"),
     @Index(name = "idx_position_status", columnList = "status"),
-    @Index(name = "idx_position_user", columnList = "userId")
+    @Index(name = "idx_position_user", columnList = "userId"),
+    @Index(name = "idx_position_user_exit", columnList = "userId, status, finalExitTime")
 })
 @Getter
 @Setter
@@ -67,6 +67,10 @@ public interface PositionRepository extends JpaRepository<Position, Long> {
            "AND p.status IN ('ENTERING', 'ACTIVE') AND p.entryPhase < 3")
     List<Position> findPendingEntryPositions(@Param("userId") Long userId);
 
+    /** 기간 내 청산 포지션 (청산 시간순) */
+    List<Position> findByUserIdAndStatusAndFinalExitTimeAfterOrderByFinalExitTimeAsc(
+            Long userId, PositionStatus status, LocalDateTime since);
+
     /** 마켓별 최근 거래 성과 */
     @Query("SELECT p.market, COUNT(p), SUM(p.realizedPnl), AVG(p.totalSlippage) " +
            "FROM Position p WHERE p.userId = :userId AND p.status = 'CLOSED' " +
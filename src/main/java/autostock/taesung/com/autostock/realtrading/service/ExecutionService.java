@@ -6,6 +6,8 @@ import autostock.taesung.com.autostock.realtrading.entity.ExecutionLog.Execution
 import autostock.taesung.com.autostock.realtrading.entity.ExecutionLog.ExecutionType;
 import autostock.taesung.com.autostock.realtrading.entity.ExecutionLog.OrderSide;
 import autostock.taesung.com.autostock.realtrading.repository.ExecutionLogRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +18,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.*;
 
@@ -25,6 +29,7 @@ import java.util.concurrent.*;
  * - 슬리피지 필터링
  * - 주문 타임아웃 및 재시도
  * - 부분 체결 처리
+ * - 체결 확인: 대기 중인 모든 주문을 스케줄러가 주기적으로 일괄 조회해 future 완료 (주문별 폴링 루프 없음)
  */
 @Slf4j
 @Service
@@ -34,11 +39,22 @@ public class ExecutionService {
     private final ExecutionLogRepository executionLogRepository;
     private final RealTradingConfig config;
 
-    // 주문 대기 큐 (비동기 체결 추적용)
-    private final ConcurrentMap<String, CompletableFuture<ExecutionResult>> pendingOrders = new ConcurrentHashMap<>();
+    // 주문 대기 큐 (비동기 체결 추적용, 체결/취소 시 pollPendingOrders가 완료)
+    private final ConcurrentMap<String, CompletableFuture<OrderStatusResult>> pendingOrders = new ConcurrentHashMap<>();
 
-    // 스케줄러 (타임아웃 관리)
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    // 스케줄러 (대기 주문 일괄 조회)
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @PostConstruct
+    public void startOrderPolling() {
+        long interval = Math.max(1, config.getOrderPollIntervalSeconds());
+        scheduler.scheduleWithFixedDelay(this::pollPendingOrders, interval, interval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
 
     /**
      * 지정가 매수 주문 실행
@@ -188,115 +204,103 @@ public class ExecutionService {
 
     /**
      * 체결 대기 (타임아웃 포함)
+     * - 주문을 대기 큐에 등록하고 pollPendingOrders가 완료할 때까지 대기
      */
     private ExecutionResult waitForExecution(ExecutionLog execLog, String orderId) {
-        CompletableFuture<ExecutionResult> future = new CompletableFuture<>();
+        CompletableFuture<OrderStatusResult> future = new CompletableFuture<>();
         pendingOrders.put(orderId, future);
 
-        // 타임아웃 스케줄링
-        ScheduledFuture<?> timeoutTask = scheduler.schedule(() -> {
-            if (!future.isDone()) {
-                log.warn("[EXEC] 주문 타임아웃: orderId={}", orderId);
-                handleOrderTimeout(execLog, orderId, future);
-            }
-        }, config.getOrderTimeoutSeconds(), TimeUnit.SECONDS);
-
+        OrderStatusResult status;
         try {
-            // 체결 대기 (폴링 방식)
-            ExecutionResult result = pollOrderStatus(execLog, orderId, future);
-            timeoutTask.cancel(false);
+            status = future.get(config.getOrderTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
             pendingOrders.remove(orderId);
-            return result;
-
-        } catch (Exception e) {
-            timeoutTask.cancel(false);
+            log.warn("[EXEC] 주문 타임아웃: orderId={}", orderId);
+            return handleOrderTimeout(execLog, orderId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pendingOrders.remove(orderId);
+            return ExecutionResult.failed("체결 대기 중단");
+        } catch (ExecutionException e) {
             pendingOrders.remove(orderId);
-            log.error("[EXEC] 체결 대기 오류: orderId={}, error={}", orderId, e.getMessage());
-            return ExecutionResult.failed("체결 대기 중 오류: " + e.getMessage());
+            log.error("[EXEC] 체결 대기 오류: orderId={}, error={}", orderId, e.getCause().getMessage());
+            return ExecutionResult.failed("체결 대기 중 오류: " + e.getCause().getMessage());
         }
+
+        return applyOrderStatus(execLog, orderId, status);
     }
 
     /**
-     * 주문 상태 폴링
+     * 대기 중인 주문 일괄 조회 (스케줄러 스레드)
+     * - 전체 체결/취소, 또는 부분 체결 허용 시 부분 체결이면 future 완료
      */
-    private ExecutionResult pollOrderStatus(ExecutionLog execLog, String orderId,
-                                            CompletableFuture<ExecutionResult> future) {
-        int maxAttempts = config.getOrderTimeoutSeconds() / config.getOrderPollIntervalSeconds();
-
-        for (int attempt = 0; attempt < maxAttempts && !future.isDone(); attempt++) {
-            try {
-                Thread.sleep(config.getOrderPollIntervalSeconds() * 1000L);
-
-                // 주문 상태 조회 (실제 거래소 API 호출)
-                OrderStatusResult status = getOrderStatus(orderId);
-
-                if (status.isFilled()) {
-                    // 전체 체결
-                    execLog.markFilled(status.getExecutedPrice(), status.getExecutedQuantity(),
-                            status.getFee(), status.getExecutedAt());
-                    executionLogRepository.save(execLog);
-
-                    ExecutionResult result = ExecutionResult.success(
-                            status.getExecutedPrice(),
-                            status.getExecutedQuantity(),
-                            status.getFee(),
-                            execLog.getSlippagePercent()
-                    );
-                    future.complete(result);
-                    return result;
-
-                } else if (status.isPartiallyFilled()) {
-                    // 부분 체결 - 남은 수량 재시도 여부 결정
-                    log.info("[EXEC] 부분 체결: orderId={}, filled={}/{}",
-                            orderId, status.getFilledQuantity(), execLog.getRequestedQuantity());
-
-                    // 부분 체결 처리 (설정에 따라)
-                    if (config.isAcceptPartialFill()) {
-                        execLog.markPartialFill(status.getExecutedPrice(),
-                                status.getFilledQuantity(), status.getFee());
-                        executionLogRepository.save(execLog);
-
-                        ExecutionResult result = ExecutionResult.partial(
-                                status.getExecutedPrice(),
-                                status.getFilledQuantity(),
-                                status.getFee(),
-                                execLog.getSlippagePercent(),
-                                execLog.getRequestedQuantity().subtract(status.getFilledQuantity())
-                        );
-                        future.complete(result);
-                        return result;
-                    }
-                    // 전체 체결 대기 계속
-
-                } else if (status.isCancelled()) {
-                    // 취소됨
-                    execLog.setStatus(ExecutionStatus.CANCELLED);
-                    executionLogRepository.save(execLog);
-
-                    ExecutionResult result = ExecutionResult.cancelled("주문이 취소됨");
-                    future.complete(result);
-                    return result;
+    void pollPendingOrders() {
+        if (pendingOrders.isEmpty()) {
+            return;
+        }
+        try {
+            for (OrderStatusResult status : getOrderStatuses(new ArrayList<>(pendingOrders.keySet()))) {
+                boolean settled = status.isFilled() || status.isCancelled()
+                        || (status.isPartiallyFilled() && config.isAcceptPartialFill());
+                if (!settled) {
+                    continue;
+                }
+                CompletableFuture<OrderStatusResult> future = pendingOrders.remove(status.getOrderId());
+                if (future != null) {
+                    future.complete(status);
                 }
-
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
             }
+        } catch (Exception e) {
+            log.error("[EXEC] 주문 상태 일괄 조회 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 확정된 주문 상태를 체결 로그에 반영
+     */
+    private ExecutionResult applyOrderStatus(ExecutionLog execLog, String orderId, OrderStatusResult status) {
+        if (status.isFilled()) {
+            // 전체 체결
+            execLog.markFilled(status.getExecutedPrice(), status.getExecutedQuantity(),
+                    status.getFee(), status.getExecutedAt());
+            executionLogRepository.save(execLog);
+
+            return ExecutionResult.success(
+                    status.getExecutedPrice(),
+                    status.getExecutedQuantity(),
+                    status.getFee(),
+                    execLog.getSlippagePercent()
+            );
         }
 
-        // 타임아웃 처리
-        if (!future.isDone()) {
-            return handleOrderTimeout(execLog, orderId, future);
+        if (status.isPartiallyFilled()) {
+            // 부분 체결 (부분 체결 허용 설정일 때만 여기로 옴)
+            log.info("[EXEC] 부분 체결: orderId={}, filled={}/{}",
+                    orderId, status.getFilledQuantity(), execLog.getRequestedQuantity());
+
+            execLog.markPartialFill(status.getExecutedPrice(),
+                    status.getFilledQuantity(), status.getFee());
+            executionLogRepository.save(execLog);
+
+            return ExecutionResult.partial(
+                    status.getExecutedPrice(),
+                    status.getFilledQuantity(),
+                    status.getFee(),
+                    execLog.getSlippagePercent(),
+                    execLog.getRequestedQuantity().subtract(status.getFilledQuantity())
+            );
         }
 
-        return future.getNow(ExecutionResult.failed("알 수 없는 오류"));
+        // 취소됨
+        execLog.setStatus(ExecutionStatus.CANCELLED);
+        executionLogRepository.save(execLog);
+        return ExecutionResult.cancelled("주문이 취소됨");
     }
 
     /**
      * 주문 타임아웃 처리
      */
-    private ExecutionResult handleOrderTimeout(ExecutionLog execLog, String orderId,
-                                               CompletableFuture<ExecutionResult> future) {
+    private ExecutionResult handleOrderTimeout(ExecutionLog execLog, String orderId) {
         // 미체결 주문 취소 시도
         try {
             boolean cancelled = cancelOrder(orderId);
@@ -316,9 +320,7 @@ public class ExecutionService {
             log.error("[EXEC] 주문 취소 실패: orderId={}, error={}", orderId, e.getMessage());
         }
 
-        ExecutionResult result = ExecutionResult.timeout("주문 체결 대기 시간 초과");
-        future.complete(result);
-        return result;
+        return ExecutionResult.timeout("주문 체결 대기 시간 초과");
     }
 
     /**
@@ -445,6 +447,18 @@ public class ExecutionService {
                 .build();
     }
 
+    /**
+     * 주문 상태 일괄 조회 (거래소 API)
+     * - 기본 구현은 주문별 조회, 거래소 연동 시 일괄 조회 API로 교체
+     */
+    protected List<OrderStatusResult> getOrderStatuses(List<String> orderIds) {
+        List<OrderStatusResult> results = new ArrayList<>(orderIds.size());
+        for (String orderId : orderIds) {
+            results.add(getOrderStatus(orderId));
+        }
+        return results;
+    }
+
     /**
      * 주문 취소 (거래소 API)
      * TODO: 실제 업비트 API 연동
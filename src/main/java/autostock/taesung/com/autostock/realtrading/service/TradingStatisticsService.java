@@ -38,11 +38,8 @@ public class TradingStatisticsService {
      * 전체 성과 통계 계산
      */
     public PerformanceStats calculatePerformanceStats(Long userId, LocalDateTime since) {
-        List<Position> closedPositions = positionRepository.findAll().stream()
-                .filter(p -> p.getUserId().equals(userId))
-                .filter(p -> p.getStatus() == PositionStatus.CLOSED)
-                .filter(p -> p.getFinalExitTime() != null && p.getFinalExitTime().isAfter(since))
-                .collect(Collectors.toList());
+        List<Position> closedPositions = positionRepository
+                .findByUserIdAndStatusAndFinalExitTimeAfterOrderByFinalExitTimeAsc(userId, PositionStatus.CLOSED, since);
 
         if (closedPositions.isEmpty()) {
             return PerformanceStats.empty();
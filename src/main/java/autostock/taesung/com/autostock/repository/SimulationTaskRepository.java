@@ -2,6 +2,7 @@ package autostock.taesung.com.autostock.repository;
 
 import autostock.taesung.com.autostock.entity.SimulationTask;
 import autostock.taesung.com.autostock.entity.SimulationTask.TaskStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -57,9 +59,86 @@ public interface SimulationTaskRepository extends JpaRepository<SimulationTask,
     List<SimulationTask> findByUserIdOrderByCreatedAtDesc(Long userId);
 
     /**
-     * 최근 N개 작업 조회
+     * 최근 N개 작업 조회 (하위 작업 제외)
      */
-    List<SimulationTask> findTop20ByOrderByCreatedAtDesc();
+    List<SimulationTask> findTop20ByParentTaskIdIsNullOrderByCreatedAtDesc();
+
+    /**
+     * 하위 작업 목록 조회
+     */
+    List<SimulationTask> findByParentTaskId(String parentTaskId);
+
+    /**
+     * 가져갈 대기 작업 ID (생성 순)
+     */
+    @Query("SELECT t.taskId FROM SimulationTask t WHERE t.status = 'PENDING' ORDER BY t.createdAt")
+    List<String> findPendingTaskIds(Pageable pageable);
+
+    /**
+     * 대기 작업 가져가기 (PENDING일 때만 변경되므로 여러 인스턴스 중 하나만 성공)
+     * @return 1이면 가져감, 0이면 다른 인스턴스가 먼저 가져감
+     */
+    @Modifying
+    @Query("UPDATE SimulationTask t SET t.status = 'RUNNING', t.serverInstance = :instance, " +
+           "t.startedAt = :now, t.heartbeatAt = :now, t.updatedAt = :now, " +
+           "t.attemptCount = COALESCE(t.attemptCount, 0) + 1 " +
+           "WHERE t.taskId = :taskId AND t.status = 'PENDING'")
+    int claimPendingTask(@Param("taskId") String taskId, @Param("instance") String instance,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * 실행 중 작업 하트비트 갱신 (이 인스턴스가 가진 작업만)
+     */
+    @Modifying
+    @Query("UPDATE SimulationTask t SET t.heartbeatAt = :now " +
+           "WHERE t.taskId IN :taskIds AND t.serverInstance = :instance AND t.status = 'RUNNING'")
+    int touchHeartbeat(@Param("taskIds") Collection<String> taskIds, @Param("instance") String instance,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * 가져간 작업 반납 (실행기에 등록하지 못한 경우, 시도 횟수도 되돌림)
+     */
+    @Modifying
+    @Query("UPDATE SimulationTask t SET t.status = 'PENDING', t.serverInstance = NULL, " +
+           "t.attemptCount = CASE WHEN t.attemptCount > 0 THEN t.attemptCount - 1 ELSE 0 END, " +
+           "t.updatedAt = :now " +
+           "WHERE t.taskId = :taskId AND t.serverInstance = :instance AND t.status = 'RUNNING'")
+    int releaseClaimedTask(@Param("taskId") String taskId, @Param("instance") String instance,
+                           @Param("now") LocalDateTime now);
+
+    /**
+     * 대기 중인 하위 작업 취소 (PENDING일 때만 변경되므로 그 사이 가져간 작업은 건드리지 않음)
+     */
+    @Modifying
+    @Query("UPDATE SimulationTask t SET t.status = 'CANCELLED', t.completedAt = :now, t.updatedAt = :now " +
+           "WHERE t.parentTaskId = :parentId AND t.status = 'PENDING'")
+    int cancelPendingChildren(@Param("parentId") String parentId, @Param("now") LocalDateTime now);
+
+    /**
+     * 실행 중인 하위 작업에 취소 요청 (RUNNING일 때만, 다른 컬럼은 덮어쓰지 않음)
+     */
+    @Modifying
+    @Query("UPDATE SimulationTask t SET t.cancelRequested = true " +
+           "WHERE t.parentTaskId = :parentId AND t.status = 'RUNNING'")
+    int requestCancelRunningChildren(@Param("parentId") String parentId);
+
+    /**
+     * 하트비트가 끊긴 실행 중 작업 조회 (인스턴스 장애)
+     */
+    @Query("SELECT t FROM SimulationTask t WHERE t.status = 'RUNNING' " +
+           "AND COALESCE(t.heartbeatAt, t.updatedAt) < :threshold")
+    List<SimulationTask> findExpiredRunningTasks(@Param("threshold") LocalDateTime threshold);
+
+    /**
+     * 하트비트 만료 작업 재대기 (그 사이 하트비트가 갱신됐으면 변경 안 됨)
+     */
+    @Modifying
+    @Query("UPDATE SimulationTask t SET t.status = 'PENDING', t.serverInstance = NULL, " +
+           "t.currentStep = '재대기 (실행 인스턴스 응답 없음)', t.updatedAt = :now " +
+           "WHERE t.taskId = :taskId AND t.status = 'RUNNING' " +
+           "AND COALESCE(t.heartbeatAt, t.updatedAt) < :threshold")
+    int requeueExpiredTask(@Param("taskId") String taskId, @Param("threshold") LocalDateTime threshold,
+                           @Param("now") LocalDateTime now);
 
     /**
      * 서버 인스턴스별 실행 중 작업 조회 (서버 재시작 시 복구용)
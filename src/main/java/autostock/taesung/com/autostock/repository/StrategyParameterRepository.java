@@ -65,6 +65,12 @@ public interface StrategyParameterRepository extends JpaRepository<StrategyParam
     @Query("SELECT DISTINCT sp.strategyName FROM StrategyParameter sp")
     List<String> findDistinctStrategyNames();
 
+    /**
+     * 변경 감지용 지문 (행 수, 최종 생성/수정 시각)
+     */
+    @Query("SELECT COUNT(sp), MAX(COALESCE(sp.updatedAt, sp.createdAt)) FROM StrategyParameter sp")
+    List<Object[]> findChangeFingerprint();
+
     /**
      * 사용자 파라미터 삭제
      */
@@ -4,9 +4,11 @@ import autostock.taesung.com.autostock.entity.TradeHistory;
 import autostock.taesung.com.autostock.entity.TradeHistory.TradeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -113,6 +115,26 @@ public interface TradeHistoryRepository extends JpaRepository<TradeHistory, Long
 """)
     List<TradeHistory> findLatestByMarket(@Param("market") String market);
 
+    /**
+     * 마켓별 최근 체결 1건 (포지션 상태 적재용)
+     */
+    @Query("SELECT t FROM TradeHistory t WHERE t.id IN (SELECT MAX(t2.id) FROM TradeHistory t2 GROUP BY t2.market)")
+    List<TradeHistory> findLatestPerMarket();
+
+    /**
+     * 손익 원장 미반영 체결 (id 순서)
+     */
+    List<TradeHistory> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * 최고가 상향 갱신 (기존 값보다 높을 때만)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TradeHistory t SET t.highestPrice = :price " +
+           "WHERE t.id = :id AND (t.highestPrice IS NULL OR t.highestPrice < :price)")
+    int raiseHighestPrice(@Param("id") Long id, @Param("price") BigDecimal price);
+
     @Query("""
     SELECT t FROM TradeHistory t
     WHERE t.market = :market
@@ -0,0 +1,51 @@
+package autostock.taesung.com.autostock.repository;
+
+import autostock.taesung.com.autostock.entity.TradeProfitDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 일별 손익 집계 조회
+ * - 합계 행 순서: tradeCount, winCount, loseCount, buyAmount, grossProfit, fee, netProfit
+ */
+@Repository
+public interface TradeProfitDailyRepository extends JpaRepository<TradeProfitDaily, Long> {
+
+    String TOTALS = "COALESCE(SUM(d.tradeCount), 0), COALESCE(SUM(d.winCount), 0), COALESCE(SUM(d.loseCount), 0), " +
+                    "COALESCE(SUM(d.buyAmount), 0), COALESCE(SUM(d.grossProfit), 0), " +
+                    "COALESCE(SUM(d.fee), 0), COALESCE(SUM(d.netProfit), 0)";
+
+    @Query("SELECT " + TOTALS + " FROM TradeProfitDaily d")
+    List<Object[]> sumAll();
+
+    @Query("SELECT " + TOTALS + " FROM TradeProfitDaily d WHERE d.tradeDate BETWEEN :from AND :to")
+    List<Object[]> sumBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT " + TOTALS + " FROM TradeProfitDaily d WHERE d.market = :market")
+    List<Object[]> sumByMarket(@Param("market") String market);
+
+    /**
+     * 일자별 합계 (첫 컬럼 = 날짜, 최신순)
+     */
+    @Query("SELECT d.tradeDate, " + TOTALS + " FROM TradeProfitDaily d GROUP BY d.tradeDate ORDER BY d.tradeDate DESC")
+    List<Object[]> sumByDate();
+
+    @Query("SELECT d.tradeDate, " + TOTALS + " FROM TradeProfitDaily d WHERE d.tradeDate BETWEEN :from AND :to " +
+           "GROUP BY d.tradeDate ORDER BY d.tradeDate DESC")
+    List<Object[]> sumByDate(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * 전략별 합계 (첫 컬럼 = 전략명)
+     */
+    @Query("SELECT d.strategyName, " + TOTALS + " FROM TradeProfitDaily d GROUP BY d.strategyName")
+    List<Object[]> sumByStrategy();
+
+    @Query("SELECT d.strategyName, " + TOTALS + " FROM TradeProfitDaily d WHERE d.tradeDate BETWEEN :from AND :to " +
+           "GROUP BY d.strategyName")
+    List<Object[]> sumByStrategy(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
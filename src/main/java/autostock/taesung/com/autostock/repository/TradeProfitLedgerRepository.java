@@ -0,0 +1,52 @@
+package autostock.taesung.com.autostock.repository;
+
+import autostock.taesung.com.autostock.entity.TradeProfitLedger;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TradeProfitLedgerRepository extends JpaRepository<TradeProfitLedger, Long> {
+
+    /**
+     * 가장 오래된 미매도 매수 (FIFO 매칭 대상)
+     */
+    @Query("SELECT l FROM TradeProfitLedger l WHERE l.status = 'HOLDING' AND l.market = :market " +
+           "AND (l.userId = :userId OR (:userId IS NULL AND l.userId IS NULL)) ORDER BY l.id ASC")
+    List<TradeProfitLedger> findOpenLots(@Param("userId") Long userId, @Param("market") String market,
+                                         Pageable pageable);
+
+    @Query("SELECT l FROM TradeProfitLedger l JOIN FETCH l.buyTrade LEFT JOIN FETCH l.sellTrade")
+    List<TradeProfitLedger> findAllWithTrades();
+
+    /**
+     * 기간 조회 (매도일 기준 확정분 + 매수일 기준 보유분)
+     */
+    @Query("SELECT l FROM TradeProfitLedger l JOIN FETCH l.buyTrade LEFT JOIN FETCH l.sellTrade " +
+           "WHERE (l.status = 'MATCHED' AND l.sellDate BETWEEN :from AND :to) " +
+           "OR (l.status = 'HOLDING' AND l.buyDate BETWEEN :from AND :to)")
+    List<TradeProfitLedger> findInPeriodWithTrades(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT l FROM TradeProfitLedger l JOIN FETCH l.buyTrade LEFT JOIN FETCH l.sellTrade " +
+           "WHERE l.market = :market")
+    List<TradeProfitLedger> findByMarketWithTrades(@Param("market") String market);
+
+    /**
+     * 보유 중 건수/매수 수수료 합계
+     */
+    @Query("SELECT COUNT(l), COALESCE(SUM(l.totalFee), 0) FROM TradeProfitLedger l WHERE l.status = 'HOLDING'")
+    List<Object[]> summarizeHolding();
+
+    @Query("SELECT COUNT(l), COALESCE(SUM(l.totalFee), 0) FROM TradeProfitLedger l " +
+           "WHERE l.status = 'HOLDING' AND l.buyDate BETWEEN :from AND :to")
+    List<Object[]> summarizeHolding(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT COUNT(l), COALESCE(SUM(l.totalFee), 0) FROM TradeProfitLedger l " +
+           "WHERE l.status = 'HOLDING' AND l.market = :market")
+    List<Object[]> summarizeHoldingByMarket(@Param("market") String market);
+}
@@ -0,0 +1,29 @@
+package autostock.taesung.com.autostock.scheduler;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 자동매매 1주기 실행 통계 (주기 지연 모니터링용)
+ */
+@Getter
+@Builder
+public class TradingCycleStats {
+
+    private final long cycleId;
+    private final LocalDateTime startedAt;
+
+    private final int userCount;
+    private final int succeededUsers;
+    private final int failedUsers;
+    private final int timedOutUsers;   // 주기 제한 시간 내 끝나지 않은 사용자
+    private final int skippedUsers;    // 이전 주기 실행이 끝나지 않아 건너뛴 사용자
+
+    private final long snapshotMillis;  // 시장 스냅샷 조회 시간
+    private final long elapsedMillis;   // 주기 전체 시간
+    private final long avgUserMillis;
+    private final long maxUserMillis;
+    private final String slowestUser;
+}
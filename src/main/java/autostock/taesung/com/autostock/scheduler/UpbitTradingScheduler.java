@@ -2,26 +2,72 @@ package autostock.taesung.com.autostock.scheduler;
 
 import autostock.taesung.com.autostock.entity.User;
 import autostock.taesung.com.autostock.repository.UserRepository;
+import autostock.taesung.com.autostock.trading.MarketSnapshot;
 import autostock.taesung.com.autostock.trading.UserAutoTradingService;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 자동매매 스케줄러
+ * - 주기마다 시장 스냅샷 1회 조회 후 사용자들을 tradingExecutor에서 병렬 실행
+ * - 사용자 내부의 마켓은 순차 실행 (같은 계좌 잔고를 여러 마켓이 동시에 쓰지 않도록)
+ * - 사용자별 실패는 격리되며, 주기 제한 시간을 넘긴 사용자는 계속 진행하고 끝날 때까지 다음 주기에서 제외
+ *   (같은 계좌의 주문 로직이 겹쳐 실행되지 않도록)
+ * - 주기 대기는 전용 스레드에서 실행 (공용 @Scheduled 스레드를 최대 cycle-timeout 동안 막지 않도록)
+ * - 이전 주기가 끝나지 않았으면 이번 주기는 건너뜀 (주기 중첩 방지)
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class UpbitTradingScheduler {
 
     private final UserAutoTradingService userAutoTradingService;
     private final UserRepository userRepository;
+    private final ThreadPoolTaskExecutor tradingExecutor;
 
     @Value("${trading.enabled:false}")
     private boolean tradingEnabled;
 
+    // 주기 대기 제한 (cron 간격보다 짧게)
+    @Value("${trading.parallel.cycle-timeout-seconds:50}")
+    private long cycleTimeoutSeconds;
+
+    private final AtomicBoolean cycleRunning = new AtomicBoolean(false);
+    /** 실행 중인 사용자 ID (이전 주기에서 제한 시간을 넘겨 아직 끝나지 않은 사용자 포함) */
+    private final Set<Long> inFlightUsers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService cycleExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "trading-cycle");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong cycleSequence = new AtomicLong();
+    private volatile TradingCycleStats lastCycleStats;
+
+    public UpbitTradingScheduler(UserAutoTradingService userAutoTradingService,
+                                 UserRepository userRepository,
+                                 @Qualifier("tradingExecutor") ThreadPoolTaskExecutor tradingExecutor) {
+        this.userAutoTradingService = userAutoTradingService;
+        this.userRepository = userRepository;
+        this.tradingExecutor = tradingExecutor;
+    }
+
     /**
      * 5분마다 자동매매 실행 (자동매매 활성화된 모든 사용자)
      * cron: 초 분 시 일 월 요일
@@ -33,6 +79,32 @@ public class UpbitTradingScheduler {
             return;
         }
 
+        if (!cycleRunning.compareAndSet(false, true)) {
+            log.warn("이전 자동매매 주기가 아직 실행 중입니다. 이번 주기는 건너뜁니다.");
+            return;
+        }
+        try {
+            cycleExecutor.execute(() -> {
+                try {
+                    runCycle();
+                } catch (Exception e) {
+                    log.error("자동매매 주기 실행 중 오류: {}", e.getMessage());
+                } finally {
+                    cycleRunning.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            cycleRunning.set(false);
+            log.warn("자동매매 주기 실행 거부 (종료 중)");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cycleExecutor.shutdownNow();
+    }
+
+    private void runCycle() {
         // 자동매매 활성화된 사용자 목록 조회
         List<User> activeUsers = userRepository.findByEnabledTrueAndAutoTradingEnabledTrue();
 
@@ -41,17 +113,134 @@ public class UpbitTradingScheduler {
             return;
         }
 
-        log.info("===== 스케줄러 자동매매 시작 ({}명) =====", activeUsers.size());
+        long cycleId = cycleSequence.incrementAndGet();
+        LocalDateTime startedAt = LocalDateTime.now();
+        long cycleStart = System.nanoTime();
+        log.info("===== 스케줄러 자동매매 시작 #{} ({}명) =====", cycleId, activeUsers.size());
 
+        // 주기당 시장 데이터 1회 조회 후 모든 사용자가 공유
+        List<String> markets = userAutoTradingService.resolveTradingMarkets();
+        if (markets.isEmpty()) {
+            log.warn("거래 가능한 마켓이 없습니다.");
+            return;
+        }
+        MarketSnapshot snapshot = userAutoTradingService.captureMarketSnapshot(markets);
+        long snapshotMillis = elapsedMillis(cycleStart);
+
+        // 사용자별 병렬 실행 (실패는 사용자 단위로 격리)
+        List<UserRun> runs = new ArrayList<>(activeUsers.size());
+        int skipped = 0;
         for (User user : activeUsers) {
+            // 이전 주기 실행이 아직 끝나지 않은 사용자는 건너뜀
+            if (!inFlightUsers.add(user.getId())) {
+                skipped++;
+                log.warn("[{}] 이전 주기 자동매매가 아직 실행 중입니다. 이번 주기는 건너뜁니다.", user.getUsername());
+                continue;
+            }
+            UserRun run = new UserRun(user.getUsername());
             try {
-                userAutoTradingService.executeAutoTradingForUser(user);
-            } catch (Exception e) {
-                log.error("[{}] 자동매매 실행 중 오류: {}", user.getUsername(), e.getMessage());
+                run.future = CompletableFuture.runAsync(() -> executeForUser(user, snapshot, run), tradingExecutor);
+            } catch (RejectedExecutionException e) {
+                inFlightUsers.remove(user.getId());
+                log.error("[{}] 자동매매 실행 거부: {}", user.getUsername(), e.getMessage());
+                continue;
+            }
+            runs.add(run);
+        }
+
+        try {
+            CompletableFuture.allOf(runs.stream().map(r -> r.future).toArray(CompletableFuture[]::new))
+                    .get(cycleTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // 타임아웃: 끝나지 않은 사용자는 계속 실행되고 통계에만 반영
+            log.warn("자동매매 주기 제한 시간 초과 ({}초)", cycleTimeoutSeconds);
+        }
+
+        TradingCycleStats stats = summarize(cycleId, startedAt, snapshotMillis, elapsedMillis(cycleStart), runs, skipped);
+        lastCycleStats = stats;
+
+        log.info("===== 스케줄러 자동매매 종료 #{} - {}ms (스냅샷 {}ms, 성공 {}, 실패 {}, 미완료 {}, 건너뜀 {}, 사용자 평균 {}ms, 최대 {}ms [{}]) =====",
+                cycleId, stats.getElapsedMillis(), stats.getSnapshotMillis(),
+                stats.getSucceededUsers(), stats.getFailedUsers(), stats.getTimedOutUsers(), stats.getSkippedUsers(),
+                stats.getAvgUserMillis(), stats.getMaxUserMillis(), stats.getSlowestUser());
+    }
+
+    private void executeForUser(User user, MarketSnapshot snapshot, UserRun run) {
+        long start = System.nanoTime();
+        try {
+            userAutoTradingService.executeAutoTradingForUser(user, snapshot);
+        } catch (Exception e) {
+            run.failed = true;
+            log.error("[{}] 자동매매 실행 중 오류: {}", user.getUsername(), e.getMessage());
+        } finally {
+            run.elapsedMillis = elapsedMillis(start);
+            run.finished = true;
+            inFlightUsers.remove(user.getId());
+        }
+    }
+
+    private TradingCycleStats summarize(long cycleId, LocalDateTime startedAt, long snapshotMillis,
+                                        long elapsedMillis, List<UserRun> runs, int skipped) {
+        int succeeded = 0, failed = 0, timedOut = 0;
+        long totalMillis = 0, maxMillis = 0;
+        String slowestUser = null;
+        for (UserRun run : runs) {
+            if (!run.finished) {
+                timedOut++;
+                continue;
+            }
+            if (run.failed) failed++;
+            else succeeded++;
+            totalMillis += run.elapsedMillis;
+            if (run.elapsedMillis >= maxMillis) {
+                maxMillis = run.elapsedMillis;
+                slowestUser = run.username;
             }
         }
+        int finished = succeeded + failed;
+
+        return TradingCycleStats.builder()
+                .cycleId(cycleId)
+                .startedAt(startedAt)
+                .userCount(runs.size() + skipped)
+                .succeededUsers(succeeded)
+                .failedUsers(failed)
+                .timedOutUsers(timedOut)
+                .skippedUsers(skipped)
+                .snapshotMillis(snapshotMillis)
+                .elapsedMillis(elapsedMillis)
+                .avgUserMillis(finished > 0 ? totalMillis / finished : 0)
+                .maxUserMillis(maxMillis)
+                .slowestUser(slowestUser)
+                .build();
+    }
 
-        log.info("===== 스케줄러 자동매매 종료 =====");
+    /**
+     * 마지막 자동매매 주기 통계 (실행 전이면 null)
+     */
+    public TradingCycleStats getLastCycleStats() {
+        return lastCycleStats;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 주기 내 사용자 1명의 실행 상태 (실행 스레드가 기록, 주기 스레드가 읽음)
+     */
+    private static final class UserRun {
+        private final String username;
+        private CompletableFuture<Void> future;
+        private volatile boolean finished;
+        private volatile boolean failed;
+        private volatile long elapsedMillis;
+
+        private UserRun(String username) {
+            this.username = username;
+        }
     }
 
     /**
@@ -0,0 +1,98 @@
+package autostock.taesung.com.autostock.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 인증 주체 캐시 (토큰 subject → UserDetails)
+ * - 인증된 요청마다 발생하던 사용자 조회를 짧은 TTL 동안 재사용
+ * - API 키 변경/사용자 정보 변경/비활성화 시 evict로 제거 (트랜잭션 중이면 커밋 이후)
+ * - 반환된 인스턴스는 동시 요청이 공유하므로 읽기 전용: 변경이 필요하면 DB에서 다시 조회한 엔티티를 사용
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private final UserDetailsService userDetailsService;
+    private final long ttlMillis;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /** 조회 중 evict가 일어나면 조회 결과를 캐시하지 않기 위한 카운터 */
+    private final AtomicLong evictions = new AtomicLong();
+
+    private record Entry(UserDetails userDetails, long expiresAt) {
+    }
+
+    public PrincipalCache(UserDetailsService userDetailsService,
+                          @Value("${security.principal-cache.ttl-ms:30000}") long ttlMillis) {
+        this.userDetailsService = userDetailsService;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * 사용자 조회 (캐시 만료 시에만 DB 조회)
+     */
+    public UserDetails load(String username) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.userDetails();
+        }
+
+        long epoch = evictions.get();
+        UserDetails loaded = userDetailsService.loadUserByUsername(username);
+        if (ttlMillis > 0 && epoch == evictions.get()) {
+            entries.put(username, new Entry(loaded, now + ttlMillis));
+        }
+        return loaded;
+    }
+
+    /**
+     * 사용자 캐시 제거
+     */
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        evictNow(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(username);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        evictions.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * 만료 항목 정리
+     */
+    @Scheduled(fixedDelayString = "${security.principal-cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+    }
+
+    private void evictNow(String username) {
+        evictions.incrementAndGet();
+        entries.remove(username);
+        log.debug("인증 주체 캐시 제거: {}", username);
+    }
+}
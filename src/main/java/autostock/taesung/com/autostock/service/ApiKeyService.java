@@ -2,14 +2,24 @@ package autostock.taesung.com.autostock.service;
 
 import autostock.taesung.com.autostock.entity.User;
 import autostock.taesung.com.autostock.repository.UserRepository;
+import autostock.taesung.com.autostock.security.PrincipalCache;
 import autostock.taesung.com.autostock.util.EncryptionUtil;
+import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * API 키 암호화 관리 서비스
+ * - 복호화된 키와 서명 키는 사용자별로 캐시 (저장된 암호문이 바뀌면 다시 복호화)
+ * - 키 변경/삭제 시 인증 주체, 자격 증명, 대시보드 스냅샷 캐시를 함께 제거
  */
 @Slf4j
 @Service
@@ -18,6 +28,22 @@ public class ApiKeyService {
 
     private final EncryptionUtil encryptionUtil;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    // DashboardService → UserUpbitApiService → ApiKeyService 순환 참조를 피하기 위해 지연 조회
+    private final ObjectProvider<DashboardService> dashboardService;
+
+    /** 사용자 ID → 복호화된 자격 증명 */
+    private final Map<Long, CachedCredentials> credentialCache = new ConcurrentHashMap<>();
+
+    /**
+     * 복호화된 Upbit 자격 증명 (Access Key + JWT 서명 키)
+     */
+    public record UpbitCredentials(String accessKey, SecretKey signingKey) {
+    }
+
+    private record CachedCredentials(String encryptedAccessKey, String encryptedSecretKey,
+                                     UpbitCredentials credentials) {
+    }
 
     /**
      * 사용자의 Upbit API 키 저장 (암호화)
@@ -31,10 +57,50 @@ public class ApiKeyService {
         user.setUpbitAccessKey(encryptionUtil.encrypt(accessKey));
         user.setUpbitSecretKey(encryptionUtil.encrypt(secretKey));
         userRepository.save(user);
+        evictCachedCredentials(user);
 
         log.info("[{}] Upbit API 키가 암호화되어 저장되었습니다.", user.getUsername());
     }
 
+    /**
+     * 사용자의 Upbit 자격 증명 조회 (키가 없으면 null)
+     * - 캐시된 암호문과 사용자 엔티티의 암호문이 같을 때만 캐시 사용
+     */
+    public UpbitCredentials getCredentials(User user) {
+        String encryptedAccessKey = user.getUpbitAccessKey();
+        String encryptedSecretKey = user.getUpbitSecretKey();
+        if (encryptedAccessKey == null || encryptedSecretKey == null) {
+            return null;
+        }
+
+        CachedCredentials cached = user.getId() != null ? credentialCache.get(user.getId()) : null;
+        if (cached != null && cached.encryptedAccessKey().equals(encryptedAccessKey)
+                && cached.encryptedSecretKey().equals(encryptedSecretKey)) {
+            return cached.credentials();
+        }
+
+        String secretKey = encryptionUtil.decrypt(encryptedSecretKey);
+        UpbitCredentials credentials = new UpbitCredentials(
+                encryptionUtil.decrypt(encryptedAccessKey),
+                Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8)));
+        if (user.getId() != null) {
+            credentialCache.put(user.getId(),
+                    new CachedCredentials(encryptedAccessKey, encryptedSecretKey, credentials));
+        }
+        return credentials;
+    }
+
+    /**
+     * 사용자 캐시 제거 (API 키 변경/삭제, 사용자 비활성화 시)
+     */
+    public void evictCachedCredentials(User user) {
+        if (user.getId() != null) {
+            credentialCache.remove(user.getId());
+            dashboardService.ifAvailable(service -> service.evict(user.getId()));
+        }
+        principalCache.evict(user.getUsername());
+    }
+
     /**
      * 사용자의 복호화된 Upbit Access Key 조회
      */
@@ -76,6 +142,7 @@ public class ApiKeyService {
             user.setUpbitAccessKey(encryptionUtil.encrypt(plainAccessKey));
             user.setUpbitSecretKey(encryptionUtil.encrypt(plainSecretKey));
             userRepository.save(user);
+            evictCachedCredentials(user);
 
             log.info("[{}] API 키 암호화 마이그레이션 완료", user.getUsername());
         }
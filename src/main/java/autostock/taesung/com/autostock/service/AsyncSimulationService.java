@@ -2,37 +2,57 @@ package autostock.taesung.com.autostock.service;
 
 import autostock.taesung.com.autostock.entity.SimulationTask;
 import autostock.taesung.com.autostock.entity.SimulationTask.TaskStatus;
+import autostock.taesung.com.autostock.repository.CandleDataRepository;
 import autostock.taesung.com.autostock.repository.SimulationTaskRepository;
+import autostock.taesung.com.autostock.service.optimizer.CheckpointStore;
+import autostock.taesung.com.autostock.service.optimizer.OptimizationCheckpoint;
+import autostock.taesung.com.autostock.service.optimizer.OptimizationProgressListener;
+import autostock.taesung.com.autostock.service.optimizer.SearchEngineType;
 import autostock.taesung.com.autostock.strategy.impl.BollingerBandStrategy;
 import autostock.taesung.com.autostock.strategy.impl.DataDrivenStrategy;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.net.InetAddress;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 비동기 시뮬레이션 서비스
  * - 장시간 소요 작업을 백그라운드에서 처리
  * - 작업 상태 DB 저장으로 서버 재시작 시에도 복구 가능
  * - 중복 실행 방지 및 취소 기능 지원
+ * - DB 작업 큐: 생성된 작업은 PENDING으로 등록되고 여유 있는 인스턴스가 조건부 UPDATE로 가져가 실행
+ * - 실행 중 작업은 하트비트를 갱신하고, 끊기면 다른 인스턴스가 다시 가져감
+ * - ALL_MARKETS_OPTIMIZE는 마켓별 하위 작업으로 분할되어 여러 인스턴스가 나눠 실행, 가져간 인스턴스가 결과 병합
  */
 @Slf4j
 @Service
@@ -46,27 +66,64 @@ public class AsyncSimulationService {
     private final ObjectMapper objectMapper;
 
     private final SimulationTaskTxService txService;
+    private final ClusterShardService clusterShardService;
+    private final CandleDataRepository candleDataRepository;
 
     @Lazy
     @Autowired
     private AsyncSimulationService self;
 
-    @Value("${server.port:8080}")
-    private int serverPort;
-
     private String serverInstance;
 
+    // 이 인스턴스의 동시 실행 작업 수 (simulationExecutor 코어 수 이하)
+    @Value("${simulation.queue.max-concurrent:2}")
+    private int maxConcurrentTasks;
+
+    // 하트비트가 이 시간 이상 끊기면 다른 인스턴스가 작업을 다시 가져감
+    @Value("${simulation.queue.heartbeat-timeout-seconds:90}")
+    private int heartbeatTimeoutSeconds;
+
+    @Value("${simulation.queue.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMillis;
+
+    @Value("${simulation.queue.max-attempts:3}")
+    private int maxAttempts;
+
+    /** 하트비트 전용 스레드 (공용 스케줄러 스레드가 막혀도 하트비트가 끊기지 않도록) */
+    private volatile ScheduledExecutorService heartbeatExecutor;
+
+    /** 이 인스턴스에서 실행 중인 작업 (하트비트 대상) */
+    private final Set<String> localTasks = ConcurrentHashMap.newKeySet();
+    /** 이 인스턴스가 병합을 맡은 분할 작업 (하위 작업 완료 대기) */
+    private final Set<String> localCoordinators = ConcurrentHashMap.newKeySet();
+
     @PostConstruct
     public void init() {
-        try {
-            String hostname = InetAddress.getLocalHost().getHostName();
-            this.serverInstance = hostname + ":" + serverPort;
-        } catch (Exception e) {
-            this.serverInstance = "unknown:" + serverPort;
-        }
+        // 클러스터 인스턴스 식별자와 동일 (hostname:port)
+        this.serverInstance = clusterShardService.getInstanceId();
         recoverStuckTasks();
     }
 
+    @EventListener(ApplicationReadyEvent.class)
+    public void startHeartbeat() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "simulation-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1000, heartbeatIntervalMillis);
+        executor.scheduleWithFixedDelay(this::heartbeatTasks, interval, interval, TimeUnit.MILLISECONDS);
+        heartbeatExecutor = executor;
+    }
+
+    @PreDestroy
+    public void stopHeartbeat() {
+        ScheduledExecutorService executor = heartbeatExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * 응답 DTO
      */
@@ -85,6 +142,9 @@ public class AsyncSimulationService {
         private Integer elapsedSeconds;
         private Object result;
         private String errorMessage;
+        private Integer testedCombinations;
+        private Integer totalCombinations;
+        private Integer prunedCombinations;
     }
 
     /**
@@ -93,8 +153,19 @@ public class AsyncSimulationService {
      */
     @Transactional
     public TaskResponse createAndStartTask(String taskType, String targetMarket, Long userId) {
+        return createAndStartTask(taskType, targetMarket, userId, null);
+    }
+
+    /**
+     * 시뮬레이션 작업 생성 및 비동기 실행 시작 (탐색 엔진 지정)
+     * @param searchEngine 최적화 탐색 엔진 (null이면 기본 엔진)
+     * @return 생성된 taskId
+     */
+    @Transactional
+    public TaskResponse createAndStartTask(String taskType, String targetMarket, Long userId,
+                                           SearchEngineType searchEngine) {
         // 파라미터 해시 생성 (중복 체크용)
-        String paramHash = generateParamHash(taskType, targetMarket);
+        String paramHash = generateParamHash(taskType, targetMarket, searchEngine);
 
         // 중복 실행 체크
         List<SimulationTask> activeTasks = taskRepository.findActiveByParamHash(paramHash);
@@ -122,6 +193,7 @@ public class AsyncSimulationService {
                 .status(TaskStatus.PENDING)
                 .taskType(taskType)
                 .targetMarket(targetMarket)
+                .searchEngine(searchEngine != null ? searchEngine.name() : null)
                 .paramHash(paramHash)
                 .progress(0)
                 .currentStep("작업 대기 중")
@@ -132,13 +204,13 @@ public class AsyncSimulationService {
         taskRepository.save(task);
         log.info("시뮬레이션 작업 생성: taskId={}, type={}", taskId, taskType);
 
-        // 비동기 실행 시작 (프록시를 통해 호출하여 @Async 작동 보장)
-        self.executeTaskAsync(taskId);
+        // 작업 큐에 등록만 하고, 커밋 후 여유 있는 인스턴스가 가져가서 실행 (이 인스턴스가 바로 시도)
+        dispatchAfterCommit();
 
         return TaskResponse.builder()
                 .taskId(taskId)
                 .status(TaskStatus.PENDING)
-                .message("작업이 시작되었습니다. taskId로 상태를 조회하세요.")
+                .message("작업이 대기열에 등록되었습니다. taskId로 상태를 조회하세요.")
                 .progress(0)
                 .currentStep("작업 대기 중")
                 .createdAt(task.getCreatedAt())
@@ -146,49 +218,209 @@ public class AsyncSimulationService {
                 .build();
     }
 
+    /* ================= 작업 큐 ================= */
+
     /**
-     * 비동기 작업 실행
-     * @Async 어노테이션으로 별도 스레드에서 실행
-     * 트랜잭션 없이 실행 - 각 DB 작업은 별도 트랜잭션으로 처리
+     * 대기 작업 가져가기 (주기 실행 + 작업 생성 직후)
+     * - 여유 슬롯만큼 PENDING 작업을 조건부 UPDATE로 가져감 (여러 인스턴스가 동시에 시도해도 하나만 성공)
+     * - 가져간 작업은 simulationExecutor에서 실행
      */
-    /* ================= 비동기 실행 ================= */
+    @Scheduled(fixedDelayString = "${simulation.queue.poll-interval-ms:2000}")
+    public synchronized void dispatchPendingTasks() {
+        int slots = maxConcurrentTasks - localTasks.size();
+        if (slots <= 0) {
+            return;
+        }
+        try {
+            List<String> candidates = taskRepository.findPendingTaskIds(PageRequest.of(0, slots * 2));
+            for (String taskId : candidates) {
+                if (slots <= 0) {
+                    break;
+                }
+                // 이 인스턴스에서 아직 실행 중인 작업이 재대기된 경우 다시 가져가지 않음
+                if (localTasks.contains(taskId) || localCoordinators.contains(taskId)) {
+                    continue;
+                }
+                if (txService.claim(taskId, serverInstance)) {
+                    slots--;
+                    localTasks.add(taskId);
+                    log.info("시뮬레이션 작업 가져옴: taskId={}, instance={}", taskId, serverInstance);
+                    try {
+                        self.executeTaskAsync(taskId);
+                    } catch (TaskRejectedException e) {
+                        // 실행기 포화: 가져간 작업을 반납해 다른 인스턴스(또는 다음 주기)가 가져가도록 함
+                        localTasks.remove(taskId);
+                        txService.release(taskId, serverInstance);
+                        log.warn("시뮬레이션 실행기 포화로 작업 반납: taskId={}", taskId);
+                        break;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("대기 작업 가져오기 실패: {}", e.getMessage());
+        }
+    }
+
+    private void dispatchAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatchPendingTasks();
+                }
+            });
+        } else {
+            dispatchPendingTasks();
+        }
+    }
+
+    /**
+     * 실행 중 작업 하트비트 (전용 스레드에서 실행)
+     */
+    public void heartbeatTasks() {
+        try {
+            Set<String> owned = new HashSet<>(localTasks);
+            owned.addAll(localCoordinators);
+            txService.touchHeartbeat(owned, serverInstance);
+        } catch (Exception e) {
+            log.error("작업 하트비트 실패: {}", e.getMessage());
+        }
+    }
 
+    /**
+     * 분할 작업 병합 확인
+     */
+    @Scheduled(fixedDelayString = "${simulation.queue.heartbeat-interval-ms:15000}")
+    public void checkCoordinators() {
+        for (String coordinatorId : List.copyOf(localCoordinators)) {
+            try {
+                checkCoordinator(coordinatorId);
+            } catch (Exception e) {
+                log.error("분할 작업 병합 확인 실패: taskId={}, {}", coordinatorId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 가져간 작업 실행
+     * 트랜잭션 없이 실행 - 각 DB 작업은 별도 트랜잭션으로 처리
+     */
     @Async("simulationExecutor")
     public void executeTaskAsync(String taskId) {
-        // 트랜잭션 커밋 대기를 위한 재시도 로직
-        SimulationTask task = null;
-        for (int i = 0; i < 5; i++) {
-            task = taskRepository.findByTaskId(taskId).orElse(null);
-            if (task != null) break;
-            try { Thread.sleep(200); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        try {
+            SimulationTask task = taskRepository.findByTaskId(taskId).orElse(null);
+            if (task == null || task.getStatus() != TaskStatus.RUNNING
+                    || !serverInstance.equals(task.getServerInstance())) {
+                return;
+            }
+
+            if (SimulationTask.TYPE_ALL_MARKETS_OPTIMIZE.equals(task.getTaskType())) {
+                // 하위 작업만 등록하고 반환, 완료는 checkCoordinators가 병합 시 처리
+                startCoordinator(task);
+                return;
+            }
+
+            try {
+                SearchEngineType searchEngine = SearchEngineType.from(task.getSearchEngine());
+                String resultJson = switch (task.getTaskType()) {
+                    case SimulationTask.TYPE_GLOBAL_OPTIMIZE ->
+                            executeGlobalOptimize(taskId, searchEngine);
+                    case SimulationTask.TYPE_MARKET_OPTIMIZE ->
+                            executeMarketOptimize(taskId, task.getTargetMarket(), searchEngine);
+                    case SimulationTask.TYPE_OPTIMIZE_AND_APPLY ->
+                            executeOptimizeAndApply(taskId);
+                    default -> throw new IllegalArgumentException("알 수 없는 작업 타입");
+                };
+
+                txService.markCompleted(taskId, serverInstance, resultJson);
+
+            } catch (Exception e) {
+                StringWriter sw = new StringWriter();
+                e.printStackTrace(new PrintWriter(sw));
+                txService.markFailed(taskId, serverInstance, e.getMessage(), sw.toString());
+            }
+        } finally {
+            localTasks.remove(taskId);
         }
+    }
 
-        if (task == null) {
-            log.error("비동기 작업 실행 실패: taskId={}를 찾을 수 없음", taskId);
+    /* ================= 분할 작업 (마켓별 하위 작업) ================= */
+
+    /**
+     * 분할 작업 시작: 마켓별 MARKET_OPTIMIZE 하위 작업 등록
+     * - 다른 인스턴스에서 이어받은 경우 이미 등록된 하위 작업은 그대로 사용
+     */
+    private void startCoordinator(SimulationTask task) {
+        String taskId = task.getTaskId();
+        List<SimulationTask> children = taskRepository.findByParentTaskId(taskId);
+        if (children.isEmpty()) {
+            List<String> markets = candleDataRepository.findDistinctMarkets();
+            List<SimulationTask> subTasks = new ArrayList<>(markets.size());
+            for (String market : markets) {
+                subTasks.add(SimulationTask.builder()
+                        .taskId(UUID.randomUUID().toString())
+                        .status(TaskStatus.PENDING)
+                        .taskType(SimulationTask.TYPE_MARKET_OPTIMIZE)
+                        .targetMarket(market)
+                        .searchEngine(task.getSearchEngine())
+                        .parentTaskId(taskId)
+                        .progress(0)
+                        .currentStep("작업 대기 중")
+                        .userId(task.getUserId())
+                        .build());
+            }
+            taskRepository.saveAll(subTasks);
+            log.info("분할 작업 등록: taskId={}, 하위 작업 {}개", taskId, subTasks.size());
+        }
+        localCoordinators.add(taskId);
+        checkCoordinator(taskId);
+    }
+
+    /**
+     * 분할 작업 상태 확인: 취소 전파, 진행률 갱신, 하위 작업이 모두 끝나면 결과 병합
+     */
+    private void checkCoordinator(String taskId) {
+        SimulationTask task = taskRepository.findByTaskId(taskId).orElse(null);
+        if (task == null || task.getStatus() != TaskStatus.RUNNING
+                || !serverInstance.equals(task.getServerInstance())) {
+            // 완료/취소되었거나 다른 인스턴스가 이어받음
+            localCoordinators.remove(taskId);
             return;
         }
-        if (task.getStatus() != TaskStatus.PENDING) return;
 
-        txService.markStarted(taskId, serverInstance);
+        if (Boolean.TRUE.equals(task.getCancelRequested())) {
+            txService.cancelChildren(taskId);
+            txService.markCancelled(taskId);
+            localCoordinators.remove(taskId);
+            return;
+        }
 
-        try {
-            String resultJson = switch (task.getTaskType()) {
-                case SimulationTask.TYPE_GLOBAL_OPTIMIZE ->
-                        executeGlobalOptimize(taskId);
-                case SimulationTask.TYPE_MARKET_OPTIMIZE ->
-                        executeMarketOptimize(taskId, task.getTargetMarket());
-                case SimulationTask.TYPE_OPTIMIZE_AND_APPLY ->
-                        executeOptimizeAndApply(taskId);
-                default -> throw new IllegalArgumentException("알 수 없는 작업 타입");
-            };
-
-            txService.markCompleted(taskId, resultJson);
+        List<SimulationTask> children = taskRepository.findByParentTaskId(taskId);
+
+        int finished = (int) children.stream().filter(SimulationTask::isFinished).count();
+        txService.updateMarketProgress(taskId, finished, children.size());
+        if (finished < children.size()) {
+            return;
+        }
 
+        // 결과 병합: { markets: { 마켓: 최적 파라미터 }, failedMarkets: [...] }
+        try {
+            ObjectNode merged = objectMapper.createObjectNode();
+            ObjectNode markets = merged.putObject("markets");
+            ArrayNode failed = merged.putArray("failedMarkets");
+            for (SimulationTask child : children) {
+                if (child.getStatus() == TaskStatus.COMPLETED && child.getResultJson() != null) {
+                    markets.set(child.getTargetMarket(), objectMapper.readTree(child.getResultJson()));
+                } else {
+                    failed.add(child.getTargetMarket());
+                }
+            }
+            txService.markCompleted(taskId, serverInstance, objectMapper.writeValueAsString(merged));
+            log.info("분할 작업 병합 완료: taskId={}, 성공 {}, 실패 {}", taskId, markets.size(), failed.size());
         } catch (Exception e) {
-            StringWriter sw = new StringWriter();
-            e.printStackTrace(new PrintWriter(sw));
-            txService.markFailed(taskId, e.getMessage(), sw.toString());
+            txService.markFailed(taskId, serverInstance, "결과 병합 실패: " + e.getMessage(), null);
         }
+        localCoordinators.remove(taskId);
     }
 
     /**
@@ -241,18 +473,20 @@ public class AsyncSimulationService {
 
     /* ================= 실행 로직 ================= */
 
-    private String executeGlobalOptimize(String taskId) throws Exception {
+    private String executeGlobalOptimize(String taskId, SearchEngineType searchEngine) throws Exception {
         checkCancellation(taskId);
         txService.updateProgress(taskId, 10, "전역 데이터 분석 중...");
-        var params = optimizerService.optimizeStrategy();
+        var params = optimizerService.optimizeStrategy(searchEngine, progressListener(taskId), checkpointStore(taskId));
+        // 청크 사이에서 취소되면 탐색이 중단되므로 결과를 저장하지 않음
+        checkCancellation(taskId);
         txService.updateProgress(taskId, 100, "완료");
         return objectMapper.writeValueAsString(params);
     }
 
-    private String executeMarketOptimize(String taskId, String market) throws Exception {
+    private String executeMarketOptimize(String taskId, String market, SearchEngineType searchEngine) throws Exception {
         checkCancellation(taskId);
         txService.updateProgress(taskId, 10, market + " 분석 중...");
-        var params = optimizerService.optimizeForMarket(market);
+        var params = optimizerService.optimizeForMarket(market, searchEngine, progressListener(taskId));
         txService.updateProgress(taskId, 100, "완료");
         return objectMapper.writeValueAsString(params);
     }
@@ -273,6 +507,60 @@ public class AsyncSimulationService {
         return objectMapper.writeValueAsString(result);
     }
 
+    /**
+     * 최적화 진행률/가지치기 비율을 작업 상태에 반영
+     */
+    private OptimizationProgressListener progressListener(String taskId) {
+        return (evaluated, planned, pruned) -> {
+            try {
+                txService.updateOptimizationProgress(taskId, evaluated, planned, pruned);
+            } catch (Exception e) {
+                log.warn("진행률 업데이트 실패: taskId={}, {}", taskId, e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * 작업에 저장되는 청크 체크포인트
+     * - 청크가 끝날 때마다 저장, 취소 요청 또는 소유권 상실 시 예외로 탐색 중단
+     */
+    private CheckpointStore checkpointStore(String taskId) {
+        return new CheckpointStore() {
+            @Override
+            public OptimizationCheckpoint load() {
+                String json = taskRepository.findByTaskId(taskId)
+                        .map(SimulationTask::getCheckpointJson)
+                        .orElse(null);
+                if (json == null) {
+                    return null;
+                }
+                try {
+                    return objectMapper.readValue(json, OptimizationCheckpoint.class);
+                } catch (Exception e) {
+                    log.warn("체크포인트 읽기 실패, 처음부터 탐색: taskId={}, {}", taskId, e.getMessage());
+                    return null;
+                }
+            }
+
+            @Override
+            public void save(OptimizationCheckpoint checkpoint) {
+                checkCancellation(taskId);
+                String json;
+                try {
+                    json = objectMapper.writeValueAsString(checkpoint);
+                } catch (Exception e) {
+                    log.warn("체크포인트 저장 실패: taskId={}, {}", taskId, e.getMessage());
+                    return;
+                }
+                String step = "청크 " + checkpoint.completedChunks() + " 완료 ("
+                        + checkpoint.nextIndex() + "/" + checkpoint.spaceSize() + ")";
+                if (!txService.saveCheckpoint(taskId, serverInstance, json, step)) {
+                    throw new IllegalStateException("작업 소유권을 잃어 탐색을 중단합니다: " + taskId);
+                }
+            }
+        };
+    }
+
     private void checkCancellation(String taskId) {
         taskRepository.findByTaskId(taskId)
                 .filter(SimulationTask::getCancelRequested)
@@ -308,6 +596,9 @@ public class AsyncSimulationService {
                 .estimatedSeconds(task.getEstimatedSeconds())
                 .elapsedSeconds(task.getElapsedSeconds())
                 .errorMessage(task.getErrorMessage())
+                .testedCombinations(task.getTestedCombinations())
+                .totalCombinations(task.getTotalCombinations())
+                .prunedCombinations(task.getPrunedCombinations())
                 .build();
     }
 
@@ -373,9 +664,10 @@ public class AsyncSimulationService {
         }
 
         if (task.getStatus() == TaskStatus.PENDING) {
-            // 대기 중인 작업은 즉시 취소
+            // 대기 중인 작업은 즉시 취소 (재대기된 분할 작업이면 하위 작업도 취소)
             task.markAsCancelled();
             taskRepository.save(task);
+            txService.cancelChildren(taskId);
             return TaskResponse.builder()
                     .taskId(taskId)
                     .status(TaskStatus.CANCELLED)
@@ -399,7 +691,7 @@ public class AsyncSimulationService {
      */
     @Transactional(readOnly = true)
     public List<TaskResponse> getRecentTasks() {
-        return taskRepository.findTop20ByOrderByCreatedAtDesc().stream()
+        return taskRepository.findTop20ByParentTaskIdIsNullOrderByCreatedAtDesc().stream()
                 .map(task -> TaskResponse.builder()
                         .taskId(task.getTaskId())
                         .status(task.getStatus())
@@ -415,8 +707,9 @@ public class AsyncSimulationService {
     /**
      * 파라미터 해시 생성 (중복 체크용)
      */
-    private String generateParamHash(String taskType, String targetMarket) {
-        String raw = taskType + ":" + (targetMarket != null ? targetMarket : "GLOBAL");
+    private String generateParamHash(String taskType, String targetMarket, SearchEngineType searchEngine) {
+        String raw = taskType + ":" + (targetMarket != null ? targetMarket : "GLOBAL")
+                + (searchEngine != null ? ":" + searchEngine.name() : "");
         try {
             MessageDigest md = MessageDigest.getInstance("SHA-256");
             byte[] hash = md.digest(raw.getBytes(StandardCharsets.UTF_8));
@@ -444,6 +737,7 @@ public class AsyncSimulationService {
             case SimulationTask.TYPE_GLOBAL_OPTIMIZE -> 600;  // 10분
             case SimulationTask.TYPE_MARKET_OPTIMIZE -> 60;   // 1분
             case SimulationTask.TYPE_OPTIMIZE_AND_APPLY -> 660; // 11분
+            case SimulationTask.TYPE_ALL_MARKETS_OPTIMIZE -> 1800; // 30분 (인스턴스 수에 따라 단축)
             default -> 300;
         };
     }
@@ -463,11 +757,16 @@ public class AsyncSimulationService {
 
     /* ================= 복구 로직 ================= */
 
+    /**
+     * 서버 재시작 시 이 인스턴스가 실행하던 작업 재대기 (다시 가져가서 처음부터 실행)
+     */
     private void recoverStuckTasks() {
+        LocalDateTime now = LocalDateTime.now();
         taskRepository.findByServerInstanceAndStatus(serverInstance, TaskStatus.RUNNING)
                 .forEach(task -> {
-                    task.markAsFailed("서버 재시작으로 중단됨", null);
-                    taskRepository.save(task);
+                    if (txService.requeueOrFail(task, now.plusSeconds(1), maxAttempts)) {
+                        log.info("서버 재시작으로 중단된 작업 재대기: taskId={}", task.getTaskId());
+                    }
                 });
     }
 
@@ -485,18 +784,28 @@ public class AsyncSimulationService {
     }
 
     /**
-     * stuck 작업 감지 및 처리 (5분마다)
+     * 하트비트가 끊긴 작업 재대기 (1분마다)
+     * - 실행 인스턴스가 죽으면 heartbeat-timeout 후 PENDING으로 되돌려 다른 인스턴스가 가져감
+     * - max-attempts 초과 시 실패 처리
      */
-    @Scheduled(fixedRate = 300000)
-    @Transactional
+    @Scheduled(fixedRate = 60000)
     public void handleStuckTasks() {
-        // 30분 이상 RUNNING 상태인 작업 처리
-        LocalDateTime threshold = LocalDateTime.now().minusMinutes(30);
-        List<SimulationTask> stuckTasks = taskRepository.findStuckRunningTasks(threshold);
-
-        for (SimulationTask task : stuckTasks) {
-            log.warn("장기 실행 작업 감지 (30분 초과): taskId={}", task.getTaskId());
-            // 자동 실패 처리하지 않고 경고만 로깅 (관리자 확인 필요)
+        LocalDateTime threshold = LocalDateTime.now().minusSeconds(heartbeatTimeoutSeconds);
+        for (SimulationTask task : taskRepository.findExpiredRunningTasks(threshold)) {
+            // 이 인스턴스가 아직 실행 중인 작업은 재대기하지 않음 (같은 인스턴스가 다시 가져가 중복 실행 방지)
+            if (localTasks.contains(task.getTaskId()) || localCoordinators.contains(task.getTaskId())) {
+                continue;
+            }
+            try {
+                if (txService.requeueOrFail(task, threshold, maxAttempts)) {
+                    log.warn("하트비트 만료 작업 재대기: taskId={}, 이전 인스턴스={}",
+                            task.getTaskId(), task.getServerInstance());
+                } else {
+                    log.warn("하트비트 만료 작업 처리: taskId={} (시도 {}회)", task.getTaskId(), task.getAttemptCount());
+                }
+            } catch (Exception e) {
+                log.error("하트비트 만료 작업 처리 실패: taskId={}, {}", task.getTaskId(), e.getMessage());
+            }
         }
     }
 }
\ No newline at end of file
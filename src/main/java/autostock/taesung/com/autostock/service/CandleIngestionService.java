@@ -0,0 +1,159 @@
+package autostock.taesung.com.autostock.service;
+
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 캔들 데이터 적재 서비스
+ *
+ * [기존 문제]
+ * - 사용자/마켓마다 매 주기 캔들 1건당 조회 1회 + save 1회 (IDENTITY 전략이라 배치 불가)
+ * - 같은 마켓을 여러 사용자가 조회하면 동일 캔들을 중복 확인/저장
+ *
+ * [개선]
+ * - ingest(): DB 접근 없이 대기 버퍼에 병합 (market, unit, candle time 기준 중복 제거, 최신 값 우선)
+ * - 마켓별 워터마크(마지막 적재 캔들 시각) 이전 캔들은 버퍼에 넣지 않음 (진행 중인 최신 캔들은 갱신)
+ * - flush(): 주기적으로 버퍼 전체를 JDBC 배치 upsert (INSERT ... ON DUPLICATE KEY UPDATE)
+ *   → 주기당 DB 왕복이 캔들 수가 아니라 배치 수 만큼만 발생
+ *
+ * 중복 판단은 candle_data의 유니크 키 (market, unit, candle_date_time_kst)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandleIngestionService {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO candle_data (market, unit, candle_date_time_utc, candle_date_time_kst, " +
+            "opening_price, high_price, low_price, trade_price, `timestamp`, " +
+            "candle_acc_trade_price, candle_acc_trade_volume, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "high_price = VALUES(high_price), low_price = VALUES(low_price), " +
+            "trade_price = VALUES(trade_price), `timestamp` = VALUES(`timestamp`), " +
+            "candle_acc_trade_price = VALUES(candle_acc_trade_price), " +
+            "candle_acc_trade_volume = VALUES(candle_acc_trade_volume)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${candle.ingestion.batch-size:500}")
+    private int batchSize;
+
+    private record CandleKey(String market, int unit, String candleDateTimeKst) {
+    }
+
+    /** 적재 대기 캔들 (같은 키는 마지막 값으로 덮어씀) */
+    private final Map<CandleKey, Candle> pending = new ConcurrentHashMap<>();
+
+    /** (market:unit) → 마지막으로 버퍼에 넣은 최신 캔들 시각 (KST) */
+    private final Map<String, String> watermarks = new ConcurrentHashMap<>();
+
+    /**
+     * 캔들 적재 요청 (DB 접근 없음)
+     * @param candles 업비트 캔들 (최신순)
+     */
+    public void ingest(List<Candle> candles) {
+        if (candles == null || candles.isEmpty()) {
+            return;
+        }
+
+        Candle latest = candles.get(0);
+        String watermarkKey = latest.getMarket() + ":" + latest.getUnit();
+        String watermark = watermarks.get(watermarkKey);
+
+        String newest = watermark;
+        for (Candle candle : candles) {
+            String kst = candle.getCandleDateTimeKst();
+            if (kst == null) {
+                continue;
+            }
+            // 이미 적재한 구간 이전 캔들은 확정된 값이므로 스킵 (워터마크 캔들은 진행 중일 수 있어 갱신)
+            if (watermark != null && kst.compareTo(watermark) < 0) {
+                continue;
+            }
+            pending.put(new CandleKey(candle.getMarket(), candle.getUnit(), kst), candle);
+            if (newest == null || kst.compareTo(newest) > 0) {
+                newest = kst;
+            }
+        }
+
+        if (newest != null) {
+            watermarks.merge(watermarkKey, newest, (a, b) -> a.compareTo(b) >= 0 ? a : b);
+        }
+    }
+
+    /**
+     * 대기 캔들 일괄 upsert
+     */
+    @Scheduled(fixedDelayString = "${candle.ingestion.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Candle> batch = new ArrayList<>(pending.size());
+        for (CandleKey key : new ArrayList<>(pending.keySet())) {
+            Candle candle = pending.remove(key);
+            if (candle != null) {
+                batch.add(candle);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        // 락 순서 고정 (동시 upsert 간 데드락 방지)
+        batch.sort(Comparator.comparing(Candle::getMarket).thenComparing(Candle::getCandleDateTimeKst));
+
+        long startTime = System.currentTimeMillis();
+        try {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batch, batchSize, (ps, candle) -> {
+                ps.setString(1, candle.getMarket());
+                ps.setInt(2, candle.getUnit());
+                ps.setString(3, candle.getCandleDateTimeUtc());
+                ps.setString(4, candle.getCandleDateTimeKst());
+                ps.setBigDecimal(5, candle.getOpeningPrice());
+                ps.setBigDecimal(6, candle.getHighPrice());
+                ps.setBigDecimal(7, candle.getLowPrice());
+                ps.setBigDecimal(8, candle.getTradePrice());
+                ps.setLong(9, candle.getTimestamp());
+                ps.setBigDecimal(10, candle.getCandleAccTradePrice());
+                ps.setBigDecimal(11, candle.getCandleAccTradeVolume());
+                ps.setTimestamp(12, now);
+            });
+            log.debug("캔들 데이터 {}건 upsert 완료 ({}ms)", batch.size(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("캔들 데이터 일괄 저장 중 오류: {}", e.getMessage());
+            // 실패분은 다음 주기에 재시도 (그 사이 들어온 최신 값이 있으면 유지)
+            for (Candle candle : batch) {
+                pending.putIfAbsent(new CandleKey(candle.getMarket(), candle.getUnit(), candle.getCandleDateTimeKst()), candle);
+            }
+        }
+    }
+
+    /**
+     * 적재 대기 캔들 수
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,294 @@
+package autostock.taesung.com.autostock.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 클러스터 마켓 샤딩 (분산 서버 자동 분배)
+ *
+ * [기존 방식]
+ * - 서버별 properties에 trading.market-range-start/count를 직접 지정 (서버 추가/장애 시 수동 수정)
+ *
+ * [동작]
+ * - 인스턴스는 cluster_instance에 등록 후 하트비트 갱신
+ * - 마켓은 이름 해시로 shard-count개 샤드에 고정 배정, 샤드는 market_shard_lease 행을 임대해 소유
+ * - 하트비트마다: 살아있는 인스턴스 수로 내 몫 계산 → 보유 샤드 연장 → 초과분 반납 → 부족분 빈/만료 샤드 임대
+ * - 인스턴스가 죽으면 임대가 만료되어 남은 인스턴스가 가져가고, 새 인스턴스가 오면 기존 인스턴스가 초과분을 반납
+ *
+ * 시간 비교는 모두 DB NOW() 기준 (서버 간 시계 차이 영향 없음)
+ * 로컬 소유 정보는 마지막 연장 후 임대 시간 동안만 유효 (하트비트가 멈춘 인스턴스는 스스로 매매 중단)
+ * 하트비트는 전용 스레드에서 실행 (공용 @Scheduled 스레드는 자동매매 주기 동안 최대 cycle-timeout 만큼 점유됨)
+ */
+@Slf4j
+@Service
+public class ClusterShardService {
+
+    private static final String REGISTER_SQL =
+            "INSERT INTO cluster_instance (instance_id, host, started_at, last_heartbeat) " +
+            "VALUES (?, ?, NOW(), NOW()) " +
+            "ON DUPLICATE KEY UPDATE host = VALUES(host), started_at = NOW(), last_heartbeat = NOW()";
+    private static final String HEARTBEAT_SQL =
+            "UPDATE cluster_instance SET last_heartbeat = NOW() WHERE instance_id = ?";
+    private static final String ALIVE_SQL =
+            "SELECT instance_id FROM cluster_instance " +
+            "WHERE last_heartbeat > NOW() - INTERVAL ? SECOND ORDER BY instance_id";
+    private static final String PURGE_SQL =
+            "DELETE FROM cluster_instance WHERE last_heartbeat < NOW() - INTERVAL ? SECOND";
+
+    private static final String ENSURE_SHARD_SQL =
+            "INSERT IGNORE INTO market_shard_lease (shard_no) VALUES (?)";
+    private static final String RENEW_SQL =
+            "UPDATE market_shard_lease SET lease_until = NOW() + INTERVAL ? SECOND WHERE owner_instance = ?";
+    private static final String OWNED_SQL =
+            "SELECT shard_no FROM market_shard_lease WHERE owner_instance = ? AND shard_no < ? ORDER BY shard_no";
+    private static final String RELEASE_SQL =
+            "UPDATE market_shard_lease SET owner_instance = NULL, lease_until = NULL " +
+            "WHERE shard_no = ? AND owner_instance = ?";
+    private static final String FREE_SQL =
+            "SELECT shard_no FROM market_shard_lease " +
+            "WHERE shard_no < ? AND (owner_instance IS NULL OR lease_until < NOW()) ORDER BY shard_no";
+    private static final String CLAIM_SQL =
+            "UPDATE market_shard_lease SET owner_instance = ?, lease_until = NOW() + INTERVAL ? SECOND " +
+            "WHERE shard_no = ? AND (owner_instance IS NULL OR lease_until < NOW())";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int shardCount;
+    private final int leaseSeconds;
+    private final long heartbeatIntervalMillis;
+    private final String instanceId;
+
+    /** 하트비트 전용 스레드 (start에서 생성) */
+    private volatile ScheduledExecutorService heartbeatExecutor;
+
+    /** 보유 샤드 (하트비트 스레드가 교체, 매매 스레드는 읽기만) */
+    private volatile Set<Integer> ownedShards = Collections.emptySet();
+    /** 보유 정보 유효 기한 (System.currentTimeMillis 기준) */
+    private volatile long ownedValidUntil;
+    private volatile int aliveInstances;
+
+    public ClusterShardService(JdbcTemplate jdbcTemplate,
+                               @Value("${cluster.sharding.enabled:false}") boolean enabled,
+                               @Value("${cluster.sharding.shard-count:32}") int shardCount,
+                               @Value("${cluster.sharding.lease-seconds:30}") int leaseSeconds,
+                               @Value("${cluster.sharding.heartbeat-interval-ms:10000}") long heartbeatIntervalMillis,
+                               @Value("${server.port:8080}") int serverPort) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.shardCount = Math.max(1, shardCount);
+        this.leaseSeconds = Math.max(5, leaseSeconds);
+        this.heartbeatIntervalMillis = Math.max(1000, heartbeatIntervalMillis);
+        this.instanceId = resolveHostname() + ":" + serverPort;
+
+        // 하트비트 1회가 밀리거나 실패해도 임대가 유지되도록 (간격 2배 미만이면 정상 동작 중에도 샤드가 넘어갈 수 있음)
+        if (enabled && this.leaseSeconds * 1000L < this.heartbeatIntervalMillis * 2) {
+            throw new IllegalStateException(String.format(
+                    "cluster.sharding.lease-seconds(%d초)는 heartbeat-interval-ms(%dms)의 2배 이상이어야 합니다.",
+                    this.leaseSeconds, this.heartbeatIntervalMillis));
+        }
+    }
+
+    /**
+     * 인스턴스 식별자 (hostname:port, 재시작해도 동일)
+     */
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(REGISTER_SQL, instanceId, resolveHostname());
+            jdbcTemplate.batchUpdate(ENSURE_SHARD_SQL, shardNumbers(), shardCount,
+                    (ps, shardNo) -> ps.setInt(1, shardNo));
+            log.info("클러스터 인스턴스 등록: {} (샤드 {}개, 임대 {}초)", instanceId, shardCount, leaseSeconds);
+            rebalance();
+        } catch (Exception e) {
+            log.error("클러스터 인스턴스 등록 실패: {}", e.getMessage());
+        }
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cluster-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::heartbeat,
+                heartbeatIntervalMillis, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+        heartbeatExecutor = executor;
+    }
+
+    /**
+     * 하트비트 + 샤드 재분배
+     */
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            if (jdbcTemplate.update(HEARTBEAT_SQL, instanceId) == 0) {
+                // 다른 인스턴스가 정리했거나 등록 전 → 재등록
+                jdbcTemplate.update(REGISTER_SQL, instanceId, resolveHostname());
+            }
+            rebalance();
+            // 오래 전에 죽은 인스턴스 정리
+            jdbcTemplate.update(PURGE_SQL, leaseSeconds * 100);
+        } catch (Exception e) {
+            log.error("클러스터 하트비트 실패: {}", e.getMessage());
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        if (elapsed + heartbeatIntervalMillis >= leaseSeconds * 1000L) {
+            log.warn("클러스터 하트비트 지연: {}ms (임대 {}초 내 다음 연장이 보장되지 않음)", elapsed, leaseSeconds);
+        }
+    }
+
+    void rebalance() {
+        List<String> alive = jdbcTemplate.queryForList(ALIVE_SQL, String.class, leaseSeconds);
+        if (!alive.contains(instanceId)) {
+            alive = new ArrayList<>(alive);
+            alive.add(instanceId);
+            Collections.sort(alive);
+        }
+        int target = fairShare(shardCount, alive.size(), alive.indexOf(instanceId));
+
+        long renewedAt = System.currentTimeMillis();
+        jdbcTemplate.update(RENEW_SQL, leaseSeconds, instanceId);
+        List<Integer> owned = new ArrayList<>(
+                jdbcTemplate.queryForList(OWNED_SQL, Integer.class, instanceId, shardCount));
+
+        // 초과분 반납 (뒤쪽 샤드부터) → 새 인스턴스가 다음 하트비트에 가져감
+        while (owned.size() > target) {
+            Integer shardNo = owned.remove(owned.size() - 1);
+            jdbcTemplate.update(RELEASE_SQL, shardNo, instanceId);
+        }
+
+        // 부족분 임대 (빈 샤드 또는 임대 만료 샤드)
+        if (owned.size() < target) {
+            for (Integer shardNo : jdbcTemplate.queryForList(FREE_SQL, Integer.class, shardCount)) {
+                if (owned.size() >= target) {
+                    break;
+                }
+                if (jdbcTemplate.update(CLAIM_SQL, instanceId, leaseSeconds, shardNo) == 1) {
+                    owned.add(shardNo);
+                }
+            }
+        }
+
+        Set<Integer> newShards = Collections.unmodifiableSet(new TreeSet<>(owned));
+        if (!newShards.equals(ownedShards) || alive.size() != aliveInstances) {
+            log.info("마켓 샤드 재분배: 인스턴스 {}개, 보유 샤드 {}/{} {}",
+                    alive.size(), newShards.size(), shardCount, newShards);
+        }
+        ownedShards = newShards;
+        ownedValidUntil = renewedAt + leaseSeconds * 1000L;
+        aliveInstances = alive.size();
+    }
+
+    /**
+     * 인스턴스별 몫 (정렬 순서 앞쪽 인스턴스가 나머지를 1개씩 더 가짐)
+     */
+    static int fairShare(int shardCount, int instanceCount, int rank) {
+        int base = shardCount / instanceCount;
+        return rank < shardCount % instanceCount ? base + 1 : base;
+    }
+
+    /**
+     * 마켓 → 샤드 번호 (String.hashCode는 JVM 간 동일)
+     */
+    public int shardOf(String market) {
+        return Math.floorMod(market.hashCode(), shardCount);
+    }
+
+    /**
+     * 이 인스턴스가 담당하는 마켓인지 (샤딩 비활성화 시 항상 true)
+     */
+    public boolean ownsMarket(String market) {
+        if (!enabled) {
+            return true;
+        }
+        return System.currentTimeMillis() < ownedValidUntil && ownedShards.contains(shardOf(market));
+    }
+
+    /**
+     * 담당 마켓만 필터링 (순서 유지)
+     */
+    public List<String> filterOwnedMarkets(List<String> markets) {
+        if (!enabled) {
+            return markets;
+        }
+        return markets.stream().filter(this::ownsMarket).collect(Collectors.toList());
+    }
+
+    /**
+     * 살아있는 인스턴스 수 (마지막 하트비트 기준)
+     */
+    public int getAliveInstances() {
+        return aliveInstances;
+    }
+
+    public Set<Integer> getOwnedShards() {
+        return ownedShards;
+    }
+
+    /**
+     * 정상 종료 시 보유 샤드 즉시 반납 (임대 만료를 기다리지 않고 다른 인스턴스가 인계)
+     */
+    @PreDestroy
+    public void stop() {
+        if (!enabled) {
+            return;
+        }
+        ScheduledExecutorService executor = heartbeatExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        try {
+            ownedShards = Collections.emptySet();
+            jdbcTemplate.update("UPDATE market_shard_lease SET owner_instance = NULL, lease_until = NULL " +
+                    "WHERE owner_instance = ?", instanceId);
+            jdbcTemplate.update("DELETE FROM cluster_instance WHERE instance_id = ?", instanceId);
+            log.info("클러스터 인스턴스 종료: {} 샤드 반납", instanceId);
+        } catch (Exception e) {
+            log.warn("클러스터 샤드 반납 실패: {}", e.getMessage());
+        }
+    }
+
+    private List<Integer> shardNumbers() {
+        List<Integer> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(i);
+        }
+        return shards;
+    }
+
+    private static String resolveHostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
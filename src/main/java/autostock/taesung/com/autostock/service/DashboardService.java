@@ -5,30 +5,78 @@ import autostock.taesung.com.autostock.entity.User;
 import autostock.taesung.com.autostock.exchange.upbit.UserUpbitApiService;
 import autostock.taesung.com.autostock.exchange.upbit.dto.Account;
 import autostock.taesung.com.autostock.exchange.upbit.dto.Ticker;
+import autostock.taesung.com.autostock.exchange.upbit.quotation.UpbitQuotationService;
+import autostock.taesung.com.autostock.exchange.upbit.ratelimit.UpbitRequestPriority;
 import autostock.taesung.com.autostock.repository.TradeHistoryRepository;
+import autostock.taesung.com.autostock.repository.UserRepository;
 import lombok.Builder;
 import lombok.Data;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * 실시간 대시보드 서비스
+ * - 사용자별 스냅샷 캐시: ttl-ms 이내는 그대로 반환
+ * - ttl-ms 이후 max-stale-ms 이내는 이전 스냅샷을 즉시 반환하고 백그라운드에서 갱신
+ * - 같은 사용자 갱신은 동시에 하나만 실행 (여러 탭/동시 요청이 한 번의 계좌 조회를 공유)
+ * - 현재가는 공용 시세 캐시(UpbitQuotationService)에서 조회
+ * - API 키 변경/삭제 시 스냅샷 제거, 갱신은 시작 시점의 저장된 키로 실행
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class DashboardService {
 
     private final UserUpbitApiService upbitApiService;
+    private final UpbitQuotationService quotationService;
     private final TradeHistoryRepository tradeHistoryRepository;
+    private final UserRepository userRepository;
     private final PriceAlertService priceAlertService;
+    private final Executor dashboardExecutor;
+    private final long ttlMillis;
+    private final long maxStaleMillis;
+    private final long waitTimeoutMillis;
+
+    /** 사용자 ID → 마지막 스냅샷 */
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+    /** 사용자 ID → 진행 중인 갱신 */
+    private final Map<Long, CompletableFuture<DashboardData>> refreshing = new ConcurrentHashMap<>();
+
+    private record Snapshot(DashboardData data, long createdAt) {
+    }
+
+    public DashboardService(UserUpbitApiService upbitApiService,
+                            UpbitQuotationService quotationService,
+                            TradeHistoryRepository tradeHistoryRepository,
+                            UserRepository userRepository,
+                            PriceAlertService priceAlertService,
+                            @Qualifier("dashboardExecutor") Executor dashboardExecutor,
+                            @Value("${dashboard.cache.ttl-ms:5000}") long ttlMillis,
+                            @Value("${dashboard.cache.max-stale-ms:60000}") long maxStaleMillis,
+                            @Value("${dashboard.cache.wait-timeout-ms:10000}") long waitTimeoutMillis) {
+        this.upbitApiService = upbitApiService;
+        this.quotationService = quotationService;
+        this.tradeHistoryRepository = tradeHistoryRepository;
+        this.userRepository = userRepository;
+        this.priceAlertService = priceAlertService;
+        this.dashboardExecutor = dashboardExecutor;
+        this.ttlMillis = ttlMillis;
+        this.maxStaleMillis = Math.max(ttlMillis, maxStaleMillis);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
 
     /**
      * 자산 정보
@@ -93,164 +141,237 @@ public class DashboardService {
     }
 
     /**
-     * 대시보드 전체 데이터 조회
+     * 대시보드 전체 데이터 조회 (사용자별 스냅샷 캐시)
      */
     public DashboardData getDashboardData(User user) {
-        log.info("대시보드 데이터 조회 시작 - userId: {}", user.getId());
-        try {
-            // API 키 확인
-            if (user.getUpbitAccessKey() == null || user.getUpbitSecretKey() == null) {
-                log.warn("대시보드 조회 실패: API 키가 설정되지 않음 - userId: {}", user.getId());
-                return DashboardData.builder()
-                        .totalAsset(0)
-                        .krwBalance(0)
-                        .coinEvaluation(0)
-                        .totalProfitLoss(0)
-                        .totalProfitLossRate(0)
-                        .assets(new ArrayList<>())
-                        .todayTradeCount(0)
-                        .totalTradeCount(0)
-                        .todayProfitLoss(0)
-                        .winRate(0)
-                        .marketStatus(null)
-                        .recentTrades(new ArrayList<>())
-                        .profitChart(new ArrayList<>())
-                        .updatedAt(LocalDateTime.now())
-                        .build();
+        // API 키 확인
+        if (user.getUpbitAccessKey() == null || user.getUpbitSecretKey() == null) {
+            log.warn("대시보드 조회 실패: API 키가 설정되지 않음 - userId: {}", user.getId());
+            return emptyDashboard();
+        }
+
+        Snapshot snapshot = snapshots.get(user.getId());
+        if (snapshot != null) {
+            long age = System.currentTimeMillis() - snapshot.createdAt();
+            if (age < ttlMillis) {
+                return snapshot.data();
             }
+            if (age < maxStaleMillis) {
+                // 이전 스냅샷 즉시 반환, 갱신은 백그라운드
+                refreshAsync(user);
+                return snapshot.data();
+            }
+        }
 
-            // 계좌 정보 조회
-            log.debug("계좌 정보 조회 중...");
-            List<Account> accounts = upbitApiService.getAccounts(user)
-                    .stream()
-                    .filter(it->"KRW".equals(it.getCurrency()) || (Double.parseDouble(it.getBalance()) * Double.parseDouble(it.getAvgBuyPrice()) >= 1))
-                    .toList();
-            log.debug("계좌 정보 조회 완료 - {} 개 계좌", accounts != null ? accounts.size() : 0);
+        // 스냅샷이 없거나 너무 오래됨 → 진행 중인 갱신에 합류해 대기
+        try {
+            return refreshAsync(user).get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("대시보드 갱신 대기 실패 - userId: {}, {}", user.getId(), e.getMessage());
+        }
+        // 에러 발생 시에도 최소한의 정보 제공
+        return snapshot != null ? snapshot.data() : emptyDashboard();
+    }
 
-            double krwBalance = 0;
-            double totalCoinEvaluation = 0;
-            double totalProfitLoss = 0;
-            List<AssetInfo> assetInfos = new ArrayList<>();
+    /**
+     * 사용자 스냅샷 갱신 요청 (이미 갱신 중이면 그 결과 공유)
+     */
+    private CompletableFuture<DashboardData> refreshAsync(User user) {
+        CompletableFuture<DashboardData> mine = new CompletableFuture<>();
+        CompletableFuture<DashboardData> existing = refreshing.putIfAbsent(user.getId(), mine);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            dashboardExecutor.execute(() -> refresh(user, mine));
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(user.getId(), mine);
+            mine.completeExceptionally(e);
+        }
+        return mine;
+    }
 
-            // 코인 마켓 목록 수집
-            List<String> coinMarkets = new ArrayList<>();
-            Map<String, Account> accountMap = new HashMap<>();
+    private void refresh(User requester, CompletableFuture<DashboardData> future) {
+        Long userId = requester.getId();
+        try {
+            log.debug("대시보드 스냅샷 갱신 - userId: {}", userId);
+            // 첫 요청자의 User가 아니라 갱신 시작 시점의 저장된 키로 조회 (그 사이 키가 바뀌었을 수 있음)
+            User user = userRepository.findById(userId).orElse(null);
+            if (user == null || user.getUpbitAccessKey() == null || user.getUpbitSecretKey() == null) {
+                snapshots.remove(userId);
+                future.complete(emptyDashboard());
+                return;
+            }
+            DashboardData data = buildDashboardData(user);
+            Snapshot snapshot = new Snapshot(data, System.currentTimeMillis());
+            snapshots.put(userId, snapshot);
+            if (refreshing.get(userId) != future) {
+                // 갱신 중 evict됨 → 이전 키로 만든 스냅샷은 남기지 않음
+                snapshots.remove(userId, snapshot);
+            }
+            future.complete(data);
+        } catch (Exception e) {
+            log.error("대시보드 데이터 조회 오류: {}", e.getMessage(), e);
+            future.completeExceptionally(e);
+        } finally {
+            refreshing.remove(userId, future);
+        }
+    }
 
-            for (Account account : accounts) {
-                if ("KRW".equals(account.getCurrency())) {
-                    krwBalance = Double.parseDouble(account.getBalance());
-                } else {
-                    String market = "KRW-" + account.getCurrency();
-                    coinMarkets.add(market);
-                    accountMap.put(market, account);
-                }
+    /**
+     * 사용자 스냅샷 제거 (API 키 변경/삭제 시)
+     * - 진행 중인 갱신 결과도 캐시에 남기지 않음
+     */
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        refreshing.remove(userId);
+        snapshots.remove(userId);
+    }
+
+    /**
+     * 오래된 스냅샷 정리
+     */
+    @Scheduled(fixedDelayString = "${dashboard.cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        snapshots.values().removeIf(snapshot -> now - snapshot.createdAt() >= maxStaleMillis);
+    }
+
+    /**
+     * 대시보드 데이터 계산 (계좌/시세/거래 통계)
+     */
+    private DashboardData buildDashboardData(User user) {
+        // 계좌 정보 조회
+        log.debug("계좌 정보 조회 중...");
+        List<Account> accounts = UpbitRequestPriority.ANALYTICS.call(() -> upbitApiService.getAccounts(user))
+                .stream()
+                .filter(it->"KRW".equals(it.getCurrency()) || (Double.parseDouble(it.getBalance()) * Double.parseDouble(it.getAvgBuyPrice()) >= 1))
+                .toList();
+        log.debug("계좌 정보 조회 완료 - {} 개 계좌", accounts != null ? accounts.size() : 0);
+
+        double krwBalance = 0;
+        double totalCoinEvaluation = 0;
+        double totalProfitLoss = 0;
+        List<AssetInfo> assetInfos = new ArrayList<>();
+
+        // 코인 마켓 목록 수집
+        List<String> coinMarkets = new ArrayList<>();
+        Map<String, Account> accountMap = new HashMap<>();
+
+        for (Account account : accounts) {
+            if ("KRW".equals(account.getCurrency())) {
+                krwBalance = Double.parseDouble(account.getBalance());
+            } else {
+                String market = "KRW-" + account.getCurrency();
+                coinMarkets.add(market);
+                accountMap.put(market, account);
             }
+        }
 
-            // 현재가 조회
-            if (!coinMarkets.isEmpty()) {
-                String marketsParam = String.join(",", coinMarkets);
-                List<Ticker> tickers = upbitApiService.getTicker(marketsParam);
-                Map<String, Ticker> tickerMap = tickers.stream()
-                        .collect(Collectors.toMap(Ticker::getMarket, t -> t));
-
-                for (String market : coinMarkets) {
-                    Account account = accountMap.get(market);
-                    Ticker ticker = tickerMap.get(market);
-
-                    if (account != null && ticker != null) {
-                        double balance = Double.parseDouble(account.getBalance());
-                        double avgBuyPrice = Double.parseDouble(account.getAvgBuyPrice());
-                        double currentPrice = ticker.getTradePrice().doubleValue();
-                        double evaluationAmount = balance * currentPrice;
-                        double profitLoss = evaluationAmount - (balance * avgBuyPrice);
-                        double profitLossRate = avgBuyPrice > 0 ?
-                                ((currentPrice - avgBuyPrice) / avgBuyPrice) * 100 : 0;
-
-                        totalCoinEvaluation += evaluationAmount;
-                        totalProfitLoss += profitLoss;
-
-                        if (balance * currentPrice >= 5000) {  // 최소 5000원 이상만 표시
-                            assetInfos.add(AssetInfo.builder()
-                                    .currency(account.getCurrency())
-                                    .market(market)
-                                    .balance(balance)
-                                    .avgBuyPrice(avgBuyPrice)
-                                    .currentPrice(currentPrice)
-                                    .evaluationAmount(Math.round(evaluationAmount))
-                                    .profitLoss(Math.round(profitLoss))
-                                    .profitLossRate(Math.round(profitLossRate * 100.0) / 100.0)
-                                    .build());
-                        }
+        // 현재가 조회
+        if (!coinMarkets.isEmpty()) {
+            Map<String, Ticker> tickerMap = UpbitRequestPriority.ANALYTICS.call(() -> quotationService.getTickers(coinMarkets));
+
+            for (String market : coinMarkets) {
+                Account account = accountMap.get(market);
+                Ticker ticker = tickerMap.get(market);
+
+                if (account != null && ticker != null) {
+                    double balance = Double.parseDouble(account.getBalance());
+                    double avgBuyPrice = Double.parseDouble(account.getAvgBuyPrice());
+                    double currentPrice = ticker.getTradePrice().doubleValue();
+                    double evaluationAmount = balance * currentPrice;
+                    double profitLoss = evaluationAmount - (balance * avgBuyPrice);
+                    double profitLossRate = avgBuyPrice > 0 ?
+                            ((currentPrice - avgBuyPrice) / avgBuyPrice) * 100 : 0;
+
+                    totalCoinEvaluation += evaluationAmount;
+                    totalProfitLoss += profitLoss;
+
+                    if (balance * currentPrice >= 5000) {  // 최소 5000원 이상만 표시
+                        assetInfos.add(AssetInfo.builder()
+                                .currency(account.getCurrency())
+                                .market(market)
+                                .balance(balance)
+                                .avgBuyPrice(avgBuyPrice)
+                                .currentPrice(currentPrice)
+                                .evaluationAmount(Math.round(evaluationAmount))
+                                .profitLoss(Math.round(profitLoss))
+                                .profitLossRate(Math.round(profitLossRate * 100.0) / 100.0)
+                                .build());
                     }
                 }
             }
+        }
 
-            // 자산 정렬 (평가금액 기준 내림차순)
-            assetInfos.sort((a, b) -> Double.compare(b.getEvaluationAmount(), a.getEvaluationAmount()));
-
-            double totalAsset = krwBalance + totalCoinEvaluation;
-            double totalProfitLossRate = totalCoinEvaluation > 0 ?
-                    (totalProfitLoss / (totalCoinEvaluation - totalProfitLoss)) * 100 : 0;
-
-            // 거래 통계
-            LocalDate today = LocalDate.now();
-            List<TradeHistory> allTrades = tradeHistoryRepository.findByUserId(user.getId());
-            List<TradeHistory> todayTrades = allTrades.stream()
-                    .filter(t -> t.getCreatedAt().toLocalDate().equals(today))
-                    .collect(Collectors.toList());
-
-            double todayProfitLoss = calculateTodayProfitLoss(todayTrades);
-            double winRate = calculateWinRate(allTrades);
-
-            // 시장 상태
-            PriceAlertService.MarketStatus marketStatus = priceAlertService.scanAllMarkets(50);
-
-            // 최근 거래 (10건)
-            List<TradeHistory> recentTrades = allTrades.stream()
-                    .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                    .limit(10)
-                    .collect(Collectors.toList());
-
-            // 수익률 차트 (최근 30일)
-            List<ProfitChartData> profitChart = generateProfitChart(allTrades, 30);
-
-            return DashboardData.builder()
-                    .totalAsset(Math.round(totalAsset))
-                    .krwBalance(Math.round(krwBalance))
-                    .coinEvaluation(Math.round(totalCoinEvaluation))
-                    .totalProfitLoss(Math.round(totalProfitLoss))
-                    .totalProfitLossRate(Math.round(totalProfitLossRate * 100.0) / 100.0)
-                    .assets(assetInfos)
-                    .todayTradeCount(todayTrades.size())
-                    .totalTradeCount(allTrades.size())
-                    .todayProfitLoss(Math.round(todayProfitLoss))
-                    .winRate(Math.round(winRate * 10.0) / 10.0)
-                    .marketStatus(marketStatus)
-                    .recentTrades(recentTrades)
-                    .profitChart(profitChart)
-                    .updatedAt(LocalDateTime.now())
-                    .build();
+        // 자산 정렬 (평가금액 기준 내림차순)
+        assetInfos.sort((a, b) -> Double.compare(b.getEvaluationAmount(), a.getEvaluationAmount()));
 
-        } catch (Exception e) {
-            log.error("대시보드 데이터 조회 오류: {}", e.getMessage(), e);
-            // 에러 발생 시에도 최소한의 정보 제공
-            return DashboardData.builder()
-                    .totalAsset(0)
-                    .krwBalance(0)
-                    .coinEvaluation(0)
-                    .totalProfitLoss(0)
-                    .totalProfitLossRate(0)
-                    .assets(new ArrayList<>())
-                    .todayTradeCount(0)
-                    .totalTradeCount(0)
-                    .todayProfitLoss(0)
-                    .winRate(0)
-                    .marketStatus(null)
-                    .recentTrades(new ArrayList<>())
-                    .profitChart(new ArrayList<>())
-                    .updatedAt(LocalDateTime.now())
-                    .build();
-        }
+        double totalAsset = krwBalance + totalCoinEvaluation;
+        double totalProfitLossRate = totalCoinEvaluation > 0 ?
+                (totalProfitLoss / (totalCoinEvaluation - totalProfitLoss)) * 100 : 0;
+
+        // 거래 통계
+        LocalDate today = LocalDate.now();
+        List<TradeHistory> allTrades = tradeHistoryRepository.findByUserId(user.getId());
+        List<TradeHistory> todayTrades = allTrades.stream()
+                .filter(t -> t.getCreatedAt().toLocalDate().equals(today))
+                .collect(Collectors.toList());
+
+        double todayProfitLoss = calculateTodayProfitLoss(todayTrades);
+        double winRate = calculateWinRate(allTrades);
+
+        // 시장 상태
+        PriceAlertService.MarketStatus marketStatus = priceAlertService.scanAllMarkets(50);
+
+        // 최근 거래 (10건)
+        List<TradeHistory> recentTrades = allTrades.stream()
+                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
+                .limit(10)
+                .collect(Collectors.toList());
+
+        // 수익률 차트 (최근 30일)
+        List<ProfitChartData> profitChart = generateProfitChart(allTrades, 30);
+
+        return DashboardData.builder()
+                .totalAsset(Math.round(totalAsset))
+                .krwBalance(Math.round(krwBalance))
+                .coinEvaluation(Math.round(totalCoinEvaluation))
+                .totalProfitLoss(Math.round(totalProfitLoss))
+                .totalProfitLossRate(Math.round(totalProfitLossRate * 100.0) / 100.0)
+                .assets(assetInfos)
+                .todayTradeCount(todayTrades.size())
+                .totalTradeCount(allTrades.size())
+                .todayProfitLoss(Math.round(todayProfitLoss))
+                .winRate(Math.round(winRate * 10.0) / 10.0)
+                .marketStatus(marketStatus)
+                .recentTrades(recentTrades)
+                .profitChart(profitChart)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private DashboardData emptyDashboard() {
+        return DashboardData.builder()
+                .totalAsset(0)
+                .krwBalance(0)
+                .coinEvaluation(0)
+                .totalProfitLoss(0)
+                .totalProfitLossRate(0)
+                .assets(new ArrayList<>())
+                .todayTradeCount(0)
+                .totalTradeCount(0)
+                .todayProfitLoss(0)
+                .winRate(0)
+                .marketStatus(null)
+                .recentTrades(new ArrayList<>())
+                .profitChart(new ArrayList<>())
+                .updatedAt(LocalDateTime.now())
+                .build();
     }
 
     /**
@@ -260,7 +381,7 @@ public class DashboardService {
         Map<String, Object> summary = new HashMap<>();
 
         try {
-            List<Account> accounts = upbitApiService.getAccounts(user);
+            List<Account> accounts = UpbitRequestPriority.ANALYTICS.call(() -> upbitApiService.getAccounts(user));
 
             double krwBalance = 0;
             double totalCoinEvaluation = 0;
@@ -278,9 +399,8 @@ public class DashboardService {
             }
 
             if (!coinMarkets.isEmpty()) {
-                String marketsParam = String.join(",", coinMarkets);
-                List<Ticker> tickers = upbitApiService.getTicker(marketsParam);
-                for (Ticker ticker : tickers) {
+                Map<String, Ticker> tickers = UpbitRequestPriority.ANALYTICS.call(() -> quotationService.getTickers(coinMarkets));
+                for (Ticker ticker : tickers.values()) {
                     Double balance = balanceMap.get(ticker.getMarket());
                     if (balance != null) {
                         totalCoinEvaluation += balance * ticker.getTradePrice().doubleValue();
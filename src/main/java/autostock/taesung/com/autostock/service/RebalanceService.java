@@ -313,9 +313,6 @@ public class RebalanceService {
                             action.getActionType(), action.getMarket());
                 }
 
-                // API 속도 제한
-                Thread.sleep(200);
-
             } catch (Exception e) {
                 failedCount++;
                 log.error("[리밸런싱] {} {} 오류: {}",
@@ -8,6 +8,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+
 @Service
 @RequiredArgsConstructor
 public class SimulationTaskTxService {
@@ -15,38 +18,142 @@ public class SimulationTaskTxService {
     private final SimulationTaskRepository taskRepository;
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void markStarted(String taskId, String serverInstance) {
+    public void updateProgress(String taskId, int progress, String step) {
         taskRepository.findByTaskId(taskId)
                 .ifPresent(task -> {
-                    task.markAsStarted(serverInstance);
+                    task.updateProgress(progress, step);
                     taskRepository.save(task);
                 });
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void updateProgress(String taskId, int progress, String step) {
+    public void updateOptimizationProgress(String taskId, long tested, long total, long pruned) {
         taskRepository.findByTaskId(taskId)
                 .ifPresent(task -> {
-                    task.updateProgress(progress, step);
+                    task.updateOptimizationProgress(tested, total, pruned);
                     taskRepository.save(task);
                 });
     }
 
+    /**
+     * 완료 처리 (이 인스턴스가 아직 작업을 가지고 있을 때만 - 하트비트 만료로 재대기된 작업은 무시)
+     */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void markCompleted(String taskId, String resultJson) {
+    public void markCompleted(String taskId, String serverInstance, String resultJson) {
         taskRepository.findByTaskId(taskId)
+                .filter(task -> isOwnedRunning(task, serverInstance))
                 .ifPresent(task -> {
                     task.markAsCompleted(resultJson);
                     taskRepository.save(task);
                 });
     }
 
+    /**
+     * 실패 처리 (이 인스턴스가 아직 작업을 가지고 있을 때만)
+     */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void markFailed(String taskId, String errorMessage, String stackTrace) {
+    public void markFailed(String taskId, String serverInstance, String errorMessage, String stackTrace) {
         taskRepository.findByTaskId(taskId)
+                .filter(task -> isOwnedRunning(task, serverInstance))
                 .ifPresent(task -> {
                     task.markAsFailed(errorMessage, stackTrace);
                     taskRepository.save(task);
                 });
     }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void markCancelled(String taskId) {
+        taskRepository.findByTaskId(taskId)
+                .filter(task -> !task.isFinished())
+                .ifPresent(task -> {
+                    task.markAsCancelled();
+                    taskRepository.save(task);
+                });
+    }
+
+    /**
+     * 분할 작업 진행 상태 (완료된 하위 작업 수 / 전체)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void updateMarketProgress(String taskId, int processed, int total) {
+        taskRepository.findByTaskId(taskId)
+                .ifPresent(task -> {
+                    task.updateMarketProgress(processed, total);
+                    task.setCurrentStep("하위 작업 " + processed + "/" + total + " 완료");
+                    taskRepository.save(task);
+                });
+    }
+
+    /**
+     * 최적화 체크포인트 저장 (이 인스턴스가 작업을 가지고 있을 때만)
+     * @return false면 작업 소유권을 잃음 (재대기되어 다른 인스턴스가 실행 중)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean saveCheckpoint(String taskId, String serverInstance, String checkpointJson, String step) {
+        return taskRepository.findByTaskId(taskId)
+                .filter(task -> isOwnedRunning(task, serverInstance))
+                .map(task -> {
+                    task.setCheckpointJson(checkpointJson);
+                    task.setCurrentStep(step);
+                    taskRepository.save(task);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * 대기 작업 가져가기 (원자적 조건부 UPDATE)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean claim(String taskId, String serverInstance) {
+        return taskRepository.claimPendingTask(taskId, serverInstance, LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * 가져간 작업 반납 (실행기가 작업을 거부한 경우)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean release(String taskId, String serverInstance) {
+        return taskRepository.releaseClaimedTask(taskId, serverInstance, LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * 하위 작업 취소 (대기 중은 즉시 취소, 실행 중은 취소 요청)
+     * - 조건부 UPDATE로 처리해 그 사이 완료된 하위 작업의 상태/결과를 덮어쓰지 않음
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void cancelChildren(String parentTaskId) {
+        taskRepository.cancelPendingChildren(parentTaskId, LocalDateTime.now());
+        taskRepository.requestCancelRunningChildren(parentTaskId);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void touchHeartbeat(Collection<String> taskIds, String serverInstance) {
+        if (!taskIds.isEmpty()) {
+            taskRepository.touchHeartbeat(taskIds, serverInstance, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * 하트비트 만료 작업 재대기 (최대 시도 횟수 초과 시 실패 처리)
+     * @return 재대기 true, 실패 처리 또는 변경 없음 false
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean requeueOrFail(SimulationTask task, LocalDateTime threshold, int maxAttempts) {
+        int attempts = task.getAttemptCount() != null ? task.getAttemptCount() : 0;
+        if (attempts < maxAttempts) {
+            return taskRepository.requeueExpiredTask(task.getTaskId(), threshold, LocalDateTime.now()) == 1;
+        }
+        taskRepository.findByTaskId(task.getTaskId())
+                .filter(t -> t.getStatus() == TaskStatus.RUNNING)
+                .ifPresent(t -> {
+                    t.markAsFailed("실행 인스턴스 응답 없음 (" + attempts + "회 시도)", null);
+                    taskRepository.save(t);
+                });
+        return false;
+    }
+
+    private static boolean isOwnedRunning(SimulationTask task, String serverInstance) {
+        return task.getStatus() == TaskStatus.RUNNING && serverInstance.equals(task.getServerInstance());
+    }
 }
\ No newline at end of file
@@ -3,15 +3,28 @@ package autostock.taesung.com.autostock.service;
 import autostock.taesung.com.autostock.entity.CandleData;
 import autostock.taesung.com.autostock.entity.StrategyParameter;
 import autostock.taesung.com.autostock.repository.CandleDataRepository;
+import autostock.taesung.com.autostock.service.optimizer.CheckpointStore;
+import autostock.taesung.com.autostock.service.optimizer.IndicatorCache;
+import autostock.taesung.com.autostock.service.optimizer.OptimizationCheckpoint;
+import autostock.taesung.com.autostock.service.optimizer.OptimizationProgressListener;
+import autostock.taesung.com.autostock.service.optimizer.OptimizerParam;
+import autostock.taesung.com.autostock.service.optimizer.ParameterEvaluator;
+import autostock.taesung.com.autostock.service.optimizer.ParameterVector;
+import autostock.taesung.com.autostock.service.optimizer.PruningBound;
+import autostock.taesung.com.autostock.service.optimizer.SearchEngine;
+import autostock.taesung.com.autostock.service.optimizer.SearchEngineType;
+import autostock.taesung.com.autostock.strategy.series.CandleSeries;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -25,6 +38,19 @@ public class StrategyOptimizerService {
 
     private final CandleDataRepository candleDataRepository;
     private final StrategyParameterService strategyParameterService;
+    private final List<SearchEngine> searchEngines;
+
+    @Value("${optimizer.search.engine:GRID}")
+    private String defaultEngine;
+
+    @Value("${optimizer.pruning.enabled:true}")
+    private boolean pruningEnabled;
+
+    @Value("${optimizer.pruning.top-k:10}")
+    private int pruningTopK;
+
+    @Value("${optimizer.pruning.min-progress:0.5}")
+    private double pruningMinProgress;
 
     /**
      * 최적화된 전략 파라미터
@@ -98,7 +124,8 @@ public class StrategyOptimizerService {
         private int losses;
         private double maxDrawdown;
         private double sharpeRatio;
-        private Map<String, Object> params;
+        private ParameterVector params;
+        private boolean pruned;  // 가지치기로 중단됨 (지표 값은 부분 결과)
     }
 
     /**
@@ -118,21 +145,47 @@ public class StrategyOptimizerService {
     // CPU 코어 수 기반 스레드 풀
     private static final int THREAD_COUNT = Runtime.getRuntime().availableProcessors();
 
+    // 유효 결과로 인정하는 최소 거래 수 (전체 데이터 기준)
+    private static final int MIN_TRADES = 10;
+
+    /**
+     * 전체 데이터 기반 최적 파라미터 도출 (기본 탐색 엔진)
+     */
+    public OptimizedParams optimizeStrategy() {
+        return optimizeStrategy(null, OptimizationProgressListener.NONE);
+    }
+
+    public OptimizedParams optimizeStrategy(SearchEngineType engineType) {
+        return optimizeStrategy(engineType, OptimizationProgressListener.NONE);
+    }
+
+    public OptimizedParams optimizeStrategy(SearchEngineType engineType,
+                                            OptimizationProgressListener progressListener) {
+        return optimizeStrategy(engineType, progressListener, CheckpointStore.NONE);
+    }
+
     /**
      * 전체 데이터 기반 최적 파라미터 도출 (병렬 처리)
      * - 새로운 BollingerBandStrategy 파라미터 반영
      * - Fast Breakout, ATR 기반 손익, 추격 매수 방지 등 포함
+     * @param engineType 탐색 엔진 (null이면 optimizer.search.engine 설정값)
+     * @param progressListener 평가/가지치기 진행 상황 콜백
+     * @param checkpoints 청크 체크포인트 저장소 (지원 엔진은 마지막 완료 청크부터 재개)
      */
-    public OptimizedParams optimizeStrategy() {
+    public OptimizedParams optimizeStrategy(SearchEngineType engineType,
+                                            OptimizationProgressListener progressListener,
+                                            CheckpointStore checkpoints) {
         long startTime = System.currentTimeMillis();
-        log.info("=== 전략 최적화 시작 ({}개 스레드) ===", THREAD_COUNT);
+        SearchEngine engine = resolveEngine(engineType);
+        log.info("=== 전략 최적화 시작 ({}개 스레드, 엔진: {}) ===", THREAD_COUNT, engine.getType());
 
         List<String> markets = candleDataRepository.findDistinctMarkets();
         log.info("분석 대상 마켓 수: {}", markets.size());
 
         // 1️⃣ 데이터 프리로딩 (병렬)
         log.info("데이터 프리로딩 시작...");
-        Map<String, List<CandleData>> marketCandles = new ConcurrentHashMap<>();
+        // 컬럼형 시리즈로 한 번만 변환 (시뮬레이션 중 BigDecimal 변환 없음)
+        Map<String, CandleSeries> marketCandles = new ConcurrentHashMap<>();
 
         markets.parallelStream().forEach(market -> {
             List<CandleData> candles = candleDataRepository
@@ -140,7 +193,7 @@ public class StrategyOptimizerService {
             if (candles.size() >= 50) {
                 List<CandleData> reversed = new ArrayList<>(candles);
                 Collections.reverse(reversed);
-                marketCandles.put(market, reversed);
+                marketCandles.put(market, CandleSeries.fromCandleData(reversed));
             }
         });
         log.info("데이터 프리로딩 완료: {} 마켓 ({}ms)",
@@ -151,200 +204,99 @@ public class StrategyOptimizerService {
             return getDefaultParams();
         }
 
-        // 2️⃣ 파라미터 조합 생성 (확장된 파라미터)
-        // ===== 기본 볼린저밴드 =====
-        int[] bollingerPeriods = {15, 18, 20, 22, 25};
-        double[] bollingerMultipliers = {1.7, 1.8, 2.0, 2.2, 2.3};
-
-        // ===== RSI =====
-        int[] rsiPeriods = {10, 12, 14, 16, 18};
-        double[] rsiBuyThresholds = {25, 28, 30, 33, 35};
-        double[] rsiSellThresholds = {65, 68, 70, 73, 75};
-
-        // ===== 거래량 =====
-        double[] volumeRates = {80, 100, 120, 140};
+        OptimizedParams result = searchOptimalParams(marketCandles, engine, progressListener, checkpoints, startTime);
+        return result != null ? result : getDefaultParams();
+    }
 
-        // ===== 손절/익절 기본 =====
-        double[] stopLossRates = {-1.5, -2.0, -2.5, -3.0, -3.5};
-        double[] takeProfitRates = {1.5, 2.0, 2.5, 3.0, 4.0};
+    /**
+     * 탐색 엔진으로 최적 조합 탐색 후 OptimizedParams 생성
+     * @return 유효한 조합이 없으면 null
+     */
+    private OptimizedParams searchOptimalParams(Map<String, CandleSeries> marketCandles, SearchEngine engine,
+                                                OptimizationProgressListener progressListener,
+                                                CheckpointStore checkpoints, long startTime) {
+        // 2️⃣ 평가 준비
+        // 지표 캐시: (마켓, 지표, 기간, 배수)별 배열을 모든 조합이 공유
+        IndicatorCache indicatorCache = new IndicatorCache(marketCandles);
+        List<String> allMarkets = new ArrayList<>(marketCandles.keySet());
+        // 일부 데이터 평가용 마켓 순서 (고정 시드로 섞어 특정 마켓에 치우치지 않도록)
+        List<String> sampledMarkets = new ArrayList<>(new TreeSet<>(allMarkets));
+        Collections.shuffle(sampledMarkets, new Random(42));
+
+        long plannedEvaluations = engine.estimateEvaluations();
+        log.info("탐색 엔진: {}, 예상 평가 수: {}", engine.getType(), plannedEvaluations);
+
+        AtomicLong progress = new AtomicLong(0);
+        AtomicInteger validResults = new AtomicInteger(0);
+        AtomicLong prunedCount = new AtomicLong(0);
+        long logInterval = plannedEvaluations / 20 + 1;
 
-        // ===== ATR 기반 =====
-        double[] stopLossAtrMults = {1.5, 2.0, 2.5};
-        double[] takeProfitAtrMults = {2.0, 2.5, 3.0};
-        double[] trailingStopAtrMults = {1.0, 1.5, 2.0};
+        // 가지치기 하한 (전체 데이터 평가끼리만 비교, 일부 데이터 평가는 점수 척도가 달라 제외)
+        PruningBound bound = pruningEnabled ? new PruningBound(pruningTopK) : null;
 
-        // ===== Fast Breakout =====
-        double[] fastBreakoutUpperMults = {1.001, 1.002, 1.003};
-        double[] fastBreakoutVolumeMults = {2.0, 2.5, 3.0};
-        double[] fastBreakoutRsiMins = {50, 55, 60};
-
-        // ===== 급등 차단/추격 방지 =====
-        double[] highVolumeThresholds = {1.5, 2.0, 2.5};
-        double[] chasePreventionRates = {0.025, 0.035, 0.045};
-        double[] bandWidthMinPercents = {0.6, 0.8, 1.0};
-
-        // 조합 생성 (핵심 파라미터 중심으로 조합)
-        List<Map<String, Object>> combinations = new ArrayList<>();
-
-        // 첫 번째 레벨: 기본 파라미터 (5x5x5x5x5x4x5x5 = 125,000개)
-        for (int bp : bollingerPeriods) {
-            for (double bm : bollingerMultipliers) {
-                for (int rp : rsiPeriods) {
-                    for (double rbt : rsiBuyThresholds) {
-                        for (double rst : rsiSellThresholds) {
-                            for (double vr : volumeRates) {
-                                for (double sl : stopLossRates) {
-                                    for (double tp : takeProfitRates) {
-                                        // ATR 기반 파라미터 (대표값 사용 - 조합 수 제한)
-                                        double slAtr = 2.0;
-                                        double tpAtr = 2.5;
-                                        double tsAtr = 1.5;
-
-                                        // Fast Breakout 파라미터 (대표값)
-                                        double fbUpper = 1.002;
-                                        double fbVol = 2.5;
-                                        double fbRsi = 55.0;
-
-                                        // 급등 차단/추격 방지 (대표값)
-                                        double hvThreshold = 2.0;
-                                        double cpRate = 0.035;
-                                        double bwMin = 0.8;
-
-                                        Map<String, Object> params = new HashMap<>();
-                                        // 기본 파라미터
-                                        params.put("bollingerPeriod", bp);
-                                        params.put("bollingerMultiplier", bm);
-                                        params.put("rsiPeriod", rp);
-                                        params.put("rsiBuyThreshold", rbt);
-                                        params.put("rsiSellThreshold", rst);
-                                        params.put("volumeRate", vr);
-                                        params.put("stopLossRate", sl);
-                                        params.put("takeProfitRate", tp);
-
-                                        // ATR 기반
-                                        params.put("stopLossAtrMult", slAtr);
-                                        params.put("takeProfitAtrMult", tpAtr);
-                                        params.put("trailingStopAtrMult", tsAtr);
-
-                                        // Fast Breakout
-                                        params.put("fastBreakoutUpperMult", fbUpper);
-                                        params.put("fastBreakoutVolumeMult", fbVol);
-                                        params.put("fastBreakoutRsiMin", fbRsi);
-
-                                        // 급등 차단/추격 방지
-                                        params.put("highVolumeThreshold", hvThreshold);
-                                        params.put("chasePreventionRate", cpRate);
-                                        params.put("bandWidthMinPercent", bwMin);
-
-                                        combinations.add(params);
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+        // 체크포인트에서 재개하면 저장된 상위 K개 점수로 하한을 미리 채움 (재개 직후부터 가지치기)
+        OptimizationCheckpoint restored = checkpoints.load();
+        if (bound != null) {
+            seedPruningBound(bound, restored, engine);
         }
-
-        // 두 번째 레벨: ATR/Fast Breakout/급등 차단 세부 조합 (최적 기본값 기반)
-        // 기본값 고정하고 ATR, Fast Breakout, 급등차단 조합만 테스트
-        for (double slAtr : stopLossAtrMults) {
-            for (double tpAtr : takeProfitAtrMults) {
-                for (double tsAtr : trailingStopAtrMults) {
-                    for (double fbUpper : fastBreakoutUpperMults) {
-                        for (double fbVol : fastBreakoutVolumeMults) {
-                            for (double fbRsi : fastBreakoutRsiMins) {
-                                for (double hvThreshold : highVolumeThresholds) {
-                                    for (double cpRate : chasePreventionRates) {
-                                        Map<String, Object> params = new HashMap<>();
-                                        // 기본값 고정
-                                        params.put("bollingerPeriod", 20);
-                                        params.put("bollingerMultiplier", 2.0);
-                                        params.put("rsiPeriod", 14);
-                                        params.put("rsiBuyThreshold", 30.0);
-                                        params.put("rsiSellThreshold", 70.0);
-                                        params.put("volumeRate", 120.0);
-                                        params.put("stopLossRate", -2.5);
-                                        params.put("takeProfitRate", 2.0);
-
-                                        // ATR 기반
-                                        params.put("stopLossAtrMult", slAtr);
-                                        params.put("takeProfitAtrMult", tpAtr);
-                                        params.put("trailingStopAtrMult", tsAtr);
-
-                                        // Fast Breakout
-                                        params.put("fastBreakoutUpperMult", fbUpper);
-                                        params.put("fastBreakoutVolumeMult", fbVol);
-                                        params.put("fastBreakoutRsiMin", fbRsi);
-
-                                        // 급등 차단/추격 방지
-                                        params.put("highVolumeThreshold", hvThreshold);
-                                        params.put("chasePreventionRate", cpRate);
-                                        params.put("bandWidthMinPercent", 0.8);
-
-                                        combinations.add(params);
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
+        CheckpointStore resumeStore = restoredStore(checkpoints, restored);
+
+        // 점수: 수익률 * 승률 - MDD 페널티, 최소 거래 수 미달이면 제외
+        ParameterEvaluator evaluator = (params, fidelity) -> {
+            boolean fullData = fidelity >= 1.0;
+            List<String> targets = fullData ? allMarkets : sampleMarkets(sampledMarkets, fidelity);
+            SimulationResult result = runSimulationExtended(marketCandles, targets, indicatorCache, params,
+                    fullData ? bound : null);
+
+            // 진행률 로깅 (5% 단위)
+            long current = progress.incrementAndGet();
+            long pruned = result.isPruned() ? prunedCount.incrementAndGet() : prunedCount.get();
+            if (current % logInterval == 0) {
+                log.info("진행률: {}% ({}/{}), 가지치기 {}%",
+                        Math.min(100, current * 100 / plannedEvaluations), current, plannedEvaluations,
+                        pruned * 100 / current);
+                progressListener.onProgress(current, plannedEvaluations, pruned);
             }
-        }
 
-        int totalCombinations = combinations.size();
-        log.info("테스트할 파라미터 조합 수: {} (기본 + ATR/FB/급등차단 조합)", totalCombinations);
-
-        // 3️⃣ 시뮬레이션 병렬 실행 (ForkJoinPool)
-        AtomicInteger progress = new AtomicInteger(0);
-        AtomicInteger validResults = new AtomicInteger(0);
+            if (result.isPruned() || result.getTotalTrades() < minTrades(fidelity)) {
+                return Double.NEGATIVE_INFINITY;
+            }
+            validResults.incrementAndGet();
+            double score = score(result);
+            if (fullData && bound != null) {
+                bound.offer(score);
+            }
+            return score;
+        };
 
+        // 3️⃣ 탐색 실행 (ForkJoinPool)
         ForkJoinPool customPool = new ForkJoinPool(THREAD_COUNT);
-        List<SimulationResult> results;
+        ParameterVector bestParams;
 
         try {
-            results = customPool.submit(() ->
-                combinations.parallelStream()
-                    .map(params -> {
-                        SimulationResult result = runSimulationExtended(marketCandles, params);
-
-                        // 진행률 로깅 (5% 단위)
-                        int current = progress.incrementAndGet();
-                        if (current % (totalCombinations / 20 + 1) == 0) {
-                            log.info("진행률: {}% ({}/{})",
-                                    current * 100 / totalCombinations, current, totalCombinations);
-                        }
-
-                        if (result.getTotalTrades() >= 10) {
-                            validResults.incrementAndGet();
-                        }
-                        return result;
-                    })
-                    .filter(result -> result.getTotalTrades() >= 10)
-                    .toList()
-            ).get();
+            bestParams = engine.search(evaluator, customPool, resumeStore);
         } catch (Exception e) {
             log.error("병렬 처리 오류: {}", e.getMessage());
-            return getDefaultParams();
+            return null;
         } finally {
             customPool.shutdown();
         }
 
         long elapsed = System.currentTimeMillis() - startTime;
-        log.info("시뮬레이션 완료: {} 조합 테스트, {} 유효 결과 ({}ms)",
-                totalCombinations, results.size(), elapsed);
-
-        // 4️⃣ 최적 파라미터 선택 (수익률 * 승률 - MDD 페널티 기준)
-        SimulationResult best = results.stream()
-                .max(Comparator.comparingDouble(r ->
-                        r.getTotalReturn() * r.getWinRate() - r.getMaxDrawdown() * 0.1))
-                .orElse(null);
-
-        if (best == null) {
-            log.warn("유효한 시뮬레이션 결과 없음, 기본값 반환");
-            return getDefaultParams();
+        log.info("시뮬레이션 완료: {} 조합 평가, {} 유효 결과, {} 가지치기 ({}%), 지표 캐시 {}개 ({}ms)",
+                progress.get(), validResults.get(), prunedCount.get(),
+                progress.get() > 0 ? prunedCount.get() * 100 / progress.get() : 0,
+                indicatorCache.size(), elapsed);
+        progressListener.onProgress(progress.get(), Math.max(plannedEvaluations, progress.get()), prunedCount.get());
+
+        if (bestParams == null) {
+            log.warn("유효한 시뮬레이션 결과 없음");
+            return null;
         }
 
+        // 4️⃣ 최적 조합을 전체 데이터로 다시 실행해 성과 지표 산출
+        SimulationResult best = runSimulationExtended(marketCandles, allMarkets, indicatorCache, bestParams, null);
+
         log.info("=== 최적 파라미터 도출 완료 ({} ms) ===", System.currentTimeMillis() - startTime);
         log.info("총 수익률: {}%, 승률: {}%, MDD: {}%, 거래 수: {}",
                 String.format("%.2f", best.getTotalReturn()),
@@ -352,26 +304,63 @@ public class StrategyOptimizerService {
                 String.format("%.2f", best.getMaxDrawdown()),
                 best.getTotalTrades());
 
-        Map<String, Object> p = best.getParams();
+        return toOptimizedParams(best);
+    }
+
+    /**
+     * 체크포인트의 상위 K개 점수를 가지치기 하한에 등록 (같은 엔진/탐색 공간일 때만)
+     */
+    static void seedPruningBound(PruningBound bound, OptimizationCheckpoint checkpoint, SearchEngine engine) {
+        if (checkpoint == null || checkpoint.topK() == null
+                || !engine.getType().name().equals(checkpoint.engine())
+                || checkpoint.spaceSize() != engine.estimateEvaluations()) {
+            return;
+        }
+        for (OptimizationCheckpoint.Candidate candidate : checkpoint.topK()) {
+            if (Double.isFinite(candidate.score())) {
+                bound.offer(candidate.score());
+            }
+        }
+    }
+
+    /**
+     * 이미 읽은 체크포인트를 다시 조회하지 않도록 load만 대체
+     */
+    private static CheckpointStore restoredStore(CheckpointStore delegate, OptimizationCheckpoint restored) {
+        return new CheckpointStore() {
+            @Override
+            public OptimizationCheckpoint load() {
+                return restored;
+            }
+
+            @Override
+            public void save(OptimizationCheckpoint checkpoint) {
+                delegate.save(checkpoint);
+            }
+        };
+    }
+
+    private OptimizedParams toOptimizedParams(SimulationResult best) {
+        ParameterVector p = best.getParams();
         return OptimizedParams.builder()
                 // 기본 볼린저밴드
-                .bollingerPeriod((int) p.get("bollingerPeriod"))
-                .bollingerMultiplier((double) p.get("bollingerMultiplier"))
+                .bollingerPeriod(p.getInt(OptimizerParam.BOLLINGER_PERIOD))
+                .bollingerMultiplier(p.get(OptimizerParam.BOLLINGER_MULTIPLIER))
                 // RSI
-                .rsiPeriod((int) p.get("rsiPeriod"))
-                .rsiBuyThreshold((double) p.get("rsiBuyThreshold"))
-                .rsiSellThreshold((double) p.get("rsiSellThreshold"))
+                .rsiPeriod(p.getInt(OptimizerParam.RSI_PERIOD))
+                .rsiBuyThreshold(p.get(OptimizerParam.RSI_BUY_THRESHOLD))
+                .rsiSellThreshold(p.get(OptimizerParam.RSI_SELL_THRESHOLD))
                 // 거래량
-                .volumeIncreaseRate((double) p.get("volumeRate"))
+                .volumeIncreaseRate(p.get(OptimizerParam.VOLUME_RATE))
                 .minTradeAmount(50_000_000)
                 // 손절/익절 기본
-                .stopLossRate((double) p.get("stopLossRate"))
-                .takeProfitRate((double) p.get("takeProfitRate"))
+                .stopLossRate(p.get(OptimizerParam.STOP_LOSS_RATE))
+                .takeProfitRate(p.get(OptimizerParam.TAKE_PROFIT_RATE))
                 .trailingStopRate(1.5)
                 // ATR 기반
-                .stopLossAtrMult((double) p.get("stopLossAtrMult"))
-                .takeProfitAtrMult((double) p.get("takeProfitAtrMult"))
-                .trailingStopAtrMult((double) p.get("trailingStopAtrMult"))
+                .stopLossAtrMult(p.get(OptimizerParam.STOP_LOSS_ATR_MULT))
+                .takeProfitAtrMult(p.get(OptimizerParam.TAKE_PROFIT_ATR_MULT))
+                .trailingStopAtrMult(p.get(OptimizerParam.TRAILING_STOP_ATR_MULT))
                 .maxStopLossRate(0.03)
                 // 캔들 기반
                 .stopLossCooldownCandles(5)
@@ -380,13 +369,13 @@ public class StrategyOptimizerService {
                 .totalCost(0.002)
                 .minProfitRate(0.006)
                 // Fast Breakout
-                .fastBreakoutUpperMult((double) p.get("fastBreakoutUpperMult"))
-                .fastBreakoutVolumeMult((double) p.get("fastBreakoutVolumeMult"))
-                .fastBreakoutRsiMin((double) p.get("fastBreakoutRsiMin"))
+                .fastBreakoutUpperMult(p.get(OptimizerParam.FAST_BREAKOUT_UPPER_MULT))
+                .fastBreakoutVolumeMult(p.get(OptimizerParam.FAST_BREAKOUT_VOLUME_MULT))
+                .fastBreakoutRsiMin(p.get(OptimizerParam.FAST_BREAKOUT_RSI_MIN))
                 // 급등 차단/추격 방지
-                .highVolumeThreshold((double) p.get("highVolumeThreshold"))
-                .chasePreventionRate((double) p.get("chasePreventionRate"))
-                .bandWidthMinPercent((double) p.getOrDefault("bandWidthMinPercent", 0.8))
+                .highVolumeThreshold(p.get(OptimizerParam.HIGH_VOLUME_THRESHOLD))
+                .chasePreventionRate(p.get(OptimizerParam.CHASE_PREVENTION_RATE))
+                .bandWidthMinPercent(p.get(OptimizerParam.BAND_WIDTH_MIN_PERCENT))
                 .atrCandleMoveMult(0.8)
                 // 성과 지표
                 .expectedWinRate(best.getWinRate() * 100)
@@ -400,9 +389,61 @@ public class StrategyOptimizerService {
     }
 
     /**
-     * 특정 마켓에 대한 최적 파라미터 도출
+     * 탐색 엔진 선택
+     */
+    private SearchEngine resolveEngine(SearchEngineType engineType) {
+        SearchEngineType type = engineType != null ? engineType : SearchEngineType.from(defaultEngine);
+        if (type == null) {
+            type = SearchEngineType.GRID;
+        }
+        for (SearchEngine engine : searchEngines) {
+            if (engine.getType() == type) {
+                return engine;
+            }
+        }
+        throw new IllegalArgumentException("등록되지 않은 탐색 엔진: " + type);
+    }
+
+    /**
+     * 데이터 비율만큼의 마켓 (최소 1개)
+     */
+    private static List<String> sampleMarkets(List<String> sampledMarkets, double fidelity) {
+        int count = Math.max(1, (int) Math.ceil(sampledMarkets.size() * fidelity));
+        return sampledMarkets.subList(0, Math.min(count, sampledMarkets.size()));
+    }
+
+    /**
+     * 데이터 비율에 맞춘 최소 거래 수
+     */
+    private static int minTrades(double fidelity) {
+        return fidelity >= 1.0 ? MIN_TRADES : Math.max(1, (int) Math.ceil(MIN_TRADES * fidelity));
+    }
+
+    /**
+     * 조합 평가 점수 (수익률 * 승률 - MDD 페널티)
+     */
+    private static double score(SimulationResult r) {
+        return r.getTotalReturn() * r.getWinRate() - r.getMaxDrawdown() * 0.1;
+    }
+
+    /**
+     * 특정 마켓에 대한 최적 파라미터 도출 (패턴 분석)
      */
     public OptimizedParams optimizeForMarket(String market) {
+        return optimizeForMarket(market, null, OptimizationProgressListener.NONE);
+    }
+
+    public OptimizedParams optimizeForMarket(String market, SearchEngineType engineType) {
+        return optimizeForMarket(market, engineType, OptimizationProgressListener.NONE);
+    }
+
+    /**
+     * 특정 마켓에 대한 최적 파라미터 도출
+     * @param engineType 탐색 엔진 (null이면 기존 패턴 분석, 지정 시 해당 마켓 데이터로 엔진 탐색)
+     * @param progressListener 엔진 탐색 진행 상황 콜백
+     */
+    public OptimizedParams optimizeForMarket(String market, SearchEngineType engineType,
+                                             OptimizationProgressListener progressListener) {
         log.info("마켓 {} 전략 최적화 시작", market);
 
         List<CandleData> candles = candleDataRepository
@@ -416,8 +457,19 @@ public class StrategyOptimizerService {
         // 역순으로 정렬 (오래된 것 먼저)
         Collections.reverse(candles);
 
+        if (engineType != null) {
+            SearchEngine engine = resolveEngine(engineType);
+            OptimizedParams searched = searchOptimalParams(
+                    Map.of(market, CandleSeries.fromCandleData(candles)), engine,
+                    progressListener, CheckpointStore.NONE, System.currentTimeMillis());
+            if (searched != null) {
+                return searched;
+            }
+            log.warn("마켓 {} 엔진 탐색 결과 없음, 패턴 분석으로 대체", market);
+        }
+
         // 패턴 분석
-        PatternAnalysis analysis = analyzePatterns(candles);
+        PatternAnalysis analysis = analyzePatterns(CandleSeries.fromCandleData(candles));
 
         return OptimizedParams.builder()
                 // 기본 볼린저밴드
@@ -466,8 +518,16 @@ public class StrategyOptimizerService {
     /**
      * 확장된 시뮬레이션 실행 (새 파라미터 포함)
      * - ATR 기반 손익, Fast Breakout, 추격 매수 방지 등 반영
+     * - 지표는 IndicatorCache의 사전 계산 배열을 사용 (조합마다 재계산하지 않음)
+     * - bound가 주어지면 마켓 단위로 조기 중단 여부 판단 (중단 시 pruned=true 결과 반환)
+     *   1) 남은 마켓에서 가능한 최대 거래 수를 더해도 최소 거래 수 미달 (확정)
+     *   2) 일정 비율 이상 진행 후, 현재 수익률을 전체로 외삽한 점수가 상위 K위 점수 미만 (추정)
+     *      - MDD는 진행할수록 줄지 않으므로 낙폭이 이미 커진 조합이 주로 걸러짐
+     * @param bound 상위 K위 점수 하한 (null이면 가지치기 없이 끝까지 실행)
      */
-    private SimulationResult runSimulationExtended(Map<String, List<CandleData>> marketCandles, Map<String, Object> params) {
+    private SimulationResult runSimulationExtended(Map<String, CandleSeries> marketCandles, List<String> markets,
+                                                   IndicatorCache indicatorCache, ParameterVector params,
+                                                   PruningBound bound) {
         int totalTrades = 0;
         int wins = 0;
         double totalReturn = 0;
@@ -477,36 +537,72 @@ public class StrategyOptimizerService {
         List<Double> returns = new ArrayList<>();
 
         // 기본 파라미터
-        int bp = (int) params.get("bollingerPeriod");
-        double bm = (double) params.get("bollingerMultiplier");
-        int rp = (int) params.get("rsiPeriod");
-        double rbt = (double) params.get("rsiBuyThreshold");
-        double rst = (double) params.get("rsiSellThreshold");
-        double vr = (double) params.get("volumeRate");
-        double sl = (double) params.get("stopLossRate");
-        double tp = (double) params.get("takeProfitRate");
+        int bp = params.getInt(OptimizerParam.BOLLINGER_PERIOD);
+        double bm = params.get(OptimizerParam.BOLLINGER_MULTIPLIER);
+        int rp = params.getInt(OptimizerParam.RSI_PERIOD);
+        double rbt = params.get(OptimizerParam.RSI_BUY_THRESHOLD);
+        double rst = params.get(OptimizerParam.RSI_SELL_THRESHOLD);
+        double vr = params.get(OptimizerParam.VOLUME_RATE);
+        double sl = params.get(OptimizerParam.STOP_LOSS_RATE);
+        double tp = params.get(OptimizerParam.TAKE_PROFIT_RATE);
 
         // ATR 기반 파라미터
-        double slAtrMult = (double) params.get("stopLossAtrMult");
-        double tpAtrMult = (double) params.get("takeProfitAtrMult");
-        double tsAtrMult = (double) params.get("trailingStopAtrMult");
+        double slAtrMult = params.get(OptimizerParam.STOP_LOSS_ATR_MULT);
+        double tpAtrMult = params.get(OptimizerParam.TAKE_PROFIT_ATR_MULT);
+        double tsAtrMult = params.get(OptimizerParam.TRAILING_STOP_ATR_MULT);
 
         // Fast Breakout 파라미터
-        double fbUpperMult = (double) params.get("fastBreakoutUpperMult");
-        double fbVolMult = (double) params.get("fastBreakoutVolumeMult");
-        double fbRsiMin = (double) params.get("fastBreakoutRsiMin");
+        double fbUpperMult = params.get(OptimizerParam.FAST_BREAKOUT_UPPER_MULT);
+        double fbVolMult = params.get(OptimizerParam.FAST_BREAKOUT_VOLUME_MULT);
+        double fbRsiMin = params.get(OptimizerParam.FAST_BREAKOUT_RSI_MIN);
 
         // 급등 차단/추격 방지
-        double hvThreshold = (double) params.get("highVolumeThreshold");
-        double cpRate = (double) params.get("chasePreventionRate");
-        double bwMin = (double) params.getOrDefault("bandWidthMinPercent", 0.8);
+        double hvThreshold = params.get(OptimizerParam.HIGH_VOLUME_THRESHOLD);
+        double cpRate = params.get(OptimizerParam.CHASE_PREVENTION_RATE);
+        double bwMin = params.get(OptimizerParam.BAND_WIDTH_MIN_PERCENT);
+
+        // 남은 마켓에서 나올 수 있는 최대 거래 수 (매수/매도에 최소 2캔들 필요)
+        int remainingTradeCapacity = 0;
+        if (bound != null) {
+            for (String market : markets) {
+                remainingTradeCapacity += maxTrades(marketCandles.get(market), bp, rp);
+            }
+        }
+        int processedMarkets = 0;
 
-        for (Map.Entry<String, List<CandleData>> entry : marketCandles.entrySet()) {
-            List<CandleData> candles = entry.getValue();
+        for (String market : markets) {
+            CandleSeries candles = marketCandles.get(market);
+
+            if (bound != null) {
+                if (totalTrades + remainingTradeCapacity < MIN_TRADES) {
+                    return prunedResult(params);
+                }
+                double threshold = bound.threshold();
+                double progress = (double) processedMarkets / markets.size();
+                if (threshold != Double.NEGATIVE_INFINITY && progress >= pruningMinProgress && totalTrades > 0) {
+                    double projectedScore = (totalReturn / progress) * ((double) wins / totalTrades)
+                            - maxDrawdown * 0.1;
+                    if (projectedScore < threshold) {
+                        return prunedResult(params);
+                    }
+                }
+            }
+            processedMarkets++;
+            if (bound != null) {
+                remainingTradeCapacity -= maxTrades(candles, bp, rp);
+            }
 
             if (candles.size() < bp + rp + 10) continue;
 
-            List<TradeResult> trades = simulateTradesExtended(candles, bp, bm, rp, rbt, rst, vr, sl, tp,
+            MarketIndicators indicators = new MarketIndicators(
+                    indicatorCache.middleBand(market, bp),
+                    indicatorCache.upperBand(market, bp, bm),
+                    indicatorCache.lowerBand(market, bp, bm),
+                    indicatorCache.rsi(market, rp),
+                    indicatorCache.atr(market, rp),
+                    indicatorCache.volumeAverage(market, 5));
+
+            List<TradeResult> trades = simulateTradesExtended(candles, indicators, bp, rp, rbt, rst, vr, sl, tp,
                     slAtrMult, tpAtrMult, tsAtrMult, fbUpperMult, fbVolMult, fbRsiMin, hvThreshold, cpRate, bwMin);
 
             for (TradeResult trade : trades) {
@@ -547,11 +643,26 @@ public class StrategyOptimizerService {
                 .build();
     }
 
+    /**
+     * 마켓 하나에서 가능한 최대 거래 수 (진입 가능 구간 / 2)
+     */
+    private static int maxTrades(CandleSeries candles, int bp, int rp) {
+        if (candles.size() < bp + rp + 10) return 0;
+        return (candles.size() - (bp + rp + 5)) / 2;
+    }
+
+    private static SimulationResult prunedResult(ParameterVector params) {
+        return SimulationResult.builder()
+                .pruned(true)
+                .params(params)
+                .build();
+    }
+
     /**
      * 확장된 거래 시뮬레이션 (새 파라미터 포함)
      */
-    private List<TradeResult> simulateTradesExtended(List<CandleData> candles,
-            int bp, double bm, int rp, double rbt, double rst, double vr, double sl, double tp,
+    private List<TradeResult> simulateTradesExtended(CandleSeries candles, MarketIndicators indicators,
+            int bp, int rp, double rbt, double rst, double vr, double sl, double tp,
             double slAtrMult, double tpAtrMult, double tsAtrMult,
             double fbUpperMult, double fbVolMult, double fbRsiMin,
             double hvThreshold, double cpRate, double bwMin) {
@@ -564,9 +675,7 @@ public class StrategyOptimizerService {
         int cooldownCandles = 0;  // 손절 후 쿨다운
 
         for (int i = Math.max(bp, rp) + 5; i < candles.size(); i++) {
-            CandleData current = candles.get(i);
-            double currentPrice = current.getTradePrice().doubleValue();
-            double openPrice = current.getOpeningPrice().doubleValue();
+            double currentPrice = candles.close(i);
 
             // 쿨다운 감소
             if (cooldownCandles > 0) cooldownCandles--;
@@ -575,8 +684,8 @@ public class StrategyOptimizerService {
                 holdingCandles++;
                 if (currentPrice > highestPrice) highestPrice = currentPrice;
 
-                // ATR 계산
-                double atr = calculateATR(candles, i, rp);
+                // ATR
+                double atr = indicators.atr[i];
 
                 // 실제 수익률 (비용 0.2% 반영)
                 double realProfitRate = ((currentPrice * 0.998) - (buyPrice * 1.002)) / (buyPrice * 1.002) * 100;
@@ -607,7 +716,7 @@ public class StrategyOptimizerService {
                 }
 
                 // 익절 (최소 수익률 0.6% 이상)
-                double rsi = calculateRSI(candles, i, rp);
+                double rsi = indicators.rsi[i];
                 if (currentPrice >= takeProfitPrice && rsi > rst && realProfitRate >= 0.6) {
                     trades.add(TradeResult.builder()
                             .buyPrice(buyPrice).sellPrice(currentPrice)
@@ -630,7 +739,7 @@ public class StrategyOptimizerService {
                 if (cooldownCandles > 0) continue;
 
                 // 매수 조건 체크 (확장)
-                if (checkBuySignalExtended(candles, i, bp, bm, rp, rbt, vr,
+                if (checkBuySignalExtended(candles, indicators, i, bp, rp, rbt, vr,
                         fbUpperMult, fbVolMult, fbRsiMin, hvThreshold, cpRate, bwMin)) {
                     holding = true;
                     buyPrice = currentPrice;
@@ -646,37 +755,31 @@ public class StrategyOptimizerService {
     /**
      * 확장된 매수 신호 체크 (Fast Breakout, 추격 매수 방지 등)
      */
-    private boolean checkBuySignalExtended(List<CandleData> candles, int idx,
-            int bp, double bm, int rp, double rbt, double vr,
+    private boolean checkBuySignalExtended(CandleSeries candles, MarketIndicators indicators, int idx,
+            int bp, int rp, double rbt, double vr,
             double fbUpperMult, double fbVolMult, double fbRsiMin,
             double hvThreshold, double cpRate, double bwMin) {
 
         if (idx < bp + rp + 5) return false;
 
-        CandleData current = candles.get(idx);
-        double currentPrice = current.getTradePrice().doubleValue();
-        double openPrice = current.getOpeningPrice().doubleValue();
+        double currentPrice = candles.close(idx);
+        double openPrice = candles.open(idx);
 
-        // 볼린저 밴드 계산
-        double[] bands = calculateBollingerBands(candles, idx, bp, bm);
-        double middleBand = bands[0];
-        double upperBand = bands[1];
-        double lowerBand = bands[2];
+        // 볼린저 밴드
+        double middleBand = indicators.middleBand[idx];
+        double upperBand = indicators.upperBand[idx];
+        double lowerBand = indicators.lowerBand[idx];
 
         // 밴드폭 체크
         double bandWidthPercent = ((upperBand - lowerBand) / middleBand) * 100;
         if (bandWidthPercent < bwMin) return false;
 
-        // RSI 계산
-        double rsi = calculateRSI(candles, idx, rp);
+        // RSI
+        double rsi = indicators.rsi[idx];
 
         // 거래량 체크
-        double currentVolume = current.getCandleAccTradePrice().doubleValue();
-        double avgVolume = 0;
-        for (int j = 1; j <= 5; j++) {
-            avgVolume += candles.get(idx - j).getCandleAccTradePrice().doubleValue();
-        }
-        avgVolume /= 5;
+        double currentVolume = candles.accTradePrice(idx);
+        double avgVolume = indicators.volumeAverage[idx];
         double volumeRatio = currentVolume / avgVolume;
 
         // 🚀 Fast Breakout 체크
@@ -697,8 +800,8 @@ public class StrategyOptimizerService {
         if (distanceFromLower > cpRate) return false;
 
         // 급등 차단 (ATR 대비 큰 캔들, 단 고거래량 예외)
-        double atr = calculateATR(candles, idx, rp);
-        double candleMove = Math.abs(currentPrice - candles.get(idx - 1).getTradePrice().doubleValue());
+        double atr = indicators.atr[idx];
+        double candleMove = Math.abs(currentPrice - candles.close(idx - 1));
         if (candleMove > atr * 0.8 && volumeRatio < hvThreshold) return false;
 
         // 기존 진입 조건
@@ -712,23 +815,31 @@ public class StrategyOptimizerService {
     }
 
     /**
-     * ATR 계산
+     * 조합 시뮬레이션용 마켓별 지표 배열 (IndicatorCache 공유 배열, 읽기 전용)
      */
-    private double calculateATR(List<CandleData> candles, int idx, int period) {
-        double sum = 0;
-        for (int i = 0; i < period && idx - i - 1 >= 0; i++) {
-            double h = candles.get(idx - i).getHighPrice().doubleValue();
-            double l = candles.get(idx - i).getLowPrice().doubleValue();
-            double pc = candles.get(idx - i - 1).getTradePrice().doubleValue();
-            sum += Math.max(h - l, Math.max(Math.abs(h - pc), Math.abs(l - pc)));
+    private static final class MarketIndicators {
+        private final double[] middleBand;
+        private final double[] upperBand;
+        private final double[] lowerBand;
+        private final double[] rsi;
+        private final double[] atr;
+        private final double[] volumeAverage;
+
+        private MarketIndicators(double[] middleBand, double[] upperBand, double[] lowerBand,
+                                 double[] rsi, double[] atr, double[] volumeAverage) {
+            this.middleBand = middleBand;
+            this.upperBand = upperBand;
+            this.lowerBand = lowerBand;
+            this.rsi = rsi;
+            this.atr = atr;
+            this.volumeAverage = volumeAverage;
         }
-        return sum / period;
     }
 
     /**
      * 시뮬레이션 실행 (기본 버전 - 호환성 유지)
      */
-    private SimulationResult runSimulation(Map<String, List<CandleData>> marketCandles, Map<String, Object> params) {
+    private SimulationResult runSimulation(Map<String, CandleSeries> marketCandles, ParameterVector params) {
         int totalTrades = 0;
         int wins = 0;
         double totalReturn = 0;
@@ -736,17 +847,17 @@ public class StrategyOptimizerService {
         double peak = 100;
         double equity = 100;
 
-        int bp = (int) params.get("bollingerPeriod");
-        double bm = (double) params.get("bollingerMultiplier");
-        int rp = (int) params.get("rsiPeriod");
-        double rbt = (double) params.get("rsiBuyThreshold");
-        double rst = (double) params.get("rsiSellThreshold");
-        double vr = (double) params.get("volumeRate");
-        double sl = (double) params.get("stopLossRate");
-        double tp = (double) params.get("takeProfitRate");
+        int bp = params.getInt(OptimizerParam.BOLLINGER_PERIOD);
+        double bm = params.get(OptimizerParam.BOLLINGER_MULTIPLIER);
+        int rp = params.getInt(OptimizerParam.RSI_PERIOD);
+        double rbt = params.get(OptimizerParam.RSI_BUY_THRESHOLD);
+        double rst = params.get(OptimizerParam.RSI_SELL_THRESHOLD);
+        double vr = params.get(OptimizerParam.VOLUME_RATE);
+        double sl = params.get(OptimizerParam.STOP_LOSS_RATE);
+        double tp = params.get(OptimizerParam.TAKE_PROFIT_RATE);
 
-        for (Map.Entry<String, List<CandleData>> entry : marketCandles.entrySet()) {
-            List<CandleData> candles = entry.getValue();
+        for (Map.Entry<String, CandleSeries> entry : marketCandles.entrySet()) {
+            CandleSeries candles = entry.getValue();
 
             if (candles.size() < bp + rp + 10) continue;
 
@@ -779,7 +890,7 @@ public class StrategyOptimizerService {
     /**
      * 개별 마켓 거래 시뮬레이션
      */
-    private List<TradeResult> simulateTrades(List<CandleData> candles,
+    private List<TradeResult> simulateTrades(CandleSeries candles,
             int bp, double bm, int rp, double rbt, double rst, double vr, double sl, double tp) {
 
         List<TradeResult> trades = new ArrayList<>();
@@ -788,7 +899,7 @@ public class StrategyOptimizerService {
         int holdingCandles = 0;
 
         for (int i = Math.max(bp, rp) + 5; i < candles.size(); i++) {
-            double currentPrice = candles.get(i).getTradePrice().doubleValue();
+            double currentPrice = candles.close(i);
 
             if (holding) {
                 holdingCandles++;
@@ -848,12 +959,12 @@ public class StrategyOptimizerService {
     /**
      * 매수 신호 체크
      */
-    private boolean checkBuySignal(List<CandleData> candles, int idx,
+    private boolean checkBuySignal(CandleSeries candles, int idx,
             int bp, double bm, int rp, double rbt, double vr) {
 
         if (idx < bp + rp) return false;
 
-        double currentPrice = candles.get(idx).getTradePrice().doubleValue();
+        double currentPrice = candles.close(idx);
 
         // 볼린저 밴드 계산
         double[] bands = calculateBollingerBands(candles, idx, bp, bm);
@@ -864,10 +975,10 @@ public class StrategyOptimizerService {
         double rsi = calculateRSI(candles, idx, rp);
 
         // 거래량 체크
-        double currentVolume = candles.get(idx).getCandleAccTradePrice().doubleValue();
+        double currentVolume = candles.accTradePrice(idx);
         double avgVolume = 0;
         for (int j = 1; j <= 5; j++) {
-            avgVolume += candles.get(idx - j).getCandleAccTradePrice().doubleValue();
+            avgVolume += candles.accTradePrice(idx - j);
         }
         avgVolume /= 5;
         double volumeRate = (currentVolume / avgVolume) * 100;
@@ -886,16 +997,16 @@ public class StrategyOptimizerService {
     /**
      * 볼린저 밴드 계산
      */
-    private double[] calculateBollingerBands(List<CandleData> candles, int idx, int period, double mult) {
+    private double[] calculateBollingerBands(CandleSeries candles, int idx, int period, double mult) {
         double sum = 0;
         for (int i = 0; i < period; i++) {
-            sum += candles.get(idx - i).getTradePrice().doubleValue();
+            sum += candles.close(idx - i);
         }
         double sma = sum / period;
 
         double variance = 0;
         for (int i = 0; i < period; i++) {
-            double diff = candles.get(idx - i).getTradePrice().doubleValue() - sma;
+            double diff = candles.close(idx - i) - sma;
             variance += diff * diff;
         }
         double stdDev = Math.sqrt(variance / period);
@@ -906,12 +1017,12 @@ public class StrategyOptimizerService {
     /**
      * RSI 계산
      */
-    private double calculateRSI(List<CandleData> candles, int idx, int period) {
+    private double calculateRSI(CandleSeries candles, int idx, int period) {
         double gain = 0, loss = 0;
 
         for (int i = 0; i < period; i++) {
-            double diff = candles.get(idx - i).getTradePrice().doubleValue() -
-                         candles.get(idx - i - 1).getTradePrice().doubleValue();
+            double diff = candles.close(idx - i) -
+                         candles.close(idx - i - 1);
             if (diff > 0) gain += diff;
             else loss -= diff;
         }
@@ -941,7 +1052,7 @@ public class StrategyOptimizerService {
         int lossCount = 0;
     }
 
-    private PatternAnalysis analyzePatterns(List<CandleData> candles) {
+    private PatternAnalysis analyzePatterns(CandleSeries candles) {
         PatternAnalysis best = new PatternAnalysis();
         double bestScore = 0;
 
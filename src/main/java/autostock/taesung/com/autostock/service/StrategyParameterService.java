@@ -7,15 +7,22 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import jakarta.annotation.PostConstruct;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
  * 전략 파라미터 동적 조정 서비스
+ * - 유효 파라미터는 (전략, 사용자) 단위 불변 스냅샷으로 캐시 (조회 시 volatile 읽기 1회)
+ * - 파라미터 변경 커밋 후 버전을 올려 캐시 세대를 통째로 교체, 다른 인스턴스의 변경은 주기적 지문 비교로 반영
  */
 @Slf4j
 @Service
@@ -24,11 +31,40 @@ public class StrategyParameterService {
     private final StrategyParameterRepository parameterRepository;
     private final List<TradingStrategy> strategies;
 
+    private final AtomicLong versionSequence = new AtomicLong();
+    private volatile SnapshotGeneration generation = new SnapshotGeneration(0);
+    private volatile List<Object> lastFingerprint;
+
+    /**
+     * 트랜잭션 종료 시 캐시 무효화 (같은 트랜잭션에서 여러 번 등록해도 한 번만 실행됨)
+     */
+    private final TransactionSynchronization invalidateOnCompletion = new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+            invalidateNow();
+        }
+    };
+
     public StrategyParameterService(StrategyParameterRepository parameterRepository, @Lazy List<TradingStrategy> strategies) {
         this.parameterRepository = parameterRepository;
         this.strategies = strategies;
     }
 
+    private record SnapshotKey(String strategyName, Long userId) {
+    }
+
+    /**
+     * 캐시 세대 (무효화 시 새 세대로 교체되어 이전 세대에 늦게 적재된 스냅샷은 버려짐)
+     */
+    private static final class SnapshotGeneration {
+        private final long version;
+        private final Map<SnapshotKey, StrategyParameterSnapshot> snapshots = new ConcurrentHashMap<>();
+
+        private SnapshotGeneration(long version) {
+            this.version = version;
+        }
+    }
+
     /**
      * 파라미터 정의
      */
@@ -327,6 +363,7 @@ public class StrategyParameterService {
             }
         }
 
+        invalidateCache();
         log.info("전략 파라미터 초기화 완료");
     }
 
@@ -334,6 +371,67 @@ public class StrategyParameterService {
      * 전략별 파라미터 조회 (글로벌 + 사용자 오버라이드 병합)
      */
     public Map<String, Object> getEffectiveParameters(String strategyName, Long userId) {
+        return new HashMap<>(getSnapshot(strategyName, userId).asMap());
+    }
+
+    /**
+     * 전략별 파라미터 스냅샷 (캐시에 없을 때만 DB 조회)
+     * - 전략은 분석 1회당 스냅샷 하나를 받아 모든 파라미터를 읽음
+     */
+    public StrategyParameterSnapshot getSnapshot(String strategyName, Long userId) {
+        SnapshotGeneration current = generation;
+        SnapshotKey key = new SnapshotKey(strategyName, userId);
+        StrategyParameterSnapshot snapshot = current.snapshots.get(key);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        snapshot = new StrategyParameterSnapshot(strategyName, userId, current.version,
+                loadEffectiveParameters(strategyName, userId));
+        StrategyParameterSnapshot existing = current.snapshots.putIfAbsent(key, snapshot);
+        return existing != null ? existing : snapshot;
+    }
+
+    /**
+     * 파라미터 캐시 무효화 (진행 중인 트랜잭션이 있으면 커밋/롤백 이후)
+     */
+    public void invalidateCache() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(invalidateOnCompletion);
+        } else {
+            invalidateNow();
+        }
+    }
+
+    public long getCacheVersion() {
+        return generation.version;
+    }
+
+    /**
+     * 다른 인스턴스에서 변경된 파라미터 반영 (행 수 + 최종 수정 시각 지문 비교)
+     */
+    @Scheduled(fixedDelayString = "${strategy.parameter.cache.sync-interval-ms:10000}",
+            initialDelayString = "${strategy.parameter.cache.sync-interval-ms:10000}")
+    public void syncCacheVersion() {
+        try {
+            List<Object[]> rows = parameterRepository.findChangeFingerprint();
+            List<Object> fingerprint = rows.isEmpty() ? List.of() : Arrays.asList(rows.get(0));
+            List<Object> previous = lastFingerprint;
+            lastFingerprint = fingerprint;
+            if (previous != null && !previous.equals(fingerprint)) {
+                log.info("전략 파라미터 변경 감지 - 캐시 갱신");
+                invalidateNow();
+            }
+        } catch (Exception e) {
+            log.warn("전략 파라미터 변경 확인 실패: {}", e.getMessage());
+        }
+    }
+
+    private void invalidateNow() {
+        generation = new SnapshotGeneration(versionSequence.incrementAndGet());
+        log.debug("전략 파라미터 캐시 무효화: version={}", generation.version);
+    }
+
+    private Map<String, Object> loadEffectiveParameters(String strategyName, Long userId) {
         Map<String, Object> params = new HashMap<>();
 
         // 글로벌 파라미터 로드
@@ -439,7 +537,9 @@ public class StrategyParameterService {
         log.info("사용자 파라미터 설정: user={}, {}.{} = {}",
                 userId, strategyName, paramKey, paramValue);
 
-        return parameterRepository.save(userParam);
+        StrategyParameter saved = parameterRepository.save(userParam);
+        invalidateCache();
+        return saved;
     }
 
     /**
@@ -458,6 +558,7 @@ public class StrategyParameterService {
     @Transactional
     public void resetUserParameters(Long userId, String strategyName) {
         parameterRepository.deleteByUserIdAndStrategyName(userId, strategyName);
+        invalidateCache();
         log.info("사용자 파라미터 초기화: user={}, strategy={}", userId, strategyName);
     }
 
@@ -467,6 +568,7 @@ public class StrategyParameterService {
     @Transactional
     public void deleteUserParameter(Long userId, String strategyName, String paramKey) {
         parameterRepository.deleteByUserIdAndStrategyNameAndParamKey(userId, strategyName, paramKey);
+        invalidateCache();
         log.info("사용자 파라미터 삭제: user={}, {}.{}", userId, strategyName, paramKey);
     }
 
@@ -490,28 +592,14 @@ public class StrategyParameterService {
      * 특정 파라미터 값 조회 (Double)
      */
     public double getDoubleParam(String strategyName, Long userId, String paramKey, double defaultValue) {
-        Map<String, Object> params = getEffectiveParameters(strategyName, userId);
-        Object value = params.get(paramKey);
-        if (value instanceof Double) {
-            return (Double) value;
-        } else if (value instanceof Number) {
-            return ((Number) value).doubleValue();
-        }
-        return defaultValue;
+        return getSnapshot(strategyName, userId).getDouble(paramKey, defaultValue);
     }
 
     /**
      * 특정 파라미터 값 조회 (Integer)
      */
     public int getIntParam(String strategyName, Long userId, String paramKey, int defaultValue) {
-        Map<String, Object> params = getEffectiveParameters(strategyName, userId);
-        Object value = params.get(paramKey);
-        if (value instanceof Integer) {
-            return (Integer) value;
-        } else if (value instanceof Number) {
-            return ((Number) value).intValue();
-        }
-        return defaultValue;
+        return getSnapshot(strategyName, userId).getInt(paramKey, defaultValue);
     }
 
     private Object convertValue(StrategyParameter param) {
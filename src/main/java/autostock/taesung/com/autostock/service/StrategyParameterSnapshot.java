@@ -0,0 +1,56 @@
+package autostock.taesung.com.autostock.service;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 전략 파라미터 스냅샷 (글로벌 + 사용자 오버라이드 병합 결과, 불변)
+ * - StrategyParameterService가 (전략, 사용자) 단위로 캐시하고 파라미터가 바뀌면 새 버전으로 교체
+ * - 값은 로드 시점에 타입 변환되어 있으므로 조회 시 파싱/DB 접근 없음
+ */
+public final class StrategyParameterSnapshot {
+
+    private final String strategyName;
+    private final Long userId;
+    private final long version;
+    private final Map<String, Object> values;
+
+    StrategyParameterSnapshot(String strategyName, Long userId, long version, Map<String, Object> values) {
+        this.strategyName = strategyName;
+        this.userId = userId;
+        this.version = version;
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    public String getStrategyName() {
+        return strategyName;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * 로드 당시의 캐시 버전
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public double getDouble(String paramKey, double defaultValue) {
+        Object value = values.get(paramKey);
+        return value instanceof Number number ? number.doubleValue() : defaultValue;
+    }
+
+    public int getInt(String paramKey, int defaultValue) {
+        Object value = values.get(paramKey);
+        return value instanceof Number number ? number.intValue() : defaultValue;
+    }
+
+    /**
+     * 전체 파라미터 (읽기 전용)
+     */
+    public Map<String, Object> asMap() {
+        return values;
+    }
+}
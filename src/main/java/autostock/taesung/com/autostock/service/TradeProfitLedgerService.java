@@ -0,0 +1,51 @@
+package autostock.taesung.com.autostock.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 실현 손익 원장 동기화
+ *
+ * [기존 방식]
+ * - 손익 조회마다 trade_history 전체를 읽어 메모리에서 FIFO 매칭
+ *
+ * [동작]
+ * - trade_history를 id 순서로 따라가며 새 체결만 원장에 반영 (체결당 매칭 1회)
+ * - 어느 경로/인스턴스에서 기록된 체결이든 같은 커서로 반영되고, 최초 실행 시 기존 이력도 순서대로 채움
+ * - 커밋 대기 중인 체결을 건너뛰지 않도록 settle-ms 이전에 생성된 체결까지만 반영
+ * - 스케줄러 스레드를 오래 점유하지 않도록 주기당 한 묶음만 처리
+ */
+@Slf4j
+@Service
+public class TradeProfitLedgerService {
+
+    private final TradeProfitLedgerTxService txService;
+    private final int batchSize;
+    private final long settleMillis;
+
+    public TradeProfitLedgerService(TradeProfitLedgerTxService txService,
+                                    @Value("${trade-ledger.batch-size:500}") int batchSize,
+                                    @Value("${trade-ledger.settle-ms:5000}") long settleMillis) {
+        this.txService = txService;
+        this.batchSize = Math.max(1, batchSize);
+        this.settleMillis = Math.max(0, settleMillis);
+    }
+
+    @Scheduled(fixedDelayString = "${trade-ledger.sync-interval-ms:2000}")
+    public void sync() {
+        try {
+            LocalDateTime settledBefore = LocalDateTime.now().minus(settleMillis, ChronoUnit.MILLIS);
+            int applied = txService.applyNextBatch(settledBefore, batchSize);
+            if (applied > 0) {
+                log.debug("손익 원장 반영: {}건", applied);
+            }
+        } catch (Exception e) {
+            log.warn("손익 원장 반영 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package autostock.taesung.com.autostock.service;
+
+import autostock.taesung.com.autostock.entity.TradeHistory;
+import autostock.taesung.com.autostock.entity.TradeHistory.TradeType;
+import autostock.taesung.com.autostock.entity.TradeProfitLedger;
+import autostock.taesung.com.autostock.repository.TradeHistoryRepository;
+import autostock.taesung.com.autostock.repository.TradeProfitLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 손익 원장 반영 트랜잭션
+ * - 커서 행을 잠근 상태에서 다음 체결 묶음을 id 순서로 원장에 반영하고 커서 이동
+ * - 생성 후 settle 시간이 지나지 않은 체결을 만나면 그 앞까지만 반영 (커서가 건너뛰지 않도록)
+ * - 매도 체결은 같은 사용자/마켓의 가장 오래된 보유 매수와 FIFO 매칭 후 일별 집계에 누적
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TradeProfitLedgerTxService {
+
+    private static final String ENSURE_CURSOR_SQL =
+            "INSERT IGNORE INTO trade_ledger_cursor (id, last_trade_id) VALUES (1, 0)";
+    private static final String LOCK_CURSOR_SQL =
+            "SELECT last_trade_id FROM trade_ledger_cursor WHERE id = 1 FOR UPDATE";
+    private static final String ADVANCE_CURSOR_SQL =
+            "UPDATE trade_ledger_cursor SET last_trade_id = ? WHERE id = 1";
+    private static final String ACCUMULATE_DAILY_SQL =
+            "INSERT INTO trade_profit_daily (trade_date, market, strategy_name, trade_count, win_count, lose_count, " +
+            "buy_amount, gross_profit, fee, net_profit) VALUES (?, ?, ?, 1, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE trade_count = trade_count + 1, " +
+            "win_count = win_count + VALUES(win_count), lose_count = lose_count + VALUES(lose_count), " +
+            "buy_amount = buy_amount + VALUES(buy_amount), gross_profit = gross_profit + VALUES(gross_profit), " +
+            "fee = fee + VALUES(fee), net_profit = net_profit + VALUES(net_profit)";
+
+    private final TradeHistoryRepository tradeHistoryRepository;
+    private final TradeProfitLedgerRepository ledgerRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 다음 체결 묶음 반영
+     *
+     * @return 반영한 체결 수
+     */
+    @Transactional
+    public int applyNextBatch(LocalDateTime settledBefore, int batchSize) {
+        jdbcTemplate.update(ENSURE_CURSOR_SQL);
+        Long lastTradeId = jdbcTemplate.queryForObject(LOCK_CURSOR_SQL, Long.class);
+
+        List<TradeHistory> trades = tradeHistoryRepository.findByIdGreaterThanOrderByIdAsc(
+                lastTradeId, PageRequest.of(0, batchSize));
+
+        // id 순서와 생성 시각 순서는 다를 수 있으므로, 아직 안정화되지 않은 첫 체결에서 멈춤
+        // (그보다 큰 id를 먼저 반영하면 커서가 넘어가 해당 체결이 원장에서 빠짐)
+        int applied = 0;
+        Long lastAppliedId = null;
+        for (TradeHistory trade : trades) {
+            if (!isSettled(trade, settledBefore)) {
+                break;
+            }
+            if (trade.getTradeType() == TradeType.BUY) {
+                openLot(trade);
+            } else {
+                closeLot(trade);
+            }
+            lastAppliedId = trade.getId();
+            applied++;
+        }
+        if (lastAppliedId != null) {
+            jdbcTemplate.update(ADVANCE_CURSOR_SQL, lastAppliedId);
+        }
+        return applied;
+    }
+
+    private static boolean isSettled(TradeHistory trade, LocalDateTime settledBefore) {
+        return trade.getCreatedAt() == null || trade.getCreatedAt().isBefore(settledBefore);
+    }
+
+    private void openLot(TradeHistory buy) {
+        ledgerRepository.save(TradeProfitLedger.builder()
+                .userId(buy.getUserId())
+                .market(buy.getMarket())
+                .strategyName(buy.getStrategyName())
+                .buyTrade(buy)
+                .buyDate(buy.getTradeDate())
+                .buyAmount(buy.getAmount())
+                .totalFee(buy.getFee())
+                .status(TradeProfitLedger.HOLDING)
+                .build());
+    }
+
+    private void closeLot(TradeHistory sell) {
+        List<TradeProfitLedger> openLots = ledgerRepository.findOpenLots(
+                sell.getUserId(), sell.getMarket(), PageRequest.of(0, 1));
+        if (openLots.isEmpty()) {
+            log.debug("매칭할 매수 없음 (원장 제외): tradeId={}, market={}", sell.getId(), sell.getMarket());
+            return;
+        }
+        TradeProfitLedger lot = openLots.get(0);
+
+        BigDecimal totalFee = lot.getTotalFee().add(sell.getFee());
+        BigDecimal grossProfit = sell.getAmount().subtract(lot.getBuyAmount());
+        BigDecimal netProfit = grossProfit.subtract(totalFee);
+
+        // 수익률 계산 (순이익 / 매수금액 * 100)
+        BigDecimal profitRate = BigDecimal.ZERO;
+        if (lot.getBuyAmount().compareTo(BigDecimal.ZERO) > 0) {
+            profitRate = netProfit.divide(lot.getBuyAmount(), 4, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(100));
+        }
+
+        lot.setSellTrade(sell);
+        lot.setSellDate(sell.getTradeDate());
+        lot.setTotalFee(totalFee);
+        lot.setGrossProfit(grossProfit);
+        lot.setNetProfit(netProfit);
+        lot.setProfitRate(profitRate);
+        lot.setStatus(TradeProfitLedger.MATCHED);
+        ledgerRepository.save(lot);
+
+        boolean win = netProfit.compareTo(BigDecimal.ZERO) > 0;
+        jdbcTemplate.update(ACCUMULATE_DAILY_SQL,
+                Date.valueOf(sell.getTradeDate()),
+                lot.getMarket(),
+                lot.getStrategyName() != null ? lot.getStrategyName() : "",
+                win ? 1 : 0,
+                win ? 0 : 1,
+                lot.getBuyAmount(),
+                grossProfit,
+                totalFee,
+                netProfit);
+    }
+}
@@ -2,8 +2,9 @@ package autostock.taesung.com.autostock.service;
 
 import autostock.taesung.com.autostock.dto.TradeProfitDto;
 import autostock.taesung.com.autostock.entity.TradeHistory;
-import autostock.taesung.com.autostock.entity.TradeHistory.TradeType;
-import autostock.taesung.com.autostock.repository.TradeHistoryRepository;
+import autostock.taesung.com.autostock.entity.TradeProfitLedger;
+import autostock.taesung.com.autostock.repository.TradeProfitDailyRepository;
+import autostock.taesung.com.autostock.repository.TradeProfitLedgerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,85 +14,45 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
 
+/**
+ * 매매 손익 조회
+ * - 매수/매도 매칭과 손익 계산은 TradeProfitLedgerService가 체결 시점에 원장으로 반영
+ * - 목록은 원장 조회, 요약/일별/전략별은 일별 집계(trade_profit_daily) 합산
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TradeProfitService {
 
-    private final TradeHistoryRepository tradeHistoryRepository;
+    private final TradeProfitLedgerRepository ledgerRepository;
+    private final TradeProfitDailyRepository dailyRepository;
 
     /**
      * 전체 마켓의 매매 손익 조회
      */
     public List<TradeProfitDto> getAllTradeProfits() {
-        List<TradeHistory> allTrades = tradeHistoryRepository.findAll();
-        return matchAndCalculateProfits(allTrades);
+        return toDtos(ledgerRepository.findAllWithTrades());
     }
 
     /**
-     * 전체 마켓의 매매 손익 조회 (기간 필터)
+     * 전체 마켓의 매매 손익 조회 (기간 필터 - 매칭은 매도일, 보유는 매수일 기준)
      */
     public List<TradeProfitDto> getAllTradeProfits(LocalDate fromDate, LocalDate toDate) {
-        List<TradeHistory> allTrades = tradeHistoryRepository.findByTradeDateBetweenOrderByCreatedAtDesc(fromDate, toDate);
-        return matchAndCalculateProfits(allTrades);
+        return toDtos(ledgerRepository.findInPeriodWithTrades(fromDate, toDate));
     }
 
     /**
      * 특정 마켓의 매매 손익 조회
      */
     public List<TradeProfitDto> getTradeProfitsByMarket(String market) {
-        List<TradeHistory> trades = tradeHistoryRepository.findByMarketOrderByCreatedAtDesc(market.toUpperCase());
-        // 시간순 정렬 (오래된 것부터)
-        trades.sort(Comparator.comparing(TradeHistory::getCreatedAt));
-        return matchAndCalculateProfits(trades);
+        return toDtos(ledgerRepository.findByMarketWithTrades(market.toUpperCase()));
     }
 
-    /**
-     * 매수/매도 매칭 및 손익 계산 (FIFO 방식)
-     */
-    private List<TradeProfitDto> matchAndCalculateProfits(List<TradeHistory> trades) {
-        List<TradeProfitDto> results = new ArrayList<>();
-
-        // 마켓별로 그룹화
-        Map<String, List<TradeHistory>> tradesByMarket = trades.stream()
-                .collect(Collectors.groupingBy(TradeHistory::getMarket));
-
-        for (Map.Entry<String, List<TradeHistory>> entry : tradesByMarket.entrySet()) {
-            String market = entry.getKey();
-            List<TradeHistory> marketTrades = entry.getValue();
-
-            // 시간순 정렬
-            marketTrades.sort(Comparator.comparing(TradeHistory::getCreatedAt));
-
-            // 매수/매도 분리
-            Queue<TradeHistory> buyQueue = new LinkedList<>();
-            Queue<TradeHistory> sellQueue = new LinkedList<>();
-
-            for (TradeHistory trade : marketTrades) {
-                if (trade.getTradeType() == TradeType.BUY) {
-                    buyQueue.offer(trade);
-                } else {
-                    sellQueue.offer(trade);
-                }
-            }
-
-            // FIFO 매칭
-            while (!buyQueue.isEmpty() && !sellQueue.isEmpty()) {
-                TradeHistory buy = buyQueue.poll();
-                TradeHistory sell = sellQueue.poll();
-
-                TradeProfitDto profit = calculateProfit(buy, sell);
-                results.add(profit);
-            }
-
-            // 미매도 보유중 (매수만 있고 매도가 없는 경우)
-            while (!buyQueue.isEmpty()) {
-                TradeHistory buy = buyQueue.poll();
-                TradeProfitDto holding = createHoldingDto(buy);
-                results.add(holding);
-            }
+    private List<TradeProfitDto> toDtos(List<TradeProfitLedger> ledger) {
+        List<TradeProfitDto> results = new ArrayList<>(ledger.size());
+        for (TradeProfitLedger entry : ledger) {
+            results.add(entry.isMatched() ? createMatchedDto(entry) : createHoldingDto(entry.getBuyTrade()));
         }
 
         // 최신순 정렬
@@ -105,19 +66,11 @@ public class TradeProfitService {
     }
 
     /**
-     * 매수/매도 매칭하여 손익 계산
+     * 매칭 완료 DTO 생성 (손익은 원장 값 사용)
      */
-    private TradeProfitDto calculateProfit(TradeHistory buy, TradeHistory sell) {
-        BigDecimal totalFee = buy.getFee().add(sell.getFee());
-        BigDecimal grossProfit = sell.getAmount().subtract(buy.getAmount());
-        BigDecimal netProfit = grossProfit.subtract(totalFee);
-
-        // 수익률 계산 (순이익 / 매수금액 * 100)
-        BigDecimal profitRate = BigDecimal.ZERO;
-        if (buy.getAmount().compareTo(BigDecimal.ZERO) > 0) {
-            profitRate = netProfit.divide(buy.getAmount(), 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100));
-        }
+    private TradeProfitDto createMatchedDto(TradeProfitLedger entry) {
+        TradeHistory buy = entry.getBuyTrade();
+        TradeHistory sell = entry.getSellTrade();
 
         // 보유 기간 계산
         long holdingDays = ChronoUnit.DAYS.between(buy.getTradeDate(), sell.getTradeDate());
@@ -144,12 +97,12 @@ public class TradeProfitService {
                 .sellOrderUuid(sell.getOrderUuid())
                 .sellStrategy(sell.getStrategyName())
                 // 손익 정보
-                .totalFee(totalFee)
-                .grossProfit(grossProfit)
-                .netProfit(netProfit)
-                .profitRate(profitRate)
+                .totalFee(entry.getTotalFee())
+                .grossProfit(entry.getGrossProfit())
+                .netProfit(entry.getNetProfit())
+                .profitRate(entry.getProfitRate())
                 .holdingDays(holdingDays)
-                .status("MATCHED")
+                .status(TradeProfitLedger.MATCHED)
                 .build();
     }
 
@@ -186,7 +139,7 @@ public class TradeProfitService {
                 .netProfit(null)
                 .profitRate(null)
                 .holdingDays(holdingDays)
-                .status("HOLDING")
+                .status(TradeProfitLedger.HOLDING)
                 .build();
     }
 
@@ -194,45 +147,45 @@ public class TradeProfitService {
      * 전체 손익 요약
      */
     public Map<String, Object> getProfitSummary() {
-        List<TradeProfitDto> profits = getAllTradeProfits();
-        return calculateSummary(profits, null, null);
+        return calculateSummary(first(dailyRepository.sumAll()), first(ledgerRepository.summarizeHolding()));
     }
 
     /**
      * 전체 손익 요약 (기간 필터)
      */
     public Map<String, Object> getProfitSummary(LocalDate fromDate, LocalDate toDate) {
-        List<TradeProfitDto> profits = getAllTradeProfits(fromDate, toDate);
-        return calculateSummary(profits, fromDate, toDate);
+        Map<String, Object> summary = calculateSummary(
+                first(dailyRepository.sumBetween(fromDate, toDate)),
+                first(ledgerRepository.summarizeHolding(fromDate, toDate)));
+        summary.put("fromDate", fromDate.toString());
+        summary.put("toDate", toDate.toString());
+        return summary;
+    }
+
+    /**
+     * 마켓별 손익 요약
+     */
+    public Map<String, Object> getProfitSummaryByMarket(String market) {
+        String marketUpper = market.toUpperCase();
+        Map<String, Object> summary = calculateSummary(
+                first(dailyRepository.sumByMarket(marketUpper)),
+                first(ledgerRepository.summarizeHoldingByMarket(marketUpper)));
+        summary.put("market", marketUpper);
+        return summary;
     }
 
     /**
      * 손익 요약 계산 (공통 로직)
+     *
+     * @param totals  집계 합계 (tradeCount, winCount, loseCount, buyAmount, grossProfit, fee, netProfit)
+     * @param holding 보유 중 (건수, 매수 수수료 합계)
      */
-    private Map<String, Object> calculateSummary(List<TradeProfitDto> profits, LocalDate fromDate, LocalDate toDate) {
-        BigDecimal totalNetProfit = BigDecimal.ZERO;
-        BigDecimal totalFee = BigDecimal.ZERO;
-        int matchedCount = 0;
-        int holdingCount = 0;
-        int winCount = 0;
-        int loseCount = 0;
-
-        for (TradeProfitDto p : profits) {
-            if ("MATCHED".equals(p.getStatus())) {
-                matchedCount++;
-                totalNetProfit = totalNetProfit.add(p.getNetProfit());
-                totalFee = totalFee.add(p.getTotalFee());
-
-                if (p.getNetProfit().compareTo(BigDecimal.ZERO) > 0) {
-                    winCount++;
-                } else {
-                    loseCount++;
-                }
-            } else {
-                holdingCount++;
-                totalFee = totalFee.add(p.getTotalFee());
-            }
-        }
+    private Map<String, Object> calculateSummary(Object[] totals, Object[] holding) {
+        int matchedCount = intValue(totals[0]);
+        int winCount = intValue(totals[1]);
+        int loseCount = intValue(totals[2]);
+        BigDecimal totalNetProfit = decimal(totals[6]);
+        BigDecimal totalFee = decimal(totals[5]).add(decimal(holding[1]));
 
         // 승률 계산
         double winRate = matchedCount > 0 ? (double) winCount / matchedCount * 100 : 0;
@@ -241,15 +194,10 @@ public class TradeProfitService {
         summary.put("totalNetProfit", totalNetProfit);
         summary.put("totalFee", totalFee);
         summary.put("matchedTrades", matchedCount);
-        summary.put("holdingTrades", holdingCount);
+        summary.put("holdingTrades", intValue(holding[0]));
         summary.put("winCount", winCount);
         summary.put("loseCount", loseCount);
         summary.put("winRate", String.format("%.2f", winRate) + "%");
-        if (fromDate != null && toDate != null) {
-            summary.put("fromDate", fromDate.toString());
-            summary.put("toDate", toDate.toString());
-        }
-
         return summary;
     }
 
@@ -257,130 +205,106 @@ public class TradeProfitService {
      * 일자별 수익률 조회
      */
     public List<Map<String, Object>> getDailyProfitSummary() {
-        List<TradeProfitDto> profits = getAllTradeProfits();
-        return calculateDailyProfits(profits);
+        return calculateDailyProfits(dailyRepository.sumByDate());
     }
 
     /**
      * 일자별 수익률 조회 (기간 필터)
      */
     public List<Map<String, Object>> getDailyProfitSummary(LocalDate fromDate, LocalDate toDate) {
-        List<TradeProfitDto> profits = getAllTradeProfits(fromDate, toDate);
-        return calculateDailyProfits(profits);
+        return calculateDailyProfits(dailyRepository.sumByDate(fromDate, toDate));
     }
 
     /**
-     * 일자별 수익 계산 (공통 로직)
+     * 일자별 수익 계산 (매도일 기준, 최신순)
      */
-    private List<Map<String, Object>> calculateDailyProfits(List<TradeProfitDto> profits) {
-        // 매도일 기준으로 그룹화 (MATCHED 상태만)
-        Map<LocalDate, List<TradeProfitDto>> profitsByDate = profits.stream()
-                .filter(p -> "MATCHED".equals(p.getStatus()) && p.getSellDate() != null)
-                .collect(Collectors.groupingBy(TradeProfitDto::getSellDate));
-
-        List<Map<String, Object>> dailyResults = new ArrayList<>();
-
-        for (Map.Entry<LocalDate, List<TradeProfitDto>> entry : profitsByDate.entrySet()) {
-            LocalDate date = entry.getKey();
-            List<TradeProfitDto> dayProfits = entry.getValue();
-
-            BigDecimal dailyNetProfit = BigDecimal.ZERO;
-            BigDecimal dailyGrossProfit = BigDecimal.ZERO;
-            BigDecimal dailyFee = BigDecimal.ZERO;
-            BigDecimal dailyBuyAmount = BigDecimal.ZERO;
-            int tradeCount = dayProfits.size();
-            int winCount = 0;
-            int loseCount = 0;
-
-            for (TradeProfitDto p : dayProfits) {
-                dailyNetProfit = dailyNetProfit.add(p.getNetProfit());
-                dailyGrossProfit = dailyGrossProfit.add(p.getGrossProfit());
-                dailyFee = dailyFee.add(p.getTotalFee());
-                dailyBuyAmount = dailyBuyAmount.add(p.getBuyAmount());
-
-                if (p.getNetProfit().compareTo(BigDecimal.ZERO) > 0) {
-                    winCount++;
-                } else {
-                    loseCount++;
-                }
-            }
-
-            // 일별 수익률 계산 (순이익 / 매수금액 * 100)
-            BigDecimal dailyProfitRate = BigDecimal.ZERO;
-            if (dailyBuyAmount.compareTo(BigDecimal.ZERO) > 0) {
-                dailyProfitRate = dailyNetProfit.divide(dailyBuyAmount, 4, RoundingMode.HALF_UP)
-                        .multiply(BigDecimal.valueOf(100));
-            }
-
-            double winRate = tradeCount > 0 ? (double) winCount / tradeCount * 100 : 0;
+    private List<Map<String, Object>> calculateDailyProfits(List<Object[]> rows) {
+        List<Map<String, Object>> dailyResults = new ArrayList<>(rows.size());
 
+        for (Object[] row : rows) {
             Map<String, Object> dailySummary = new LinkedHashMap<>();
-            dailySummary.put("date", date.toString());
-            dailySummary.put("tradeCount", tradeCount);
-            dailySummary.put("winCount", winCount);
-            dailySummary.put("loseCount", loseCount);
-            dailySummary.put("winRate", String.format("%.1f", winRate) + "%");
-            dailySummary.put("buyAmount", dailyBuyAmount);
-            dailySummary.put("grossProfit", dailyGrossProfit);
-            dailySummary.put("fee", dailyFee);
-            dailySummary.put("netProfit", dailyNetProfit);
-            dailySummary.put("profitRate", dailyProfitRate.setScale(2, RoundingMode.HALF_UP) + "%");
-
+            dailySummary.put("date", row[0].toString());
+            putTotals(dailySummary, row);
             dailyResults.add(dailySummary);
         }
 
-        // 날짜 내림차순 정렬 (최신순)
-        dailyResults.sort((a, b) -> {
-            String dateA = (String) a.get("date");
-            String dateB = (String) b.get("date");
-            return dateB.compareTo(dateA);
-        });
-
         return dailyResults;
     }
 
     /**
-     * 마켓별 손익 요약
+     * 전략별 손익 요약 (매수 전략 기준)
      */
-    public Map<String, Object> getProfitSummaryByMarket(String market) {
-        List<TradeProfitDto> profits = getTradeProfitsByMarket(market);
-
-        BigDecimal totalNetProfit = BigDecimal.ZERO;
-        BigDecimal totalFee = BigDecimal.ZERO;
-        int matchedCount = 0;
-        int holdingCount = 0;
-        int winCount = 0;
-        int loseCount = 0;
-
-        for (TradeProfitDto p : profits) {
-            if ("MATCHED".equals(p.getStatus())) {
-                matchedCount++;
-                totalNetProfit = totalNetProfit.add(p.getNetProfit());
-                totalFee = totalFee.add(p.getTotalFee());
-
-                if (p.getNetProfit().compareTo(BigDecimal.ZERO) > 0) {
-                    winCount++;
-                } else {
-                    loseCount++;
-                }
-            } else {
-                holdingCount++;
-                totalFee = totalFee.add(p.getTotalFee());
-            }
+    public List<Map<String, Object>> getStrategyProfitSummary() {
+        return calculateStrategyProfits(dailyRepository.sumByStrategy());
+    }
+
+    /**
+     * 전략별 손익 요약 (기간 필터)
+     */
+    public List<Map<String, Object>> getStrategyProfitSummary(LocalDate fromDate, LocalDate toDate) {
+        return calculateStrategyProfits(dailyRepository.sumByStrategy(fromDate, toDate));
+    }
+
+    private List<Map<String, Object>> calculateStrategyProfits(List<Object[]> rows) {
+        List<Map<String, Object>> strategyResults = new ArrayList<>(rows.size());
+
+        for (Object[] row : rows) {
+            String strategyName = (String) row[0];
+            Map<String, Object> strategySummary = new LinkedHashMap<>();
+            strategySummary.put("strategy", strategyName == null || strategyName.isEmpty() ? "UNKNOWN" : strategyName);
+            putTotals(strategySummary, row);
+            strategyResults.add(strategySummary);
         }
 
-        double winRate = matchedCount > 0 ? (double) winCount / matchedCount * 100 : 0;
+        // 순이익 내림차순
+        strategyResults.sort((a, b) -> ((BigDecimal) b.get("netProfit")).compareTo((BigDecimal) a.get("netProfit")));
+        return strategyResults;
+    }
 
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("market", market.toUpperCase());
-        summary.put("totalNetProfit", totalNetProfit);
-        summary.put("totalFee", totalFee);
-        summary.put("matchedTrades", matchedCount);
-        summary.put("holdingTrades", holdingCount);
-        summary.put("winCount", winCount);
-        summary.put("loseCount", loseCount);
-        summary.put("winRate", String.format("%.2f", winRate) + "%");
+    /**
+     * 그룹 합계 행 (첫 컬럼 = 그룹 키) → 응답 항목
+     */
+    private void putTotals(Map<String, Object> target, Object[] row) {
+        int tradeCount = intValue(row[1]);
+        int winCount = intValue(row[2]);
+        int loseCount = intValue(row[3]);
+        BigDecimal buyAmount = decimal(row[4]);
+        BigDecimal grossProfit = decimal(row[5]);
+        BigDecimal fee = decimal(row[6]);
+        BigDecimal netProfit = decimal(row[7]);
 
-        return summary;
+        // 수익률 계산 (순이익 / 매수금액 * 100)
+        BigDecimal profitRate = BigDecimal.ZERO;
+        if (buyAmount.compareTo(BigDecimal.ZERO) > 0) {
+            profitRate = netProfit.divide(buyAmount, 4, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(100));
+        }
+
+        double winRate = tradeCount > 0 ? (double) winCount / tradeCount * 100 : 0;
+
+        target.put("tradeCount", tradeCount);
+        target.put("winCount", winCount);
+        target.put("loseCount", loseCount);
+        target.put("winRate", String.format("%.1f", winRate) + "%");
+        target.put("buyAmount", buyAmount);
+        target.put("grossProfit", grossProfit);
+        target.put("fee", fee);
+        target.put("netProfit", netProfit);
+        target.put("profitRate", profitRate.setScale(2, RoundingMode.HALF_UP) + "%");
+    }
+
+    private static Object[] first(List<Object[]> rows) {
+        return rows.get(0);
+    }
+
+    private static int intValue(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
+    private static BigDecimal decimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal d ? d : new BigDecimal(value.toString());
     }
 }
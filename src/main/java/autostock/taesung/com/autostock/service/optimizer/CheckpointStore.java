@@ -0,0 +1,26 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+/**
+ * 최적화 체크포인트 저장소 (비동기 작업은 SimulationTask에 저장)
+ * - save는 청크가 끝날 때마다 탐색 스레드에서 호출됨
+ */
+public interface CheckpointStore {
+
+    CheckpointStore NONE = new CheckpointStore() {
+        @Override
+        public OptimizationCheckpoint load() {
+            return null;
+        }
+
+        @Override
+        public void save(OptimizationCheckpoint checkpoint) {
+        }
+    };
+
+    /**
+     * 마지막 체크포인트 (없으면 null)
+     */
+    OptimizationCheckpoint load();
+
+    void save(OptimizationCheckpoint checkpoint);
+}
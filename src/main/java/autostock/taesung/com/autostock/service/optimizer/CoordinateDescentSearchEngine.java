@@ -0,0 +1,98 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 좌표 하강 탐색
+ * - 한 번에 파라미터 하나만 바꿔 가며 (나머지는 고정) 가장 좋은 값으로 이동
+ * - 한 라운드에서 개선이 없거나 최대 라운드에 도달하면 종료
+ * - 단독 엔진(기본값에서 시작) 또는 다른 엔진 결과의 보정(refine)으로 사용
+ */
+@Slf4j
+@Component
+public class CoordinateDescentSearchEngine implements SearchEngine {
+
+    private final ParameterGrid grid = SearchSpaces.joint();
+    private final int maxRounds;
+
+    public CoordinateDescentSearchEngine(@Value("${optimizer.coordinate.max-rounds:3}") int maxRounds) {
+        this.maxRounds = Math.max(1, maxRounds);
+    }
+
+    @Override
+    public SearchEngineType getType() {
+        return SearchEngineType.COORDINATE_DESCENT;
+    }
+
+    @Override
+    public long estimateEvaluations() {
+        return 1 + estimateRefinement();
+    }
+
+    /**
+     * 보정 단계 최대 평가 횟수
+     */
+    public long estimateRefinement() {
+        long neighbours = 0;
+        for (OptimizerParam param : OptimizerParam.values()) {
+            neighbours += grid.values(param).length - 1;
+        }
+        return neighbours * maxRounds;
+    }
+
+    @Override
+    public ParameterVector search(ParameterEvaluator evaluator, ForkJoinPool pool) throws Exception {
+        ParameterVector start = SearchSpaces.defaults();
+        return refine(evaluator, pool, start, evaluator.evaluate(start, 1.0));
+    }
+
+    /**
+     * 시작 조합에서 좌표 하강 (전체 데이터로 평가)
+     * @return 개선된 조합, 끝까지 유효한 조합이 없으면 null
+     */
+    public ParameterVector refine(ParameterEvaluator evaluator, ForkJoinPool pool,
+                                  ParameterVector start, double startScore) throws Exception {
+        ParameterVector current = start;
+        double currentScore = startScore;
+
+        for (int round = 1; round <= maxRounds; round++) {
+            boolean improved = false;
+
+            for (OptimizerParam param : OptimizerParam.values()) {
+                List<ParameterVector> neighbours = new ArrayList<>();
+                for (double value : grid.values(param)) {
+                    if (value != current.get(param)) {
+                        neighbours.add(current.with(param, value));
+                    }
+                }
+                if (neighbours.isEmpty()) continue;
+
+                ScoredVector best = pool.submit(() ->
+                        neighbours.parallelStream()
+                                .map(params -> new ScoredVector(params, evaluator.evaluate(params, 1.0)))
+                                .filter(ScoredVector::isValid)
+                                .max(Comparator.comparingDouble(ScoredVector::score))
+                                .orElse(null)
+                ).get();
+
+                if (best != null && best.score() > currentScore) {
+                    current = best.params();
+                    currentScore = best.score();
+                    improved = true;
+                }
+            }
+
+            log.info("[좌표 하강] 라운드 {}: 점수 {}", round, String.format("%.4f", currentScore));
+            if (!improved) break;
+        }
+
+        return currentScore == Double.NEGATIVE_INFINITY ? null : current;
+    }
+}
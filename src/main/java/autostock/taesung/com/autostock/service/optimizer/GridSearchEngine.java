@@ -0,0 +1,131 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * 2단계 그리드 전수 탐색 (기존 최적화 방식)
+ * - 조합은 ParameterSpace 스트림에서 지연 생성되고 최고 점수로 바로 축약
+ * - 체크포인트 사용 시 전역 인덱스를 chunk-size 단위로 나눠 탐색하고 청크마다 커서/상위 K개 저장
+ */
+@Slf4j
+@Component
+public class GridSearchEngine implements SearchEngine {
+
+    private static final Comparator<ScoredVector> BY_SCORE_DESC =
+            Comparator.comparingDouble(ScoredVector::score).reversed();
+
+    private final ParameterSpace space;
+    private final long chunkSize;
+    private final int topK;
+
+    @Autowired
+    public GridSearchEngine(@Value("${optimizer.checkpoint.chunk-size:20000}") long chunkSize,
+                            @Value("${optimizer.checkpoint.top-k:10}") int topK) {
+        this(SearchSpaces.exhaustive(), chunkSize, topK);
+    }
+
+    GridSearchEngine(ParameterSpace space, long chunkSize, int topK) {
+        this.space = space;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.topK = Math.max(1, topK);
+    }
+
+    @Override
+    public SearchEngineType getType() {
+        return SearchEngineType.GRID;
+    }
+
+    @Override
+    public long estimateEvaluations() {
+        return space.size();
+    }
+
+    @Override
+    public ParameterVector search(ParameterEvaluator evaluator, ForkJoinPool pool) throws Exception {
+        return pool.submit(() ->
+                space.stream(true)
+                        .map(params -> new ScoredVector(params, evaluator.evaluate(params, 1.0)))
+                        .filter(ScoredVector::isValid)
+                        .max(Comparator.comparingDouble(ScoredVector::score))
+                        .map(ScoredVector::params)
+                        .orElse(null)
+        ).get();
+    }
+
+    /**
+     * 청크 단위 탐색 (마지막 체크포인트가 있으면 그 다음 청크부터)
+     */
+    @Override
+    public ParameterVector search(ParameterEvaluator evaluator, ForkJoinPool pool,
+                                  CheckpointStore checkpoints) throws Exception {
+        long size = space.size();
+        long cursor = 0;
+        int completedChunks = 0;
+        List<ScoredVector> best = new ArrayList<>();
+
+        OptimizationCheckpoint checkpoint = checkpoints.load();
+        if (checkpoint != null && checkpoint.matches(getType(), size, chunkSize)) {
+            cursor = checkpoint.nextIndex();
+            completedChunks = checkpoint.completedChunks();
+            for (OptimizationCheckpoint.Candidate candidate : checkpoint.topK()) {
+                best.add(new ScoredVector(ParameterVector.of(candidate.values()), candidate.score()));
+            }
+            log.info("체크포인트에서 재개: 청크 {}개 완료, {}/{} 조합부터", completedChunks, cursor, size);
+        } else if (checkpoint != null) {
+            log.info("탐색 조건이 달라 체크포인트 무시 (engine={}, size={}, chunk={})",
+                    checkpoint.engine(), checkpoint.spaceSize(), checkpoint.chunkSize());
+        }
+
+        while (cursor < size) {
+            long from = cursor;
+            long to = Math.min(size, from + chunkSize);
+            List<ScoredVector> chunkBest = pool.submit(() ->
+                    LongStream.range(from, to).parallel()
+                            .mapToObj(space::vectorAt)
+                            .map(params -> new ScoredVector(params, evaluator.evaluate(params, 1.0)))
+                            .filter(ScoredVector::isValid)
+                            .sorted(BY_SCORE_DESC)
+                            .limit(topK)
+                            .collect(Collectors.toList())
+            ).get();
+
+            best = mergeTopK(best, chunkBest);
+            cursor = to;
+            completedChunks++;
+            checkpoints.save(toCheckpoint(size, cursor, completedChunks, best));
+        }
+
+        return best.isEmpty() ? null : best.get(0).params();
+    }
+
+    private List<ScoredVector> mergeTopK(List<ScoredVector> current, List<ScoredVector> chunk) {
+        List<ScoredVector> merged = new ArrayList<>(current.size() + chunk.size());
+        merged.addAll(current);
+        merged.addAll(chunk);
+        merged.sort(BY_SCORE_DESC);
+        return new ArrayList<>(merged.subList(0, Math.min(topK, merged.size())));
+    }
+
+    private OptimizationCheckpoint toCheckpoint(long size, long nextIndex, int completedChunks,
+                                                List<ScoredVector> best) {
+        List<OptimizationCheckpoint.Candidate> candidates = new ArrayList<>(best.size());
+        for (ScoredVector scored : best) {
+            double[] values = new double[OptimizerParam.COUNT];
+            for (OptimizerParam param : OptimizerParam.values()) {
+                values[param.ordinal()] = scored.params().get(param);
+            }
+            candidates.add(new OptimizationCheckpoint.Candidate(values, scored.score()));
+        }
+        return new OptimizationCheckpoint(getType().name(), size, chunkSize, nextIndex, completedChunks, candidates);
+    }
+}
@@ -0,0 +1,189 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+import autostock.taesung.com.autostock.strategy.series.CandleSeries;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 최적화 1회 실행 동안 공유되는 지표 사전 계산 캐시
+ * - (market, indicator, period, multiplier) 별로 전체 구간 지표를 primitive 배열로 한 번만 계산
+ * - 같은 볼린저/RSI 기간을 쓰는 수만 개 조합이 배열을 읽기 전용으로 공유
+ * - ForkJoinPool 워커 간 공유: 등록된 배열은 이후 수정하지 않음 (읽기 전용)
+ *
+ * 배열 인덱스는 CandleSeries 인덱스와 동일하며, 계산 구간이 부족한 위치는 NaN
+ * 계산식과 합산 순서는 StrategyOptimizerService의 기존 계산과 동일 (결과 값 동일)
+ */
+public final class IndicatorCache {
+
+    private enum Indicator {
+        MIDDLE_BAND, STD_DEV, UPPER_BAND, LOWER_BAND, RSI, ATR, VOLUME_AVG
+    }
+
+    private record Key(String market, Indicator indicator, int period, double multiplier) {
+    }
+
+    private final Map<String, CandleSeries> marketCandles;
+    private final Map<Key, double[]> cache = new ConcurrentHashMap<>();
+
+    public IndicatorCache(Map<String, CandleSeries> marketCandles) {
+        this.marketCandles = marketCandles;
+    }
+
+    /**
+     * 볼린저 중심선 (종가 SMA)
+     */
+    public double[] middleBand(String market, int period) {
+        return get(market, Indicator.MIDDLE_BAND, period, 0, candles -> {
+            double[] result = newArray(candles.size());
+            for (int idx = period - 1; idx < candles.size(); idx++) {
+                double sum = 0;
+                for (int i = 0; i < period; i++) {
+                    sum += candles.close(idx - i);
+                }
+                result[idx] = sum / period;
+            }
+            return result;
+        });
+    }
+
+    /**
+     * 볼린저 상단 (중심선 + mult * 모표준편차)
+     */
+    public double[] upperBand(String market, int period, double mult) {
+        return get(market, Indicator.UPPER_BAND, period, mult, candles -> {
+            double[] sma = middleBand(market, period);
+            double[] stdDev = stdDev(market, period);
+            double[] result = newArray(candles.size());
+            for (int idx = period - 1; idx < candles.size(); idx++) {
+                result[idx] = sma[idx] + mult * stdDev[idx];
+            }
+            return result;
+        });
+    }
+
+    /**
+     * 볼린저 하단 (중심선 - mult * 모표준편차)
+     */
+    public double[] lowerBand(String market, int period, double mult) {
+        return get(market, Indicator.LOWER_BAND, period, mult, candles -> {
+            double[] sma = middleBand(market, period);
+            double[] stdDev = stdDev(market, period);
+            double[] result = newArray(candles.size());
+            for (int idx = period - 1; idx < candles.size(); idx++) {
+                result[idx] = sma[idx] - mult * stdDev[idx];
+            }
+            return result;
+        });
+    }
+
+    /**
+     * RSI (단순 평균 방식)
+     */
+    public double[] rsi(String market, int period) {
+        return get(market, Indicator.RSI, period, 0, candles -> {
+            double[] result = newArray(candles.size());
+            for (int idx = period; idx < candles.size(); idx++) {
+                double gain = 0, loss = 0;
+                for (int i = 0; i < period; i++) {
+                    double diff = candles.close(idx - i) - candles.close(idx - i - 1);
+                    if (diff > 0) gain += diff;
+                    else loss -= diff;
+                }
+                if (loss == 0) {
+                    result[idx] = 100;
+                } else {
+                    double rs = gain / loss;
+                    result[idx] = 100 - (100 / (1 + rs));
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * ATR (True Range 단순 평균)
+     */
+    public double[] atr(String market, int period) {
+        return get(market, Indicator.ATR, period, 0, candles -> {
+            double[] result = new double[candles.size()];
+            for (int idx = 0; idx < candles.size(); idx++) {
+                double sum = 0;
+                for (int i = 0; i < period && idx - i - 1 >= 0; i++) {
+                    double h = candles.high(idx - i);
+                    double l = candles.low(idx - i);
+                    double pc = candles.close(idx - i - 1);
+                    sum += Math.max(h - l, Math.max(Math.abs(h - pc), Math.abs(l - pc)));
+                }
+                result[idx] = sum / period;
+            }
+            return result;
+        });
+    }
+
+    /**
+     * 직전 period개 캔들의 평균 거래대금 (현재 캔들 제외)
+     */
+    public double[] volumeAverage(String market, int period) {
+        return get(market, Indicator.VOLUME_AVG, period, 0, candles -> {
+            double[] result = newArray(candles.size());
+            for (int idx = period; idx < candles.size(); idx++) {
+                double sum = 0;
+                for (int j = 1; j <= period; j++) {
+                    sum += candles.accTradePrice(idx - j);
+                }
+                result[idx] = sum / period;
+            }
+            return result;
+        });
+    }
+
+    /**
+     * 캐시된 지표 배열 수
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    private double[] stdDev(String market, int period) {
+        return get(market, Indicator.STD_DEV, period, 0, candles -> {
+            double[] sma = middleBand(market, period);
+            double[] result = newArray(candles.size());
+            for (int idx = period - 1; idx < candles.size(); idx++) {
+                double variance = 0;
+                for (int i = 0; i < period; i++) {
+                    double diff = candles.close(idx - i) - sma[idx];
+                    variance += diff * diff;
+                }
+                result[idx] = Math.sqrt(variance / period);
+            }
+            return result;
+        });
+    }
+
+    private double[] get(String market, Indicator indicator, int period, double multiplier,
+                         Function<CandleSeries, double[]> calculator) {
+        Key key = new Key(market, indicator, period, multiplier);
+        double[] cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        CandleSeries candles = marketCandles.get(market);
+        if (candles == null) {
+            throw new IllegalArgumentException("캔들 데이터 없음: " + market);
+        }
+        // 파생 지표가 다른 지표를 참조하므로 computeIfAbsent 안에서 재귀 계산하지 않음
+        // (동시에 같은 키를 계산하더라도 결과는 동일하며 먼저 등록된 배열을 사용)
+        double[] computed = calculator.apply(candles);
+        double[] previous = cache.putIfAbsent(key, computed);
+        return previous != null ? previous : computed;
+    }
+
+    private static double[] newArray(int size) {
+        double[] array = new double[size];
+        Arrays.fill(array, Double.NaN);
+        return array;
+    }
+}
@@ -0,0 +1,33 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+import java.util.List;
+
+/**
+ * 청크 단위 최적화 체크포인트
+ * - 완료된 청크까지의 커서와 상위 K개 조합을 보관 (작업에 JSON으로 저장)
+ * - 재시작/다른 인스턴스는 nextIndex부터 이어서 탐색
+ *
+ * @param engine 탐색 엔진 (다른 엔진의 체크포인트는 사용하지 않음)
+ * @param spaceSize 탐색 공간 크기 (공간 정의가 바뀌면 처음부터 다시 탐색)
+ * @param chunkSize 청크 크기
+ * @param nextIndex 다음에 평가할 전역 인덱스
+ * @param completedChunks 완료된 청크 수
+ * @param topK 지금까지의 상위 조합 (점수 내림차순)
+ */
+public record OptimizationCheckpoint(String engine, long spaceSize, long chunkSize, long nextIndex,
+                                     int completedChunks, List<Candidate> topK) {
+
+    /**
+     * 상위 조합 (OptimizerParam ordinal 순서의 값 + 점수)
+     */
+    public record Candidate(double[] values, double score) {
+    }
+
+    /**
+     * 같은 탐색 조건의 체크포인트인지
+     */
+    boolean matches(SearchEngineType type, long spaceSize, long chunkSize) {
+        return type.name().equals(engine) && this.spaceSize == spaceSize && this.chunkSize == chunkSize
+                && nextIndex >= 0 && nextIndex <= spaceSize;
+    }
+}
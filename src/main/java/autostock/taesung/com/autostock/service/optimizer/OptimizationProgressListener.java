@@ -0,0 +1,18 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+/**
+ * 최적화 진행 상황 콜백 (비동기 작업 진행률 표시용)
+ * - 평가 스레드에서 약 5% 간격으로 호출됨
+ */
+@FunctionalInterface
+public interface OptimizationProgressListener {
+
+    OptimizationProgressListener NONE = (evaluated, planned, pruned) -> { };
+
+    /**
+     * @param evaluated 지금까지 평가한 조합 수
+     * @param planned 예상 전체 평가 수
+     * @param pruned 조기 중단된 조합 수
+     */
+    void onProgress(long evaluated, long planned, long pruned);
+}
@@ -0,0 +1,62 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+/**
+ * 최적화 파라미터 정의
+ * - ordinal이 ParameterVector 배열 인덱스
+ * - 선언 순서 = 그리드 중첩 순서 (앞쪽이 바깥 루프, 마지막이 가장 안쪽 루프)
+ */
+public enum OptimizerParam {
+
+    // ===== 기본 볼린저밴드 =====
+    BOLLINGER_PERIOD("bollingerPeriod", true),
+    BOLLINGER_MULTIPLIER("bollingerMultiplier", false),
+
+    // ===== RSI =====
+    RSI_PERIOD("rsiPeriod", true),
+    RSI_BUY_THRESHOLD("rsiBuyThreshold", false),
+    RSI_SELL_THRESHOLD("rsiSellThreshold", false),
+
+    // ===== 거래량 =====
+    VOLUME_RATE("volumeRate", false),
+
+    // ===== 손절/익절 기본 =====
+    STOP_LOSS_RATE("stopLossRate", false),
+    TAKE_PROFIT_RATE("takeProfitRate", false),
+
+    // ===== ATR 기반 =====
+    STOP_LOSS_ATR_MULT("stopLossAtrMult", false),
+    TAKE_PROFIT_ATR_MULT("takeProfitAtrMult", false),
+    TRAILING_STOP_ATR_MULT("trailingStopAtrMult", false),
+
+    // ===== Fast Breakout =====
+    FAST_BREAKOUT_UPPER_MULT("fastBreakoutUpperMult", false),
+    FAST_BREAKOUT_VOLUME_MULT("fastBreakoutVolumeMult", false),
+    FAST_BREAKOUT_RSI_MIN("fastBreakoutRsiMin", false),
+
+    // ===== 급등 차단/추격 방지 =====
+    HIGH_VOLUME_THRESHOLD("highVolumeThreshold", false),
+    CHASE_PREVENTION_RATE("chasePreventionRate", false),
+    BAND_WIDTH_MIN_PERCENT("bandWidthMinPercent", false);
+
+    /** 파라미터 수 (벡터 길이) */
+    public static final int COUNT = values().length;
+
+    private final String key;
+    private final boolean integer;
+
+    OptimizerParam(String key, boolean integer) {
+        this.key = key;
+        this.integer = integer;
+    }
+
+    /**
+     * 기존 Map 기반 파라미터 키 (API 응답/로그 호환)
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public boolean isInteger() {
+        return integer;
+    }
+}
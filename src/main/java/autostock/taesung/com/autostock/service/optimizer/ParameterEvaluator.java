@@ -0,0 +1,17 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+/**
+ * 파라미터 조합 평가 함수
+ * - 여러 스레드에서 동시에 호출됨 (구현체는 thread-safe 해야 함)
+ */
+@FunctionalInterface
+public interface ParameterEvaluator {
+
+    /**
+     * 조합 점수 (높을수록 좋음)
+     * @param params 평가할 조합
+     * @param fidelity 사용할 데이터 비율 (0 &lt; fidelity &lt;= 1, 1이면 전체 마켓)
+     * @return 점수, 최소 거래 수 미달 등 유효하지 않으면 Double.NEGATIVE_INFINITY
+     */
+    double evaluate(ParameterVector params, double fidelity);
+}
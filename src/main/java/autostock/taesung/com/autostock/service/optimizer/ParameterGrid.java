@@ -0,0 +1,176 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 파라미터 그리드 (직교 조합)
+ * - 축별 후보값만 보관하고 조합은 인덱스로 필요할 때 생성 (mixed-radix 디코딩)
+ * - 12만 개 이상의 조합을 리스트로 만들지 않고 Spliterator로 병렬 분할
+ * - 조합 순서는 OptimizerParam 선언 순서의 중첩 루프와 동일
+ */
+public final class ParameterGrid {
+
+    private final double[][] axes;  // OptimizerParam ordinal별 후보값
+    private final long size;
+
+    private ParameterGrid(double[][] axes) {
+        this.axes = axes;
+        long total = 1;
+        for (double[] axis : axes) {
+            total = Math.multiplyExact(total, axis.length);
+        }
+        this.size = total;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 전체 조합 수
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * index번째 조합 생성 (마지막 파라미터가 가장 빠르게 변함)
+     */
+    public ParameterVector vectorAt(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        double[] values = new double[axes.length];
+        long remaining = index;
+        for (int p = axes.length - 1; p >= 0; p--) {
+            int radix = axes[p].length;
+            values[p] = axes[p][(int) (remaining % radix)];
+            remaining /= radix;
+        }
+        return new ParameterVector(values);
+    }
+
+    /**
+     * 파라미터 후보값 (복사본)
+     */
+    public double[] values(OptimizerParam param) {
+        return axes[param.ordinal()].clone();
+    }
+
+    /**
+     * 균등 무작위 조합 (랜덤 탐색용)
+     */
+    public ParameterVector randomVector(Random random) {
+        double[] values = new double[axes.length];
+        for (int p = 0; p < axes.length; p++) {
+            values[p] = axes[p][random.nextInt(axes[p].length)];
+        }
+        return new ParameterVector(values);
+    }
+
+    /**
+     * 조합 스트림 (지연 생성)
+     * @param parallel true면 ForkJoinPool에서 인덱스 구간 단위로 분할
+     */
+    public Stream<ParameterVector> stream(boolean parallel) {
+        return StreamSupport.stream(new GridSpliterator(0, size), parallel);
+    }
+
+    /**
+     * 인덱스 구간 [origin, fence) 를 반씩 나누는 Spliterator
+     */
+    private final class GridSpliterator implements Spliterator<ParameterVector> {
+        private long origin;
+        private final long fence;
+
+        private GridSpliterator(long origin, long fence) {
+            this.origin = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super ParameterVector> action) {
+            if (origin >= fence) {
+                return false;
+            }
+            action.accept(vectorAt(origin++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super ParameterVector> action) {
+            long end = fence;
+            for (long i = origin; i < end; i++) {
+                action.accept(vectorAt(i));
+            }
+            origin = end;
+        }
+
+        @Override
+        public Spliterator<ParameterVector> trySplit() {
+            long mid = (origin + fence) >>> 1;
+            if (mid <= origin) {
+                return null;
+            }
+            Spliterator<ParameterVector> prefix = new GridSpliterator(origin, mid);
+            origin = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - origin;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+
+    /**
+     * 그리드 빌더
+     * - 모든 파라미터에 후보값(axis) 또는 고정값(fixed)이 지정되어야 함
+     */
+    public static final class Builder {
+        private final Map<OptimizerParam, double[]> axes = new EnumMap<>(OptimizerParam.class);
+
+        public Builder axis(OptimizerParam param, double... values) {
+            if (values.length == 0) {
+                throw new IllegalArgumentException("후보값이 비어 있습니다: " + param);
+            }
+            axes.put(param, values.clone());
+            return this;
+        }
+
+        public Builder axis(OptimizerParam param, int... values) {
+            double[] converted = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                converted[i] = values[i];
+            }
+            return axis(param, converted);
+        }
+
+        public Builder fixed(OptimizerParam param, double value) {
+            return axis(param, new double[]{value});
+        }
+
+        public ParameterGrid build() {
+            double[][] result = new double[OptimizerParam.COUNT][];
+            for (OptimizerParam param : OptimizerParam.values()) {
+                double[] values = axes.get(param);
+                if (values == null) {
+                    throw new IllegalStateException("파라미터 값이 지정되지 않았습니다: " + param);
+                }
+                result[param.ordinal()] = values;
+            }
+            return new ParameterGrid(result);
+        }
+    }
+}
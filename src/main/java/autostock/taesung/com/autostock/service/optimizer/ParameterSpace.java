@@ -0,0 +1,57 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 여러 그리드를 이어 붙인 탐색 공간
+ * - 예: 1단계 기본 파라미터 그리드 + 2단계 ATR/Fast Breakout 그리드
+ * - 전역 인덱스(0..size-1)로 조합에 접근 가능
+ */
+public final class ParameterSpace {
+
+    private final List<ParameterGrid> grids;
+    private final long size;
+
+    public ParameterSpace(List<ParameterGrid> grids) {
+        this.grids = List.copyOf(grids);
+        long total = 0;
+        for (ParameterGrid grid : this.grids) {
+            total = Math.addExact(total, grid.size());
+        }
+        this.size = total;
+    }
+
+    public static ParameterSpace of(ParameterGrid... grids) {
+        return new ParameterSpace(List.of(grids));
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * 전역 인덱스로 조합 조회
+     */
+    public ParameterVector vectorAt(long index) {
+        long offset = index;
+        for (ParameterGrid grid : grids) {
+            if (offset < grid.size()) {
+                return grid.vectorAt(offset);
+            }
+            offset -= grid.size();
+        }
+        throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+    }
+
+    /**
+     * 전체 조합 스트림 (그리드 순서대로, 지연 생성)
+     */
+    public Stream<ParameterVector> stream(boolean parallel) {
+        Stream<ParameterVector> result = Stream.empty();
+        for (ParameterGrid grid : grids) {
+            result = Stream.concat(result, grid.stream(parallel));
+        }
+        return parallel ? result.parallel() : result;
+    }
+}
@@ -0,0 +1,72 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 최적화 파라미터 조합 (불변)
+ * - OptimizerParam ordinal로 인덱싱되는 double[] 하나만 보관
+ * - 시뮬레이션 루프에서 문자열 키 조회/언박싱 없이 접근
+ */
+public final class ParameterVector {
+
+    private final double[] values;
+
+    ParameterVector(double[] values) {
+        this.values = values;
+    }
+
+    public static ParameterVector of(double[] values) {
+        if (values.length != OptimizerParam.COUNT) {
+            throw new IllegalArgumentException("파라미터 수 불일치: " + values.length + " (필요: " + OptimizerParam.COUNT + ")");
+        }
+        return new ParameterVector(values.clone());
+    }
+
+    public double get(OptimizerParam param) {
+        return values[param.ordinal()];
+    }
+
+    public int getInt(OptimizerParam param) {
+        return (int) values[param.ordinal()];
+    }
+
+    /**
+     * 파라미터 하나만 바꾼 새 조합 (좌표 하강 탐색용)
+     */
+    public ParameterVector with(OptimizerParam param, double value) {
+        double[] copy = values.clone();
+        copy[param.ordinal()] = value;
+        return new ParameterVector(copy);
+    }
+
+    /**
+     * 기존 Map 형태로 변환 (응답/로그용)
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (OptimizerParam param : OptimizerParam.values()) {
+            double value = values[param.ordinal()];
+            map.put(param.getKey(), param.isInteger() ? (Object) (int) value : (Object) value);
+        }
+        return map;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ParameterVector other)) return false;
+        return Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
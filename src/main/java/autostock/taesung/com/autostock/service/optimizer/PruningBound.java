@@ -0,0 +1,49 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+import java.util.PriorityQueue;
+
+/**
+ * 조기 중단(가지치기)용 공유 점수 하한
+ * - 지금까지 평가된 상위 K개 점수 중 K번째 점수를 threshold로 유지
+ * - 시뮬레이션 도중 이 값을 넘을 수 없다고 판단되면 해당 조합을 중단
+ * - 읽기는 volatile 한 번, 갱신은 threshold를 넘는 점수만 동기화 구간 진입 (ForkJoinPool 워커 공유)
+ */
+public final class PruningBound {
+
+    private final int topK;
+    private final PriorityQueue<Double> topScores = new PriorityQueue<>();  // 최소 힙
+    private volatile double threshold = Double.NEGATIVE_INFINITY;
+
+    public PruningBound(int topK) {
+        this.topK = Math.max(1, topK);
+    }
+
+    /**
+     * 상위 K위 진입에 필요한 점수 (K개가 모이기 전에는 NEGATIVE_INFINITY)
+     */
+    public double threshold() {
+        return threshold;
+    }
+
+    /**
+     * 평가 완료된 점수 등록
+     */
+    public void offer(double score) {
+        if (score <= threshold) {
+            return;
+        }
+        synchronized (topScores) {
+            if (topScores.size() < topK) {
+                topScores.add(score);
+            } else if (score > topScores.peek()) {
+                topScores.poll();
+                topScores.add(score);
+            } else {
+                return;
+            }
+            if (topScores.size() == topK) {
+                threshold = topScores.peek();
+            }
+        }
+    }
+}
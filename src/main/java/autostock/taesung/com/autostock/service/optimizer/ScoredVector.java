@@ -0,0 +1,11 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+/**
+ * 평가 점수가 붙은 조합 (엔진 내부용)
+ */
+record ScoredVector(ParameterVector params, double score) {
+
+    boolean isValid() {
+        return score != Double.NEGATIVE_INFINITY;
+    }
+}
@@ -0,0 +1,35 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 최적화 탐색 엔진
+ * - 구현체는 Spring 빈으로 등록되고 StrategyOptimizerService가 SearchEngineType으로 선택
+ * - 시뮬레이션/점수 계산은 ParameterEvaluator에 위임 (엔진은 어떤 조합을 평가할지만 결정)
+ */
+public interface SearchEngine {
+
+    SearchEngineType getType();
+
+    /**
+     * 예상 평가 횟수 (진행률 표시용, 정확하지 않아도 됨)
+     */
+    long estimateEvaluations();
+
+    /**
+     * 최적 조합 탐색
+     * @param evaluator 조합 평가 함수
+     * @param pool 병렬 평가에 사용할 풀
+     * @return 최고 점수 조합, 유효한 조합이 없으면 null
+     */
+    ParameterVector search(ParameterEvaluator evaluator, ForkJoinPool pool) throws Exception;
+
+    /**
+     * 체크포인트를 남기며 탐색 (청크 단위로 이어서 탐색할 수 있는 엔진만 재정의)
+     * - 기본 구현은 체크포인트 없이 처음부터 탐색
+     */
+    default ParameterVector search(ParameterEvaluator evaluator, ForkJoinPool pool,
+                                   CheckpointStore checkpoints) throws Exception {
+        return search(evaluator, pool);
+    }
+}
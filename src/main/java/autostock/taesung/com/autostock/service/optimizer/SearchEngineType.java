@@ -0,0 +1,24 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+/**
+ * 최적화 탐색 엔진 종류
+ */
+public enum SearchEngineType {
+    GRID,                // 2단계 그리드 전수 탐색 (기존 방식)
+    SUCCESSIVE_HALVING,  // 전체 파라미터 랜덤 샘플링 + 연속 절반 탈락 + 좌표 하강 보정
+    COORDINATE_DESCENT;  // 기본값에서 시작하는 좌표 하강
+
+    /**
+     * 문자열 → 엔진 (대소문자/하이픈 무시, 비어 있으면 null)
+     */
+    public static SearchEngineType from(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원하지 않는 탐색 엔진: " + value);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+/**
+ * 최적화 탐색 공간 정의
+ * - exhaustive(): 기존 2단계 그리드 (GRID 엔진)
+ * - joint(): 모든 파라미터를 동시에 탐색하는 전체 후보 공간 (랜덤/좌표 하강 엔진)
+ * - defaults(): 기본 파라미터 (좌표 하강 시작점)
+ */
+public final class SearchSpaces {
+
+    private SearchSpaces() {
+    }
+
+    /**
+     * 2단계 그리드
+     * - 1단계: 기본 파라미터 (5x5x5x5x5x4x5x5 = 312,500개), ATR/FB/급등차단은 대표값 고정
+     * - 2단계: 기본값 고정, ATR/Fast Breakout/급등 차단 세부 조합 (3^8 = 6,561개)
+     */
+    public static ParameterSpace exhaustive() {
+        ParameterGrid baseGrid = ParameterGrid.builder()
+                // ===== 기본 볼린저밴드 =====
+                .axis(OptimizerParam.BOLLINGER_PERIOD, 15, 18, 20, 22, 25)
+                .axis(OptimizerParam.BOLLINGER_MULTIPLIER, 1.7, 1.8, 2.0, 2.2, 2.3)
+                // ===== RSI =====
+                .axis(OptimizerParam.RSI_PERIOD, 10, 12, 14, 16, 18)
+                .axis(OptimizerParam.RSI_BUY_THRESHOLD, 25, 28, 30, 33, 35)
+                .axis(OptimizerParam.RSI_SELL_THRESHOLD, 65, 68, 70, 73, 75)
+                // ===== 거래량 =====
+                .axis(OptimizerParam.VOLUME_RATE, 80, 100, 120, 140)
+                // ===== 손절/익절 기본 =====
+                .axis(OptimizerParam.STOP_LOSS_RATE, -1.5, -2.0, -2.5, -3.0, -3.5)
+                .axis(OptimizerParam.TAKE_PROFIT_RATE, 1.5, 2.0, 2.5, 3.0, 4.0)
+                // ATR 기반 파라미터 (대표값 사용 - 조합 수 제한)
+                .fixed(OptimizerParam.STOP_LOSS_ATR_MULT, 2.0)
+                .fixed(OptimizerParam.TAKE_PROFIT_ATR_MULT, 2.5)
+                .fixed(OptimizerParam.TRAILING_STOP_ATR_MULT, 1.5)
+                // Fast Breakout 파라미터 (대표값)
+                .fixed(OptimizerParam.FAST_BREAKOUT_UPPER_MULT, 1.002)
+                .fixed(OptimizerParam.FAST_BREAKOUT_VOLUME_MULT, 2.5)
+                .fixed(OptimizerParam.FAST_BREAKOUT_RSI_MIN, 55.0)
+                // 급등 차단/추격 방지 (대표값)
+                .fixed(OptimizerParam.HIGH_VOLUME_THRESHOLD, 2.0)
+                .fixed(OptimizerParam.CHASE_PREVENTION_RATE, 0.035)
+                .fixed(OptimizerParam.BAND_WIDTH_MIN_PERCENT, 0.8)
+                .build();
+
+        ParameterGrid detailGrid = ParameterGrid.builder()
+                // 기본값 고정
+                .fixed(OptimizerParam.BOLLINGER_PERIOD, 20)
+                .fixed(OptimizerParam.BOLLINGER_MULTIPLIER, 2.0)
+                .fixed(OptimizerParam.RSI_PERIOD, 14)
+                .fixed(OptimizerParam.RSI_BUY_THRESHOLD, 30.0)
+                .fixed(OptimizerParam.RSI_SELL_THRESHOLD, 70.0)
+                .fixed(OptimizerParam.VOLUME_RATE, 120.0)
+                .fixed(OptimizerParam.STOP_LOSS_RATE, -2.5)
+                .fixed(OptimizerParam.TAKE_PROFIT_RATE, 2.0)
+                // ===== ATR 기반 =====
+                .axis(OptimizerParam.STOP_LOSS_ATR_MULT, 1.5, 2.0, 2.5)
+                .axis(OptimizerParam.TAKE_PROFIT_ATR_MULT, 2.0, 2.5, 3.0)
+                .axis(OptimizerParam.TRAILING_STOP_ATR_MULT, 1.0, 1.5, 2.0)
+                // ===== Fast Breakout =====
+                .axis(OptimizerParam.FAST_BREAKOUT_UPPER_MULT, 1.001, 1.002, 1.003)
+                .axis(OptimizerParam.FAST_BREAKOUT_VOLUME_MULT, 2.0, 2.5, 3.0)
+                .axis(OptimizerParam.FAST_BREAKOUT_RSI_MIN, 50, 55, 60)
+                // ===== 급등 차단/추격 방지 =====
+                .axis(OptimizerParam.HIGH_VOLUME_THRESHOLD, 1.5, 2.0, 2.5)
+                .axis(OptimizerParam.CHASE_PREVENTION_RATE, 0.025, 0.035, 0.045)
+                .fixed(OptimizerParam.BAND_WIDTH_MIN_PERCENT, 0.8)
+                .build();
+
+        return ParameterSpace.of(baseGrid, detailGrid);
+    }
+
+    /**
+     * 전체 파라미터 동시 탐색 공간 (약 61억 조합 - 전수 탐색 불가, 샘플링 전용)
+     * - 2단계 그리드에서 대표값으로 고정했던 ATR/FB/급등차단 파라미터와 밴드폭 하한도 함께 탐색
+     */
+    public static ParameterGrid joint() {
+        return ParameterGrid.builder()
+                .axis(OptimizerParam.BOLLINGER_PERIOD, 15, 18, 20, 22, 25)
+                .axis(OptimizerParam.BOLLINGER_MULTIPLIER, 1.7, 1.8, 2.0, 2.2, 2.3)
+                .axis(OptimizerParam.RSI_PERIOD, 10, 12, 14, 16, 18)
+                .axis(OptimizerParam.RSI_BUY_THRESHOLD, 25, 28, 30, 33, 35)
+                .axis(OptimizerParam.RSI_SELL_THRESHOLD, 65, 68, 70, 73, 75)
+                .axis(OptimizerParam.VOLUME_RATE, 80, 100, 120, 140)
+                .axis(OptimizerParam.STOP_LOSS_RATE, -1.5, -2.0, -2.5, -3.0, -3.5)
+                .axis(OptimizerParam.TAKE_PROFIT_RATE, 1.5, 2.0, 2.5, 3.0, 4.0)
+                .axis(OptimizerParam.STOP_LOSS_ATR_MULT, 1.5, 2.0, 2.5)
+                .axis(OptimizerParam.TAKE_PROFIT_ATR_MULT, 2.0, 2.5, 3.0)
+                .axis(OptimizerParam.TRAILING_STOP_ATR_MULT, 1.0, 1.5, 2.0)
+                .axis(OptimizerParam.FAST_BREAKOUT_UPPER_MULT, 1.001, 1.002, 1.003)
+                .axis(OptimizerParam.FAST_BREAKOUT_VOLUME_MULT, 2.0, 2.5, 3.0)
+                .axis(OptimizerParam.FAST_BREAKOUT_RSI_MIN, 50, 55, 60)
+                .axis(OptimizerParam.HIGH_VOLUME_THRESHOLD, 1.5, 2.0, 2.5)
+                .axis(OptimizerParam.CHASE_PREVENTION_RATE, 0.025, 0.035, 0.045)
+                .axis(OptimizerParam.BAND_WIDTH_MIN_PERCENT, 0.6, 0.8, 1.0)
+                .build();
+    }
+
+    /**
+     * 기본 파라미터 (getDefaultParams와 동일)
+     */
+    public static ParameterVector defaults() {
+        double[] values = new double[OptimizerParam.COUNT];
+        values[OptimizerParam.BOLLINGER_PERIOD.ordinal()] = 20;
+        values[OptimizerParam.BOLLINGER_MULTIPLIER.ordinal()] = 2.0;
+        values[OptimizerParam.RSI_PERIOD.ordinal()] = 14;
+        values[OptimizerParam.RSI_BUY_THRESHOLD.ordinal()] = 30;
+        values[OptimizerParam.RSI_SELL_THRESHOLD.ordinal()] = 70;
+        values[OptimizerParam.VOLUME_RATE.ordinal()] = 120;
+        values[OptimizerParam.STOP_LOSS_RATE.ordinal()] = -2.5;
+        values[OptimizerParam.TAKE_PROFIT_RATE.ordinal()] = 2.0;
+        values[OptimizerParam.STOP_LOSS_ATR_MULT.ordinal()] = 2.0;
+        values[OptimizerParam.TAKE_PROFIT_ATR_MULT.ordinal()] = 2.5;
+        values[OptimizerParam.TRAILING_STOP_ATR_MULT.ordinal()] = 1.5;
+        values[OptimizerParam.FAST_BREAKOUT_UPPER_MULT.ordinal()] = 1.002;
+        values[OptimizerParam.FAST_BREAKOUT_VOLUME_MULT.ordinal()] = 2.5;
+        values[OptimizerParam.FAST_BREAKOUT_RSI_MIN.ordinal()] = 55.0;
+        values[OptimizerParam.HIGH_VOLUME_THRESHOLD.ordinal()] = 2.0;
+        values[OptimizerParam.CHASE_PREVENTION_RATE.ordinal()] = 0.035;
+        values[OptimizerParam.BAND_WIDTH_MIN_PERCENT.ordinal()] = 0.8;
+        return new ParameterVector(values);
+    }
+}
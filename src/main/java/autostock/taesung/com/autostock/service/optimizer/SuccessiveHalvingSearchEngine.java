@@ -0,0 +1,128 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 랜덤 탐색 + 연속 절반 탈락 (Successive Halving)
+ * - 전체 파라미터 공간(SearchSpaces.joint)에서 무작위 조합을 샘플링
+ * - 적은 데이터(일부 마켓)로 먼저 평가하고 상위 1/eta만 더 많은 데이터로 재평가
+ * - 전체 데이터 단계의 1위를 좌표 하강으로 보정
+ *
+ * 그리드에서 대표값으로 고정하던 ATR/FB/급등차단 파라미터까지 같은 시간 안에 함께 탐색
+ */
+@Slf4j
+@Component
+public class SuccessiveHalvingSearchEngine implements SearchEngine {
+
+    private final ParameterGrid grid = SearchSpaces.joint();
+    private final CoordinateDescentSearchEngine refiner;
+    private final int samples;
+    private final int eta;
+    private final double minFidelity;
+    private final long seed;
+
+    public SuccessiveHalvingSearchEngine(
+            CoordinateDescentSearchEngine refiner,
+            @Value("${optimizer.halving.samples:4096}") int samples,
+            @Value("${optimizer.halving.eta:3}") int eta,
+            @Value("${optimizer.halving.min-fidelity:0.1}") double minFidelity,
+            @Value("${optimizer.halving.seed:42}") long seed) {
+        this.refiner = refiner;
+        this.samples = Math.max(1, samples);
+        this.eta = Math.max(2, eta);
+        this.minFidelity = Math.min(1.0, Math.max(0.01, minFidelity));
+        this.seed = seed;
+    }
+
+    @Override
+    public SearchEngineType getType() {
+        return SearchEngineType.SUCCESSIVE_HALVING;
+    }
+
+    @Override
+    public long estimateEvaluations() {
+        long total = 0;
+        int candidates = samples;
+        double fidelity = minFidelity;
+        while (true) {
+            total += candidates;
+            if (fidelity >= 1.0) break;
+            candidates = nextRungSize(candidates);
+            fidelity = Math.min(1.0, fidelity * eta);
+        }
+        return total + refiner.estimateRefinement();
+    }
+
+    @Override
+    public ParameterVector search(ParameterEvaluator evaluator, ForkJoinPool pool) throws Exception {
+        List<ParameterVector> candidates = sample();
+        double fidelity = minFidelity;
+        int rung = 1;
+        ScoredVector best = null;
+
+        while (!candidates.isEmpty()) {
+            final double rungFidelity = fidelity;
+            final List<ParameterVector> rungCandidates = candidates;
+
+            List<ScoredVector> ranked = pool.submit(() ->
+                    rungCandidates.parallelStream()
+                            .map(params -> new ScoredVector(params, evaluator.evaluate(params, rungFidelity)))
+                            .filter(ScoredVector::isValid)
+                            .sorted(Comparator.comparingDouble(ScoredVector::score).reversed())
+                            .toList()
+            ).get();
+
+            log.info("[연속 절반] {}단계: 후보 {}개, 데이터 {}%, 유효 {}개",
+                    rung, rungCandidates.size(), Math.round(rungFidelity * 100), ranked.size());
+
+            if (ranked.isEmpty()) {
+                return null;
+            }
+            if (rungFidelity >= 1.0) {
+                best = ranked.get(0);
+                break;
+            }
+
+            int keep = Math.min(ranked.size(), nextRungSize(rungCandidates.size()));
+            candidates = new ArrayList<>(keep);
+            for (int i = 0; i < keep; i++) {
+                candidates.add(ranked.get(i).params());
+            }
+            fidelity = Math.min(1.0, fidelity * eta);
+            rung++;
+        }
+
+        if (best == null) {
+            return null;
+        }
+        return refiner.refine(evaluator, pool, best.params(), best.score());
+    }
+
+    /**
+     * 중복 없는 무작위 조합 (고정 시드 - 같은 설정이면 같은 후보)
+     */
+    private List<ParameterVector> sample() {
+        Random random = new Random(seed);
+        int target = (int) Math.min(samples, grid.size());
+        Set<ParameterVector> unique = new LinkedHashSet<>();
+        int attempts = 0;
+        while (unique.size() < target && attempts++ < target * 10) {
+            unique.add(grid.randomVector(random));
+        }
+        return new ArrayList<>(unique);
+    }
+
+    private int nextRungSize(int current) {
+        return Math.max(1, (int) Math.ceil((double) current / eta));
+    }
+}
@@ -1,13 +1,25 @@
 package autostock.taesung.com.autostock.strategy;
 
 import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+import autostock.taesung.com.autostock.strategy.indicator.IncrementalIndicatorEngine;
+import autostock.taesung.com.autostock.strategy.series.CandleSeries;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 
+/**
+ * 기술적 지표 계산
+ * - 마켓/단위별 증분 엔진(IncrementalIndicatorEngine)을 우선 사용하고,
+ *   증분 계산이 불가능한 경우(마켓 정보 없음, 데이터 부족 등)에만 전체 재계산
+ * - CandleSeries 오버로드: 시간순 컬럼 시리즈의 index 시점 기준 계산 (List 버전과 동일한 결과)
+ */
 @Component
+@RequiredArgsConstructor
 public class TechnicalIndicator {
 
+    private final IncrementalIndicatorEngine incrementalEngine;
+
     /**
      * 단순 이동평균선 (SMA) 계산
      * @param candles 캔들 데이터 (최신순)
@@ -19,6 +31,11 @@ public class TechnicalIndicator {
             throw new IllegalArgumentException("캔들 데이터가 부족합니다.");
         }
 
+        double incremental = incrementalEngine.sma(candles, period);
+        if (!Double.isNaN(incremental)) {
+            return incremental;
+        }
+
         double sum = 0;
         for (int i = 0; i < period; i++) {
             sum += candles.get(i).getTradePrice().doubleValue();
@@ -37,6 +54,11 @@ public class TechnicalIndicator {
             throw new IllegalArgumentException("캔들 데이터가 부족합니다.");
         }
 
+        double incremental = incrementalEngine.ema(candles, period);
+        if (!Double.isNaN(incremental)) {
+            return incremental;
+        }
+
         double multiplier = 2.0 / (period + 1);
 
         // 초기 EMA는 SMA로 계산
@@ -67,6 +89,11 @@ public class TechnicalIndicator {
             throw new IllegalArgumentException("캔들 데이터가 부족합니다.");
         }
 
+        double incremental = incrementalEngine.rsi(candles, period);
+        if (!Double.isNaN(incremental)) {
+            return incremental;
+        }
+
         double gains = 0;
         double losses = 0;
 
@@ -107,12 +134,15 @@ public class TechnicalIndicator {
         double sma = calculateSMA(candles, period);
 
         // 표준편차 계산
-        double sumSquaredDiff = 0;
-        for (int i = 0; i < period; i++) {
-            double diff = candles.get(i).getTradePrice().doubleValue() - sma;
-            sumSquaredDiff += diff * diff;
+        double stdDev = incrementalEngine.stdDev(candles, period);
+        if (Double.isNaN(stdDev)) {
+            double sumSquaredDiff = 0;
+            for (int i = 0; i < period; i++) {
+                double diff = candles.get(i).getTradePrice().doubleValue() - sma;
+                sumSquaredDiff += diff * diff;
+            }
+            stdDev = Math.sqrt(sumSquaredDiff / period);
         }
-        double stdDev = Math.sqrt(sumSquaredDiff / period);
 
         double upperBand = sma + (stdDevMultiplier * stdDev);
         double lowerBand = sma - (stdDevMultiplier * stdDev);
@@ -149,10 +179,134 @@ public class TechnicalIndicator {
             throw new IllegalArgumentException("캔들 데이터가 부족합니다.");
         }
 
+        double incremental = incrementalEngine.volumeMa(candles, period);
+        if (!Double.isNaN(incremental)) {
+            return incremental;
+        }
+
         double sum = 0;
         for (int i = 0; i < period; i++) {
             sum += candles.get(i).getCandleAccTradeVolume().doubleValue();
         }
         return sum / period;
     }
+
+    // ==================== CandleSeries 오버로드 ====================
+    // index = 현재 시점 (시간순 시리즈 위치), List 버전의 candles.get(i) == series.xxx(index - i)
+
+    /**
+     * 단순 이동평균선 (SMA) 계산
+     * @param series 캔들 시리즈 (시간순)
+     * @param index 현재 시점
+     * @param period 기간
+     */
+    public double calculateSMA(CandleSeries series, int index, int period) {
+        if (index + 1 < period) {
+            throw new IllegalArgumentException("캔들 데이터가 부족합니다.");
+        }
+
+        double sum = 0;
+        for (int i = 0; i < period; i++) {
+            sum += series.close(index - i);
+        }
+        return sum / period;
+    }
+
+    /**
+     * 지수 이동평균선 (EMA) 계산
+     */
+    public double calculateEMA(CandleSeries series, int index, int period) {
+        if (index + 1 < period) {
+            throw new IllegalArgumentException("캔들 데이터가 부족합니다.");
+        }
+
+        double multiplier = 2.0 / (period + 1);
+
+        // 초기 EMA는 가장 오래된 구간의 SMA
+        double sum = 0;
+        for (int j = period - 1; j <= index && j < 2 * period - 1; j++) {
+            sum += series.close(index - j);
+        }
+        double ema = sum / period;
+        for (int i = period - 2; i >= 0; i--) {
+            ema = (series.close(index - i) - ema) * multiplier + ema;
+        }
+        return ema;
+    }
+
+    /**
+     * RSI (Relative Strength Index) 계산
+     */
+    public double calculateRSI(CandleSeries series, int index, int period) {
+        if (index < period) {
+            throw new IllegalArgumentException("캔들 데이터가 부족합니다.");
+        }
+
+        double gains = 0;
+        double losses = 0;
+        for (int i = 0; i < period; i++) {
+            double change = series.close(index - i) - series.close(index - i - 1);
+            if (change > 0) {
+                gains += change;
+            } else {
+                losses += Math.abs(change);
+            }
+        }
+
+        double avgGain = gains / period;
+        double avgLoss = losses / period;
+
+        if (avgLoss == 0) {
+            return 100;
+        }
+
+        double rs = avgGain / avgLoss;
+        return 100 - (100 / (1 + rs));
+    }
+
+    /**
+     * 볼린저 밴드 계산
+     * @return [중간밴드, 상단밴드, 하단밴드]
+     */
+    public double[] calculateBollingerBands(CandleSeries series, int index, int period, double stdDevMultiplier) {
+        double sma = calculateSMA(series, index, period);
+
+        double sumSquaredDiff = 0;
+        for (int i = 0; i < period; i++) {
+            double diff = series.close(index - i) - sma;
+            sumSquaredDiff += diff * diff;
+        }
+        double stdDev = Math.sqrt(sumSquaredDiff / period);
+
+        return new double[]{sma, sma + (stdDevMultiplier * stdDev), sma - (stdDevMultiplier * stdDev)};
+    }
+
+    /**
+     * MACD 계산
+     * @return [MACD선, 시그널선, 히스토그램]
+     */
+    public double[] calculateMACD(CandleSeries series, int index) {
+        if (index + 1 < 26) {
+            throw new IllegalArgumentException("캔들 데이터가 부족합니다.");
+        }
+
+        double macd = calculateEMA(series, index, 12) - calculateEMA(series, index, 26);
+        double signal = macd * 0.2; // 근사값
+        return new double[]{macd, signal, macd - signal};
+    }
+
+    /**
+     * 거래량 이동평균 계산
+     */
+    public double calculateVolumeMA(CandleSeries series, int index, int period) {
+        if (index + 1 < period) {
+            throw new IllegalArgumentException("캔들 데이터가 부족합니다.");
+        }
+
+        double sum = 0;
+        for (int i = 0; i < period; i++) {
+            sum += series.volume(index - i);
+        }
+        return sum / period;
+    }
 }
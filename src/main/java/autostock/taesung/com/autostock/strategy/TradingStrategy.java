@@ -4,6 +4,7 @@ import autostock.taesung.com.autostock.backtest.context.BacktestContext;
 import autostock.taesung.com.autostock.backtest.dto.BacktestPosition;
 import autostock.taesung.com.autostock.backtest.dto.ExitReason;
 import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+import autostock.taesung.com.autostock.strategy.series.CandleSeries;
 
 import java.util.List;
 
@@ -88,6 +89,25 @@ public interface TradingStrategy {
         return analyze(market, candles);
     }
 
+    /**
+     * 컬럼형 시리즈 기반 백테스트 분석
+     * - 기본 구현: index 시점까지의 최신순 뷰로 기존 analyzeForBacktest 호출
+     * - primitive 접근이 필요한 전략은 오버라이드하여 series.close(i) 등을 직접 사용
+     *
+     * @param series 캔들 시리즈 (시간순)
+     * @param index 현재 시점
+     */
+    default int analyzeForBacktest(String market, CandleSeries series, int index, BacktestPosition position) {
+        return analyzeForBacktest(market, series.window(index), position);
+    }
+
+    /**
+     * 컬럼형 시리즈 기반 분석 (기본 구현: 최신순 뷰로 위임)
+     */
+    default int analyze(String market, CandleSeries series, int index) {
+        return analyze(market, series.window(index));
+    }
+
     /**
      * 백테스트용 목표가 반환
      */
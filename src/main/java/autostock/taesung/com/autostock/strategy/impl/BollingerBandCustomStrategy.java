@@ -3,14 +3,13 @@ package autostock.taesung.com.autostock.strategy.impl;
 import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
 import autostock.taesung.com.autostock.strategy.TechnicalIndicator;
 import autostock.taesung.com.autostock.strategy.TradingStrategy;
+import autostock.taesung.com.autostock.strategy.session.SessionState;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 볼린저 밴드 급등 전략
@@ -37,7 +36,7 @@ public class BollingerBandCustomStrategy implements TradingStrategy {
     private static final double MIN_TRADE_VOLUME_KRW = 500_000_000;  // 5억원 이상
 
     // 마켓별 포지션 상태 관리
-    private final Map<String, PositionState> positionByMarket = new ConcurrentHashMap<>();
+    private final SessionState<PositionState> positionByMarket = new SessionState<>(BollingerBandCustomStrategy.class, PositionState::new);
 
     /**
      * 포지션 상태
@@ -80,7 +79,7 @@ public class BollingerBandCustomStrategy implements TradingStrategy {
             String priceFormat = currentPrice < 100 ? "%.4f" : "%.0f";
 
             // 포지션 상태 가져오기
-            PositionState position = positionByMarket.computeIfAbsent(market, k -> new PositionState());
+            PositionState position = positionByMarket.getOrCreate(market);
 
             // === 포지션이 있으면 청산 조건 체크 ===
             if (position.hasPosition()) {
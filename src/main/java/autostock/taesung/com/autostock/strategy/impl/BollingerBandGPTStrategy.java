@@ -1,13 +1,13 @@
 package autostock.taesung.com.autostock.strategy.impl;
 
 import autostock.taesung.com.autostock.backtest.dto.BacktestPosition;
-import autostock.taesung.com.autostock.entity.TradeHistory;
-import autostock.taesung.com.autostock.exchange.upbit.UpbitApiService;
 import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
 import autostock.taesung.com.autostock.exchange.upbit.dto.Orderbook;
-import autostock.taesung.com.autostock.repository.TradeHistoryRepository;
+import autostock.taesung.com.autostock.exchange.upbit.quotation.UpbitQuotationService;
 import autostock.taesung.com.autostock.strategy.TechnicalIndicator;
 import autostock.taesung.com.autostock.strategy.TradingStrategy;
+import autostock.taesung.com.autostock.strategy.session.PositionState;
+import autostock.taesung.com.autostock.strategy.session.PositionStateStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -49,8 +49,8 @@ public class BollingerBandGPTStrategy implements TradingStrategy {
     private static final double FEE_RATE = 0.0005;
 
     private final TechnicalIndicator indicator;
-    private final TradeHistoryRepository tradeHistoryRepository;
-    private final UpbitApiService upbitApiService;
+    private final PositionStateStore positionStateStore;
+    private final UpbitQuotationService quotationService;
 
     @Override
     public int analyze(List<Candle> candles) {
@@ -59,12 +59,11 @@ public class BollingerBandGPTStrategy implements TradingStrategy {
 
     @Override
     public int analyze(String market, List<Candle> candles) {
-        TradeHistory latest = tradeHistoryRepository.findLatestByMarket(market)
-                .stream().findFirst().orElse(null);
+        PositionState latest = positionStateStore.get(market);
 
-        boolean holding = latest != null && latest.getTradeType() == TradeHistory.TradeType.BUY;
-        double buyPrice = holding ? latest.getPrice().doubleValue() : 0;
-        LocalDateTime buyTime = holding ? latest.getCreatedAt() : null;
+        boolean holding = latest != null && latest.isHolding();
+        double buyPrice = holding ? latest.getPrice() : 0;
+        LocalDateTime buyTime = holding ? latest.getTradedAt() : null;
 
         LocalDateTime candleTime = parseCandleTime(candles.get(0).getCandleDateTimeKst());
         return analyzeCore(market, candles, holding, buyPrice, buyTime, candleTime, false);
@@ -155,7 +154,7 @@ public class BollingerBandGPTStrategy implements TradingStrategy {
 
     private boolean validateOrderbook(String market) {
         try {
-            Orderbook ob = upbitApiService.getOrderbook(market);
+            Orderbook ob = quotationService.getOrderbook(market);
             double spread = (ob.getAskPrice(0) - ob.getBidPrice(0)) / ob.getBidPrice(0);
             return spread <= 0.0025;
         } catch (Exception e) {
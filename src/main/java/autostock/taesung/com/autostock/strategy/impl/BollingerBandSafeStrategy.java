@@ -2,17 +2,17 @@ package autostock.taesung.com.autostock.strategy.impl;
 
 import autostock.taesung.com.autostock.backtest.dto.BacktestPosition;
 import autostock.taesung.com.autostock.backtest.dto.ExitReason;
-import autostock.taesung.com.autostock.entity.TradeHistory;
 import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
-import autostock.taesung.com.autostock.repository.TradeHistoryRepository;
 import autostock.taesung.com.autostock.strategy.TechnicalIndicator;
 import autostock.taesung.com.autostock.strategy.TradingStrategy;
+import autostock.taesung.com.autostock.strategy.session.PositionState;
+import autostock.taesung.com.autostock.strategy.session.PositionStateStore;
 import autostock.taesung.com.autostock.service.StrategyParameterService;
+import autostock.taesung.com.autostock.service.StrategyParameterSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
@@ -45,7 +45,7 @@ public class BollingerBandSafeStrategy implements TradingStrategy {
     private static final double MIN_BREAKOUT_ATR = 0.8;
 
     private final TechnicalIndicator indicator;
-    private final TradeHistoryRepository tradeHistoryRepository;
+    private final PositionStateStore positionStateStore;
     private final StrategyParameterService strategyParameterService;
 
     private final ThreadLocal<Double> targetPrice = new ThreadLocal<>();
@@ -67,26 +67,24 @@ public class BollingerBandSafeStrategy implements TradingStrategy {
 
     @Override
     public int analyze(String market, List<Candle> candles) {
-        TradeHistory latest = tradeHistoryRepository.findLatestByMarket(market)
-                .stream().findFirst().orElse(null);
+        PositionState latest = positionStateStore.get(market);
 
-        boolean holding = latest != null && latest.getTradeType() == TradeHistory.TradeType.BUY;
-        double buyPrice = holding ? latest.getPrice().doubleValue() : 0;
+        boolean holding = latest != null && latest.isHolding();
+        double buyPrice = holding ? latest.getPrice() : 0;
         double currentPrice = candles.isEmpty() ? 0 : candles.get(0).getTradePrice().doubleValue();
         
         double highestPrice = buyPrice;
         LocalDateTime buyCreatedAt = LocalDateTime.now();
-        boolean isSell = latest != null && latest.getTradeType() == TradeHistory.TradeType.SELL;
-        LocalDateTime lastTradeAt = latest != null ? latest.getCreatedAt() : LocalDateTime.now();
+        boolean isSell = latest != null && latest.isSold();
+        LocalDateTime lastTradeAt = latest != null ? latest.getTradedAt() : LocalDateTime.now();
 
         if (holding) {
-            highestPrice = latest.getHighestPrice() == null ? currentPrice : latest.getHighestPrice().doubleValue();
+            highestPrice = latest.getHighestPrice() == null ? currentPrice : latest.getHighestPrice();
             if (currentPrice > highestPrice) {
-                latest.setHighestPrice(BigDecimal.valueOf(currentPrice));
-                tradeHistoryRepository.save(latest);
+                positionStateStore.updateHighestPrice(market, currentPrice);
                 highestPrice = currentPrice;
             }
-            buyCreatedAt = latest.getCreatedAt();
+            buyCreatedAt = latest.getTradedAt();
         }
 
         return analyzeLogic(market, candles, holding, buyPrice, highestPrice, buyCreatedAt, isSell, lastTradeAt);
@@ -107,14 +105,15 @@ public class BollingerBandSafeStrategy implements TradingStrategy {
         
         if (candles.size() < 30) return 0;
 
-        int period = strategyParameterService.getIntParam(getStrategyName(), null, "bollinger.period", PERIOD);
-        double multiplier = strategyParameterService.getDoubleParam(getStrategyName(), null, "bollinger.multiplier", STD_DEV_MULTIPLIER);
-        double stopLossRate = strategyParameterService.getDoubleParam(getStrategyName(), null, "stopLoss.rate", -2.5);
-        double takeProfitRate = strategyParameterService.getDoubleParam(getStrategyName(), null, "takeProfit.rate", 2.0);
-        double volumeThreshold = strategyParameterService.getDoubleParam(getStrategyName(), null, "volume.threshold", 120.0);
-        double rsiOversold = strategyParameterService.getDoubleParam(getStrategyName(), null, "rsi.oversold", 30.0);
-        double rsiOverbought = strategyParameterService.getDoubleParam(getStrategyName(), null, "rsi.overbought", 70.0);
-        int rsiPeriod = strategyParameterService.getIntParam(getStrategyName(), null, "rsi.period", 14);
+        StrategyParameterSnapshot params = strategyParameterService.getSnapshot(getStrategyName(), null);
+        int period = params.getInt("bollinger.period", PERIOD);
+        double multiplier = params.getDouble("bollinger.multiplier", STD_DEV_MULTIPLIER);
+        double stopLossRate = params.getDouble("stopLoss.rate", -2.5);
+        double takeProfitRate = params.getDouble("takeProfit.rate", 2.0);
+        double volumeThreshold = params.getDouble("volume.threshold", 120.0);
+        double rsiOversold = params.getDouble("rsi.oversold", 30.0);
+        double rsiOverbought = params.getDouble("rsi.overbought", 70.0);
+        int rsiPeriod = params.getInt("rsi.period", 14);
 
         double[] bands = indicator.calculateBollingerBands(candles, period, multiplier);
         double middleBand = bands[0];
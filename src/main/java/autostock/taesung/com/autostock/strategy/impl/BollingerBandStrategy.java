@@ -1,19 +1,19 @@
 package autostock.taesung.com.autostock.strategy.impl;
 
 import autostock.taesung.com.autostock.backtest.dto.BacktestPosition;
-import autostock.taesung.com.autostock.entity.TradeHistory;
-import autostock.taesung.com.autostock.exchange.upbit.UpbitApiService;
 import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
 import autostock.taesung.com.autostock.exchange.upbit.dto.Orderbook;
-import autostock.taesung.com.autostock.repository.TradeHistoryRepository;
+import autostock.taesung.com.autostock.exchange.upbit.quotation.UpbitQuotationService;
 import autostock.taesung.com.autostock.strategy.TechnicalIndicator;
 import autostock.taesung.com.autostock.strategy.TradingStrategy;
+import autostock.taesung.com.autostock.strategy.session.PositionState;
+import autostock.taesung.com.autostock.strategy.session.PositionStateStore;
 import autostock.taesung.com.autostock.service.StrategyParameterService;
+import autostock.taesung.com.autostock.service.StrategyParameterSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
@@ -66,9 +66,9 @@ public class BollingerBandStrategy implements TradingStrategy {
      * [2] 의존성 주입 (@RequiredArgsConstructor)
      * ===================================================== */
     private final TechnicalIndicator indicator;
-    private final TradeHistoryRepository tradeHistoryRepository;
+    private final PositionStateStore positionStateStore;
     private final StrategyParameterService strategyParameterService;
-    private final UpbitApiService upbitApiService;
+    private final UpbitQuotationService quotationService;
 
     private final ThreadLocal<Double> targetPrice = new ThreadLocal<>();
 
@@ -89,26 +89,24 @@ public class BollingerBandStrategy implements TradingStrategy {
 
     @Override
     public int analyze(String market, List<Candle> candles) {
-        TradeHistory latest = tradeHistoryRepository.findLatestByMarket(market)
-                .stream().findFirst().orElse(null);
+        PositionState latest = positionStateStore.get(market);
 
-        boolean holding = latest != null && latest.getTradeType() == TradeHistory.TradeType.BUY;
-        double buyPrice = holding ? latest.getPrice().doubleValue() : 0;
+        boolean holding = latest != null && latest.isHolding();
+        double buyPrice = holding ? latest.getPrice() : 0;
         double currentPrice = candles.isEmpty() ? 0 : candles.get(0).getTradePrice().doubleValue();
 
         double highestPrice = buyPrice;
         LocalDateTime buyCreatedAt = LocalDateTime.now();
-        boolean isSell = latest != null && latest.getTradeType() == TradeHistory.TradeType.SELL;
-        LocalDateTime lastTradeAt = latest != null ? latest.getCreatedAt() : LocalDateTime.now();
+        boolean isSell = latest != null && latest.isSold();
+        LocalDateTime lastTradeAt = latest != null ? latest.getTradedAt() : LocalDateTime.now();
 
         if (holding) {
-            highestPrice = latest.getHighestPrice() == null ? currentPrice : latest.getHighestPrice().doubleValue();
+            highestPrice = latest.getHighestPrice() == null ? currentPrice : latest.getHighestPrice();
             if (currentPrice > highestPrice) {
-                latest.setHighestPrice(BigDecimal.valueOf(currentPrice));
-                tradeHistoryRepository.save(latest);
+                positionStateStore.updateHighestPrice(market, currentPrice);
                 highestPrice = currentPrice;
             }
-            buyCreatedAt = latest.getCreatedAt();
+            buyCreatedAt = latest.getTradedAt();
         }
 
         return analyzeLogic(market, candles, holding, buyPrice, highestPrice, buyCreatedAt, isSell, lastTradeAt, false);
@@ -134,46 +132,48 @@ public class BollingerBandStrategy implements TradingStrategy {
         /* =====================================================
          * 파라미터 서비스에서 동적 로드
          * ===================================================== */
+        StrategyParameterSnapshot params = strategyParameterService.getSnapshot(getStrategyName(), null);
+
         // 기본 볼린저밴드 설정
-        int period = strategyParameterService.getIntParam(getStrategyName(), null, "bollinger.period", DEFAULT_PERIOD);
-        double multiplier = strategyParameterService.getDoubleParam(getStrategyName(), null, "bollinger.multiplier", DEFAULT_STD_DEV_MULTIPLIER);
+        int period = params.getInt("bollinger.period", DEFAULT_PERIOD);
+        double multiplier = params.getDouble("bollinger.multiplier", DEFAULT_STD_DEV_MULTIPLIER);
 
         // RSI 설정
-        int rsiPeriod = strategyParameterService.getIntParam(getStrategyName(), null, "rsi.period", 14);
-        double rsiOversold = strategyParameterService.getDoubleParam(getStrategyName(), null, "rsi.oversold", 30.0);
-        double rsiOverbought = strategyParameterService.getDoubleParam(getStrategyName(), null, "rsi.overbought", 70.0);
+        int rsiPeriod = params.getInt("rsi.period", 14);
+        double rsiOversold = params.getDouble("rsi.oversold", 30.0);
+        double rsiOverbought = params.getDouble("rsi.overbought", 70.0);
 
         // 손절/익절 설정
-        double stopLossRate = strategyParameterService.getDoubleParam(getStrategyName(), null, "stopLoss.rate", -2.5);
-        double takeProfitRate = strategyParameterService.getDoubleParam(getStrategyName(), null, "takeProfit.rate", 2.0);
-        double volumeThreshold = strategyParameterService.getDoubleParam(getStrategyName(), null, "volume.threshold", 120.0);
+        double stopLossRate = params.getDouble("stopLoss.rate", -2.5);
+        double takeProfitRate = params.getDouble("takeProfit.rate", 2.0);
+        double volumeThreshold = params.getDouble("volume.threshold", 120.0);
 
         // 캔들 기반 설정
-        int stopLossCooldownCandles = strategyParameterService.getIntParam(getStrategyName(), null, "stopLoss.cooldownCandles", DEFAULT_STOP_LOSS_COOLDOWN_CANDLES);
-        int minHoldCandles = strategyParameterService.getIntParam(getStrategyName(), null, "minHold.candles", DEFAULT_MIN_HOLD_CANDLES);
+        int stopLossCooldownCandles = params.getInt("stopLoss.cooldownCandles", DEFAULT_STOP_LOSS_COOLDOWN_CANDLES);
+        int minHoldCandles = params.getInt("minHold.candles", DEFAULT_MIN_HOLD_CANDLES);
 
         // ATR 기반 손익 설정
-        double stopLossAtrMult = strategyParameterService.getDoubleParam(getStrategyName(), null, "stopLoss.atrMult", DEFAULT_STOP_LOSS_ATR_MULT);
-        double takeProfitAtrMult = strategyParameterService.getDoubleParam(getStrategyName(), null, "takeProfit.atrMult", DEFAULT_TAKE_PROFIT_ATR_MULT);
-        double trailingStopAtrMult = strategyParameterService.getDoubleParam(getStrategyName(), null, "trailingStop.atrMult", DEFAULT_TRAILING_STOP_ATR_MULT);
-        double maxStopLossRate = strategyParameterService.getDoubleParam(getStrategyName(), null, "maxStopLoss.rate", DEFAULT_MAX_STOP_LOSS_RATE);
+        double stopLossAtrMult = params.getDouble("stopLoss.atrMult", DEFAULT_STOP_LOSS_ATR_MULT);
+        double takeProfitAtrMult = params.getDouble("takeProfit.atrMult", DEFAULT_TAKE_PROFIT_ATR_MULT);
+        double trailingStopAtrMult = params.getDouble("trailingStop.atrMult", DEFAULT_TRAILING_STOP_ATR_MULT);
+        double maxStopLossRate = params.getDouble("maxStopLoss.rate", DEFAULT_MAX_STOP_LOSS_RATE);
 
         // 슬리피지 및 수수료
-        double totalCost = strategyParameterService.getDoubleParam(getStrategyName(), null, "total.cost", DEFAULT_TOTAL_COST);
-        double minProfitRate = strategyParameterService.getDoubleParam(getStrategyName(), null, "minProfit.rate", DEFAULT_MIN_PROFIT_RATE);
+        double totalCost = params.getDouble("total.cost", DEFAULT_TOTAL_COST);
+        double minProfitRate = params.getDouble("minProfit.rate", DEFAULT_MIN_PROFIT_RATE);
 
         // Fast Breakout 설정
-        double fastBreakoutUpperMult = strategyParameterService.getDoubleParam(getStrategyName(), null, "fastBreakout.upperMult", DEFAULT_FAST_BREAKOUT_UPPER_MULT);
-        double fastBreakoutVolumeMult = strategyParameterService.getDoubleParam(getStrategyName(), null, "fastBreakout.volumeMult", DEFAULT_FAST_BREAKOUT_VOLUME_MULT);
-        double fastBreakoutRsiMin = strategyParameterService.getDoubleParam(getStrategyName(), null, "fastBreakout.rsiMin", DEFAULT_FAST_BREAKOUT_RSI_MIN);
+        double fastBreakoutUpperMult = params.getDouble("fastBreakout.upperMult", DEFAULT_FAST_BREAKOUT_UPPER_MULT);
+        double fastBreakoutVolumeMult = params.getDouble("fastBreakout.volumeMult", DEFAULT_FAST_BREAKOUT_VOLUME_MULT);
+        double fastBreakoutRsiMin = params.getDouble("fastBreakout.rsiMin", DEFAULT_FAST_BREAKOUT_RSI_MIN);
 
         // 급등 차단 및 추격 매수 방지
-        double highVolumeThreshold = strategyParameterService.getDoubleParam(getStrategyName(), null, "highVolume.threshold", DEFAULT_HIGH_VOLUME_THRESHOLD);
-        double chasePreventionRate = strategyParameterService.getDoubleParam(getStrategyName(), null, "chasePrevention.rate", DEFAULT_CHASE_PREVENTION_RATE);
+        double highVolumeThreshold = params.getDouble("highVolume.threshold", DEFAULT_HIGH_VOLUME_THRESHOLD);
+        double chasePreventionRate = params.getDouble("chasePrevention.rate", DEFAULT_CHASE_PREVENTION_RATE);
 
         // 밴드폭 및 ATR 필터
-        double bandWidthMinPercent = strategyParameterService.getDoubleParam(getStrategyName(), null, "bandWidth.minPercent", DEFAULT_BAND_WIDTH_MIN_PERCENT);
-        double atrCandleMoveMult = strategyParameterService.getDoubleParam(getStrategyName(), null, "atr.candleMoveMult", DEFAULT_ATR_CANDLE_MOVE_MULT);
+        double bandWidthMinPercent = params.getDouble("bandWidth.minPercent", DEFAULT_BAND_WIDTH_MIN_PERCENT);
+        double atrCandleMoveMult = params.getDouble("atr.candleMoveMult", DEFAULT_ATR_CANDLE_MOVE_MULT);
 
         double[] bands = indicator.calculateBollingerBands(candles, period, multiplier);
         double middleBand = bands[0];
@@ -275,7 +275,7 @@ public class BollingerBandStrategy implements TradingStrategy {
 
         if (isFastBreakout) {
             // Fast Breakout은 호가창 검증만 통과하면 즉시 진입
-            if (!isBacktest && !validateOrderbookForEntry(market, currentPrice)) {
+            if (!isBacktest && !validateOrderbookForEntry(market, currentPrice, params)) {
                 targetPrice.remove();
                 log.debug("[{}] Fast Breakout - 호가창 검증 실패", market);
                 return 0;
@@ -366,7 +366,7 @@ public class BollingerBandStrategy implements TradingStrategy {
          * ===================================================== */
         if (stochEntry || volumeBreakout) {
             // [3] 호가창 최종 검증 (백테스트에서는 스킵)
-            if (!isBacktest && !validateOrderbookForEntry(market, currentPrice)) {
+            if (!isBacktest && !validateOrderbookForEntry(market, currentPrice, params)) {
                 targetPrice.remove();
                 return 0;  // 검증 실패 시 진입 포기
             }
@@ -381,14 +381,14 @@ public class BollingerBandStrategy implements TradingStrategy {
         return 0;
     }
 
-    private boolean validateOrderbookForEntry(String market, double currentPrice) {
+    private boolean validateOrderbookForEntry(String market, double currentPrice, StrategyParameterSnapshot params) {
         try {
             // 호가창 검증 파라미터 로드
-            double maxSpreadRate = strategyParameterService.getDoubleParam(getStrategyName(), null, "orderbook.maxSpreadRate", DEFAULT_MAX_SPREAD_RATE);
-            double minBidImbalance = strategyParameterService.getDoubleParam(getStrategyName(), null, "orderbook.minBidImbalance", DEFAULT_MIN_BID_IMBALANCE);
-            double maxPriceDiffRate = strategyParameterService.getDoubleParam(getStrategyName(), null, "orderbook.maxPriceDiffRate", DEFAULT_MAX_PRICE_DIFF_RATE);
+            double maxSpreadRate = params.getDouble("orderbook.maxSpreadRate", DEFAULT_MAX_SPREAD_RATE);
+            double minBidImbalance = params.getDouble("orderbook.minBidImbalance", DEFAULT_MIN_BID_IMBALANCE);
+            double maxPriceDiffRate = params.getDouble("orderbook.maxPriceDiffRate", DEFAULT_MAX_PRICE_DIFF_RATE);
 
-            Orderbook ob = upbitApiService.getOrderbook(market);
+            Orderbook ob = quotationService.getOrderbook(market);
             if (ob == null) return false;
             double askPrice = ob.getAskPrice(0);
             double bidPrice = ob.getBidPrice(0);
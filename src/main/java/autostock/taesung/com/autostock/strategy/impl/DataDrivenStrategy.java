@@ -2,17 +2,16 @@ package autostock.taesung.com.autostock.strategy.impl;
 
 import autostock.taesung.com.autostock.backtest.dto.BacktestPosition;
 import autostock.taesung.com.autostock.backtest.dto.ExitReason;
-import autostock.taesung.com.autostock.entity.TradeHistory;
 import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
-import autostock.taesung.com.autostock.repository.TradeHistoryRepository;
 import autostock.taesung.com.autostock.service.StrategyOptimizerService;
 import autostock.taesung.com.autostock.strategy.TradingStrategy;
+import autostock.taesung.com.autostock.strategy.session.PositionState;
+import autostock.taesung.com.autostock.strategy.session.PositionStateStore;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -32,7 +31,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class DataDrivenStrategy implements TradingStrategy {
 
     private final StrategyOptimizerService optimizerService;
-    private final TradeHistoryRepository tradeHistoryRepository;
+    private final PositionStateStore positionStateStore;
 
     // 마켓별 최적화된 파라미터 캐시
     private final Map<String, StrategyOptimizerService.OptimizedParams> marketParams = new ConcurrentHashMap<>();
@@ -256,31 +255,28 @@ public class DataDrivenStrategy implements TradingStrategy {
     public int analyze(String market, List<Candle> candles) {
         StrategyOptimizerService.OptimizedParams params = getParams(market);
 
-        // 최근 거래 내역 조회
-        TradeHistory latest = tradeHistoryRepository.findLatestByMarket(market)
-                .stream().findFirst().orElse(null);
+        // 최근 체결 상태 조회
+        PositionState latest = positionStateStore.get(market);
 
-        boolean holding = latest != null &&
-                latest.getTradeType() == TradeHistory.TradeType.BUY;
+        boolean holding = latest != null && latest.isHolding();
         
-        double buyPrice = holding ? latest.getPrice().doubleValue() : 0;
+        double buyPrice = holding ? latest.getPrice() : 0;
         double currentPrice = candles.isEmpty() ? 0 : candles.get(0).getTradePrice().doubleValue();
         double highestPrice = buyPrice;
         LocalDateTime buyCreatedAt = LocalDateTime.now();
 
         if (holding) {
-            highestPrice = latest.getHighestPrice() == null ? currentPrice : latest.getHighestPrice().doubleValue();
+            highestPrice = latest.getHighestPrice() == null ? currentPrice : latest.getHighestPrice();
             if (currentPrice > highestPrice) {
-                latest.setHighestPrice(BigDecimal.valueOf(currentPrice));
-                tradeHistoryRepository.save(latest);
+                positionStateStore.updateHighestPrice(market, currentPrice);
                 highestPrice = currentPrice;
             }
-            buyCreatedAt = latest.getCreatedAt();
+            buyCreatedAt = latest.getTradedAt();
         }
 
         return analyzeLogic(market, candles, params, holding, buyPrice, highestPrice, buyCreatedAt, 
-                latest != null && latest.getTradeType() == TradeHistory.TradeType.SELL,
-                latest != null ? latest.getCreatedAt() : LocalDateTime.now());
+                latest != null && latest.isSold(),
+                latest != null ? latest.getTradedAt() : LocalDateTime.now());
     }
 
     @Override
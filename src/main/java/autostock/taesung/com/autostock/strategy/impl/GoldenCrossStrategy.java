@@ -1,8 +1,10 @@
 package autostock.taesung.com.autostock.strategy.impl;
 
+import autostock.taesung.com.autostock.backtest.dto.BacktestPosition;
 import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
 import autostock.taesung.com.autostock.strategy.TechnicalIndicator;
 import autostock.taesung.com.autostock.strategy.TradingStrategy;
+import autostock.taesung.com.autostock.strategy.series.CandleSeries;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -13,6 +15,7 @@ import java.util.List;
  * 골든 크로스 / 데드 크로스 전략
  * - 단기 이동평균선이 장기 이동평균선을 상향 돌파: 매수 (골든 크로스)
  * - 단기 이동평균선이 장기 이동평균선을 하향 돌파: 매도 (데드 크로스)
+ * - 백테스트는 CandleSeries 오버로드로 계산 (BigDecimal 변환 없음)
  */
 @Slf4j
 @Component
@@ -41,29 +44,57 @@ public class GoldenCrossStrategy implements TradingStrategy {
             double prevShortMA = indicator.calculateSMA(prevCandles, SHORT_PERIOD);
             double prevLongMA = indicator.calculateSMA(prevCandles, LONG_PERIOD);
 
-            log.info("[골든크로스 전략] 단기MA: {}, 장기MA: {}",
-                    String.format("%.0f", currentShortMA),
-                    String.format("%.0f", currentLongMA));
-
-            // 골든 크로스: 단기선이 장기선을 상향 돌파
-            if (prevShortMA <= prevLongMA && currentShortMA > currentLongMA) {
-                log.info("[골든크로스 전략] 골든크로스 발생 - 매수 신호");
-                return 1;
-            }
+            return signal(currentShortMA, currentLongMA, prevShortMA, prevLongMA);
+        } catch (Exception e) {
+            log.error("[골든크로스 전략] 분석 실패: {}", e.getMessage());
+            return 0;
+        }
+    }
 
-            // 데드 크로스: 단기선이 장기선을 하향 돌파
-            if (prevShortMA >= prevLongMA && currentShortMA < currentLongMA) {
-                log.info("[골든크로스 전략] 데드크로스 발생 - 매도 신호");
-                return -1;
+    @Override
+    public int analyze(String market, CandleSeries series, int index) {
+        try {
+            if (index < LONG_PERIOD) {
+                log.warn("[골든크로스 전략] 데이터 부족");
+                return 0;
             }
 
-            return 0;
+            return signal(
+                    indicator.calculateSMA(series, index, SHORT_PERIOD),
+                    indicator.calculateSMA(series, index, LONG_PERIOD),
+                    indicator.calculateSMA(series, index - 1, SHORT_PERIOD),
+                    indicator.calculateSMA(series, index - 1, LONG_PERIOD));
         } catch (Exception e) {
             log.error("[골든크로스 전략] 분석 실패: {}", e.getMessage());
             return 0;
         }
     }
 
+    @Override
+    public int analyzeForBacktest(String market, CandleSeries series, int index, BacktestPosition position) {
+        return analyze(market, series, index);
+    }
+
+    private int signal(double currentShortMA, double currentLongMA, double prevShortMA, double prevLongMA) {
+        log.info("[골든크로스 전략] 단기MA: {}, 장기MA: {}",
+                String.format("%.0f", currentShortMA),
+                String.format("%.0f", currentLongMA));
+
+        // 골든 크로스: 단기선이 장기선을 상향 돌파
+        if (prevShortMA <= prevLongMA && currentShortMA > currentLongMA) {
+            log.info("[골든크로스 전략] 골든크로스 발생 - 매수 신호");
+            return 1;
+        }
+
+        // 데드 크로스: 단기선이 장기선을 하향 돌파
+        if (prevShortMA >= prevLongMA && currentShortMA < currentLongMA) {
+            log.info("[골든크로스 전략] 데드크로스 발생 - 매도 신호");
+            return -1;
+        }
+
+        return 0;
+    }
+
     @Override
     public String getStrategyName() {
         return "GoldenCrossStrategy";
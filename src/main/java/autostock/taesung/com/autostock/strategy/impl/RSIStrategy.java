@@ -5,7 +5,9 @@ import autostock.taesung.com.autostock.backtest.dto.ExitReason;
 import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
 import autostock.taesung.com.autostock.strategy.TechnicalIndicator;
 import autostock.taesung.com.autostock.strategy.TradingStrategy;
+import autostock.taesung.com.autostock.strategy.series.CandleSeries;
 import autostock.taesung.com.autostock.service.StrategyParameterService;
+import autostock.taesung.com.autostock.service.StrategyParameterSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -17,6 +19,7 @@ import java.util.List;
  * - RSI 25 이하에서 상승 반전: 매수 신호
  * - RSI 75 이상에서 하락 반전: 매도 신호
  * - RSI 방향성 + 가격 모멘텀 확인
+ * - 백테스트는 CandleSeries 오버로드로 계산 (BigDecimal 변환 없음)
  */
 @Slf4j
 @Component
@@ -38,55 +41,83 @@ public class RSIStrategy implements TradingStrategy {
     @Override
     public int analyze(String market, List<Candle> candles) {
         try {
-            int period = strategyParameterService.getIntParam(getStrategyName(), null, "rsi.period", RSI_PERIOD);
-            double oversold = strategyParameterService.getDoubleParam(getStrategyName(), null, "rsi.oversold", OVERSOLD_THRESHOLD);
-            double overbought = strategyParameterService.getDoubleParam(getStrategyName(), null, "rsi.overbought", OVERBOUGHT_THRESHOLD);
+            StrategyParameterSnapshot params = strategyParameterService.getSnapshot(getStrategyName(), null);
+            int period = params.getInt("rsi.period", RSI_PERIOD);
 
             if (candles.size() < period + 2) {
                 return 0;
             }
 
-            // 현재 RSI
+            // 현재 RSI / 이전 RSI (1캔들 전)
             double currentRsi = indicator.calculateRSI(candles, period);
-
-            // 이전 RSI (1캔들 전)
-            List<Candle> prevCandles = candles.subList(1, candles.size());
-            double prevRsi = indicator.calculateRSI(prevCandles, period);
-
-            // RSI 변화량
-            double rsiChange = currentRsi - prevRsi;
+            double prevRsi = indicator.calculateRSI(candles.subList(1, candles.size()), period);
 
             // 현재 캔들이 양봉인지 (가격 상승)
             Candle current = candles.get(0);
-            boolean isBullish = current.getTradePrice().compareTo(current.getOpeningPrice()) > 0;
-            boolean isBearish = current.getTradePrice().compareTo(current.getOpeningPrice()) < 0;
-
-            log.debug("[RSI 전략] RSI: {} (변화: {}), 양봉: {}",
-                    String.format("%.2f", currentRsi),
-                    String.format("%.2f", rsiChange),
-                    isBullish);
-
-            // 매수: 과매도 구간에서 RSI가 상승 반전 + 양봉
-            if (currentRsi <= oversold + 10 && prevRsi <= oversold && rsiChange > 0 && isBullish) {
-                log.info("[RSI 전략] 과매도 반전 - 매수 신호 (RSI: {} -> {})",
-                        String.format("%.1f", prevRsi), String.format("%.1f", currentRsi));
-                return 1;
-            }
+            int candleDirection = current.getTradePrice().compareTo(current.getOpeningPrice());
+
+            return signal(currentRsi, prevRsi, candleDirection, params);
+        } catch (Exception e) {
+            log.error("[RSI 전략] 분석 실패: {}", e.getMessage());
+            return 0;
+        }
+    }
 
-            // 매도: 과매수 구간에서 RSI가 하락 반전 + 음봉
-            if (currentRsi >= overbought - 10 && prevRsi >= overbought && rsiChange < 0 && isBearish) {
-                log.info("[RSI 전략] 과매수 반전 - 매도 신호 (RSI: {} -> {})",
-                        String.format("%.1f", prevRsi), String.format("%.1f", currentRsi));
-                return -1;
+    @Override
+    public int analyze(String market, CandleSeries series, int index) {
+        try {
+            StrategyParameterSnapshot params = strategyParameterService.getSnapshot(getStrategyName(), null);
+            int period = params.getInt("rsi.period", RSI_PERIOD);
+
+            if (index + 1 < period + 2) {
+                return 0;
             }
 
-            return 0;
+            double currentRsi = indicator.calculateRSI(series, index, period);
+            double prevRsi = indicator.calculateRSI(series, index - 1, period);
+            int candleDirection = Double.compare(series.close(index), series.open(index));
+
+            return signal(currentRsi, prevRsi, candleDirection, params);
         } catch (Exception e) {
             log.error("[RSI 전략] 분석 실패: {}", e.getMessage());
             return 0;
         }
     }
 
+    /**
+     * RSI 반전 판정
+     * @param candleDirection 현재 캔들 방향 (양수: 양봉, 음수: 음봉)
+     */
+    private int signal(double currentRsi, double prevRsi, int candleDirection, StrategyParameterSnapshot params) {
+        double oversold = params.getDouble("rsi.oversold", OVERSOLD_THRESHOLD);
+        double overbought = params.getDouble("rsi.overbought", OVERBOUGHT_THRESHOLD);
+
+        // RSI 변화량
+        double rsiChange = currentRsi - prevRsi;
+        boolean isBullish = candleDirection > 0;
+        boolean isBearish = candleDirection < 0;
+
+        log.debug("[RSI 전략] RSI: {} (변화: {}), 양봉: {}",
+                String.format("%.2f", currentRsi),
+                String.format("%.2f", rsiChange),
+                isBullish);
+
+        // 매수: 과매도 구간에서 RSI가 상승 반전 + 양봉
+        if (currentRsi <= oversold + 10 && prevRsi <= oversold && rsiChange > 0 && isBullish) {
+            log.info("[RSI 전략] 과매도 반전 - 매수 신호 (RSI: {} -> {})",
+                    String.format("%.1f", prevRsi), String.format("%.1f", currentRsi));
+            return 1;
+        }
+
+        // 매도: 과매수 구간에서 RSI가 하락 반전 + 음봉
+        if (currentRsi >= overbought - 10 && prevRsi >= overbought && rsiChange < 0 && isBearish) {
+            log.info("[RSI 전략] 과매수 반전 - 매도 신호 (RSI: {} -> {})",
+                    String.format("%.1f", prevRsi), String.format("%.1f", currentRsi));
+            return -1;
+        }
+
+        return 0;
+    }
     @Override
     public int analyzeForBacktest(String market, List<Candle> candles, BacktestPosition position) {
         if (position != null && position.isHolding()) {
@@ -107,6 +138,26 @@ public class RSIStrategy implements TradingStrategy {
         return analyze(market, candles);
     }
 
+    @Override
+    public int analyzeForBacktest(String market, CandleSeries series, int index, BacktestPosition position) {
+        if (position != null && position.isHolding()) {
+            double currentPrice = series.close(index);
+            double buyPrice = position.getBuyPrice();
+            double profitRate = (currentPrice - buyPrice) / buyPrice;
+
+            // 기본 손절/익절
+            if (profitRate <= -0.02) return exit(ExitReason.STOP_LOSS_FIXED);
+            if (profitRate >= 0.03) return exit(ExitReason.TAKE_PROFIT);
+
+            // RSI 기반 매도 신호 확인
+            int signal = analyze(market, series, index);
+            if (signal == -1) return exit(ExitReason.SIGNAL_INVALID);
+
+            return 0;
+        }
+        return analyze(market, series, index);
+    }
+
     @Override
     public String getStrategyName() {
         return "RSIStrategy";
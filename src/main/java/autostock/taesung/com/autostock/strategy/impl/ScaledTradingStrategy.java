@@ -10,8 +10,10 @@ import autostock.taesung.com.autostock.realtrading.entity.Position.PositionStatu
 import autostock.taesung.com.autostock.realtrading.repository.PositionRepository;
 import autostock.taesung.com.autostock.repository.TradeHistoryRepository;
 import autostock.taesung.com.autostock.service.StrategyParameterService;
+import autostock.taesung.com.autostock.service.StrategyParameterSnapshot;
 import autostock.taesung.com.autostock.strategy.TechnicalIndicator;
 import autostock.taesung.com.autostock.strategy.TradingStrategy;
+import autostock.taesung.com.autostock.strategy.session.SessionState;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -22,9 +24,7 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 분할 매매 전략 (ScaledTradingStrategy)
@@ -49,7 +49,7 @@ public class ScaledTradingStrategy implements TradingStrategy {
     private final PositionRepository positionRepository;
 
     // 마켓별 상태 관리
-    private final Map<String, MarketState> marketStates = new ConcurrentHashMap<>();
+    private final SessionState<MarketState> marketStates = new SessionState<>(ScaledTradingStrategy.class, MarketState::new);
 
     // 기본 파라미터
     private static final int ATR_PERIOD = 14;
@@ -74,7 +74,7 @@ public class ScaledTradingStrategy implements TradingStrategy {
         }
 
         // 마켓 상태 초기화
-        MarketState state = marketStates.computeIfAbsent(market, k -> new MarketState());
+        MarketState state = marketStates.getOrCreate(market);
 
         // 현재 보유 상태 확인
         TradeHistory latestTrade = tradeHistoryRepository.findLatestByMarket(market)
@@ -130,12 +130,10 @@ public class ScaledTradingStrategy implements TradingStrategy {
         double profitRate = (currentPrice - buyPrice) / buyPrice;
 
         // 파라미터 조회
-        double stopLossRate = strategyParameterService.getDoubleParam(
-                getStrategyName(), null, "stopLoss.rate", config.getMaxStopLossRate());
-        double takeProfitRate = strategyParameterService.getDoubleParam(
-                getStrategyName(), null, "takeProfit.rate", config.getPartialTakeProfitRate());
-        double trailingStopRate = strategyParameterService.getDoubleParam(
-                getStrategyName(), null, "trailing.rate", config.getTrailingStopRate());
+        StrategyParameterSnapshot params = strategyParameterService.getSnapshot(getStrategyName(), null);
+        double stopLossRate = params.getDouble("stopLoss.rate", config.getMaxStopLossRate());
+        double takeProfitRate = params.getDouble("takeProfit.rate", config.getPartialTakeProfitRate());
+        double trailingStopRate = params.getDouble("trailing.rate", config.getTrailingStopRate());
 
         // 1. 손절 체크 (ATR 기반 + 고정률)
         double atrStopLoss = buyPrice - (atr * config.getStopLossAtrMultiplier());
@@ -192,21 +190,20 @@ public class ScaledTradingStrategy implements TradingStrategy {
                                     double atr, double rsi, double middleBand, double lowerBand,
                                     double currentVolume, double avgVolume, MarketState state) {
 
+        StrategyParameterSnapshot params = strategyParameterService.getSnapshot(getStrategyName(), null);
+
         // 쿨다운 체크 (손절 후 일정 시간 대기)
         if (state.lastExitTime != null) {
             long minutesSinceExit = Duration.between(state.lastExitTime, LocalDateTime.now()).toMinutes();
-            int cooldownMinutes = strategyParameterService.getIntParam(
-                    getStrategyName(), null, "cooldown.minutes", 5);
+            int cooldownMinutes = params.getInt("cooldown.minutes", 5);
             if (minutesSinceExit < cooldownMinutes) {
                 return 0;
             }
         }
 
         // 파라미터 조회
-        double rsiOversold = strategyParameterService.getDoubleParam(
-                getStrategyName(), null, "rsi.oversold", 35.0);
-        double volumeThreshold = strategyParameterService.getDoubleParam(
-                getStrategyName(), null, "volume.threshold", 100.0);
+        double rsiOversold = params.getDouble("rsi.oversold", 35.0);
+        double volumeThreshold = params.getDouble("volume.threshold", 100.0);
         double prevVolume = candles.get(1).getCandleAccTradePrice().doubleValue();
         double volumeSpikeRatio = currentVolume / prevVolume;
 
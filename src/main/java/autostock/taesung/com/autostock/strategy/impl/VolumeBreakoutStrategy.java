@@ -9,6 +9,7 @@ import autostock.taesung.com.autostock.service.MarketVolumeService;
 import autostock.taesung.com.autostock.service.StrategyParameterService;
 import autostock.taesung.com.autostock.strategy.TechnicalIndicator;
 import autostock.taesung.com.autostock.strategy.TradingStrategy;
+import autostock.taesung.com.autostock.strategy.session.SessionState;
 import autostock.taesung.com.autostock.strategy.config.TimeWindowConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,8 +17,6 @@ import org.springframework.stereotype.Component;
 
 import java.time.*;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Volume Breakout 전략 (거래량 돌파 기반)
@@ -99,8 +98,8 @@ public class VolumeBreakoutStrategy implements TradingStrategy {
      */
     private static final double MIN_CANDLE_DENSITY = 0.85;
 
-    /** 마켓별 상태 관리 */
-    private final Map<String, State> states = new ConcurrentHashMap<>();
+    /** 마켓별 상태 관리 (세션 범위 - 백테스트와 실매매 분리) */
+    private final SessionState<State> states = new SessionState<>(VolumeBreakoutStrategy.class, State::new);
 
     @Override
     public String getStrategyName() {
@@ -124,7 +123,7 @@ public class VolumeBreakoutStrategy implements TradingStrategy {
         Candle cur = candles.get(last - 1);
         Candle prev = candles.get(last - 2);
 
-        State state = states.computeIfAbsent(market, k -> new State());
+        State state = states.getOrCreate(market);
 
         TradeHistory latest =
                 tradeHistoryRepository.findLatestByMarket(market)
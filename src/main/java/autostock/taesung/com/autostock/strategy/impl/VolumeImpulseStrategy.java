@@ -5,6 +5,8 @@ import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
 import autostock.taesung.com.autostock.service.ImpulsePositionService;
 import autostock.taesung.com.autostock.strategy.TradingStrategy;
 import autostock.taesung.com.autostock.strategy.replay.ReplayResult;
+import autostock.taesung.com.autostock.strategy.session.SessionState;
+import autostock.taesung.com.autostock.strategy.session.StrategySession;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -48,7 +50,8 @@ public class VolumeImpulseStrategy implements TradingStrategy {
     // =====================
     // PHASE STATE
     // =====================
-    private final Map<String, ImpulseState> stateMap = new HashMap<>();
+    // 세션 범위 - 백테스트 실행마다 격리되어 실매매 상태와 섞이지 않음
+    private final SessionState<ImpulseState> stateMap = new SessionState<>(VolumeImpulseStrategy.class, ImpulseState::new);
 
     enum Phase {
         IDLE,
@@ -61,6 +64,8 @@ public class VolumeImpulseStrategy implements TradingStrategy {
     private static class ImpulseState {
         Phase phase = Phase.IDLE;
         double peakPrice;
+        /** 시뮬레이션 세션 전용 가상 포지션 (DB 미사용) */
+        ImpulsePosition simPosition;
 
         void toImpulse(double price) {
             this.phase = Phase.IMPULSE;
@@ -105,8 +110,7 @@ public class VolumeImpulseStrategy implements TradingStrategy {
         // =====================
         // EXIT 우선
         // =====================
-        Optional<ImpulsePosition> posOpt =
-                positionService.getOpenPosition(market);
+        Optional<ImpulsePosition> posOpt = getOpenPosition(market);
 
         if (posOpt.isPresent()) {
             return checkExit(market, price, now, zNow, posOpt.get());
@@ -127,8 +131,7 @@ public class VolumeImpulseStrategy implements TradingStrategy {
                            LocalDateTime now,
                            Z zNow) {
 
-        ImpulseState state =
-                stateMap.computeIfAbsent(market, k -> new ImpulseState());
+        ImpulseState state = stateMap.getOrCreate(market);
 
         Z zPrev = calcZ(candles, now.minusMinutes(1));
 
@@ -152,7 +155,7 @@ public class VolumeImpulseStrategy implements TradingStrategy {
             case IMPULSE:
                 if (z >= CONFIRM_Z) {
                     state.toConfirmed();
-                    return enter(market, price, z, z - prevZ, curVol, density);
+                    return enter(market, price, now, z, z - prevZ, curVol, density);
                 }
                 if (z < 0.7) state.reset();
                 break;
@@ -172,7 +175,7 @@ public class VolumeImpulseStrategy implements TradingStrategy {
                         curVol > avgVol * VOL_MULT_REBREAK) {
 
                     state.reset();
-                    return enter(market, price, z, z - prevZ, curVol, density);
+                    return enter(market, price, now, z, z - prevZ, curVol, density);
                 }
                 if (z < 0.5) state.reset();
                 break;
@@ -181,9 +184,22 @@ public class VolumeImpulseStrategy implements TradingStrategy {
         return 0;
     }
 
-    private int enter(String market, double price, double z, double dz,
+    private int enter(String market, double price, LocalDateTime now, double z, double dz,
                       double vol, double density) {
 
+        if (StrategySession.current().isSimulation()) {
+            // 백테스트: 실매매 포지션(DB)에 기록하지 않고 세션 상태에만 보관
+            stateMap.getOrCreate(market).simPosition = ImpulsePosition.builder()
+                    .market(market)
+                    .entryTime(now)
+                    .entryPrice(BigDecimal.valueOf(price))
+                    .quantity(BigDecimal.ONE)
+                    .entryZScore(BigDecimal.valueOf(z))
+                    .highestPrice(BigDecimal.valueOf(price))
+                    .build();
+            return 1;
+        }
+
         positionService.openPosition(
                 market,
                 BigDecimal.valueOf(price),
@@ -253,6 +269,12 @@ public class VolumeImpulseStrategy implements TradingStrategy {
     }
 
     private void close(String market, double price, String reason) {
+        if (StrategySession.current().isSimulation()) {
+            // 가상 포지션은 세션 상태와 함께 제거
+            stateMap.remove(market);
+            return;
+        }
+
         positionService.closePosition(
                 market,
                 BigDecimal.valueOf(price),
@@ -263,6 +285,17 @@ public class VolumeImpulseStrategy implements TradingStrategy {
         stateMap.remove(market);
     }
 
+    /**
+     * 현재 세션 기준 보유 포지션 (실매매: DB, 시뮬레이션: 세션 가상 포지션)
+     */
+    private Optional<ImpulsePosition> getOpenPosition(String market) {
+        if (StrategySession.current().isSimulation()) {
+            ImpulseState state = stateMap.get(market);
+            return Optional.ofNullable(state != null ? state.simPosition : null);
+        }
+        return positionService.getOpenPosition(market);
+    }
+
     // =====================
     // Z SCORE
     // =====================
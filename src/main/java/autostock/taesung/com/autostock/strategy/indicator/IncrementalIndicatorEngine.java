@@ -0,0 +1,85 @@
+package autostock.taesung.com.autostock.strategy.indicator;
+
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+import autostock.taesung.com.autostock.strategy.session.SessionState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 마켓/캔들 단위별 증분 지표 엔진
+ * - TechnicalIndicator 뒤에서 동작 (전략 코드는 변경 없음)
+ * - (market, unit) 별로 최근 캔들을 primitive 버퍼로 유지하고
+ *   SMA / 표준편차(Welford) / RSI / EMA / 거래량 MA 를 캔들당 O(1)로 갱신
+ * - 실시간 스케줄러(같은 캔들 반복 조회)와 백테스트(한 캔들씩 전진) 모두 재스캔 없이 처리
+ * - 시리즈는 현재 StrategySession에 보관 (실매매와 백테스트/최적화 실행끼리 버퍼를 공유하지 않음)
+ *
+ * 반환값이 NaN이면 증분 계산이 불가능한 경우이므로 호출자가 기존 방식으로 계산
+ */
+@Slf4j
+@Component
+public class IncrementalIndicatorEngine {
+
+    private final boolean enabled;
+    private final SessionState<IndicatorSeries> seriesByKey =
+            new SessionState<>(IncrementalIndicatorEngine.class, IndicatorSeries::new);
+
+    public IncrementalIndicatorEngine(@Value("${indicator.incremental.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        log.info("증분 지표 엔진: {}", enabled ? "활성화" : "비활성화");
+    }
+
+    /**
+     * 단순 이동평균 (종가)
+     */
+    public double sma(List<Candle> candles, int period) {
+        return value(candles, "SMA:" + period, () -> new IndicatorSeries.RollingMean(period, false));
+    }
+
+    /**
+     * 거래량 이동평균
+     */
+    public double volumeMa(List<Candle> candles, int period) {
+        return value(candles, "VMA:" + period, () -> new IndicatorSeries.RollingMean(period, true));
+    }
+
+    /**
+     * 종가 모표준편차 (볼린저 밴드용)
+     */
+    public double stdDev(List<Candle> candles, int period) {
+        return value(candles, "STD:" + period, () -> new IndicatorSeries.RollingStdDev(period));
+    }
+
+    /**
+     * RSI
+     */
+    public double rsi(List<Candle> candles, int period) {
+        return value(candles, "RSI:" + period, () -> new IndicatorSeries.RollingRsi(period));
+    }
+
+    /**
+     * EMA (TechnicalIndicator와 동일한 윈도우 EMA)
+     */
+    public double ema(List<Candle> candles, int period) {
+        if (period < 2 || 2 * period - 1 > IndicatorSeries.CAPACITY) {
+            return Double.NaN;
+        }
+        return value(candles, "EMA:" + period, () -> new IndicatorSeries.RollingEma(period));
+    }
+
+    private double value(List<Candle> candles, String indicatorKey,
+                         Supplier<IndicatorSeries.RollingIndicator> factory) {
+        if (!enabled || candles == null || candles.isEmpty()) {
+            return Double.NaN;
+        }
+        Candle newest = candles.get(0);
+        if (newest.getMarket() == null) {
+            return Double.NaN;
+        }
+        String seriesKey = newest.getMarket() + ":" + newest.getUnit();
+        return seriesByKey.getOrCreate(seriesKey).value(candles, indicatorKey, factory);
+    }
+}
@@ -0,0 +1,548 @@
+package autostock.taesung.com.autostock.strategy.indicator;
+
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 마켓/캔들 단위별 증분 지표 시리즈
+ * - 최근 캔들의 종가/거래량을 링 버퍼(primitive)로 보관
+ * - 새 캔들이 들어오면 등록된 지표 누산기를 O(1)로 갱신
+ * - 진행 중 캔들(같은 시각, 가격 변경)은 최신 값 교체로 처리
+ * - 이전 시점 조회(subList(1, n) 등)는 버퍼 직접 스캔으로 처리 (BigDecimal 변환 없음)
+ * - 재사용 전 버퍼와 겹치는 구간 전체를 검증 (같은 Candle 인스턴스는 참조 비교, 그 외는 시각/종가/거래량 비교)
+ *   불일치 시 재구성하므로 최신 캔들 몇 개만 같은 다른 구간이 섞이지 않음
+ *
+ * 스레드 안전: 모든 공개 진입점은 synchronized
+ */
+class IndicatorSeries {
+
+    static final int CAPACITY = 256;
+    private static final int MAX_LAG = 8;
+    private static final int RESYNC_INTERVAL = 256;  // 부동소수점 누적 오차 방지용 재계산 주기
+
+    private final double[] closes = new double[CAPACITY];
+    private final double[] volumes = new double[CAPACITY];
+    private final String[] times = new String[CAPACITY];
+    private final Candle[] refs = new Candle[CAPACITY];  // 검증 단축용 (같은 인스턴스면 값 비교 생략)
+    private int head = -1;  // 최신 캔들의 링 버퍼 위치
+    private int count = 0;
+    private int pushesSinceResync = 0;
+
+    private final Map<String, RollingIndicator> indicators = new HashMap<>();
+
+    /**
+     * 지표 값 조회 (캔들 동기화 + 계산)
+     * @return 지표 값, 증분 계산 불가 시 NaN (호출자가 기존 방식으로 계산)
+     */
+    synchronized double value(List<Candle> candles, String key, Supplier<RollingIndicator> factory) {
+        int lag = sync(candles);
+        if (lag < 0) {
+            return Double.NaN;
+        }
+
+        RollingIndicator indicator = indicators.get(key);
+        if (indicator == null) {
+            indicator = factory.get();
+            if (count < indicator.window()) {
+                return Double.NaN;
+            }
+            indicator.seed(this);
+            indicators.put(key, indicator);
+        }
+
+        if (candles.size() < indicator.window() || count - lag < indicator.window()) {
+            return Double.NaN;
+        }
+        return lag == 0 ? indicator.value() : indicator.compute(this, lag);
+    }
+
+    // ==================== 버퍼 접근 ====================
+
+    double close(int lag) {
+        return closes[index(lag)];
+    }
+
+    double volume(int lag) {
+        return volumes[index(lag)];
+    }
+
+    private String time(int lag) {
+        return times[index(lag)];
+    }
+
+    private int index(int lag) {
+        return (head - lag + CAPACITY) % CAPACITY;
+    }
+
+    // ==================== 동기화 ====================
+
+    /**
+     * 캔들 리스트(최신순)를 버퍼와 맞춤
+     * @return 조회 시점의 lag (0 = 최신), 동기화 불가 시 -1
+     */
+    private int sync(List<Candle> candles) {
+        if (candles.isEmpty()) {
+            return -1;
+        }
+        Candle newest = candles.get(0);
+        String newestTime = newest.getCandleDateTimeKst();
+        if (newestTime == null || newest.getTradePrice() == null || newest.getCandleAccTradeVolume() == null) {
+            return -1;
+        }
+        double newestClose = newest.getTradePrice().doubleValue();
+        double newestVolume = newest.getCandleAccTradeVolume().doubleValue();
+
+        if (count > 0) {
+            // 1) 같은 캔들 (진행 중 캔들의 가격 변경 포함)
+            if (newestTime.equals(time(0))) {
+                if (newestClose != close(0) || newestVolume != volume(0)) {
+                    replaceNewest(newest, newestClose, newestVolume);
+                }
+                refs[head] = newest;
+                return matches(candles, 0) ? 0 : (reset(candles) ? 0 : -1);
+            }
+
+            // 2) 한 캔들 전진
+            if (candles.size() > 1 && Objects.equals(time(0), candles.get(1).getCandleDateTimeKst())) {
+                Candle previous = candles.get(1);
+                if (previous.getTradePrice() == null || previous.getCandleAccTradeVolume() == null) {
+                    return -1;
+                }
+                double previousClose = previous.getTradePrice().doubleValue();
+                double previousVolume = previous.getCandleAccTradeVolume().doubleValue();
+                // 직전 캔들이 확정되면서 값이 바뀐 경우 먼저 반영
+                if (previousClose != close(0) || previousVolume != volume(0)) {
+                    replaceNewest(previous, previousClose, previousVolume);
+                }
+                push(newest, newestClose, newestVolume);
+                return matches(candles, 0) ? 0 : (reset(candles) ? 0 : -1);
+            }
+
+            // 3) 이전 시점 조회 (예: candles.subList(1, n))
+            int maxLag = Math.min(count, MAX_LAG);
+            for (int lag = 1; lag < maxLag; lag++) {
+                if (newestTime.equals(time(lag))) {
+                    return matches(candles, lag) ? lag : -1;
+                }
+            }
+        }
+
+        // 4) 연속되지 않는 데이터 (다른 구간의 백테스트 등) -> 재구성
+        return reset(candles) ? 0 : -1;
+    }
+
+    /**
+     * 캔들 리스트와 버퍼(lag 시점부터)의 겹치는 구간 전체 검증
+     * - 최신 캔들은 진행 중 갱신이 있으므로 항상 값 비교
+     * - 나머지는 같은 인스턴스면 통과, 다르면 시각/종가/거래량 비교 후 참조 갱신
+     */
+    private boolean matches(List<Candle> candles, int lag) {
+        int size = Math.min(candles.size(), count - lag);
+        for (int i = 0; i < size; i++) {
+            Candle candle = candles.get(i);
+            int index = index(lag + i);
+            if (i > 0 && candle == refs[index]) {
+                continue;
+            }
+            if (!Objects.equals(times[index], candle.getCandleDateTimeKst())
+                    || candle.getTradePrice() == null
+                    || candle.getCandleAccTradeVolume() == null
+                    || candle.getTradePrice().doubleValue() != closes[index]
+                    || candle.getCandleAccTradeVolume().doubleValue() != volumes[index]) {
+                return false;
+            }
+            refs[index] = candle;
+        }
+        return true;
+    }
+
+    private boolean reset(List<Candle> candles) {
+        indicators.clear();
+        head = -1;
+        count = 0;
+        pushesSinceResync = 0;
+
+        int size = Math.min(candles.size(), CAPACITY);
+        for (int i = size - 1; i >= 0; i--) {
+            Candle candle = candles.get(i);
+            if (candle.getTradePrice() == null || candle.getCandleAccTradeVolume() == null) {
+                head = -1;
+                count = 0;
+                return false;
+            }
+            write(candle,
+                    candle.getTradePrice().doubleValue(),
+                    candle.getCandleAccTradeVolume().doubleValue());
+        }
+        return true;
+    }
+
+    private void push(Candle candle, double close, double volume) {
+        // 누산기는 버퍼 반영 전에 갱신 (빠져나가는 값을 읽어야 함)
+        for (RollingIndicator indicator : indicators.values()) {
+            indicator.push(this, close, volume);
+        }
+        write(candle, close, volume);
+
+        if (++pushesSinceResync >= RESYNC_INTERVAL) {
+            for (RollingIndicator indicator : indicators.values()) {
+                indicator.seed(this);
+            }
+            pushesSinceResync = 0;
+        }
+    }
+
+    private void replaceNewest(Candle candle, double close, double volume) {
+        double oldClose = close(0);
+        double oldVolume = volume(0);
+        for (RollingIndicator indicator : indicators.values()) {
+            indicator.replaceNewest(this, oldClose, oldVolume, close, volume);
+        }
+        closes[head] = close;
+        volumes[head] = volume;
+        refs[head] = candle;
+    }
+
+    private void write(Candle candle, double close, double volume) {
+        head = (head + 1) % CAPACITY;
+        closes[head] = close;
+        volumes[head] = volume;
+        times[head] = candle.getCandleDateTimeKst();
+        refs[head] = candle;
+        if (count < CAPACITY) {
+            count++;
+        }
+    }
+
+    // ==================== 지표 누산기 ====================
+
+    /**
+     * 증분 지표 누산기
+     * - push/replaceNewest는 버퍼 반영 전에 호출됨
+     */
+    abstract static class RollingIndicator {
+
+        /** 계산에 필요한 캔들 수 */
+        abstract int window();
+
+        /** 현재 버퍼 기준 전체 재계산 */
+        abstract void seed(IndicatorSeries s);
+
+        abstract void push(IndicatorSeries s, double close, double volume);
+
+        abstract void replaceNewest(IndicatorSeries s, double oldClose, double oldVolume,
+                                    double newClose, double newVolume);
+
+        /** 최신 시점 값 (O(1)) */
+        abstract double value();
+
+        /** 특정 lag 시점 값 (버퍼 직접 스캔) */
+        abstract double compute(IndicatorSeries s, int lag);
+    }
+
+    /**
+     * 이동 합계 (SMA / 거래량 MA)
+     */
+    static class RollingMean extends RollingIndicator {
+        private final int period;
+        private final boolean useVolume;
+        private double sum;
+
+        RollingMean(int period, boolean useVolume) {
+            this.period = period;
+            this.useVolume = useVolume;
+        }
+
+        private double x(IndicatorSeries s, int lag) {
+            return useVolume ? s.volume(lag) : s.close(lag);
+        }
+
+        @Override
+        int window() {
+            return period;
+        }
+
+        @Override
+        void seed(IndicatorSeries s) {
+            sum = 0;
+            for (int i = 0; i < period; i++) {
+                sum += x(s, i);
+            }
+        }
+
+        @Override
+        void push(IndicatorSeries s, double close, double volume) {
+            sum += (useVolume ? volume : close) - x(s, period - 1);
+        }
+
+        @Override
+        void replaceNewest(IndicatorSeries s, double oldClose, double oldVolume, double newClose, double newVolume) {
+            sum += useVolume ? newVolume - oldVolume : newClose - oldClose;
+        }
+
+        @Override
+        double value() {
+            return sum / period;
+        }
+
+        @Override
+        double compute(IndicatorSeries s, int lag) {
+            double total = 0;
+            for (int i = 0; i < period; i++) {
+                total += x(s, lag + i);
+            }
+            return total / period;
+        }
+    }
+
+    /**
+     * 이동 표준편차 (모표준편차, 윈도우 Welford)
+     */
+    static class RollingStdDev extends RollingIndicator {
+        private final int period;
+        private double mean;
+        private double m2;
+
+        RollingStdDev(int period) {
+            this.period = period;
+        }
+
+        @Override
+        int window() {
+            return period;
+        }
+
+        @Override
+        void seed(IndicatorSeries s) {
+            mean = 0;
+            m2 = 0;
+            int n = 0;
+            for (int i = period - 1; i >= 0; i--) {
+                double x = s.close(i);
+                n++;
+                double delta = x - mean;
+                mean += delta / n;
+                m2 += delta * (x - mean);
+            }
+        }
+
+        @Override
+        void push(IndicatorSeries s, double close, double volume) {
+            slide(s.close(period - 1), close);
+        }
+
+        @Override
+        void replaceNewest(IndicatorSeries s, double oldClose, double oldVolume, double newClose, double newVolume) {
+            slide(oldClose, newClose);
+        }
+
+        private void slide(double out, double in) {
+            double delta = in - out;
+            double oldMean = mean;
+            mean += delta / period;
+            m2 += delta * (in - mean + out - oldMean);
+            if (m2 < 0) {
+                m2 = 0;
+            }
+        }
+
+        @Override
+        double value() {
+            return Math.sqrt(m2 / period);
+        }
+
+        @Override
+        double compute(IndicatorSeries s, int lag) {
+            double sum = 0;
+            for (int i = 0; i < period; i++) {
+                sum += s.close(lag + i);
+            }
+            double sma = sum / period;
+            double sumSquaredDiff = 0;
+            for (int i = 0; i < period; i++) {
+                double diff = s.close(lag + i) - sma;
+                sumSquaredDiff += diff * diff;
+            }
+            return Math.sqrt(sumSquaredDiff / period);
+        }
+    }
+
+    /**
+     * RSI (TechnicalIndicator.calculateRSI와 동일: 최근 period개 변화량의 단순 평균)
+     * - 상승/하락 건수를 함께 추적해 "하락 없음(100)" 판정이 누적 오차에 흔들리지 않게 함
+     */
+    static class RollingRsi extends RollingIndicator {
+        private final int period;
+        private double gains;
+        private double losses;
+        private int gainCount;
+        private int lossCount;
+
+        RollingRsi(int period) {
+            this.period = period;
+        }
+
+        @Override
+        int window() {
+            return period + 1;
+        }
+
+        @Override
+        void seed(IndicatorSeries s) {
+            gains = 0;
+            losses = 0;
+            gainCount = 0;
+            lossCount = 0;
+            for (int i = 0; i < period; i++) {
+                add(s.close(i) - s.close(i + 1));
+            }
+        }
+
+        @Override
+        void push(IndicatorSeries s, double close, double volume) {
+            remove(s.close(period - 1) - s.close(period));
+            add(close - s.close(0));
+        }
+
+        @Override
+        void replaceNewest(IndicatorSeries s, double oldClose, double oldVolume, double newClose, double newVolume) {
+            double previousClose = s.close(1);
+            remove(oldClose - previousClose);
+            add(newClose - previousClose);
+        }
+
+        private void add(double change) {
+            if (change > 0) {
+                gains += change;
+                gainCount++;
+            } else if (change < 0) {
+                losses -= change;
+                lossCount++;
+            }
+        }
+
+        private void remove(double change) {
+            if (change > 0) {
+                gains -= change;
+                if (--gainCount == 0) {
+                    gains = 0;
+                }
+            } else if (change < 0) {
+                losses += change;
+                if (--lossCount == 0) {
+                    losses = 0;
+                }
+            }
+        }
+
+        @Override
+        double value() {
+            if (lossCount == 0 || losses <= 0) {
+                return 100;
+            }
+            double rs = (gains / period) / (losses / period);
+            return 100 - (100 / (1 + rs));
+        }
+
+        @Override
+        double compute(IndicatorSeries s, int lag) {
+            double gainSum = 0;
+            double lossSum = 0;
+            for (int i = 0; i < period; i++) {
+                double change = s.close(lag + i) - s.close(lag + i + 1);
+                if (change > 0) {
+                    gainSum += change;
+                } else {
+                    lossSum += Math.abs(change);
+                }
+            }
+            double avgGain = gainSum / period;
+            double avgLoss = lossSum / period;
+            if (avgLoss == 0) {
+                return 100;
+            }
+            double rs = avgGain / avgLoss;
+            return 100 - (100 / (1 + rs));
+        }
+    }
+
+    /**
+     * EMA (TechnicalIndicator.calculateEMA와 동일한 윈도우 EMA)
+     * - 시드: [period-1, 2*period-2] 구간 SMA
+     * - 이후 [period-2 .. 0] 구간에 지수 가중
+     * - 값 = 시드 * (1-k)^(period-1) + Σ k(1-k)^i * close(i)  (i = 0..period-2)
+     * - 두 합계 모두 슬라이딩 윈도우로 O(1) 갱신
+     */
+    static class RollingEma extends RollingIndicator {
+        private final int period;
+        private final double k;
+        private final double seedDecay;   // (1-k)^(period-1)
+        private final double tailWeight;  // k(1-k)^(period-1)
+        private double seedSum;
+        private double weightedSum;
+
+        RollingEma(int period) {
+            if (period < 2) {
+                throw new IllegalArgumentException("period must be >= 2");
+            }
+            this.period = period;
+            this.k = 2.0 / (period + 1);
+            this.seedDecay = Math.pow(1 - k, period - 1);
+            this.tailWeight = k * seedDecay;
+        }
+
+        @Override
+        int window() {
+            return 2 * period - 1;
+        }
+
+        @Override
+        void seed(IndicatorSeries s) {
+            seedSum = 0;
+            for (int j = period - 1; j <= 2 * period - 2; j++) {
+                seedSum += s.close(j);
+            }
+            weightedSum = 0;
+            double weight = k;
+            for (int i = 0; i <= period - 2; i++) {
+                weightedSum += weight * s.close(i);
+                weight *= (1 - k);
+            }
+        }
+
+        @Override
+        void push(IndicatorSeries s, double close, double volume) {
+            double leaving = s.close(period - 2);  // 가중 구간 -> 시드 구간으로 이동
+            weightedSum = k * close + (1 - k) * weightedSum - tailWeight * leaving;
+            seedSum += leaving - s.close(2 * period - 2);
+        }
+
+        @Override
+        void replaceNewest(IndicatorSeries s, double oldClose, double oldVolume, double newClose, double newVolume) {
+            weightedSum += k * (newClose - oldClose);
+        }
+
+        @Override
+        double value() {
+            return (seedSum / period) * seedDecay + weightedSum;
+        }
+
+        @Override
+        double compute(IndicatorSeries s, int lag) {
+            double sum = 0;
+            for (int j = period - 1; j <= 2 * period - 2; j++) {
+                sum += s.close(lag + j);
+            }
+            double ema = sum / period;
+            for (int i = period - 2; i >= 0; i--) {
+                ema = (s.close(lag + i) - ema) * k + ema;
+            }
+            return ema;
+        }
+    }
+}
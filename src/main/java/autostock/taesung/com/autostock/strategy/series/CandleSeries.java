@@ -0,0 +1,199 @@
+package autostock.taesung.com.autostock.strategy.series;
+
+import autostock.taesung.com.autostock.backtest.engine.CandleWindow;
+import autostock.taesung.com.autostock.entity.CandleData;
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * 컬럼형 캔들 시리즈 (시간순, 오래된 것부터)
+ * - OHLCV / 누적 거래대금 / 시각을 primitive 배열로 한 번만 변환해 보관
+ * - 접근자는 할당 없이 배열 값을 그대로 반환 (BigDecimal.doubleValue() 반복 제거)
+ * - 최적화/백테스트처럼 같은 캔들을 수만 번 읽는 경로용
+ *
+ * 기존 List&lt;Candle&gt; 기반 전략이 필요하면 window(index)로 최신순 뷰를 얻을 수 있음
+ */
+public final class CandleSeries {
+
+    private final String market;
+    private final int unit;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+    private final double[] accTradePrice;
+    private final long[] time;  // 캔들 시작 시각 (UTC epoch millis)
+
+    private final List<CandleData> sourceData;
+    private volatile Candle[] candles;
+
+    private CandleSeries(String market, int unit, int size, Candle[] candles, List<CandleData> sourceData) {
+        this.market = market;
+        this.unit = unit;
+        this.open = new double[size];
+        this.high = new double[size];
+        this.low = new double[size];
+        this.close = new double[size];
+        this.volume = new double[size];
+        this.accTradePrice = new double[size];
+        this.time = new long[size];
+        this.candles = candles;
+        this.sourceData = sourceData;
+    }
+
+    /**
+     * Upbit 캔들(시간순)로부터 생성
+     */
+    public static CandleSeries fromCandles(List<Candle> chronologicalCandles) {
+        Candle[] candles = CandleWindow.toArray(chronologicalCandles);
+        Candle first = candles.length > 0 ? candles[0] : null;
+        CandleSeries series = new CandleSeries(
+                first != null ? first.getMarket() : null,
+                first != null ? first.getUnit() : 0,
+                candles.length, candles, null);
+
+        for (int i = 0; i < candles.length; i++) {
+            Candle c = candles[i];
+            series.set(i, c.getOpeningPrice(), c.getHighPrice(), c.getLowPrice(), c.getTradePrice(),
+                    c.getCandleAccTradeVolume(), c.getCandleAccTradePrice(),
+                    toEpochMillis(c.getCandleDateTimeUtc(), c.getTimestamp()));
+        }
+        return series;
+    }
+
+    /**
+     * DB 캔들(시간순)로부터 생성
+     */
+    public static CandleSeries fromCandleData(List<CandleData> chronologicalCandles) {
+        CandleData first = chronologicalCandles.isEmpty() ? null : chronologicalCandles.get(0);
+        CandleSeries series = new CandleSeries(
+                first != null ? first.getMarket() : null,
+                first != null ? first.getUnit() : 0,
+                chronologicalCandles.size(), null, chronologicalCandles);
+
+        int i = 0;
+        for (CandleData c : chronologicalCandles) {
+            series.set(i++, c.getOpeningPrice(), c.getHighPrice(), c.getLowPrice(), c.getTradePrice(),
+                    c.getCandleAccTradeVolume(), c.getCandleAccTradePrice(),
+                    toEpochMillis(c.getCandleDateTimeUtc(), c.getTimestamp()));
+        }
+        return series;
+    }
+
+    private void set(int i, BigDecimal o, BigDecimal h, BigDecimal l, BigDecimal c,
+                     BigDecimal v, BigDecimal amount, long t) {
+        open[i] = toDouble(o);
+        high[i] = toDouble(h);
+        low[i] = toDouble(l);
+        close[i] = toDouble(c);
+        volume[i] = toDouble(v);
+        accTradePrice[i] = toDouble(amount);
+        time[i] = t;
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : 0;
+    }
+
+    private static long toEpochMillis(String candleDateTimeUtc, long fallback) {
+        if (candleDateTimeUtc == null) {
+            return fallback;
+        }
+        try {
+            return LocalDateTime.parse(candleDateTimeUtc).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (Exception e) {
+            return fallback;
+        }
+    }
+
+    // ==================== 접근자 (할당 없음) ====================
+
+    public String getMarket() {
+        return market;
+    }
+
+    public int getUnit() {
+        return unit;
+    }
+
+    public int size() {
+        return close.length;
+    }
+
+    public double open(int i) {
+        return open[i];
+    }
+
+    public double high(int i) {
+        return high[i];
+    }
+
+    public double low(int i) {
+        return low[i];
+    }
+
+    public double close(int i) {
+        return close[i];
+    }
+
+    public double volume(int i) {
+        return volume[i];
+    }
+
+    public double accTradePrice(int i) {
+        return accTradePrice[i];
+    }
+
+    public long time(int i) {
+        return time[i];
+    }
+
+    // ==================== List<Candle> 어댑터 ====================
+
+    /**
+     * 원본 캔들 객체 (시각 문자열 등 컬럼에 없는 정보가 필요할 때)
+     */
+    public Candle candle(int i) {
+        return candles()[i];
+    }
+
+    /**
+     * index 시점까지의 최신순 캔들 뷰 (기존 List&lt;Candle&gt; 기반 전략용, 복사 없음)
+     */
+    public List<Candle> window(int index) {
+        return CandleWindow.at(candles(), index);
+    }
+
+    private Candle[] candles() {
+        Candle[] result = candles;
+        if (result == null) {
+            synchronized (this) {
+                result = candles;
+                if (result == null) {
+                    result = sourceData.stream()
+                            .map(data -> Candle.builder()
+                                    .market(data.getMarket())
+                                    .candleDateTimeUtc(data.getCandleDateTimeUtc())
+                                    .candleDateTimeKst(data.getCandleDateTimeKst())
+                                    .openingPrice(data.getOpeningPrice())
+                                    .highPrice(data.getHighPrice())
+                                    .lowPrice(data.getLowPrice())
+                                    .tradePrice(data.getTradePrice())
+                                    .timestamp(data.getTimestamp())
+                                    .candleAccTradePrice(data.getCandleAccTradePrice())
+                                    .candleAccTradeVolume(data.getCandleAccTradeVolume())
+                                    .unit(data.getUnit())
+                                    .build())
+                            .toArray(Candle[]::new);
+                    candles = result;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,152 @@
+package autostock.taesung.com.autostock.strategy.session;
+
+import autostock.taesung.com.autostock.entity.TradeHistory;
+import autostock.taesung.com.autostock.repository.TradeHistoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 실매매 포지션 상태 저장소
+ * - 시작 시 마켓별 최근 체결을 한 번에 적재하고, 체결 기록 시 write-through로 갱신
+ * - 전략의 최고가 갱신은 메모리에 즉시 반영하고 DB에는 주기적으로 모아서 반영
+ * - 다른 인스턴스/수동 거래 반영을 위해 주기적으로 DB와 재동기화 (더 최신 체결만 교체)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LivePositionStateStore implements PositionStateStore {
+
+    private final TradeHistoryRepository tradeHistoryRepository;
+
+    private final Map<String, PositionState> states = new ConcurrentHashMap<>();
+
+    /** DB 반영 대기 중인 최고가 (tradeId → 최고가) */
+    private final Map<Long, Double> pendingHighestPrices = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        List<TradeHistory> latest = tradeHistoryRepository.findLatestPerMarket();
+        for (TradeHistory history : latest) {
+            apply(PositionState.of(history));
+        }
+        log.info("포지션 상태 적재 완료: {}개 마켓", latest.size());
+    }
+
+    @Override
+    public PositionState get(String market) {
+        return states.get(market);
+    }
+
+    @Override
+    public void record(PositionState state) {
+        apply(state);
+    }
+
+    /**
+     * 체결 기록 저장 후 호출 (진행 중인 트랜잭션이 있으면 커밋 이후 반영)
+     */
+    public void record(TradeHistory history) {
+        if (history == null || history.getMarket() == null) {
+            return;
+        }
+        PositionState state = PositionState.of(history);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(state);
+                }
+            });
+        } else {
+            apply(state);
+        }
+    }
+
+    @Override
+    public void updateHighestPrice(String market, double highestPrice) {
+        PositionState updated = states.computeIfPresent(market, (k, state) ->
+                state.isHolding() && (state.getHighestPrice() == null || highestPrice > state.getHighestPrice())
+                        ? state.toBuilder().highestPrice(highestPrice).build()
+                        : state);
+        if (updated != null && updated.getTradeId() != null && updated.getHighestPrice() != null
+                && updated.getHighestPrice() == highestPrice) {
+            pendingHighestPrices.merge(updated.getTradeId(), highestPrice, Math::max);
+        }
+    }
+
+    /**
+     * 최고가 DB 반영 (기존 값보다 높을 때만 UPDATE)
+     */
+    @Scheduled(fixedDelayString = "${trading.position-store.flush-interval-ms:1000}")
+    public void flushHighestPrices() {
+        for (Map.Entry<Long, Double> entry : pendingHighestPrices.entrySet()) {
+            Long tradeId = entry.getKey();
+            Double price = entry.getValue();
+            try {
+                tradeHistoryRepository.raiseHighestPrice(tradeId, BigDecimal.valueOf(price));
+                pendingHighestPrices.remove(tradeId, price);
+            } catch (Exception e) {
+                log.warn("최고가 반영 실패: tradeId={}, {}", tradeId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * DB 재동기화 (다른 인스턴스에서 기록된 체결 반영)
+     */
+    @Scheduled(fixedDelayString = "${trading.position-store.resync-interval-ms:60000}",
+            initialDelayString = "${trading.position-store.resync-interval-ms:60000}")
+    public void resync() {
+        try {
+            for (TradeHistory history : tradeHistoryRepository.findLatestPerMarket()) {
+                apply(PositionState.of(history));
+            }
+        } catch (Exception e) {
+            log.warn("포지션 상태 재동기화 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushHighestPrices();
+    }
+
+    private void apply(PositionState incoming) {
+        states.merge(incoming.getMarket(), incoming, LivePositionStateStore::newer);
+    }
+
+    /**
+     * 더 최근 체결 선택 (같은 체결이면 최고가는 큰 값 유지)
+     */
+    private static PositionState newer(PositionState current, PositionState incoming) {
+        if (current.getTradeId() == null || incoming.getTradeId() == null) {
+            return incoming;
+        }
+        int order = Long.compare(incoming.getTradeId(), current.getTradeId());
+        if (order > 0) {
+            return incoming;
+        }
+        if (order < 0) {
+            return current;
+        }
+        Double highest = maxOf(current.getHighestPrice(), incoming.getHighestPrice());
+        return incoming.toBuilder().highestPrice(highest).build();
+    }
+
+    private static Double maxOf(Double a, Double b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return Math.max(a, b);
+    }
+}
@@ -0,0 +1,51 @@
+package autostock.taesung.com.autostock.strategy.session;
+
+import autostock.taesung.com.autostock.entity.TradeHistory;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 마켓별 최근 체결 상태 (불변)
+ * - 전략이 보유 여부/매수가/최고가 판단에 쓰던 TradeHistory 최신 행의 요약
+ * - 변경은 새 객체로 교체 (읽는 쪽은 락 없이 참조만 읽음)
+ */
+@Getter
+@Builder(toBuilder = true)
+public final class PositionState {
+
+    private final String market;
+
+    /** 체결 기록 ID (시뮬레이션은 null) */
+    private final Long tradeId;
+
+    private final TradeHistory.TradeType tradeType;
+
+    private final double price;
+
+    /** 매수 후 최고가 (기록 전이면 null) */
+    private final Double highestPrice;
+
+    /** 체결 시각 (시뮬레이션은 캔들 시각) */
+    private final LocalDateTime tradedAt;
+
+    public static PositionState of(TradeHistory history) {
+        return PositionState.builder()
+                .market(history.getMarket())
+                .tradeId(history.getId())
+                .tradeType(history.getTradeType())
+                .price(history.getPrice() != null ? history.getPrice().doubleValue() : 0)
+                .highestPrice(history.getHighestPrice() != null ? history.getHighestPrice().doubleValue() : null)
+                .tradedAt(history.getCreatedAt())
+                .build();
+    }
+
+    public boolean isHolding() {
+        return tradeType == TradeHistory.TradeType.BUY;
+    }
+
+    public boolean isSold() {
+        return tradeType == TradeHistory.TradeType.SELL;
+    }
+}
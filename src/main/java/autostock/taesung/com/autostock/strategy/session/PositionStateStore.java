@@ -0,0 +1,27 @@
+package autostock.taesung.com.autostock.strategy.session;
+
+/**
+ * 마켓별 포지션 상태 저장소
+ * - 전략은 분석 시 TradeHistory 조회 대신 이 저장소에서 최근 체결 상태를 읽음
+ * - 실매매: LivePositionStateStore (시작 시 DB 적재 + 체결 기록 시 갱신)
+ * - 백테스트: 시뮬레이션 세션마다 별도의 SimulationPositionStateStore
+ *
+ * 전략에는 현재 세션에 맞는 저장소로 위임하는 SessionPositionStateStore가 주입됨
+ */
+public interface PositionStateStore {
+
+    /**
+     * 최근 체결 상태 (체결 이력이 없으면 null)
+     */
+    PositionState get(String market);
+
+    /**
+     * 체결 반영
+     */
+    void record(PositionState state);
+
+    /**
+     * 보유 중 최고가 갱신 (기존 최고가보다 높을 때만)
+     */
+    void updateHighestPrice(String market, double highestPrice);
+}
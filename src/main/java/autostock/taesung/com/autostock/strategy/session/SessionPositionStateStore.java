@@ -0,0 +1,38 @@
+package autostock.taesung.com.autostock.strategy.session;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * 현재 스레드의 전략 세션에 맞는 포지션 저장소로 위임
+ * - LIVE 세션: LivePositionStateStore
+ * - SIMULATION 세션: 세션별 SimulationPositionStateStore (실매매 상태를 읽거나 쓰지 않음)
+ */
+@Primary
+@Component
+@RequiredArgsConstructor
+public class SessionPositionStateStore implements PositionStateStore {
+
+    private final LivePositionStateStore liveStore;
+
+    @Override
+    public PositionState get(String market) {
+        return current().get(market);
+    }
+
+    @Override
+    public void record(PositionState state) {
+        current().record(state);
+    }
+
+    @Override
+    public void updateHighestPrice(String market, double highestPrice) {
+        current().updateHighestPrice(market, highestPrice);
+    }
+
+    private PositionStateStore current() {
+        StrategySession session = StrategySession.current();
+        return session.isSimulation() ? session.positions() : liveStore;
+    }
+}
@@ -0,0 +1,54 @@
+package autostock.taesung.com.autostock.strategy.session;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 세션 범위 마켓별 전략 상태
+ * - 전략 필드의 Map&lt;String, State&gt; 대체
+ * - 실제 상태는 현재 스레드의 StrategySession에 저장되므로
+ *   백테스트와 실매매, 동시에 실행되는 백테스트끼리 상태를 공유하지 않음
+ *
+ * @param <S> 마켓별 상태 타입
+ */
+public final class SessionState<S> {
+
+    private final String owner;
+    private final Supplier<S> factory;
+
+    /**
+     * @param owner 상태 소유자 (전략 클래스)
+     * @param factory 초기 상태 생성
+     */
+    public SessionState(Class<?> owner, Supplier<S> factory) {
+        this.owner = owner.getName();
+        this.factory = factory;
+    }
+
+    /**
+     * 마켓 상태 조회 (없으면 null)
+     */
+    @SuppressWarnings("unchecked")
+    public S get(String market) {
+        return (S) states().get(market);
+    }
+
+    /**
+     * 마켓 상태 조회 (없으면 생성)
+     */
+    @SuppressWarnings("unchecked")
+    public S getOrCreate(String market) {
+        return (S) states().computeIfAbsent(market, k -> factory.get());
+    }
+
+    /**
+     * 마켓 상태 제거
+     */
+    public void remove(String market) {
+        states().remove(market);
+    }
+
+    private Map<String, Object> states() {
+        return StrategySession.current().states(owner);
+    }
+}
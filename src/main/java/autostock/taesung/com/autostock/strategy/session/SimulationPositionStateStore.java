@@ -0,0 +1,31 @@
+package autostock.taesung.com.autostock.strategy.session;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 시뮬레이션 포지션 상태 (세션 내 메모리 전용, DB 접근 없음)
+ * - 백테스트 루프가 모의 체결 시 record로 반영
+ */
+public final class SimulationPositionStateStore implements PositionStateStore {
+
+    private final Map<String, PositionState> states = new ConcurrentHashMap<>();
+
+    @Override
+    public PositionState get(String market) {
+        return states.get(market);
+    }
+
+    @Override
+    public void record(PositionState state) {
+        states.put(state.getMarket(), state);
+    }
+
+    @Override
+    public void updateHighestPrice(String market, double highestPrice) {
+        states.computeIfPresent(market, (k, state) ->
+                state.isHolding() && (state.getHighestPrice() == null || highestPrice > state.getHighestPrice())
+                        ? state.toBuilder().highestPrice(highestPrice).build()
+                        : state);
+    }
+}
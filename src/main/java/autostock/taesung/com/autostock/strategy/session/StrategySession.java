@@ -0,0 +1,126 @@
+package autostock.taesung.com.autostock.strategy.session;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 전략 실행 세션 (전략 가변 상태의 격리 단위)
+ * - 전략 빈은 싱글톤이므로 마켓별 상태(페이즈, 포지션 등)를 필드에 직접 두지 않고 세션에 보관
+ * - LIVE: 실매매 공용 세션 (애플리케이션 전체에서 1개)
+ * - SIMULATION: 백테스트 실행마다 새로 생성, 실행 종료 후 버려짐
+ *
+ * 현재 스레드에 바인딩된 세션이 없으면 LIVE 세션을 사용하므로
+ * 기존 실매매 경로(AutoTradingService 등)는 변경 없이 동작
+ *
+ * 사용 예:
+ * <pre>
+ * try (StrategySession.Scope ignored = session.bind()) {
+ *     strategy.analyze(market, candles);
+ * }
+ * </pre>
+ */
+public final class StrategySession {
+
+    public enum Type {
+        LIVE,
+        SIMULATION
+    }
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    /** 실매매 공용 세션 */
+    public static final StrategySession LIVE = new StrategySession(Type.LIVE, "live");
+
+    private static final ThreadLocal<StrategySession> CURRENT = new ThreadLocal<>();
+
+    private final long id;
+    private final Type type;
+    private final String label;
+
+    /** 상태 소유자(전략) → 마켓 → 상태 */
+    private final Map<String, Map<String, Object>> states = new ConcurrentHashMap<>();
+
+    /** 시뮬레이션 포지션 상태 (LIVE 세션은 LivePositionStateStore 사용) */
+    private final PositionStateStore positions;
+
+    StrategySession(Type type, String label) {
+        this.id = SEQUENCE.incrementAndGet();
+        this.type = type;
+        this.label = label;
+        this.positions = type == Type.SIMULATION ? new SimulationPositionStateStore() : null;
+    }
+
+    /**
+     * 현재 스레드의 세션 (바인딩이 없으면 LIVE)
+     */
+    public static StrategySession current() {
+        StrategySession session = CURRENT.get();
+        return session != null ? session : LIVE;
+    }
+
+    /**
+     * 현재 스레드에 세션 바인딩 (close 시 이전 세션으로 복원)
+     */
+    public Scope bind() {
+        StrategySession previous = CURRENT.get();
+        CURRENT.set(this);
+        return new Scope(previous);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean isSimulation() {
+        return type == Type.SIMULATION;
+    }
+
+    /**
+     * 소유자별 마켓 상태 맵 (세션 내에서만 공유)
+     */
+    Map<String, Object> states(String owner) {
+        return states.computeIfAbsent(owner, k -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * 세션 전용 포지션 상태 (시뮬레이션 세션만)
+     */
+    PositionStateStore positions() {
+        return positions;
+    }
+
+    @Override
+    public String toString() {
+        return "StrategySession[" + type + "#" + id + " " + label + "]";
+    }
+
+    /**
+     * 세션 바인딩 범위
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final StrategySession previous;
+
+        private Scope(StrategySession previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
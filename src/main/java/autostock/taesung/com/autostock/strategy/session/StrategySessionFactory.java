@@ -0,0 +1,28 @@
+package autostock.taesung.com.autostock.strategy.session;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 전략 세션 생성
+ * - live(): 실매매 공용 세션
+ * - openSimulation(): 백테스트 실행마다 격리된 새 세션
+ */
+@Slf4j
+@Component
+public class StrategySessionFactory {
+
+    public StrategySession live() {
+        return StrategySession.LIVE;
+    }
+
+    /**
+     * 시뮬레이션 세션 생성
+     * @param label 로그용 이름 (예: 마켓 코드)
+     */
+    public StrategySession openSimulation(String label) {
+        StrategySession session = new StrategySession(StrategySession.Type.SIMULATION, label);
+        log.debug("시뮬레이션 전략 세션 생성: {}", session);
+        return session;
+    }
+}
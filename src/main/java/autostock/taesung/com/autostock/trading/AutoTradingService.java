@@ -1,6 +1,5 @@
 package autostock.taesung.com.autostock.trading;
 
-import autostock.taesung.com.autostock.entity.CandleData;
 import autostock.taesung.com.autostock.entity.TickerData;
 import autostock.taesung.com.autostock.entity.TradeHistory;
 import autostock.taesung.com.autostock.entity.TradeHistory.TradeType;
@@ -11,12 +10,16 @@ import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
 import autostock.taesung.com.autostock.exchange.upbit.dto.Market;
 import autostock.taesung.com.autostock.exchange.upbit.dto.OrderResponse;
 import autostock.taesung.com.autostock.exchange.upbit.dto.Ticker;
+import autostock.taesung.com.autostock.exchange.upbit.order.UpbitOrderTracker;
+import autostock.taesung.com.autostock.exchange.upbit.quotation.UpbitQuotationService;
 import autostock.taesung.com.autostock.realtrading.config.RealTradingConfig;
-import autostock.taesung.com.autostock.repository.CandleDataRepository;
 import autostock.taesung.com.autostock.repository.TickerDataRepository;
 import autostock.taesung.com.autostock.repository.TradeHistoryRepository;
+import autostock.taesung.com.autostock.service.CandleIngestionService;
+import autostock.taesung.com.autostock.service.ClusterShardService;
 import autostock.taesung.com.autostock.strategy.TradingStrategy;
 import autostock.taesung.com.autostock.strategy.impl.ScaledTradingStrategy;
+import autostock.taesung.com.autostock.strategy.session.LivePositionStateStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -31,9 +34,9 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -43,9 +46,13 @@ import java.util.stream.Collectors;
 public class AutoTradingService {
 
     private final UpbitApiService upbitApiService;
+    private final UpbitQuotationService quotationService;
+    private final UpbitOrderTracker orderTracker;
     private final List<TradingStrategy> strategies;
     private final TradeHistoryRepository tradeHistoryRepository;
-    private final CandleDataRepository candleDataRepository;
+    private final LivePositionStateStore positionStateStore;
+    private final CandleIngestionService candleIngestionService;
+    private final ClusterShardService clusterShardService;
     private final TickerDataRepository tickerDataRepository;
 
     // 업비트 수수료율 (0.05%)
@@ -71,7 +78,7 @@ public class AutoTradingService {
     @Value("${trading.auto-select-top:0}")
     private int autoSelectTop;
 
-    // 마켓 범위 설정 (분산 서버용)
+    // 마켓 범위 설정 (분산 서버용, cluster.sharding.enabled=true면 무시하고 샤드 임대로 자동 분배)
     @Value("${trading.market-range-start:0}")
     private int marketRangeStart;
 
@@ -112,10 +119,6 @@ public class AutoTradingService {
     @Value("${trading.limit-order.timeout-seconds:30}")
     private int limitOrderTimeout;
 
-    // 지정가 주문 체결 확인 간격 (초)
-    @Value("${trading.limit-order.poll-interval-seconds:2}")
-    private int limitOrderPollInterval;
-
     // 미체결 시 재시도 횟수
     @Value("${trading.limit-order.retry-count:2}")
     private int limitOrderRetryCount;
@@ -186,8 +189,9 @@ public class AutoTradingService {
             return List.of();
         }
 
-        // 상위 N개 자동 선택 (분산 서버용 범위 적용)
+        // 상위 N개 자동 선택 (분산 서버용 범위 적용, 클러스터 샤딩 시 임대한 샤드의 마켓)
         if (autoSelectTop > 0 || marketRangeCount > 0) {
+            boolean sharded = clusterShardService.isEnabled();
             try {
                 List<Market> markets = upbitApiService.getMarkets();
                 return markets.stream()
@@ -195,8 +199,9 @@ public class AutoTradingService {
                         .filter(m -> !"CAUTION".equals(m.getMarketWarning()))
                         .map(Market::getMarket)
                         .filter(this::isMarketAllowed)
-                        .skip(marketRangeStart)
-                        .limit(marketRangeCount)
+                        .skip(sharded ? 0 : marketRangeStart)
+                        .limit(sharded ? Long.MAX_VALUE : marketRangeCount)
+                        .filter(clusterShardService::ownsMarket)
                         .collect(Collectors.toList());
             } catch (Exception e) {
                 log.error("마켓 목록 조회 실패: {}", e.getMessage());
@@ -240,7 +245,6 @@ public class AutoTradingService {
         for (String market : markets) {
             try {
                 executeAutoTradingForMarket(user, market);
-                Thread.sleep(200);  // API 속도 제한 방지
             } catch (Exception e) {
                 log.error("[{}] 자동매매 실행 중 오류: {}", market, e.getMessage());
             }
@@ -258,6 +262,8 @@ public class AutoTradingService {
         try {
             List<Account> accounts = upbitApiService.getAccounts(user);
 
+            // 1. 손절 대상 보유 코인 수집
+            Map<String, Account> holdings = new LinkedHashMap<>();
             for (Account account : accounts) {
                 // KRW는 스킵
                 if ("KRW".equals(account.getCurrency())) {
@@ -280,15 +286,24 @@ public class AutoTradingService {
                 if (!isMarketAllowed(market)) {
                     continue;
                 }
+                holdings.put(market, account);
+            }
 
-                // 현재가 조회
-                try {
-                    List<Ticker> tickers = upbitApiService.getTicker(market);
-                    if (tickers == null || tickers.isEmpty()) {
-                        continue;
-                    }
+            // 2. 현재가 일괄 조회 (조회 실패 마켓은 결과에서 빠짐 - 상장폐지 등)
+            Map<String, Ticker> tickers = quotationService.getTickers(holdings.keySet());
+
+            for (Map.Entry<String, Account> entry : holdings.entrySet()) {
+                String market = entry.getKey();
+                Ticker ticker = tickers.get(market);
+                if (ticker == null) {
+                    log.debug("[{}] 현재가 조회 실패 (상장폐지 등)", market);
+                    continue;
+                }
 
-                    double currentPrice = tickers.get(0).getTradePrice().doubleValue();
+                try {
+                    double balance = Double.parseDouble(entry.getValue().getBalance());
+                    double avgBuyPrice = Double.parseDouble(entry.getValue().getAvgBuyPrice());
+                    double currentPrice = ticker.getTradePrice().doubleValue();
                     double profitRate = (currentPrice - avgBuyPrice) / avgBuyPrice;
 
                     log.info("[{}] 손익률 체크 - 평균매수가: {}, 현재가: {}, 손익률: {}%",
@@ -307,10 +322,8 @@ public class AutoTradingService {
                         executeStopLoss(user, market, currentPrice, balance, profitRate);
                     }
 
-                    Thread.sleep(200);  // API 속도 제한 방지
-
                 } catch (Exception e) {
-                    log.debug("[{}] 현재가 조회 실패 (상장폐지 등): {}", market, e.getMessage());
+                    log.error("[{}] 손절 처리 중 오류: {}", market, e.getMessage());
                 }
             }
 
@@ -358,15 +371,9 @@ public class AutoTradingService {
         log.info("----- [{}] 분석 시작 (모드: {}) -----", market, strategyMode);
 
         try {
-            // DB에 데이터가 충분한지 확인하여 API 호출 갯수 조절
+            // 전략 분석이 전체 캔들을 기대하므로 항상 candleCount개 조회
+            // (DB 중복 적재는 CandleIngestionService가 워터마크/upsert로 처리)
             int fetchCount = candleCount;
-            Optional<CandleData> lastCandle = candleDataRepository.findFirstByMarketAndUnitOrderByCandleDateTimeKstDesc(market, minuteInterval);
-
-            if (lastCandle.isEmpty()) {
-                fetchCount = candleCount;
-            } else {
-                fetchCount = candleCount;
-            }
 
             // 1. 캔들 데이터 조회
             List<Candle> candles = upbitApiService.getMinuteCandles(market, minuteInterval, fetchCount);
@@ -375,8 +382,8 @@ public class AutoTradingService {
                 return;
             }
 
-            // 캔들 데이터 DB 저장 (최신 데이터 위주로 저장, 중복 제외)
-            saveCandlesToDb(candles);
+            // 캔들 데이터 DB 적재 요청 (버퍼링 후 일괄 upsert, 사용자 간 중복 제거)
+            candleIngestionService.ingest(candles);
 
             // 2. 현재가 조회
             List<Ticker> tickers = upbitApiService.getTicker(market);
@@ -499,7 +506,7 @@ public class AutoTradingService {
         // 최고가 갱신
         if (currentPrice > highestPrice) {
             buyHistory.setHighestPrice(BigDecimal.valueOf(currentPrice));
-            tradeHistoryRepository.save(buyHistory);
+            positionStateStore.record(tradeHistoryRepository.save(buyHistory));
             highestPrice = currentPrice;
         }
 
@@ -533,7 +540,7 @@ public class AutoTradingService {
             // 1차 익절 완료 표시
             buyHistory.setHalfSold(true);
             buyHistory.setExitPhase(1);
-            tradeHistoryRepository.save(buyHistory);
+            positionStateStore.record(tradeHistoryRepository.save(buyHistory));
             return;
         }
 
@@ -542,7 +549,7 @@ public class AutoTradingService {
             double trailingStopPrice = calculateTrailingStopPrice(highestPrice, atr);
             buyHistory.setTrailingActive(true);
             buyHistory.setTrailingStopPrice(BigDecimal.valueOf(trailingStopPrice));
-            tradeHistoryRepository.save(buyHistory);
+            positionStateStore.record(tradeHistoryRepository.save(buyHistory));
             log.info("[{}] 트레일링 스탑 활성화! 고점: {}, 스탑가: {}", market,
                     String.format("%.0f", highestPrice), String.format("%.0f", trailingStopPrice));
         }
@@ -557,7 +564,7 @@ public class AutoTradingService {
             if (currentPrice > highestPrice) {
                 trailingStopPrice = calculateTrailingStopPrice(currentPrice, atr);
                 buyHistory.setTrailingStopPrice(BigDecimal.valueOf(trailingStopPrice));
-                tradeHistoryRepository.save(buyHistory);
+                positionStateStore.record(tradeHistoryRepository.save(buyHistory));
             }
 
             if (currentPrice <= trailingStopPrice) {
@@ -889,7 +896,7 @@ public class AutoTradingService {
                     .isStopLoss(false)
                     .build();
 
-            tradeHistoryRepository.save(history);
+            positionStateStore.record(tradeHistoryRepository.save(history));
 
         } catch (Exception e) {
             log.error("[{}] 분할매수 실행 실패: {}", market, e.getMessage());
@@ -1106,49 +1113,28 @@ public class AutoTradingService {
      */
     private OrderResult waitForOrderExecution(User user, String uuid, double orderPrice,
                                                double orderVolume, String side) {
-        long startTime = System.currentTimeMillis();
-        long timeoutMs = limitOrderTimeout * 1000L;
+        // 체결 추적기가 일괄 조회로 완료/취소를 확인 (시간 초과 시 마지막 상태)
+        OrderResponse order = orderTracker.await(user, uuid, limitOrderTimeout * 1000L);
 
-        while (System.currentTimeMillis() - startTime < timeoutMs) {
-            try {
-                OrderResponse order = upbitApiService.getOrder(user, uuid);
-
-                if (order == null) {
-                    Thread.sleep(limitOrderPollInterval * 1000L);
-                    continue;
-                }
+        if (order != null) {
+            String state = order.getState();
 
-                String state = order.getState();
+            // 완전 체결
+            if ("done".equals(state)) {
+                double executedVolume = parseDouble(order.getExecutedVolume(), orderVolume);
+                double avgPrice = parseDouble(order.getAvgPrice(), orderPrice);
+                return OrderResult.success(uuid, avgPrice, executedVolume, "LIMIT");
+            }
 
-                // 완전 체결
-                if ("done".equals(state)) {
-                    double executedVolume = parseDouble(order.getExecutedVolume(), orderVolume);
+            // 취소됨
+            if ("cancel".equals(state)) {
+                double executedVolume = parseDouble(order.getExecutedVolume(), 0);
+                if (executedVolume > 0) {
+                    // 부분 체결 후 취소
                     double avgPrice = parseDouble(order.getAvgPrice(), orderPrice);
-                    return OrderResult.success(uuid, avgPrice, executedVolume, "LIMIT");
-                }
-
-                // 취소됨
-                if ("cancel".equals(state)) {
-                    double executedVolume = parseDouble(order.getExecutedVolume(), 0);
-                    if (executedVolume > 0) {
-                        // 부분 체결 후 취소
-                        double avgPrice = parseDouble(order.getAvgPrice(), orderPrice);
-                        return OrderResult.partialFill(uuid, avgPrice, executedVolume, "LIMIT");
-                    }
-                    return OrderResult.failed("주문 취소됨");
-                }
-
-                // 대기 중 (wait) - 계속 폴링
-                Thread.sleep(limitOrderPollInterval * 1000L);
-
-            } catch (Exception e) {
-                log.warn("주문 상태 조회 실패: {}", e.getMessage());
-                try {
-                    Thread.sleep(limitOrderPollInterval * 1000L);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    break;
+                    return OrderResult.partialFill(uuid, avgPrice, executedVolume, "LIMIT");
                 }
+                return OrderResult.failed("주문 취소됨");
             }
         }
 
@@ -1251,7 +1237,7 @@ public class AutoTradingService {
                     .exitPhase(exitPhase)
                     .build();
 
-            tradeHistoryRepository.save(history);
+            positionStateStore.record(tradeHistoryRepository.save(history));
             log.info("[{}] 거래 내역 저장 - {}, 금액: {}, 청산단계: {}",
                     market, tradeType, String.format("%.0f", amount), exitPhase);
 
@@ -1515,7 +1501,7 @@ public class AutoTradingService {
                     .highestPrice(tradeType == TradeType.BUY ? BigDecimal.valueOf(price) : null)  // 매수 시 최고가 초기화
                     .build();
 
-            tradeHistoryRepository.save(history);
+            positionStateStore.record(tradeHistoryRepository.save(history));
             log.info("[{}] 거래 내역 저장 완료 - {}, 금액: {}, 수수료: {}, 목표가: {}",
                     market, tradeType, String.format("%.0f", amount), String.format("%.0f", fee),
                     targetPrice != null ? String.format("%.0f", targetPrice) : "없음");
@@ -1525,55 +1511,6 @@ public class AutoTradingService {
         }
     }
 
-    /**
-     * 캔들 데이터 DB 저장 (중복 제외)
-     * 최신 데이터부터 확인하여 중복이 발견되면 중단을 고려할 수 있으나,
-     * API 응답 순서가 최신순이므로 효율적으로 처리
-     */
-    private void saveCandlesToDb(List<Candle> candles) {
-        if (candles == null || candles.isEmpty()) {
-            return;
-        }
-
-        try {
-            // 업비트 API는 최신 캔들이 리스트의 0번에 위치함
-            int savedCount = 0;
-            for (int i = 0; i < candles.size(); i++) {
-                Candle candle = candles.get(i);
-                
-                // 이미 존재하는 캔들인지 확인 (시장가와 KST 시간 기준)
-                // 리스트의 0번부터 확인하므로, 이미 존재하는 데이터를 만나면 그 이후(과거 데이터)는 이미 저장되어 있을 확률이 높음
-                if (candleDataRepository.findByMarketAndCandleDateTimeKst(candle.getMarket(), candle.getCandleDateTimeKst()).isPresent()) {
-                    // 1분봉 데이터 적재 시, 연속된 데이터라면 중복 발견 시 중단하여 성능 최적화
-                    // 단, 200개를 가져오는데 그 중 중간에 비어있을 가능성이 아주 낮으므로 break 허용
-                    break;
-                }
-
-                CandleData candleData = CandleData.builder()
-                        .market(candle.getMarket())
-                        .candleDateTimeUtc(candle.getCandleDateTimeUtc())
-                        .candleDateTimeKst(candle.getCandleDateTimeKst())
-                        .openingPrice(candle.getOpeningPrice())
-                        .highPrice(candle.getHighPrice())
-                        .lowPrice(candle.getLowPrice())
-                        .tradePrice(candle.getTradePrice())
-                        .timestamp(candle.getTimestamp())
-                        .candleAccTradePrice(candle.getCandleAccTradePrice())
-                        .candleAccTradeVolume(candle.getCandleAccTradeVolume())
-                        .unit(candle.getUnit())
-                        .build();
-
-                candleDataRepository.save(candleData);
-                savedCount++;
-            }
-            if (savedCount > 0) {
-                log.info("[{}] 신규 캔들 데이터 {}건 저장 완료", candles.get(0).getMarket(), savedCount);
-            }
-        } catch (Exception e) {
-            log.error("캔들 데이터 DB 저장 중 오류: {}", e.getMessage());
-        }
-    }
-
     /**
      * Ticker 데이터 DB 저장
      */
@@ -0,0 +1,95 @@
+package autostock.taesung.com.autostock.trading;
+
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+import autostock.taesung.com.autostock.exchange.upbit.dto.Ticker;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 매매 주기의 시장 데이터 스냅샷 (읽기 전용)
+ * - 주기 시작 시 마켓별로 한 번만 조회한 캔들/현재가를 모든 사용자 평가가 공유
+ * - 캔들 리스트는 수정 불가 뷰 (전략은 읽기만 해야 함)
+ */
+public final class MarketSnapshot {
+
+    private final long cycleId;
+    private final LocalDateTime capturedAt;
+    private final int unit;
+    private final int count;
+    private final List<String> markets;
+    private final Map<String, List<Candle>> candlesByMarket;
+    private final Map<String, Ticker> tickersByMarket;
+
+    MarketSnapshot(long cycleId, int unit, int count, List<String> markets,
+                   Map<String, List<Candle>> candlesByMarket, Map<String, Ticker> tickersByMarket) {
+        this.cycleId = cycleId;
+        this.capturedAt = LocalDateTime.now();
+        this.unit = unit;
+        this.count = count;
+        this.markets = List.copyOf(markets);
+
+        Map<String, List<Candle>> candles = new LinkedHashMap<>();
+        candlesByMarket.forEach((market, list) -> candles.put(market, Collections.unmodifiableList(list)));
+        this.candlesByMarket = Collections.unmodifiableMap(candles);
+        this.tickersByMarket = Collections.unmodifiableMap(new LinkedHashMap<>(tickersByMarket));
+    }
+
+    public long getCycleId() {
+        return cycleId;
+    }
+
+    public LocalDateTime getCapturedAt() {
+        return capturedAt;
+    }
+
+    public int getUnit() {
+        return unit;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * 스냅샷 대상 마켓 (조회 실패 마켓 포함, 요청 순서)
+     */
+    public List<String> getMarkets() {
+        return markets;
+    }
+
+    /**
+     * 마켓 캔들 (최신순, 조회 실패 시 null)
+     */
+    public List<Candle> getCandles(String market) {
+        return candlesByMarket.get(market);
+    }
+
+    /**
+     * 마켓 현재가 (조회 실패 시 null)
+     */
+    public Ticker getTicker(String market) {
+        return tickersByMarket.get(market);
+    }
+
+    /**
+     * 캔들과 현재가가 모두 있는 마켓인지
+     */
+    public boolean isAvailable(String market) {
+        return candlesByMarket.containsKey(market) && tickersByMarket.containsKey(market);
+    }
+
+    public int getAvailableCount() {
+        return (int) markets.stream().filter(this::isAvailable).count();
+    }
+
+    /**
+     * 같은 조건으로 이미 조회된 스냅샷인지 (주기 내 재사용 판단)
+     */
+    boolean covers(List<String> requestedMarkets, int requestedUnit, int requestedCount) {
+        return unit == requestedUnit && count == requestedCount && markets.containsAll(requestedMarkets);
+    }
+}
@@ -0,0 +1,184 @@
+package autostock.taesung.com.autostock.trading;
+
+import autostock.taesung.com.autostock.exchange.upbit.UserUpbitApiService;
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+import autostock.taesung.com.autostock.exchange.upbit.dto.Ticker;
+import autostock.taesung.com.autostock.exchange.upbit.stream.UpbitMarketDataStream;
+import autostock.taesung.com.autostock.service.CandleIngestionService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 매매 주기별 시장 데이터 스냅샷 서비스
+ *
+ * [기존 문제]
+ * - 사용자마다 모든 마켓의 캔들/현재가를 다시 조회 (사용자 20명 x 마켓 30개 = 주기당 600회 이상)
+ *
+ * [개선]
+ * - 주기당 (market, unit) 별 캔들 1회 조회, 현재가는 전체 마켓 1회 일괄 조회
+ * - 캔들 조회는 제한된 스레드에서 병렬 실행 (업비트 공개 API 초당 요청 제한은 UpbitRateLimiter가 조절)
+ * - 조회한 캔들은 여기서 한 번만 DB 적재 요청 (CandleIngestionService)
+ * - 결과는 읽기 전용 MarketSnapshot으로 모든 사용자 평가에 공유
+ *
+ * - 실시간 스트림(UpbitMarketDataStream)이 활성화되어 있으면 스트림 데이터를 우선 사용하고 REST는 보충용
+ *
+ * 공개 API 호출 수: 마켓 수 + 1 (사용자 수와 무관, 스트림 사용 시 신선하지 않은 마켓만)
+ */
+@Slf4j
+@Service
+public class MarketSnapshotService {
+
+    private final UserUpbitApiService upbitApiService;
+    private final CandleIngestionService candleIngestionService;
+    private final UpbitMarketDataStream marketDataStream;
+    private final ExecutorService fetchExecutor;
+    private final long reuseSeconds;
+
+    private final AtomicLong cycleSequence = new AtomicLong();
+
+    /** 마지막 스냅샷 (같은 주기 내 재사용) */
+    private volatile MarketSnapshot latest;
+
+    public MarketSnapshotService(UserUpbitApiService upbitApiService,
+                                 CandleIngestionService candleIngestionService,
+                                 UpbitMarketDataStream marketDataStream,
+                                 @Value("${trading.snapshot.parallelism:4}") int parallelism,
+                                 @Value("${trading.snapshot.reuse-seconds:60}") long reuseSeconds) {
+        this.upbitApiService = upbitApiService;
+        this.candleIngestionService = candleIngestionService;
+        this.marketDataStream = marketDataStream;
+        this.reuseSeconds = reuseSeconds;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.fetchExecutor = Executors.newFixedThreadPool(Math.max(1, parallelism), r -> {
+            Thread thread = new Thread(r, "market-snapshot-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 새 주기 스냅샷 조회 (항상 새로 조회)
+     * @param markets 대상 마켓
+     * @param unit 분봉 단위
+     * @param count 캔들 개수
+     */
+    public MarketSnapshot capture(List<String> markets, int unit, int count) {
+        long cycleId = cycleSequence.incrementAndGet();
+        long startTime = System.currentTimeMillis();
+
+        // 1. 캔들: 마켓별 병렬 조회
+        List<CompletableFuture<List<Candle>>> futures = new ArrayList<>(markets.size());
+        for (String market : markets) {
+            futures.add(CompletableFuture.supplyAsync(() -> fetchCandles(market, unit, count), fetchExecutor));
+        }
+
+        // 2. 현재가: 전체 마켓 한 번에 조회
+        Map<String, Ticker> tickers = fetchTickers(markets);
+
+        Map<String, List<Candle>> candlesByMarket = new LinkedHashMap<>();
+        for (int i = 0; i < markets.size(); i++) {
+            List<Candle> candles = futures.get(i).join();
+            if (candles != null && !candles.isEmpty()) {
+                candlesByMarket.put(markets.get(i), candles);
+                // 캔들 DB 적재는 주기당 마켓별 1회
+                candleIngestionService.ingest(candles);
+            }
+        }
+
+        MarketSnapshot snapshot = new MarketSnapshot(cycleId, unit, count, markets, candlesByMarket, tickers);
+        latest = snapshot;
+
+        log.info("시장 스냅샷 #{} 조회 완료: {}/{} 마켓 ({}ms)",
+                cycleId, snapshot.getAvailableCount(), markets.size(), System.currentTimeMillis() - startTime);
+        return snapshot;
+    }
+
+    /**
+     * 같은 조건의 최근 스냅샷이 있으면 재사용, 없으면 새로 조회
+     * - 스케줄러 외 경로(단일 사용자 수동 실행 등)에서 사용
+     */
+    public MarketSnapshot getOrCapture(List<String> markets, int unit, int count) {
+        MarketSnapshot snapshot = latest;
+        if (snapshot != null
+                && snapshot.covers(markets, unit, count)
+                && snapshot.getCapturedAt().isAfter(LocalDateTime.now().minusSeconds(reuseSeconds))) {
+            return snapshot;
+        }
+        return capture(markets, unit, count);
+    }
+
+    private List<Candle> fetchCandles(String market, int unit, int count) {
+        // 실시간 스트림으로 집계된 캔들이 충분하면 REST 호출 생략
+        List<Candle> streamed = marketDataStream.getCandles(market, unit, count);
+        if (streamed != null) {
+            return streamed;
+        }
+        try {
+            return upbitApiService.getMinuteCandles(market, unit, count);
+        } catch (Exception e) {
+            log.error("[{}] 스냅샷 캔들 조회 실패: {}", market, e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, Ticker> fetchTickers(List<String> requestedMarkets) {
+        Map<String, Ticker> result = new LinkedHashMap<>();
+
+        // 실시간 스트림 현재가 우선, 없는 마켓만 REST 조회
+        List<String> markets = new ArrayList<>();
+        for (String market : requestedMarkets) {
+            Ticker streamed = marketDataStream.getTicker(market);
+            if (streamed != null) {
+                result.put(market, streamed);
+            } else {
+                markets.add(market);
+            }
+        }
+        if (markets.isEmpty()) {
+            return result;
+        }
+        try {
+            List<Ticker> tickers = upbitApiService.getTicker(String.join(",", markets));
+            if (tickers != null) {
+                for (Ticker ticker : tickers) {
+                    result.put(ticker.getMarket(), ticker);
+                }
+            }
+        } catch (Exception e) {
+            // 일괄 조회는 마켓 하나만 잘못돼도 전체 실패하므로 마켓별로 재시도
+            log.error("스냅샷 현재가 일괄 조회 실패, 마켓별 재조회: {}", e.getMessage());
+            for (String market : markets) {
+                try {
+                    List<Ticker> tickers = upbitApiService.getTicker(market);
+                    if (tickers != null && !tickers.isEmpty()) {
+                        result.put(market, tickers.get(0));
+                    }
+                } catch (Exception ex) {
+                    log.error("[{}] 스냅샷 현재가 조회 실패: {}", market, ex.getMessage());
+                }
+            }
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        fetchExecutor.shutdownNow();
+        fetchExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -1,18 +1,18 @@
 package autostock.taesung.com.autostock.trading;
 
-import autostock.taesung.com.autostock.entity.CandleData;
 import autostock.taesung.com.autostock.entity.TickerData;
 import autostock.taesung.com.autostock.entity.TradeHistory;
 import autostock.taesung.com.autostock.entity.TradeHistory.TradeType;
 import autostock.taesung.com.autostock.entity.User;
 import autostock.taesung.com.autostock.exchange.upbit.UserUpbitApiService;
 import autostock.taesung.com.autostock.exchange.upbit.dto.*;
-import autostock.taesung.com.autostock.repository.CandleDataRepository;
 import autostock.taesung.com.autostock.repository.TickerDataRepository;
 import autostock.taesung.com.autostock.repository.TradeHistoryRepository;
 import autostock.taesung.com.autostock.repository.UserRepository;
+import autostock.taesung.com.autostock.service.ClusterShardService;
 import autostock.taesung.com.autostock.service.UserStrategyService;
 import autostock.taesung.com.autostock.strategy.TradingStrategy;
+import autostock.taesung.com.autostock.strategy.session.LivePositionStateStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -26,8 +26,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
@@ -44,10 +42,12 @@ public class UserAutoTradingService {
     private final UserUpbitApiService upbitApiService;
     private final List<TradingStrategy> allStrategies;  // 모든 전략
     private final TradeHistoryRepository tradeHistoryRepository;
+    private final LivePositionStateStore positionStateStore;
     private final UserRepository userRepository;
     private final UserStrategyService userStrategyService;
-    private final CandleDataRepository candleDataRepository;
+    private final MarketSnapshotService marketSnapshotService;
     private final TickerDataRepository tickerDataRepository;
+    private final ClusterShardService clusterShardService;
 
     private static final double UPBIT_FEE_RATE = 0.0005;
     private static final int PERIOD = 100;
@@ -75,7 +75,7 @@ public class UserAutoTradingService {
     @Value("${trading.auto-select-top:0}")
     private int autoSelectTop;
 
-    // 마켓 범위 설정 (분산 서버용)
+    // 마켓 범위 설정 (분산 서버용, cluster.sharding.enabled=true면 무시하고 샤드 임대로 자동 분배)
     @Value("${trading.market-range-start:0}")
     private int marketRangeStart;
 
@@ -91,7 +91,7 @@ public class UserAutoTradingService {
     private final int minuteInterval = 1;
     private final int candleCount = 100;
 
-    // 비동기 주문 처리용 Executor
+    // 주문 체결 후처리용 Executor (체결 대기는 UpbitOrderTracker가 담당)
     private final Executor orderExecutor = Executors.newFixedThreadPool(5);
 
     // 대기 중인 주문 추적 (key: orderUuid, value: PendingOrder)
@@ -130,29 +130,41 @@ public class UserAutoTradingService {
     }
 
     /**
-     * 특정 사용자의 자동매매 실행
+     * 특정 사용자의 자동매매 실행 (단독 실행 - 최근 스냅샷 재사용 또는 새로 조회)
      */
     public void executeAutoTradingForUser(User user) {
+        List<String> markets = resolveTradingMarkets();
+        if (markets.isEmpty()) {
+            log.warn("[{}] 거래 가능한 마켓이 없습니다.", user.getUsername());
+            return;
+        }
+        executeAutoTradingForUser(user, marketSnapshotService.getOrCapture(markets, minuteInterval, candleCount));
+    }
+
+    /**
+     * 특정 사용자의 자동매매 실행 (주기 공유 스냅샷 사용)
+     * - 캔들/현재가는 스냅샷에서 읽으므로 사용자별 공개 API 호출 없음
+     */
+    public void executeAutoTradingForUser(User user, MarketSnapshot snapshot) {
         if (user.getUpbitAccessKey() == null || user.getUpbitSecretKey() == null) {
             log.warn("[{}] Upbit API 키가 없습니다.", user.getUsername());
             return;
         }
 
         List<String> excludedMarkets = parseExcludedMarkets();
-        List<String> markets = getTopKrwMarkets(marketRangeStart, marketRangeCount, excludedMarkets);
+        List<String> markets = snapshot.getMarkets();
 
         if (markets.isEmpty()) {
             log.warn("[{}] 거래 가능한 마켓이 없습니다.", user.getUsername());
             return;
         }
 
-        log.info("========== [{}] 자동매매 시작 ==========", user.getUsername());
+        log.info("========== [{}] 자동매매 시작 (스냅샷 #{}) ==========", user.getUsername(), snapshot.getCycleId());
         log.info("대상 마켓 {}개: {}", markets.size(), markets);
 
         for (String market : markets) {
             try {
-                executeAutoTradingForMarket(user, market, excludedMarkets);
-                Thread.sleep(250);
+                executeAutoTradingForMarket(user, market, excludedMarkets, snapshot);
             } catch (Exception e) {
                 log.error("[{}][{}] 자동매매 실행 중 오류: {}", user.getUsername(), market, e.getMessage());
             }
@@ -161,6 +173,33 @@ public class UserAutoTradingService {
         log.info("========== [{}] 자동매매 종료 ==========\n", user.getUsername());
     }
 
+    /**
+     * 이번 주기 매매 대상 마켓 (분산 서버 범위 + 제외 마켓 적용)
+     * - 클러스터 샤딩 활성화 시: 전체 KRW 마켓 중 이 인스턴스가 임대한 샤드의 마켓
+     */
+    public List<String> resolveTradingMarkets() {
+        if (clusterShardService.isEnabled()) {
+            return clusterShardService.filterOwnedMarkets(
+                    getTopKrwMarkets(0, Integer.MAX_VALUE, parseExcludedMarkets()));
+        }
+        return getTopKrwMarkets(marketRangeStart, marketRangeCount, parseExcludedMarkets());
+    }
+
+    /**
+     * 이번 주기 시장 스냅샷 조회 (모든 사용자가 공유)
+     */
+    public MarketSnapshot captureMarketSnapshot(List<String> markets) {
+        MarketSnapshot snapshot = marketSnapshotService.capture(markets, minuteInterval, candleCount);
+        // 현재가 DB 저장 (주기당 마켓별 1회)
+        for (String market : snapshot.getMarkets()) {
+            Ticker ticker = snapshot.getTicker(market);
+            if (ticker != null) {
+                saveTickerToDb(ticker);
+            }
+        }
+        return snapshot;
+    }
+
     private List<String> parseExcludedMarkets() {
         List<String> excludedMarkets = new ArrayList<>();
         if (excludedMarketsStr != null && !excludedMarketsStr.trim().isEmpty()) {
@@ -236,7 +275,8 @@ public class UserAutoTradingService {
         }
     }
 
-    private void executeAutoTradingForMarket(User user, String market, List<String> excludedMarkets) {
+    private void executeAutoTradingForMarket(User user, String market, List<String> excludedMarkets,
+                                             MarketSnapshot snapshot) {
         if (!isMarketAllowed(market, excludedMarkets)) {
             return;
         }
@@ -244,40 +284,14 @@ public class UserAutoTradingService {
         //log.info("----- [{}][{}] 분석 시작 -----", user.getUsername(), market);
 
         try {
-            // DB에 데이터가 충분한지 확인하여 API 호출 갯수 조절
-            int fetchCount = candleCount;
-            Optional<CandleData> lastCandle = candleDataRepository.findFirstByMarketAndUnitOrderByCandleDateTimeKstDesc(market, minuteInterval);
-            if (lastCandle.isEmpty()) {
-                // 데이터가 전혀 없으면 200개 가져옴
-                fetchCount = candleCount;
-            } else {
-                // 이미 데이터가 있다면 최근 1~2개만 가져와서 업데이트해도 됨
-                // 하지만 전략 분석 로직이 List<Candle>을 200개 기대하므로,
-                // 분석용으로는 200개를 유지하되 DB 저장 로직에서 중복을 효율적으로 스킵함
-                // (만약 API 호출 자체를 줄이고 싶다면 분석 로직을 DB 기반으로 바꿔야 함)
-                fetchCount = candleCount;
-            }
-
-            // 1. 캔들 데이터 조회
-            List<Candle> candles = upbitApiService.getMinuteCandles(market, minuteInterval, fetchCount);
-            /*if (candles == null || candles.size() < PERIOD) {
-                log.warn("[{}][{}] 캔들 데이터 부족", user.getUsername(), market);
+            // 1. 캔들/현재가: 주기 공유 스냅샷에서 조회 (DB 적재도 스냅샷 조회 시 1회 처리됨)
+            if (!snapshot.isAvailable(market)) {
+                log.warn("[{}][{}] 스냅샷 데이터 없음, 스킵", user.getUsername(), market);
                 return;
             }
-            double totalTradeVolume = candles.subList(0, PERIOD).stream()
-                    .mapToDouble(c -> c.getCandleAccTradePrice().doubleValue())
-                    .sum();
-                    */
-
-            // 캔들 데이터 DB 저장 (최신 데이터 위주로 저장, 중복 제외)
-            saveCandlesToDb(candles);
-            // 최소거래량 설정. (3 동안 거래 평균액 )
-            List<Ticker> tickers = upbitApiService.getTicker(market);
-            double currentPrice = tickers.get(0).getTradePrice().doubleValue();
-
-            // 현재가 DB 저장
-            saveTickerToDb(tickers.get(0));
-            //log.info("[{}][{}] 현재가: {}", user.getUsername(), market, String.format("%.4f", currentPrice));
+            List<Candle> candles = snapshot.getCandles(market);
+            Ticker ticker = snapshot.getTicker(market);
+            double currentPrice = ticker.getTradePrice().doubleValue();
 
             // 사용자가 선택한 전략만 가져오기
             List<TradingStrategy> userStrategies = userStrategyService.getEnabledTradingStrategies(user.getId());
@@ -372,12 +386,12 @@ public class UserAutoTradingService {
             if (order != null && order.getUuid() != null) {
                 log.info("[{}][{}] 지정가 매수 주문 제출 완료 - UUID: {}", user.getUsername(), market, order.getUuid());
 
-                // 2단계: 비동기로 체결 대기 및 후처리
+                // 2단계: 체결 추적기가 완료/타임아웃을 알려주면 후처리 (대기 중 스레드 점유 없음)
                 final double finalOrderAmount = orderAmount;
-                CompletableFuture.runAsync(() -> {
-                    monitorAndCompleteOrder(user, market, order.getUuid(), TradeType.BUY,
-                            limitPrice, volume, finalOrderAmount, strategyName, targetPrice);
-                }, orderExecutor);
+                upbitApiService.trackOrder(user, order.getUuid(), LIMIT_ORDER_TIMEOUT_MS)
+                        .thenAcceptAsync(lastOrder -> completeOrder(user, market, order.getUuid(), lastOrder,
+                                TradeType.BUY, limitPrice, volume, finalOrderAmount, strategyName, targetPrice),
+                                orderExecutor);
             }
 
         } catch (Exception e) {
@@ -417,11 +431,11 @@ public class UserAutoTradingService {
             if (order != null && order.getUuid() != null) {
                 log.info("[{}][{}] 지정가 매도 주문 제출 완료 - UUID: {}", user.getUsername(), market, order.getUuid());
 
-                // 2단계: 비동기로 체결 대기 및 후처리
-                CompletableFuture.runAsync(() -> {
-                    monitorAndCompleteOrder(user, market, order.getUuid(), TradeType.SELL,
-                            limitPrice, coinBalance, coinBalance * limitPrice, strategyName, null);
-                }, orderExecutor);
+                // 2단계: 체결 추적기가 완료/타임아웃을 알려주면 후처리 (대기 중 스레드 점유 없음)
+                upbitApiService.trackOrder(user, order.getUuid(), LIMIT_ORDER_TIMEOUT_MS)
+                        .thenAcceptAsync(lastOrder -> completeOrder(user, market, order.getUuid(), lastOrder,
+                                TradeType.SELL, limitPrice, coinBalance, coinBalance * limitPrice, strategyName, null),
+                                orderExecutor);
             }
 
         } catch (Exception e) {
@@ -430,44 +444,28 @@ public class UserAutoTradingService {
     }
 
     /**
-     * 비동기 주문 체결 모니터링 및 완료 처리
-     * - 10초간 체결 대기
+     * 주문 체결 완료 처리 (체결 추적기 콜백)
+     * - lastOrder: 10초 내 완료/취소된 주문 또는 타임아웃 시점의 마지막 상태
      * - 미체결 시 취소 후 시장가 전환
      * - 체결 완료 시 거래 내역 저장
      */
-    private void monitorAndCompleteOrder(User user, String market, String orderUuid,
-                                          TradeType tradeType, double limitPrice, double volume,
-                                          double orderAmount, String strategyName, Double targetPrice) {
+    private void completeOrder(User user, String market, String orderUuid, OrderResponse lastOrder,
+                               TradeType tradeType, double limitPrice, double volume,
+                               double orderAmount, String strategyName, Double targetPrice) {
         try {
-            long startTime = System.currentTimeMillis();
-            OrderResponse lastOrder = null;
             String tradeMethod = "LIMIT";
 
-            // 10초간 체결 대기 (1초 간격 폴링)
-            while (System.currentTimeMillis() - startTime < LIMIT_ORDER_TIMEOUT_MS) {
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-
-                lastOrder = upbitApiService.getOrder(user, orderUuid);
-                if (lastOrder == null) continue;
-
-                // 체결 완료
-                if ("done".equals(lastOrder.getState())) {
-                    log.info("[{}][{}] 지정가 {} 체결 완료 - UUID: {}",
-                            user.getUsername(), market,
-                            tradeType == TradeType.BUY ? "매수" : "매도",
-                            orderUuid);
-                    break;
-                }
-                // 취소됨
-                if ("cancel".equals(lastOrder.getState())) {
-                    log.warn("[{}][{}] 주문 취소됨 - UUID: {}", user.getUsername(), market, orderUuid);
-                    return;
-                }
+            // 체결 완료
+            if (lastOrder != null && "done".equals(lastOrder.getState())) {
+                log.info("[{}][{}] 지정가 {} 체결 완료 - UUID: {}",
+                        user.getUsername(), market,
+                        tradeType == TradeType.BUY ? "매수" : "매도",
+                        orderUuid);
+            }
+            // 취소됨
+            if (lastOrder != null && "cancel".equals(lastOrder.getState())) {
+                log.warn("[{}][{}] 주문 취소됨 - UUID: {}", user.getUsername(), market, orderUuid);
+                return;
             }
 
             // 타임아웃 - 미체결 처리
@@ -561,7 +559,7 @@ public class UserAutoTradingService {
                     .highestPrice(tradeType == TradeType.BUY ? BigDecimal.valueOf(price) : null)
                     .build();
 
-            tradeHistoryRepository.save(history);
+            positionStateStore.record(tradeHistoryRepository.save(history));
             log.info("[{}][{}] 거래 내역 저장 완료 - {}, 방식: {}, 금액: {}, 수수료: {}",
                     user.getUsername(), market, tradeType, tradeMethod,
                     String.format("%.0f", amount), String.format("%.0f", fee));
@@ -579,55 +577,6 @@ public class UserAutoTradingService {
         saveTradeHistory(user, market, tradeType, amount, price, orderUuid, strategyName, targetPrice, "MARKET");
     }
 
-    /**
-     * 캔들 데이터 DB 저장 (중복 제외)
-     * 최신 데이터부터 확인하여 중복이 발견되면 중단을 고려할 수 있으나,
-     * API 응답 순서가 최신순이므로 효율적으로 처리
-     */
-    private void saveCandlesToDb(List<Candle> candles) {
-        if (candles == null || candles.isEmpty()) {
-            return;
-        }
-
-        try {
-            // 업비트 API는 최신 캔들이 리스트의 0번에 위치함
-            int savedCount = 0;
-            for (int i = 0; i < candles.size(); i++) {
-                Candle candle = candles.get(i);
-
-                // 이미 존재하는 캔들인지 확인 (시장가와 KST 시간 기준)
-                // 리스트의 0번부터 확인하므로, 이미 존재하는 데이터를 만나면 그 이후(과거 데이터)는 이미 저장되어 있을 확률이 높음
-                if (candleDataRepository.findByMarketAndCandleDateTimeKst(candle.getMarket(), candle.getCandleDateTimeKst()).isPresent()) {
-                    // 1분봉 데이터 적재 시, 연속된 데이터라면 중복 발견 시 중단하여 성능 최적화
-                    // 단, 200개를 가져오는데 그 중 중간에 비어있을 가능성이 아주 낮으므로 break 허용
-                    break;
-                }
-
-                CandleData candleData = CandleData.builder()
-                        .market(candle.getMarket())
-                        .candleDateTimeUtc(candle.getCandleDateTimeUtc())
-                        .candleDateTimeKst(candle.getCandleDateTimeKst())
-                        .openingPrice(candle.getOpeningPrice())
-                        .highPrice(candle.getHighPrice())
-                        .lowPrice(candle.getLowPrice())
-                        .tradePrice(candle.getTradePrice())
-                        .timestamp(candle.getTimestamp())
-                        .candleAccTradePrice(candle.getCandleAccTradePrice())
-                        .candleAccTradeVolume(candle.getCandleAccTradeVolume())
-                        .unit(candle.getUnit())
-                        .build();
-
-                candleDataRepository.save(candleData);
-                savedCount++;
-            }
-            if (savedCount > 0) {
-                log.info("[{}] 신규 캔들 데이터 {}건 저장 완료", candles.get(0).getMarket(), savedCount);
-            }
-        } catch (Exception e) {
-            log.error("캔들 데이터 DB 저장 중 오류: {}", e.getMessage());
-        }
-    }
-
     /**
      * Ticker 데이터 DB 저장
      */
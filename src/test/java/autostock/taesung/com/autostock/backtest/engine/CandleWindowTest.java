@@ -0,0 +1,65 @@
+package autostock.taesung.com.autostock.backtest.engine;
+
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CandleWindowTest {
+
+    private List<Candle> chronological(int count) {
+        List<Candle> candles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            candles.add(Candle.builder()
+                    .market("KRW-BTC")
+                    .tradePrice(BigDecimal.valueOf(100 + i))
+                    .build());
+        }
+        return candles;
+    }
+
+    @Test
+    void windowMatchesCopiedAndReversedList() {
+        List<Candle> candles = chronological(50);
+        Candle[] series = CandleWindow.toArray(candles);
+
+        for (int i = 0; i < candles.size(); i++) {
+            // 기존 방식: 복사 + 역순
+            List<Candle> expected = new ArrayList<>(candles.subList(0, i + 1));
+            Collections.reverse(expected);
+
+            List<Candle> window = CandleWindow.at(series, i);
+
+            assertThat(window).containsExactlyElementsOf(expected);
+            assertThat(window.subList(1, window.size()))
+                    .containsExactlyElementsOf(expected.subList(1, expected.size()));
+        }
+    }
+
+    @Test
+    void nestedSubListSharesSameOrdering() {
+        Candle[] series = CandleWindow.toArray(chronological(10));
+
+        List<Candle> window = CandleWindow.at(series, 9);   // [109, 108, ..., 100]
+        List<Candle> nested = window.subList(2, 8).subList(1, 4);  // [106, 105, 104]
+
+        assertThat(nested).extracting(c -> c.getTradePrice().intValue())
+                .containsExactly(106, 105, 104);
+    }
+
+    @Test
+    void windowIsReadOnly() {
+        Candle[] series = CandleWindow.toArray(chronological(5));
+        List<Candle> window = CandleWindow.at(series, 4);
+
+        assertThatThrownBy(() -> window.set(0, null)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> window.remove(0)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> window.get(5)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
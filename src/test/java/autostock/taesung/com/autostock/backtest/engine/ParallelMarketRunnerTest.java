@@ -0,0 +1,100 @@
+package autostock.taesung.com.autostock.backtest.engine;
+
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelMarketRunnerTest {
+
+    private final ThreadPoolTaskExecutor simulationExecutor = executor("test-sim-");
+    private final ThreadPoolTaskExecutor loadExecutor = executor("test-load-");
+    private final ParallelMarketRunner runner = new ParallelMarketRunner(simulationExecutor, loadExecutor, 1);
+
+    @AfterEach
+    void tearDown() {
+        runner.shutdown();
+        simulationExecutor.shutdown();
+        loadExecutor.shutdown();
+    }
+
+    private static ThreadPoolTaskExecutor executor(String prefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix(prefix);
+        executor.initialize();
+        return executor;
+    }
+
+    private static List<Candle> candles() {
+        List<Candle> candles = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            candles.add(Candle.builder().market("KRW-TEST").build());
+        }
+        return candles;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void queueWaitDoesNotCountTowardTimeout() {
+        // 로딩 스레드 1개: 마지막 마켓은 1초 넘게 큐에서 대기하지만 실행 시간은 0.4초
+        List<String> markets = List.of("KRW-A", "KRW-B", "KRW-C", "KRW-D");
+
+        List<String> results = runner.run(markets,
+                market -> {
+                    sleep(400);
+                    return candles();
+                },
+                (market, candles) -> market);
+
+        assertThat(results).containsExactlyElementsOf(markets);
+    }
+
+    @Test
+    void cancelsSimulationOnTimeout() throws InterruptedException {
+        CountDownLatch cancelled = new CountDownLatch(1);
+
+        List<String> results = runner.run(List.of("KRW-SLOW", "KRW-FAST"),
+                market -> candles(),
+                (market, candles) -> {
+                    if (market.equals("KRW-SLOW")) {
+                        try {
+                            while (true) {
+                                ParallelMarketRunner.checkCancelled();
+                            }
+                        } finally {
+                            cancelled.countDown();
+                        }
+                    }
+                    return market;
+                });
+
+        assertThat(results).containsExactly("KRW-FAST");
+        assertThat(cancelled.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void skipsMarketsWithoutEnoughCandles() {
+        List<String> results = runner.run(List.of("KRW-EMPTY"),
+                market -> Collections.emptyList(),
+                (market, candles) -> market);
+
+        assertThat(results).isEmpty();
+    }
+}
@@ -0,0 +1,60 @@
+package autostock.taesung.com.autostock.exchange.upbit.order;
+
+import autostock.taesung.com.autostock.entity.User;
+import autostock.taesung.com.autostock.exchange.upbit.UserUpbitApiService;
+import autostock.taesung.com.autostock.exchange.upbit.dto.OrderResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UpbitOrderTrackerTest {
+
+    @Test
+    void failingUserDoesNotBlockOthersOrDeadlines() {
+        UserUpbitApiService api = mock(UserUpbitApiService.class);
+        User broken = User.builder().id(1L).username("broken").build();
+        User healthy = User.builder().id(2L).username("healthy").build();
+        // API 키가 삭제된 사용자: 일괄 조회와 주문별 조회 모두 실패
+        when(api.getOrdersByUuids(eq(broken), anyCollection())).thenThrow(new IllegalStateException("no keys"));
+        when(api.getOrder(eq(broken), anyString())).thenThrow(new IllegalStateException("no keys"));
+        when(api.getOrdersByUuids(eq(healthy), anyCollection()))
+                .thenReturn(List.of(OrderResponse.builder().uuid("b").state("done").build()));
+
+        UpbitOrderTracker tracker = new UpbitOrderTracker(api, 3_600_000);
+        try {
+            CompletableFuture<OrderResponse> brokenOrder = tracker.track(broken, "a", 0);
+            CompletableFuture<OrderResponse> healthyOrder = tracker.track(healthy, "b", 60_000);
+
+            tracker.poll();
+
+            assertThat(healthyOrder).isCompleted();
+            assertThat(healthyOrder.join().getState()).isEqualTo("done");
+            // 조회 실패와 무관하게 마감 시각이 지난 주문은 마지막 상태(null)로 완료
+            assertThat(brokenOrder).isCompleted();
+            assertThat(brokenOrder.join()).isNull();
+            assertThat(tracker.getTrackedCount()).isZero();
+        } finally {
+            tracker.shutdown();
+        }
+    }
+
+    @Test
+    void awaitReturnsWithinTimeoutWhenPollerNeverRuns() {
+        UpbitOrderTracker tracker = new UpbitOrderTracker(mock(UserUpbitApiService.class), 3_600_000);
+        try {
+            long start = System.currentTimeMillis();
+            // 폴러가 돌지 않아도 timeout + 여유 시간 후 반환
+            OrderResponse result = tracker.await(User.builder().id(1L).build(), "x", 0);
+            assertThat(result).isNull();
+            assertThat(System.currentTimeMillis() - start).isLessThan(10_000);
+            assertThat(tracker.getTrackedCount()).isZero();
+        } finally {
+            tracker.shutdown();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package autostock.taesung.com.autostock.exchange.upbit.quotation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoalescingQuotationCacheTest {
+
+    @Test
+    void fetchesOnlyMissingMarketsInOneBatch() {
+        List<List<String>> calls = Collections.synchronizedList(new ArrayList<>());
+        CoalescingQuotationCache<String> cache = new CoalescingQuotationCache<>(60_000, 1_000, markets -> {
+            calls.add(List.copyOf(markets));
+            Map<String, String> result = new LinkedHashMap<>();
+            markets.forEach(m -> result.put(m, m + "-price"));
+            return result;
+        });
+
+        assertThat(cache.getAll(List.of("KRW-BTC", "KRW-ETH"))).containsOnlyKeys("KRW-BTC", "KRW-ETH");
+        Map<String, String> second = cache.getAll(List.of("KRW-ETH", "KRW-XRP"));
+
+        assertThat(second.keySet()).containsExactly("KRW-ETH", "KRW-XRP");
+        assertThat(calls).containsExactly(List.of("KRW-BTC", "KRW-ETH"), List.of("KRW-XRP"));
+    }
+
+    @Test
+    void concurrentRequestsShareOneInFlightCall() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<List<String>> calls = Collections.synchronizedList(new ArrayList<>());
+        CoalescingQuotationCache<String> cache = new CoalescingQuotationCache<>(60_000, 5_000, markets -> {
+            calls.add(List.copyOf(markets));
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Map.of("KRW-BTC", "100");
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Map<String, String>> first = executor.submit(() -> cache.getAll(List.of("KRW-BTC")));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Map<String, String>> second = executor.submit(() -> cache.getAll(List.of("KRW-BTC")));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).containsEntry("KRW-BTC", "100");
+            assertThat(second.get(5, TimeUnit.SECONDS)).containsEntry("KRW-BTC", "100");
+            assertThat(calls).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedLoadIsDroppedAndRetriedNextTime() {
+        List<List<String>> calls = new ArrayList<>();
+        CoalescingQuotationCache<String> cache = new CoalescingQuotationCache<>(60_000, 1_000, markets -> {
+            calls.add(List.copyOf(markets));
+            if (calls.size() == 1) {
+                throw new IllegalStateException("timeout");
+            }
+            return Map.of("KRW-BTC", "100");
+        });
+
+        assertThat(cache.getAll(List.of("KRW-BTC"))).isEmpty();
+        assertThat(cache.getAll(List.of("KRW-BTC"))).containsEntry("KRW-BTC", "100");
+        assertThat(calls).hasSize(2);
+    }
+}
@@ -0,0 +1,86 @@
+package autostock.taesung.com.autostock.exchange.upbit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpbitRateLimiterTest {
+
+    @Test
+    void classifiesRequestGroupsByPathAndMethod() {
+        assertThat(UpbitRequestGroup.of(HttpMethod.GET, "/v1/candles/minutes/5")).isEqualTo(UpbitRequestGroup.QUOTATION);
+        assertThat(UpbitRequestGroup.of(HttpMethod.GET, "/v1/accounts")).isEqualTo(UpbitRequestGroup.EXCHANGE);
+        assertThat(UpbitRequestGroup.of(HttpMethod.GET, "/v1/order")).isEqualTo(UpbitRequestGroup.EXCHANGE);
+        assertThat(UpbitRequestGroup.of(HttpMethod.POST, "/v1/orders")).isEqualTo(UpbitRequestGroup.ORDER);
+        assertThat(UpbitRequestGroup.of(HttpMethod.DELETE, "/v1/order")).isEqualTo(UpbitRequestGroup.ORDER);
+    }
+
+    @Test
+    void parsesRemainingRequestHeader() {
+        assertThat(UpbitRateLimiter.parseRemainingPerSecond("group=default; min=1800; sec=29")).isEqualTo(29);
+        assertThat(UpbitRateLimiter.parseRemainingPerSecond("group=market; min=573")).isNull();
+        assertThat(UpbitRateLimiter.parseRemainingPerSecond(null)).isNull();
+    }
+
+    @Test
+    void throttlesBeyondBurstCapacity() {
+        UpbitRateLimiter limiter = new UpbitRateLimiter(true, 10, 30, 8);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 15; i++) {
+            limiter.acquire(UpbitRequestGroup.QUOTATION, null, UpbitRequestPriority.TRADING);
+        }
+
+        // 버스트 10개 이후 5개는 초당 10개 속도로 충전 대기 (약 500ms)
+        assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(400);
+    }
+
+    @Test
+    void serverRemainingCountTightensBucketPerApiKey() {
+        UpbitRateLimiter limiter = new UpbitRateLimiter(true, 10, 30, 8);
+        limiter.onResponse(UpbitRequestGroup.EXCHANGE, "key-a", "group=default; min=1800; sec=0", 200);
+
+        long start = System.currentTimeMillis();
+        limiter.acquire(UpbitRequestGroup.EXCHANGE, "key-b", UpbitRequestPriority.TRADING);
+        long otherKeyWait = System.currentTimeMillis() - start;
+        limiter.acquire(UpbitRequestGroup.EXCHANGE, "key-a", UpbitRequestPriority.TRADING);
+        long sameKeyWait = System.currentTimeMillis() - start - otherKeyWait;
+
+        assertThat(otherKeyWait).isLessThan(20);
+        assertThat(sameKeyWait).isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void orderPriorityIsServedBeforeWaitingAnalytics() throws InterruptedException {
+        UpbitRateLimiter limiter = new UpbitRateLimiter(true, 10, 30, 8);
+        for (int i = 0; i < 8; i++) {
+            limiter.acquire(UpbitRequestGroup.ORDER, "key", UpbitRequestPriority.ORDER);
+        }
+        List<String> finished = Collections.synchronizedList(new ArrayList<>());
+
+        Thread analytics = new Thread(() -> {
+            for (int i = 0; i < 3; i++) {
+                limiter.acquire(UpbitRequestGroup.ORDER, "key", UpbitRequestPriority.ANALYTICS);
+            }
+            finished.add("ANALYTICS");
+        });
+        analytics.start();
+        Thread.sleep(20);
+        Thread order = new Thread(() -> {
+            for (int i = 0; i < 3; i++) {
+                limiter.acquire(UpbitRequestGroup.ORDER, "key", UpbitRequestPriority.ORDER);
+            }
+            finished.add("ORDER");
+        });
+        order.start();
+        analytics.join();
+        order.join();
+
+        assertThat(finished).containsExactly("ORDER", "ANALYTICS");
+    }
+}
@@ -0,0 +1,94 @@
+package autostock.taesung.com.autostock.exchange.upbit.stream;
+
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CandleAggregatorTest {
+
+    // 2023-11-14T22:15:00Z (5분 경계)
+    private static final long START = 1_700_000_100_000L - Math.floorMod(1_700_000_100_000L, 300_000L);
+
+    @Test
+    void buildsOneMinuteAndFiveMinuteCandlesFromTrades() {
+        CandleAggregator aggregator = new CandleAggregator(new int[]{1, 5}, 200);
+        List<Candle> closed = new ArrayList<>();
+
+        for (int minute = 0; minute < 6; minute++) {
+            closed.addAll(aggregator.onTrade("KRW-BTC", START + minute * 60_000L + 1_000,
+                    BigDecimal.valueOf(100 + minute), BigDecimal.ONE));
+        }
+
+        // 1분봉 5개 + 5분봉 1개 마감, 6번째 분은 진행 중
+        assertThat(closed).filteredOn(c -> c.getUnit() == 1).hasSize(5);
+        Candle fiveMinute = closed.stream().filter(c -> c.getUnit() == 5).findFirst().orElseThrow();
+        assertThat(fiveMinute.getCandleDateTimeUtc()).isEqualTo("2023-11-14T22:15:00");
+        assertThat(fiveMinute.getCandleDateTimeKst()).isEqualTo("2023-11-15T07:15:00");
+        assertThat(fiveMinute.getOpeningPrice()).isEqualByComparingTo("100");
+        assertThat(fiveMinute.getHighPrice()).isEqualByComparingTo("104");
+        assertThat(fiveMinute.getTradePrice()).isEqualByComparingTo("104");
+        assertThat(fiveMinute.getCandleAccTradeVolume()).isEqualByComparingTo("5");
+
+        List<Candle> oneMinute = aggregator.getCandles("KRW-BTC", 1, 3);
+        assertThat(oneMinute).extracting(Candle::getTradePrice)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.valueOf(105), BigDecimal.valueOf(104), BigDecimal.valueOf(103));
+    }
+
+    @Test
+    void seedFillsHistoryBeforeStreamedCandles() {
+        CandleAggregator aggregator = new CandleAggregator(new int[]{1}, 200);
+        aggregator.onTrade("KRW-BTC", START + 1_000, BigDecimal.TEN, BigDecimal.ONE);
+
+        List<Candle> rest = List.of(
+                restCandle("2023-11-14T22:15:00", "9"),   // 진행 중 구간 - 무시
+                restCandle("2023-11-14T22:14:00", "8"),
+                restCandle("2023-11-14T22:13:00", "7"));
+        aggregator.seed("KRW-BTC", 1, rest);
+
+        List<Candle> candles = aggregator.getCandles("KRW-BTC", 1, 10);
+        assertThat(candles).extracting(Candle::getCandleDateTimeUtc)
+                .containsExactly("2023-11-14T22:15:00", "2023-11-14T22:14:00", "2023-11-14T22:13:00");
+        assertThat(candles.get(0).getTradePrice()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    void closeElapsedClosesQuietMarkets() {
+        CandleAggregator aggregator = new CandleAggregator(new int[]{1}, 200);
+        aggregator.onTrade("KRW-ETH", START + 1_000, BigDecimal.ONE, BigDecimal.ONE);
+
+        assertThat(aggregator.closeElapsed(START + 59_000)).isEmpty();
+        assertThat(aggregator.closeElapsed(START + 60_000)).hasSize(1);
+    }
+
+    @Test
+    void lateTradeAfterCloseElapsedDoesNotReopenClosedBucket() {
+        CandleAggregator aggregator = new CandleAggregator(new int[]{1}, 200);
+        aggregator.onTrade("KRW-ETH", START + 1_000, BigDecimal.TEN, BigDecimal.ONE);
+        assertThat(aggregator.closeElapsed(START + 62_000)).hasSize(1);
+
+        // 마감된 구간에 속한 지연 체결
+        List<Candle> closed = aggregator.onTrade("KRW-ETH", START + 30_000, BigDecimal.ONE, BigDecimal.ONE);
+
+        assertThat(closed).isEmpty();
+        assertThat(aggregator.closeElapsed(START + 180_000)).isEmpty();
+        List<Candle> candles = aggregator.getCandles("KRW-ETH", 1, 10);
+        assertThat(candles).extracting(Candle::getCandleDateTimeUtc).containsExactly("2023-11-14T22:15:00");
+        assertThat(candles.get(0).getTradePrice()).isEqualByComparingTo("10");
+        assertThat(candles.get(0).getCandleAccTradeVolume()).isEqualByComparingTo("1");
+    }
+
+    private Candle restCandle(String utc, String price) {
+        return Candle.builder()
+                .market("KRW-BTC")
+                .candleDateTimeUtc(utc)
+                .tradePrice(new BigDecimal(price))
+                .unit(1)
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package autostock.taesung.com.autostock.exchange.upbit.stream;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 테스트용 업비트 웹소켓 대역 서버
+ * - 첫 구독 메시지를 기록한 뒤 준비된 메시지를 순서대로 전송하고 연결 유지
+ */
+final class LocalUpbitStreamServer implements AutoCloseable {
+
+    private final AtomicReference<String> subscription = new AtomicReference<>();
+    private final DisposableServer server;
+
+    private LocalUpbitStreamServer(List<String> frames) {
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.ws("/websocket/v1", (in, out) ->
+                        in.receive().asString().next()
+                                .doOnNext(subscription::set)
+                                .then(out.sendString(Flux.fromIterable(frames)).then())
+                                .then(Mono.<Void>never())))
+                .bindNow();
+    }
+
+    static LocalUpbitStreamServer start(List<String> frames) {
+        return new LocalUpbitStreamServer(frames);
+    }
+
+    String url() {
+        return "ws://localhost:" + server.port() + "/websocket/v1";
+    }
+
+    String getSubscription() {
+        return subscription.get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+}
@@ -0,0 +1,64 @@
+package autostock.taesung.com.autostock.exchange.upbit.stream;
+
+import autostock.taesung.com.autostock.exchange.upbit.UpbitApiService;
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class UpbitMarketDataStreamTest {
+
+    private static final long START = 1_700_000_100_000L - Math.floorMod(1_700_000_100_000L, 60_000L);
+
+    @Test
+    void aggregatesTradesFromLocalServer() throws Exception {
+        List<String> frames = List.of(
+                trade(START + 1_000, "100", "1"),
+                trade(START + 30_000, "110", "2"),
+                trade(START + 59_000, "90", "1"),
+                trade(START + 61_000, "95", "1"),
+                "{\"type\":\"ticker\",\"code\":\"KRW-BTC\",\"trade_price\":95}");
+
+        List<Candle> closed = new CopyOnWriteArrayList<>();
+        MarketDataListener listener = closed::add;
+
+        try (LocalUpbitStreamServer server = LocalUpbitStreamServer.start(frames)) {
+            UpbitMarketDataStream stream = new UpbitMarketDataStream(mock(UpbitApiService.class), List.of(listener),
+                    true, server.url(), "", 30, "1", 200, 100, 90);
+            stream.start(List.of("KRW-BTC"));
+            try {
+                long deadline = System.currentTimeMillis() + 5_000;
+                while ((closed.isEmpty() || stream.getTicker("KRW-BTC") == null)
+                        && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(20);
+                }
+
+                assertThat(server.getSubscription()).contains("\"trade\"").contains("KRW-BTC");
+                assertThat(stream.isConnected()).isTrue();
+
+                Candle first = closed.get(0);
+                assertThat(first.getMarket()).isEqualTo("KRW-BTC");
+                assertThat(first.getOpeningPrice()).isEqualByComparingTo("100");
+                assertThat(first.getHighPrice()).isEqualByComparingTo("110");
+                assertThat(first.getLowPrice()).isEqualByComparingTo("90");
+                assertThat(first.getTradePrice()).isEqualByComparingTo("90");
+                assertThat(first.getCandleAccTradeVolume()).isEqualByComparingTo("4");
+
+                assertThat(stream.getTicker("KRW-BTC").getTradePrice()).isEqualByComparingTo("95");
+                assertThat(stream.getCandles("KRW-BTC", 1, 2)).hasSize(2);
+                assertThat(stream.getCandles("KRW-BTC", 1, 50)).isNull();  // 부족하면 REST 사용
+            } finally {
+                stream.stop();
+            }
+        }
+    }
+
+    private static String trade(long timestamp, String price, String volume) {
+        return "{\"type\":\"trade\",\"code\":\"KRW-BTC\",\"trade_timestamp\":" + timestamp
+                + ",\"trade_price\":" + price + ",\"trade_volume\":" + volume + "}";
+    }
+}
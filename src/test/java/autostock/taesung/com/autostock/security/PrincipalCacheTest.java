@@ -0,0 +1,41 @@
+package autostock.taesung.com.autostock.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class PrincipalCacheTest {
+
+    @Test
+    void reusesLoadedPrincipalUntilEvicted() {
+        UserDetailsService userDetailsService = mock(UserDetailsService.class);
+        UserDetails first = User.withUsername("alice").password("x").roles("USER").build();
+        UserDetails second = User.withUsername("alice").password("y").roles("USER").build();
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(first, second);
+        PrincipalCache cache = new PrincipalCache(userDetailsService, 60_000);
+
+        assertThat(cache.load("alice")).isSameAs(first);
+        assertThat(cache.load("alice")).isSameAs(first);
+        verify(userDetailsService, times(1)).loadUserByUsername("alice");
+
+        cache.evict("alice");
+        assertThat(cache.load("alice")).isSameAs(second);
+        verify(userDetailsService, times(2)).loadUserByUsername("alice");
+    }
+
+    @Test
+    void zeroTtlDisablesCaching() {
+        UserDetailsService userDetailsService = mock(UserDetailsService.class);
+        when(userDetailsService.loadUserByUsername("bob"))
+                .thenReturn(User.withUsername("bob").password("x").roles("USER").build());
+        PrincipalCache cache = new PrincipalCache(userDetailsService, 0);
+
+        cache.load("bob");
+        cache.load("bob");
+        verify(userDetailsService, times(2)).loadUserByUsername("bob");
+    }
+}
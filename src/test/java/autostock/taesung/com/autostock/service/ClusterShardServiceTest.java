@@ -0,0 +1,44 @@
+package autostock.taesung.com.autostock.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClusterShardServiceTest {
+
+    @Test
+    void fairShareCoversAllShardsWithoutOverlap() {
+        for (int instances = 1; instances <= 7; instances++) {
+            int count = instances;
+            int total = IntStream.range(0, count).map(rank -> ClusterShardService.fairShare(32, count, rank)).sum();
+            assertThat(total).isEqualTo(32);
+        }
+        assertThat(ClusterShardService.fairShare(32, 3, 0)).isEqualTo(11);
+        assertThat(ClusterShardService.fairShare(32, 3, 1)).isEqualTo(11);
+        assertThat(ClusterShardService.fairShare(32, 3, 2)).isEqualTo(10);
+    }
+
+    @Test
+    void marketsMapToStableShardsAndDisabledOwnsEverything() {
+        ClusterShardService disabled = new ClusterShardService(null, false, 32, 30, 10_000, 8080);
+
+        assertThat(disabled.shardOf("KRW-BTC")).isEqualTo(disabled.shardOf("KRW-BTC")).isBetween(0, 31);
+        assertThat(disabled.filterOwnedMarkets(List.of("KRW-BTC", "KRW-ETH"))).containsExactly("KRW-BTC", "KRW-ETH");
+
+        ClusterShardService enabled = new ClusterShardService(null, true, 32, 30, 10_000, 8080);
+        // 하트비트 전에는 보유 샤드가 없으므로 어떤 마켓도 담당하지 않음
+        assertThat(enabled.ownsMarket("KRW-BTC")).isFalse();
+    }
+
+    @Test
+    void rejectsLeaseShorterThanTwoHeartbeats() {
+        assertThatThrownBy(() -> new ClusterShardService(null, true, 32, 15, 10_000, 8080))
+                .isInstanceOf(IllegalStateException.class);
+        // 비활성화 시에는 검사하지 않음
+        new ClusterShardService(null, false, 32, 15, 10_000, 8080);
+    }
+}
@@ -0,0 +1,84 @@
+package autostock.taesung.com.autostock.service;
+
+import autostock.taesung.com.autostock.entity.User;
+import autostock.taesung.com.autostock.exchange.upbit.UserUpbitApiService;
+import autostock.taesung.com.autostock.exchange.upbit.dto.Account;
+import autostock.taesung.com.autostock.exchange.upbit.quotation.UpbitQuotationService;
+import autostock.taesung.com.autostock.repository.TradeHistoryRepository;
+import autostock.taesung.com.autostock.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class DashboardServiceTest {
+
+    @Test
+    void servesStaleSnapshotWhileSingleRefreshRunsInBackground() {
+        UserUpbitApiService upbitApiService = mock(UserUpbitApiService.class);
+        TradeHistoryRepository tradeHistoryRepository = mock(TradeHistoryRepository.class);
+        User user = User.builder().id(1L).upbitAccessKey("a").upbitSecretKey("s").build();
+        when(upbitApiService.getAccounts(user)).thenReturn(List.of(
+                Account.builder().currency("KRW").balance("100000").avgBuyPrice("0").build()));
+        when(tradeHistoryRepository.findByUserId(1L)).thenReturn(List.of());
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        List<Runnable> queued = new ArrayList<>();
+        AtomicBoolean direct = new AtomicBoolean(true);
+        Executor executor = task -> {
+            if (direct.get()) task.run();
+            else queued.add(task);
+        };
+        // ttl 0 → 항상 stale, 이전 스냅샷 반환 + 백그라운드 갱신
+        DashboardService service = new DashboardService(upbitApiService, mock(UpbitQuotationService.class),
+                tradeHistoryRepository, userRepository, mock(PriceAlertService.class), executor, 0, 60_000, 1_000);
+
+        DashboardService.DashboardData first = service.getDashboardData(user);
+        assertThat(first.getKrwBalance()).isEqualTo(100000);
+
+        direct.set(false);
+        assertThat(service.getDashboardData(user)).isSameAs(first);
+        assertThat(service.getDashboardData(user)).isSameAs(first);
+        // 동시 요청은 진행 중인 갱신 하나를 공유
+        assertThat(queued).hasSize(1);
+
+        queued.get(0).run();
+        verify(upbitApiService, times(2)).getAccounts(user);
+        assertThat(service.getDashboardData(user)).isNotSameAs(first);
+    }
+
+    @Test
+    void evictDropsSnapshotAndRefreshUsesCurrentlyStoredKeys() {
+        UserUpbitApiService upbitApiService = mock(UserUpbitApiService.class);
+        TradeHistoryRepository tradeHistoryRepository = mock(TradeHistoryRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        User oldKeys = User.builder().id(1L).upbitAccessKey("a1").upbitSecretKey("s1").build();
+        User newKeys = User.builder().id(1L).upbitAccessKey("a2").upbitSecretKey("s2").build();
+        when(upbitApiService.getAccounts(oldKeys)).thenReturn(List.of(
+                Account.builder().currency("KRW").balance("100000").avgBuyPrice("0").build()));
+        when(upbitApiService.getAccounts(newKeys)).thenReturn(List.of(
+                Account.builder().currency("KRW").balance("5000").avgBuyPrice("0").build()));
+        when(tradeHistoryRepository.findByUserId(1L)).thenReturn(List.of());
+        when(userRepository.findById(1L)).thenReturn(Optional.of(oldKeys));
+
+        DashboardService service = new DashboardService(upbitApiService, mock(UpbitQuotationService.class),
+                tradeHistoryRepository, userRepository, mock(PriceAlertService.class), Runnable::run,
+                60_000, 60_000, 1_000);
+
+        assertThat(service.getDashboardData(oldKeys).getKrwBalance()).isEqualTo(100000);
+
+        // 키 변경: 스냅샷 제거 후 첫 요청자의 User가 아니라 저장된 새 키로 조회
+        when(userRepository.findById(1L)).thenReturn(Optional.of(newKeys));
+        service.evict(1L);
+
+        assertThat(service.getDashboardData(oldKeys).getKrwBalance()).isEqualTo(5000);
+        verify(upbitApiService).getAccounts(newKeys);
+    }
+}
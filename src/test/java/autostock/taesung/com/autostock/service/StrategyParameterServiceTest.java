@@ -0,0 +1,60 @@
+package autostock.taesung.com.autostock.service;
+
+import autostock.taesung.com.autostock.entity.StrategyParameter;
+import autostock.taesung.com.autostock.repository.StrategyParameterRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class StrategyParameterServiceTest {
+
+    private static final String STRATEGY = "BollingerBandStrategy";
+
+    @Test
+    void servesCachedSnapshotUntilParameterChanges() {
+        StrategyParameterRepository repository = mock(StrategyParameterRepository.class);
+        StrategyParameter period = param(null, "bollinger.period", "20", StrategyParameter.ParamType.INTEGER);
+        when(repository.findByUserIdIsNullAndStrategyName(STRATEGY)).thenReturn(List.of(period));
+        when(repository.findByUserIdIsNullAndStrategyNameAndParamKey(STRATEGY, "bollinger.period"))
+                .thenReturn(Optional.of(period));
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StrategyParameterService service = new StrategyParameterService(repository, List.of());
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(service.getIntParam(STRATEGY, null, "bollinger.period", 0)).isEqualTo(20);
+            assertThat(service.getDoubleParam(STRATEGY, null, "bollinger.multiplier", 2.0)).isEqualTo(2.0);
+        }
+        verify(repository, times(1)).findByUserIdIsNullAndStrategyName(STRATEGY);
+        long before = service.getCacheVersion();
+
+        // 사용자 오버라이드 저장 → 새 버전으로 다시 로드
+        StrategyParameter override = param(7L, "bollinger.period", "25", StrategyParameter.ParamType.INTEGER);
+        when(repository.findByUserIdAndStrategyNameAndEnabledTrue(7L, STRATEGY)).thenReturn(List.of(override));
+        service.setUserParameter(7L, STRATEGY, "bollinger.period", "25");
+
+        StrategyParameterSnapshot snapshot = service.getSnapshot(STRATEGY, 7L);
+        assertThat(snapshot.getVersion()).isGreaterThan(before);
+        assertThat(snapshot.getInt("bollinger.period", 0)).isEqualTo(25);
+        assertThat(service.getIntParam(STRATEGY, null, "bollinger.period", 0)).isEqualTo(20);
+        verify(repository, times(3)).findByUserIdIsNullAndStrategyName(STRATEGY);
+    }
+
+    private static StrategyParameter param(Long userId, String key, String value, StrategyParameter.ParamType type) {
+        return StrategyParameter.builder()
+                .userId(userId)
+                .strategyName(STRATEGY)
+                .paramKey(key)
+                .paramValue(value)
+                .paramType(type)
+                .minValue(5.0)
+                .maxValue(100.0)
+                .defaultValue(value)
+                .build();
+    }
+}
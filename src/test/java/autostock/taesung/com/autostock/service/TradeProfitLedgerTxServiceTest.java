@@ -0,0 +1,122 @@
+package autostock.taesung.com.autostock.service;
+
+import autostock.taesung.com.autostock.entity.TradeHistory;
+import autostock.taesung.com.autostock.entity.TradeProfitLedger;
+import autostock.taesung.com.autostock.repository.TradeHistoryRepository;
+import autostock.taesung.com.autostock.repository.TradeProfitLedgerRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TradeProfitLedgerTxServiceTest {
+
+    @Test
+    void matchesSellWithOldestOpenBuyOnceAndAdvancesCursor() {
+        TradeHistoryRepository tradeRepository = mock(TradeHistoryRepository.class);
+        TradeProfitLedgerRepository ledgerRepository = mock(TradeProfitLedgerRepository.class);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        TradeProfitLedgerTxService service = new TradeProfitLedgerTxService(tradeRepository, ledgerRepository, jdbcTemplate);
+
+        List<TradeProfitLedger> saved = new ArrayList<>();
+        when(ledgerRepository.save(any())).thenAnswer(inv -> {
+            TradeProfitLedger entry = inv.getArgument(0);
+            if (!saved.contains(entry)) saved.add(entry);
+            return entry;
+        });
+        when(ledgerRepository.findOpenLots(eq(1L), eq("KRW-BTC"), any()))
+                .thenAnswer(inv -> saved.stream().filter(l -> !l.isMatched()).limit(1).toList());
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        when(tradeRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(List.of(
+                        trade(1L, TradeHistory.TradeType.BUY, "10000", "5"),
+                        trade(2L, TradeHistory.TradeType.BUY, "20000", "10"),
+                        trade(3L, TradeHistory.TradeType.SELL, "11000", "5.5")));
+
+        int applied = service.applyNextBatch(LocalDateTime.now(), 100);
+
+        assertThat(applied).isEqualTo(3);
+        assertThat(saved).hasSize(2);
+        TradeProfitLedger first = saved.get(0);
+        assertThat(first.isMatched()).isTrue();
+        assertThat(first.getSellTrade().getId()).isEqualTo(3L);
+        assertThat(first.getNetProfit()).isEqualByComparingTo("989.5");
+        assertThat(saved.get(1).isMatched()).isFalse();
+
+        ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate).update(contains("trade_profit_daily"), args.capture(), args.capture(), args.capture(),
+                args.capture(), args.capture(), args.capture(), args.capture(), args.capture(), args.capture());
+        assertThat(args.getAllValues().get(3)).isEqualTo(1);   // win
+        verify(jdbcTemplate).update(contains("SET last_trade_id"), eq(3L));
+    }
+
+    @Test
+    void stopsAtFirstUnsettledTradeSoLowerIdWithLaterCreatedAtIsNotSkipped() {
+        TradeHistoryRepository tradeRepository = mock(TradeHistoryRepository.class);
+        TradeProfitLedgerRepository ledgerRepository = mock(TradeProfitLedgerRepository.class);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        TradeProfitLedgerTxService service = new TradeProfitLedgerTxService(tradeRepository, ledgerRepository, jdbcTemplate);
+
+        LocalDateTime settledBefore = LocalDateTime.of(2026, 1, 2, 12, 0);
+        TradeHistory settled = trade(1L, TradeHistory.TradeType.BUY, "10000", "5");
+        settled.setCreatedAt(settledBefore.minusSeconds(30));
+        // 낮은 id가 더 늦은 생성 시각을 가짐 (아직 settle 전)
+        TradeHistory late = trade(2L, TradeHistory.TradeType.BUY, "20000", "10");
+        late.setCreatedAt(settledBefore.plusSeconds(1));
+        TradeHistory higher = trade(3L, TradeHistory.TradeType.SELL, "11000", "5.5");
+        higher.setCreatedAt(settledBefore.minusSeconds(10));
+
+        when(ledgerRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        when(tradeRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(List.of(settled, late, higher));
+
+        int applied = service.applyNextBatch(settledBefore, 100);
+
+        assertThat(applied).isEqualTo(1);
+        verify(ledgerRepository, times(1)).save(any());
+        verify(ledgerRepository, never()).findOpenLots(any(), any(), any());
+        verify(jdbcTemplate).update(contains("SET last_trade_id"), eq(1L));
+        verify(jdbcTemplate, never()).update(contains("SET last_trade_id"), eq(3L));
+    }
+
+    @Test
+    void keepsCursorWhenFirstTradeIsNotSettled() {
+        TradeHistoryRepository tradeRepository = mock(TradeHistoryRepository.class);
+        TradeProfitLedgerRepository ledgerRepository = mock(TradeProfitLedgerRepository.class);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        TradeProfitLedgerTxService service = new TradeProfitLedgerTxService(tradeRepository, ledgerRepository, jdbcTemplate);
+
+        LocalDateTime settledBefore = LocalDateTime.of(2026, 1, 2, 12, 0);
+        TradeHistory late = trade(5L, TradeHistory.TradeType.BUY, "10000", "5");
+        late.setCreatedAt(settledBefore.plusSeconds(1));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(4L);
+        when(tradeRepository.findByIdGreaterThanOrderByIdAsc(eq(4L), any())).thenReturn(List.of(late));
+
+        assertThat(service.applyNextBatch(settledBefore, 100)).isZero();
+        verify(ledgerRepository, never()).save(any());
+        verify(jdbcTemplate, never()).update(contains("SET last_trade_id"), any(Object.class));
+    }
+
+    private static TradeHistory trade(Long id, TradeHistory.TradeType type, String amount, String fee) {
+        TradeHistory history = new TradeHistory();
+        history.setId(id);
+        history.setUserId(1L);
+        history.setMarket("KRW-BTC");
+        history.setTradeType(type);
+        history.setAmount(new BigDecimal(amount));
+        history.setFee(new BigDecimal(fee));
+        history.setTradeDate(LocalDate.of(2026, 1, 2));
+        history.setStrategyName("BollingerBandStrategy");
+        return history;
+    }
+}
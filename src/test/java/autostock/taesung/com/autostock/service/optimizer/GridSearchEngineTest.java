@@ -0,0 +1,96 @@
+package autostock.taesung.com.autostock.service.optimizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GridSearchEngineTest {
+
+    private static final ParameterSpace SPACE = ParameterSpace.of(ParameterGrid.builder()
+            .axis(OptimizerParam.BOLLINGER_PERIOD, 15, 18, 20, 22, 25)
+            .axis(OptimizerParam.BOLLINGER_MULTIPLIER, 1.7, 1.8, 2.0, 2.2)
+            .axis(OptimizerParam.RSI_PERIOD, 10, 12, 14)
+            .fixed(OptimizerParam.RSI_BUY_THRESHOLD, 30)
+            .fixed(OptimizerParam.RSI_SELL_THRESHOLD, 70)
+            .fixed(OptimizerParam.VOLUME_RATE, 120)
+            .fixed(OptimizerParam.STOP_LOSS_RATE, -2.5)
+            .fixed(OptimizerParam.TAKE_PROFIT_RATE, 2.0)
+            .fixed(OptimizerParam.STOP_LOSS_ATR_MULT, 2.0)
+            .fixed(OptimizerParam.TAKE_PROFIT_ATR_MULT, 2.5)
+            .fixed(OptimizerParam.TRAILING_STOP_ATR_MULT, 1.5)
+            .fixed(OptimizerParam.FAST_BREAKOUT_UPPER_MULT, 1.002)
+            .fixed(OptimizerParam.FAST_BREAKOUT_VOLUME_MULT, 2.5)
+            .fixed(OptimizerParam.FAST_BREAKOUT_RSI_MIN, 55)
+            .fixed(OptimizerParam.HIGH_VOLUME_THRESHOLD, 2.0)
+            .fixed(OptimizerParam.CHASE_PREVENTION_RATE, 0.035)
+            .fixed(OptimizerParam.BAND_WIDTH_MIN_PERCENT, 0.8)
+            .build());
+
+    // 최고점: period 20, multiplier 2.0, rsi 14
+    private static double score(ParameterVector p) {
+        return -Math.abs(p.get(OptimizerParam.BOLLINGER_PERIOD) - 20)
+                - Math.abs(p.get(OptimizerParam.BOLLINGER_MULTIPLIER) - 2.0) * 10
+                - Math.abs(p.get(OptimizerParam.RSI_PERIOD) - 14);
+    }
+
+    @Test
+    void resumesFromLastCompletedChunk() throws Exception {
+        GridSearchEngine engine = new GridSearchEngine(SPACE, 16, 3);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            // 1회차: 청크 2개 완료 후 중단
+            List<OptimizationCheckpoint> saved = new ArrayList<>();
+            CheckpointStore interrupted = new CheckpointStore() {
+                @Override
+                public OptimizationCheckpoint load() {
+                    return null;
+                }
+
+                @Override
+                public void save(OptimizationCheckpoint checkpoint) {
+                    saved.add(checkpoint);
+                    if (saved.size() == 2) {
+                        throw new IllegalStateException("중단");
+                    }
+                }
+            };
+            try {
+                engine.search((p, f) -> score(p), pool, interrupted);
+            } catch (IllegalStateException expected) {
+                // 인스턴스 중단 시뮬레이션
+            }
+            OptimizationCheckpoint last = saved.get(1);
+            assertThat(last.nextIndex()).isEqualTo(32);
+            assertThat(last.topK()).hasSizeLessThanOrEqualTo(3);
+
+            // 2회차: 마지막 체크포인트부터 이어서 남은 조합만 평가
+            AtomicLong evaluated = new AtomicLong();
+            CheckpointStore resumed = new CheckpointStore() {
+                @Override
+                public OptimizationCheckpoint load() {
+                    return last;
+                }
+
+                @Override
+                public void save(OptimizationCheckpoint checkpoint) {
+                }
+            };
+            ParameterVector best = engine.search((p, f) -> {
+                evaluated.incrementAndGet();
+                return score(p);
+            }, pool, resumed);
+
+            assertThat(evaluated.get()).isEqualTo(SPACE.size() - 32);
+            assertThat(best).isEqualTo(engine.search((p, f) -> score(p), pool));
+            assertThat(best.getInt(OptimizerParam.BOLLINGER_PERIOD)).isEqualTo(20);
+            assertThat(best.getInt(OptimizerParam.RSI_PERIOD)).isEqualTo(14);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
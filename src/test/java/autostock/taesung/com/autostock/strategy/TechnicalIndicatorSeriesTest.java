@@ -0,0 +1,75 @@
+package autostock.taesung.com.autostock.strategy;
+
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+import autostock.taesung.com.autostock.strategy.impl.GoldenCrossStrategy;
+import autostock.taesung.com.autostock.strategy.indicator.IncrementalIndicatorEngine;
+import autostock.taesung.com.autostock.strategy.series.CandleSeries;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TechnicalIndicatorSeriesTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    private final TechnicalIndicator indicator = new TechnicalIndicator(new IncrementalIndicatorEngine(false));
+
+    private List<Candle> randomWalk(int count) {
+        Random random = new Random(7);
+        List<Candle> candles = new ArrayList<>();
+        double price = 1000;
+        for (int i = 0; i < count; i++) {
+            double open = price;
+            price = Math.max(1, price + random.nextInt(21) - 10);
+            candles.add(Candle.builder()
+                    .market("KRW-TEST")
+                    .unit(1)
+                    .candleDateTimeKst("2024-01-01T00:00:" + i)
+                    .openingPrice(BigDecimal.valueOf(open))
+                    .tradePrice(BigDecimal.valueOf(price))
+                    .candleAccTradeVolume(BigDecimal.valueOf(random.nextInt(1000)))
+                    .build());
+        }
+        return candles;
+    }
+
+    @Test
+    void seriesOverloadsMatchListCalculations() {
+        CandleSeries series = CandleSeries.fromCandles(randomWalk(200));
+
+        for (int i = 60; i < series.size(); i++) {
+            List<Candle> window = series.window(i);
+
+            assertThat(indicator.calculateSMA(series, i, 20)).isCloseTo(indicator.calculateSMA(window, 20), within(TOLERANCE));
+            assertThat(indicator.calculateEMA(series, i, 26)).isCloseTo(indicator.calculateEMA(window, 26), within(TOLERANCE));
+            assertThat(indicator.calculateRSI(series, i, 14)).isCloseTo(indicator.calculateRSI(window, 14), within(TOLERANCE));
+            assertThat(indicator.calculateVolumeMA(series, i, 5)).isCloseTo(indicator.calculateVolumeMA(window, 5), within(TOLERANCE));
+            assertThat(indicator.calculateBollingerBands(series, i, 20, 2.0))
+                    .containsExactly(indicator.calculateBollingerBands(window, 20, 2.0), within(TOLERANCE));
+            assertThat(indicator.calculateMACD(series, i))
+                    .containsExactly(indicator.calculateMACD(window), within(TOLERANCE));
+        }
+    }
+
+    @Test
+    void goldenCrossSeriesSignalsMatchListSignals() {
+        GoldenCrossStrategy strategy = new GoldenCrossStrategy(indicator);
+        CandleSeries series = CandleSeries.fromCandles(randomWalk(300));
+
+        int crosses = 0;
+        for (int i = 0; i < series.size(); i++) {
+            int listSignal = strategy.analyzeForBacktest("KRW-TEST", series.window(i), null);
+            assertThat(strategy.analyzeForBacktest("KRW-TEST", series, i, null)).isEqualTo(listSignal);
+            if (listSignal != 0) {
+                crosses++;
+            }
+        }
+        assertThat(crosses).isPositive();
+    }
+}
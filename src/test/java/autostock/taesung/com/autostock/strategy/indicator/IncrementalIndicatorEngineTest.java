@@ -0,0 +1,121 @@
+package autostock.taesung.com.autostock.strategy.indicator;
+
+import autostock.taesung.com.autostock.backtest.engine.CandleWindow;
+import autostock.taesung.com.autostock.exchange.upbit.dto.Candle;
+import autostock.taesung.com.autostock.strategy.TechnicalIndicator;
+import autostock.taesung.com.autostock.strategy.session.StrategySession;
+import autostock.taesung.com.autostock.strategy.session.StrategySessionFactory;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class IncrementalIndicatorEngineTest {
+
+    private static final double TOLERANCE = 1e-6;
+
+    private final TechnicalIndicator incremental = new TechnicalIndicator(new IncrementalIndicatorEngine(true));
+    private final TechnicalIndicator fullScan = new TechnicalIndicator(new IncrementalIndicatorEngine(false));
+
+    private List<Candle> randomWalk(int count) {
+        return randomWalk(count, 42);
+    }
+
+    private List<Candle> randomWalk(int count, long seed) {
+        Random random = new Random(seed);
+        List<Candle> candles = new ArrayList<>();
+        double price = 1000;
+        for (int i = 0; i < count; i++) {
+            price = Math.max(1, price + random.nextInt(7) - 3);
+            candles.add(Candle.builder()
+                    .market("KRW-TEST")
+                    .unit(1)
+                    .candleDateTimeKst("2024-01-01T00:00:" + i)
+                    .tradePrice(BigDecimal.valueOf(price))
+                    .candleAccTradeVolume(BigDecimal.valueOf(random.nextInt(1000)))
+                    .build());
+        }
+        return candles;
+    }
+
+    @Test
+    void matchesFullRecalculationWhileWalkingForward() {
+        Candle[] series = CandleWindow.toArray(randomWalk(600));
+
+        for (int i = 60; i < series.length; i++) {
+            List<Candle> current = CandleWindow.at(series, i);
+            List<Candle> previous = current.subList(1, current.size());
+
+            assertThat(incremental.calculateSMA(current, 20)).isCloseTo(fullScan.calculateSMA(current, 20), within(TOLERANCE));
+            assertThat(incremental.calculateSMA(previous, 20)).isCloseTo(fullScan.calculateSMA(previous, 20), within(TOLERANCE));
+            assertThat(incremental.calculateRSI(current, 14)).isCloseTo(fullScan.calculateRSI(current, 14), within(TOLERANCE));
+            assertThat(incremental.calculateRSI(previous, 14)).isCloseTo(fullScan.calculateRSI(previous, 14), within(TOLERANCE));
+            assertThat(incremental.calculateEMA(current, 26)).isCloseTo(fullScan.calculateEMA(current, 26), within(TOLERANCE));
+            assertThat(incremental.calculateVolumeMA(current, 5)).isCloseTo(fullScan.calculateVolumeMA(current, 5), within(TOLERANCE));
+            assertThat(incremental.calculateBollingerBands(current, 20, 2.0))
+                    .containsExactly(fullScan.calculateBollingerBands(current, 20, 2.0), within(TOLERANCE));
+        }
+    }
+
+    @Test
+    void followsInProgressCandleUpdates() {
+        List<Candle> candles = randomWalk(200);
+        Candle[] series = CandleWindow.toArray(candles);
+        List<Candle> window = CandleWindow.at(series, series.length - 1);
+
+        incremental.calculateRSI(window, 14);
+        incremental.calculateBollingerBands(window, 20, 2.0);
+
+        // 진행 중 캔들의 가격 변경 (같은 시각)
+        Candle newest = series[series.length - 1];
+        newest.setTradePrice(newest.getTradePrice().add(BigDecimal.TEN));
+
+        assertThat(incremental.calculateRSI(window, 14)).isCloseTo(fullScan.calculateRSI(window, 14), within(TOLERANCE));
+        assertThat(incremental.calculateBollingerBands(window, 20, 2.0))
+                .containsExactly(fullScan.calculateBollingerBands(window, 20, 2.0), within(TOLERANCE));
+    }
+
+    @Test
+    void isolatesSeriesPerSession() {
+        Candle[] liveSeries = CandleWindow.toArray(randomWalk(300, 1));
+        Candle[] simulationSeries = CandleWindow.toArray(randomWalk(300, 2));
+        StrategySession simulation = new StrategySessionFactory().openSimulation("KRW-TEST");
+
+        for (int i = 60; i < liveSeries.length; i++) {
+            List<Candle> live = CandleWindow.at(liveSeries, i);
+            List<Candle> backtest = CandleWindow.at(simulationSeries, i);
+
+            assertThat(incremental.calculateRSI(live, 14)).isCloseTo(fullScan.calculateRSI(live, 14), within(TOLERANCE));
+            try (StrategySession.Scope ignored = simulation.bind()) {
+                assertThat(incremental.calculateRSI(backtest, 14)).isCloseTo(fullScan.calculateRSI(backtest, 14), within(TOLERANCE));
+            }
+        }
+    }
+
+    @Test
+    void rebuildsWhenOlderCandlesDiffer() {
+        List<Candle> candles = randomWalk(200);
+        List<Candle> window = CandleWindow.at(CandleWindow.toArray(candles), candles.size() - 1);
+        incremental.calculateSMA(window, 20);
+
+        // 최신 2개 캔들은 같고 그 이전 구간만 다른 리스트
+        List<Candle> altered = new ArrayList<>();
+        for (int i = 0; i < window.size(); i++) {
+            Candle candle = window.get(i);
+            altered.add(i < 2 ? candle : Candle.builder()
+                    .market(candle.getMarket())
+                    .unit(candle.getUnit())
+                    .candleDateTimeKst(candle.getCandleDateTimeKst())
+                    .tradePrice(candle.getTradePrice().add(BigDecimal.valueOf(i)))
+                    .candleAccTradeVolume(candle.getCandleAccTradeVolume())
+                    .build());
+        }
+
+        assertThat(incremental.calculateSMA(altered, 20)).isCloseTo(fullScan.calculateSMA(altered, 20), within(TOLERANCE));
+    }
+}
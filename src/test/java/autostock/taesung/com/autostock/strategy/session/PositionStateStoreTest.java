@@ -0,0 +1,70 @@
+package autostock.taesung.com.autostock.strategy.session;
+
+import autostock.taesung.com.autostock.entity.TradeHistory;
+import autostock.taesung.com.autostock.repository.TradeHistoryRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PositionStateStoreTest {
+
+    @Test
+    void simulationSessionDoesNotSeeLivePositions() {
+        TradeHistoryRepository repository = mock(TradeHistoryRepository.class);
+        when(repository.findLatestPerMarket()).thenReturn(List.of(trade(10L, TradeHistory.TradeType.BUY, "100")));
+        LivePositionStateStore live = new LivePositionStateStore(repository);
+        live.load();
+        SessionPositionStateStore store = new SessionPositionStateStore(live);
+
+        assertThat(store.get("KRW-BTC").isHolding()).isTrue();
+
+        try (StrategySession.Scope ignored = new StrategySessionFactory().openSimulation("KRW-BTC").bind()) {
+            assertThat(store.get("KRW-BTC")).isNull();
+            store.record(PositionState.builder().market("KRW-BTC").tradeType(TradeHistory.TradeType.SELL)
+                    .price(90).tradedAt(LocalDateTime.now()).build());
+            assertThat(store.get("KRW-BTC").isSold()).isTrue();
+        }
+
+        // 시뮬레이션 체결은 실매매 상태에 영향 없음
+        assertThat(store.get("KRW-BTC").getTradeId()).isEqualTo(10L);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void keepsNewestTradeAndBuffersHighestPrice() {
+        TradeHistoryRepository repository = mock(TradeHistoryRepository.class);
+        when(repository.findLatestPerMarket()).thenReturn(List.of(trade(10L, TradeHistory.TradeType.BUY, "100")));
+        LivePositionStateStore live = new LivePositionStateStore(repository);
+        live.load();
+
+        live.updateHighestPrice("KRW-BTC", 120);
+        live.updateHighestPrice("KRW-BTC", 110);
+        assertThat(live.get("KRW-BTC").getHighestPrice()).isEqualTo(120.0);
+
+        // 이전 체결 재기록/재동기화는 최신 상태를 덮어쓰지 않음
+        live.record(trade(11L, TradeHistory.TradeType.SELL, "115"));
+        live.record(trade(10L, TradeHistory.TradeType.BUY, "100"));
+        assertThat(live.get("KRW-BTC").getTradeId()).isEqualTo(11L);
+
+        live.flushHighestPrices();
+        verify(repository).raiseHighestPrice(eq(10L), eq(BigDecimal.valueOf(120.0)));
+        verify(repository, never()).save(any());
+    }
+
+    private static TradeHistory trade(Long id, TradeHistory.TradeType type, String price) {
+        TradeHistory history = new TradeHistory();
+        history.setId(id);
+        history.setMarket("KRW-BTC");
+        history.setTradeType(type);
+        history.setPrice(new BigDecimal(price));
+        history.setCreatedAt(LocalDateTime.now());
+        return history;
+    }
+}
@@ -0,0 +1,53 @@
+package autostock.taesung.com.autostock.strategy.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionStateTest {
+
+    private final StrategySessionFactory factory = new StrategySessionFactory();
+    private final SessionState<AtomicInteger> counters = new SessionState<>(SessionStateTest.class, AtomicInteger::new);
+
+    @Test
+    void simulationStateIsIsolatedFromLiveAndOtherSessions() {
+        counters.remove("KRW-BTC");
+        counters.getOrCreate("KRW-BTC").set(7);
+
+        StrategySession first = factory.openSimulation("KRW-BTC");
+        StrategySession second = factory.openSimulation("KRW-BTC");
+
+        try (StrategySession.Scope ignored = first.bind()) {
+            assertThat(StrategySession.current().isSimulation()).isTrue();
+            assertThat(counters.get("KRW-BTC")).isNull();
+            counters.getOrCreate("KRW-BTC").set(1);
+        }
+        try (StrategySession.Scope ignored = second.bind()) {
+            assertThat(counters.get("KRW-BTC")).isNull();
+        }
+        try (StrategySession.Scope ignored = first.bind()) {
+            assertThat(counters.get("KRW-BTC").get()).isEqualTo(1);
+        }
+
+        // 바인딩 해제 후에는 LIVE 세션 상태 그대로
+        assertThat(StrategySession.current()).isSameAs(StrategySession.LIVE);
+        assertThat(counters.get("KRW-BTC").get()).isEqualTo(7);
+        counters.remove("KRW-BTC");
+    }
+
+    @Test
+    void nestedBindingRestoresPreviousSession() {
+        StrategySession outer = factory.openSimulation("outer");
+        StrategySession inner = factory.openSimulation("inner");
+
+        try (StrategySession.Scope ignoredOuter = outer.bind()) {
+            try (StrategySession.Scope ignoredInner = inner.bind()) {
+                assertThat(StrategySession.current()).isSameAs(inner);
+            }
+            assertThat(StrategySession.current()).isSameAs(outer);
+        }
+        assertThat(StrategySession.current()).isSameAs(StrategySession.LIVE);
+    }
+}